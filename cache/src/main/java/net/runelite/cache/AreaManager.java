@@ -27,51 +27,38 @@ package net.runelite.cache;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.AreaDefinition;
-import net.runelite.cache.definitions.loaders.AreaLoader;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 
 public class AreaManager
 {
-	private final Store store;
-	private final Map<Integer, AreaDefinition> areas = new HashMap<>();
+	private final DefinitionCache definitions;
 
 	public AreaManager(Store store)
 	{
-		this.store = store;
+		this(new DefinitionCache(store));
 	}
 
-	public void load() throws IOException
+	public AreaManager(DefinitionCache definitions)
 	{
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.CONFIGS);
-		Archive archive = index.getArchive(ConfigType.AREA.getId());
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		this.definitions = definitions;
+	}
 
-		for (FSFile file : files.getFiles())
-		{
-			AreaLoader loader = new AreaLoader();
-			AreaDefinition area = loader.load(file.getContents(), file.getFileId());
-			areas.put(area.id, area);
-		}
+	public void load() throws IOException
+	{
+		definitions.preload(DefinitionType.AREA);
 	}
 
+	/**
+	 * @return a copy of the areas, see {@link DefinitionCache#getAll}
+	 */
 	public Collection<AreaDefinition> getAreas()
 	{
-		return Collections.unmodifiableCollection(areas.values());
+		return Collections.unmodifiableCollection(definitions.getAll(DefinitionType.AREA));
 	}
 
 	public AreaDefinition getArea(int areaId)
 	{
-		return areas.get(areaId);
+		return definitions.getUnchecked(DefinitionType.AREA, areaId);
 	}
 }
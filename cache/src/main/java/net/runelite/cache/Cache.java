@@ -26,7 +26,12 @@ package net.runelite.cache;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.script.Instructions;
+import net.runelite.cache.script.ScriptVerifier;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -45,6 +50,10 @@ public class Cache
 		options.addOption(null, "npcs", true, "directory to dump npcs to");
 		options.addOption(null, "objects", true, "directory to dump objects to");
 		options.addOption(null, "sprites", true, "directory to dump sprites to");
+		options.addOption(null, "verify-scripts", false, "check all scripts round trip through the disassembler and assembler");
+		options.addOption(null, "export", true, "directory to export definitions to as json");
+		options.addOption(null, "types", true, "comma separated definition types to export, default all");
+		options.addOption(null, "format", true, "export format, files or ndjson, default files");
 
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
@@ -115,6 +124,24 @@ public class Cache
 			System.out.println("Dumping sprites to " + spritedir);
 			dumpSprites(store, new File(spritedir));
 		}
+		else if (cmd.hasOption("export"))
+		{
+			String exportdir = cmd.getOptionValue("export");
+
+			if (exportdir == null)
+			{
+				System.err.println("Export directory must be specified");
+				return;
+			}
+
+			System.out.println("Exporting definitions to " + exportdir);
+			exportDefinitions(store, new File(exportdir), cmd.getOptionValue("types"), cmd.getOptionValue("format", "files"));
+		}
+		else if (cmd.hasOption("verify-scripts"))
+		{
+			System.out.println("Verifying scripts");
+			verifyScripts(store);
+		}
 		else
 		{
 			System.err.println("Nothing to do");
@@ -158,4 +185,70 @@ public class Cache
 		dumper.load();
 		dumper.export(spritedir);
 	}
+
+	private static void exportDefinitions(Store store, File exportdir, String typeNames, String formatName) throws IOException
+	{
+		final DefinitionExporter.Format format;
+		try
+		{
+			format = DefinitionExporter.Format.valueOf(formatName.toUpperCase());
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println("Unknown export format " + formatName);
+			return;
+		}
+
+		final List<DefinitionType<?>> types = new ArrayList<>();
+		if (typeNames == null)
+		{
+			types.addAll(Arrays.asList(DefinitionType.values()));
+		}
+		else
+		{
+			for (String name : typeNames.split(","))
+			{
+				DefinitionType<?> type = DefinitionType.forName(name.trim());
+				if (type == null)
+				{
+					System.err.println("Unknown definition type " + name);
+					return;
+				}
+				types.add(type);
+			}
+		}
+
+		// Each definition is only exported once, so there is no point keeping them
+		DefinitionExporter exporter = new DefinitionExporter(new DefinitionCache(store, 0));
+		for (DefinitionType<?> type : types)
+		{
+			File dir = format == DefinitionExporter.Format.FILES ? new File(exportdir, type.getName()) : exportdir;
+			final DefinitionExporter.Result result;
+			try
+			{
+				result = exporter.export(type, dir, format);
+			}
+			catch (IOException ex)
+			{
+				System.err.println("Unable to export " + type + ": " + ex.getMessage());
+				return;
+			}
+			System.out.println(result);
+		}
+	}
+
+	private static void verifyScripts(Store store) throws IOException
+	{
+		Instructions instructions = new Instructions();
+		instructions.init();
+
+		ScriptVerifier verifier = new ScriptVerifier(instructions);
+		List<Integer> failed = verifier.verify(store);
+
+		if (!failed.isEmpty())
+		{
+			System.err.println("Scripts which did not round trip: " + failed);
+			System.exit(1);
+		}
+	}
 }
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.io.StringPool;
+
+/**
+ * Decodes definitions from a store on demand and keeps recently used ones.
+ * Definitions are weighed by the size of the encoded data they were decoded
+ * from, not by their decoded size, and are held softly so they can also be
+ * reclaimed under memory pressure.
+ * <p>
+ * This is safe to use from many threads. Definitions returned are shared
+ * between callers, and changes to them are lost if they are evicted.
+ */
+@Slf4j
+public class DefinitionCache
+{
+	/**
+	 * Default maximum total size of the encoded data of cached definitions,
+	 * in bytes. Decoded definitions take several times more memory than this.
+	 */
+	public static final long DEFAULT_MAXIMUM_ENCODED_SIZE = 64L * 1024 * 1024;
+
+	/**
+	 * Maximum number of decompressed archives to keep
+	 */
+	private static final int ARCHIVE_CACHE_SIZE = 16;
+
+	@Value
+	private static class DefinitionKey
+	{
+		private final DefinitionType<?> type;
+		private final int id;
+	}
+
+	@Value
+	private static class ArchiveKey
+	{
+		private final IndexType indexType;
+		private final int archiveId;
+	}
+
+	@Value
+	private static class Entry
+	{
+		private final Object definition;
+		private final int weight;
+	}
+
+	private final Store store;
+	private final Cache<DefinitionKey, Entry> definitions;
+	private final Cache<ArchiveKey, ArchiveFiles> archives = CacheBuilder.newBuilder()
+		.maximumSize(ARCHIVE_CACHE_SIZE)
+		.softValues()
+		.build();
+
+	/**
+	 * Strings of the definitions decoded from this store
+	 */
+	private final StringPool stringPool = new StringPool();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder decodes = new LongAdder();
+	private final LongAdder decodeNanos = new LongAdder();
+
+	public DefinitionCache(Store store)
+	{
+		this(store, DEFAULT_MAXIMUM_ENCODED_SIZE);
+	}
+
+	/**
+	 * @param maximumEncodedSize maximum total size of the encoded data of cached definitions, in bytes
+	 */
+	public DefinitionCache(Store store, long maximumEncodedSize)
+	{
+		this.store = store;
+		this.definitions = CacheBuilder.newBuilder()
+			.maximumWeight(maximumEncodedSize)
+			.weigher((DefinitionKey key, Entry entry) -> entry.getWeight())
+			.softValues()
+			.build();
+	}
+
+	/**
+	 * Get a definition, decoding it if it is not cached. The definition is
+	 * shared with other callers. Changes made to it last only until it is
+	 * evicted, after which a freshly decoded definition is returned.
+	 *
+	 * @param type definition type
+	 * @param id definition id
+	 * @return the definition, or null if there is none with the id
+	 * @throws IOException
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(DefinitionType<T> type, int id) throws IOException
+	{
+		final DefinitionKey key = new DefinitionKey(type, id);
+		final Entry entry = definitions.getIfPresent(key);
+		if (entry != null)
+		{
+			hits.increment();
+			return (T) entry.getDefinition();
+		}
+
+		misses.increment();
+
+		final byte[] data = loadData(type, id);
+		if (data == null)
+		{
+			return null;
+		}
+
+		final long start = System.nanoTime();
+		final T definition = type.getDecoder().decode(id, data, stringPool);
+		decodeNanos.add(System.nanoTime() - start);
+		decodes.increment();
+
+		if (definition != null)
+		{
+			definitions.put(key, new Entry(definition, data.length));
+		}
+
+		return definition;
+	}
+
+	/**
+	 * Get a definition, decoding it if it is not cached
+	 *
+	 * @throws UncheckedIOException if the definition can't be loaded
+	 */
+	public <T> T getUnchecked(DefinitionType<T> type, int id)
+	{
+		try
+		{
+			return get(type, id);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Get the ids of every definition of a type. This reads only the index,
+	 * without loading any archives.
+	 */
+	public List<Integer> getIds(DefinitionType<?> type)
+	{
+		final Index index = store.getIndex(type.getIndexType());
+		final List<Integer> ids = new ArrayList<>();
+
+		switch (type.getLayout())
+		{
+			case FILES:
+			{
+				final Archive archive = index.getArchive(type.getArchiveId());
+				if (archive != null)
+				{
+					for (FileData fileData : archive.getFileData())
+					{
+						ids.add(fileData.getId());
+					}
+				}
+				break;
+			}
+			case ARCHIVES:
+				for (Archive archive : index.getArchives())
+				{
+					ids.add(archive.getArchiveId());
+				}
+				break;
+			case GROUPS:
+				for (Archive archive : index.getArchives())
+				{
+					for (FileData fileData : archive.getFileData())
+					{
+						ids.add((archive.getArchiveId() << 16) | fileData.getId());
+					}
+				}
+				break;
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Get every definition of a type. The list is built on each call, decoding
+	 * any definitions which are not cached, so callers which iterate the
+	 * definitions more than once should keep it.
+	 *
+	 * @return a new list of the definitions
+	 * @throws UncheckedIOException if a definition can't be loaded
+	 */
+	public <T> List<T> getAll(DefinitionType<T> type)
+	{
+		final List<Integer> ids = getIds(type);
+		final List<T> all = new ArrayList<>(ids.size());
+		for (int id : ids)
+		{
+			T definition = getUnchecked(type, id);
+			if (definition != null)
+			{
+				all.add(definition);
+			}
+		}
+		return all;
+	}
+
+	/**
+	 * Decode every definition of a type in parallel, so later lookups are hits
+	 * as long as they fit within the maximum encoded size
+	 */
+	public void preload(DefinitionType<?> type) throws IOException
+	{
+		final long start = System.nanoTime();
+		final List<Integer> ids = getIds(type);
+
+		try
+		{
+			ids.parallelStream().forEach(id -> getUnchecked(type, id));
+		}
+		catch (UncheckedIOException ex)
+		{
+			throw ex.getCause();
+		}
+
+		log.debug("Preloaded {} {} definitions in {}ms", ids.size(), type,
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	/**
+	 * Remove all cached definitions, archives and pooled strings
+	 */
+	public void invalidateAll()
+	{
+		definitions.invalidateAll();
+		archives.invalidateAll();
+		stringPool.clear();
+	}
+
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	public long getDecodeCount()
+	{
+		return decodes.sum();
+	}
+
+	/**
+	 * Total time spent decoding definitions, in nanoseconds
+	 */
+	public long getTotalDecodeTime()
+	{
+		return decodeNanos.sum();
+	}
+
+	/**
+	 * Number of definitions currently cached
+	 */
+	public long size()
+	{
+		return definitions.size();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "DefinitionCache[size=" + size()
+			+ ", hits=" + getHitCount()
+			+ ", misses=" + getMissCount()
+			+ ", decodes=" + getDecodeCount()
+			+ ", decodeTime=" + TimeUnit.NANOSECONDS.toMillis(getTotalDecodeTime()) + "ms]";
+	}
+
+	private byte[] loadData(DefinitionType<?> type, int id) throws IOException
+	{
+		switch (type.getLayout())
+		{
+			case FILES:
+				return loadFile(type.getIndexType(), type.getArchiveId(), id);
+			case GROUPS:
+				return loadFile(type.getIndexType(), id >>> 16, id & 0xffff);
+			case ARCHIVES:
+			{
+				final Archive archive = store.getIndex(type.getIndexType()).getArchive(id);
+				if (archive == null)
+				{
+					return null;
+				}
+				return archive.decompress(loadArchive(archive));
+			}
+			default:
+				throw new IllegalStateException();
+		}
+	}
+
+	private byte[] loadFile(IndexType indexType, int archiveId, int fileId) throws IOException
+	{
+		final Archive archive = store.getIndex(indexType).getArchive(archiveId);
+		if (archive == null)
+		{
+			return null;
+		}
+
+		final ArchiveFiles files;
+		try
+		{
+			files = archives.get(new ArchiveKey(indexType, archiveId), () -> archive.getFiles(loadArchive(archive)));
+		}
+		catch (ExecutionException ex)
+		{
+			throw new IOException("unable to load archive " + indexType + "/" + archiveId, ex.getCause());
+		}
+
+		final FSFile file = files.findFile(fileId);
+		return file == null ? null : file.getContents();
+	}
+
+	private byte[] loadArchive(Archive archive) throws IOException
+	{
+		// Storage reads are not thread safe
+		synchronized (store)
+		{
+			return store.getStorage().loadArchive(archive);
+		}
+	}
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import com.google.common.collect.Lists;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports every definition of a type as json, either to a file per
+ * definition or to one file per type with a definition per line.
+ * Definitions are decoded in parallel. A file per definition is also
+ * serialized in parallel, while the single file is streamed in id order.
+ */
+@Slf4j
+public class DefinitionExporter
+{
+	/**
+	 * Number of definitions decoded and serialized in parallel before being
+	 * written, when writing a single file
+	 */
+	private static final int WINDOW_SIZE = 4096;
+
+	public enum Format
+	{
+		/**
+		 * A pretty printed file per definition, named by its id
+		 */
+		FILES,
+		/**
+		 * One file per type, with a definition per line
+		 */
+		NDJSON
+	}
+
+	@Value
+	public static class Result
+	{
+		private final DefinitionType<?> type;
+		private final int count;
+		private final long bytes;
+		private final long nanos;
+
+		@Override
+		public String toString()
+		{
+			double seconds = nanos / 1e9;
+			String s = String.format("%s: %d definitions, %.1f MB in %.2fs", type, count, bytes / 1e6, seconds);
+			if (nanos > 0)
+			{
+				s += String.format(" (%.0f definitions/s, %.1f MB/s)", count / seconds, bytes / 1e6 / seconds);
+			}
+			return s;
+		}
+	}
+
+	private final DefinitionCache definitions;
+	private final Gson gson = new Gson();
+	private final Gson prettyGson = new GsonBuilder()
+		.setPrettyPrinting()
+		.create();
+
+	public DefinitionExporter(DefinitionCache definitions)
+	{
+		this.definitions = definitions;
+	}
+
+	/**
+	 * Export every definition of a type
+	 *
+	 * @param type definition type
+	 * @param out directory to write to
+	 * @param format output format
+	 * @return the number of definitions and bytes written, and how long it took
+	 * @throws IOException if the directory can't be created or written to
+	 */
+	public Result export(DefinitionType<?> type, File out, Format format) throws IOException
+	{
+		mkdirs(out);
+		if (!out.canWrite())
+		{
+			throw new IOException("Output directory " + out + " is not writable");
+		}
+
+		final long start = System.nanoTime();
+		final List<Integer> ids = definitions.getIds(type);
+		final Progress progress = new Progress(type, ids.size());
+
+		try
+		{
+			switch (format)
+			{
+				case FILES:
+					ids.parallelStream().forEach(id -> exportFile(type, id, out, progress));
+					break;
+				case NDJSON:
+					exportLines(type, ids, new File(out, type + ".ndjson"), progress);
+					break;
+			}
+		}
+		catch (UncheckedIOException ex)
+		{
+			throw ex.getCause();
+		}
+		catch (JsonIOException ex)
+		{
+			// gson wraps the exceptions of the writer it writes to
+			if (ex.getCause() instanceof IOException)
+			{
+				throw (IOException) ex.getCause();
+			}
+			throw ex;
+		}
+
+		final Result result = new Result(type, progress.count.get(), progress.bytes.sum(), System.nanoTime() - start);
+		log.info("Exported {}", result);
+		return result;
+	}
+
+	private static void mkdirs(File dir) throws IOException
+	{
+		// checked after mkdirs, as another thread may have created the directory
+		if (!dir.mkdirs() && !dir.isDirectory())
+		{
+			throw new IOException("Unable to create output directory " + dir);
+		}
+	}
+
+	private void exportFile(DefinitionType<?> type, int id, File out, Progress progress)
+	{
+		final Object definition = definitions.getUnchecked(type, id);
+		if (definition == null)
+		{
+			progress.skipped();
+			return;
+		}
+
+		final File file;
+		if (type.getLayout() == DefinitionType.Layout.GROUPS)
+		{
+			File folder = new File(out, Integer.toString(id >>> 16));
+			file = new File(folder, (id & 0xffff) + ".json");
+		}
+		else
+		{
+			file = new File(out, id + ".json");
+		}
+
+		try
+		{
+			mkdirs(file.getParentFile());
+
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)))
+			{
+				prettyGson.toJson(definition, writer);
+			}
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+
+		progress.written(file.length());
+		progress.exported();
+	}
+
+	private void exportLines(DefinitionType<?> type, List<Integer> ids, File file, Progress progress) throws IOException
+	{
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)))
+		{
+			// Definitions are decoded and serialized in parallel a window at a
+			// time, then written to the file in id order
+			for (List<Integer> window : Lists.partition(ids, WINDOW_SIZE))
+			{
+				final List<String> lines = window.parallelStream()
+					.map(id -> toJsonLine(type, id))
+					.collect(Collectors.toList());
+
+				for (String line : lines)
+				{
+					if (line == null)
+					{
+						progress.skipped();
+						continue;
+					}
+
+					writer.write(line);
+					writer.write('\n');
+					progress.exported();
+				}
+			}
+		}
+
+		progress.written(file.length());
+	}
+
+	/**
+	 * Serialize a definition to a single line of json
+	 *
+	 * @return the json, or null if there is no definition with the id
+	 */
+	private String toJsonLine(DefinitionType<?> type, int id)
+	{
+		final Object definition = definitions.getUnchecked(type, id);
+		return definition == null ? null : gson.toJson(definition);
+	}
+
+	private static class Progress
+	{
+		private final DefinitionType<?> type;
+		private final int total;
+		private final long start = System.nanoTime();
+		private final AtomicInteger done = new AtomicInteger();
+		private final AtomicInteger count = new AtomicInteger();
+		private final LongAdder bytes = new LongAdder();
+
+		Progress(DefinitionType<?> type, int total)
+		{
+			this.type = type;
+			this.total = total;
+		}
+
+		void exported()
+		{
+			count.incrementAndGet();
+			increment();
+		}
+
+		void written(long size)
+		{
+			bytes.add(size);
+		}
+
+		void skipped()
+		{
+			increment();
+		}
+
+		private void increment()
+		{
+			final int d = done.incrementAndGet();
+			final int step = Math.max(total / 10, 1);
+			if (d % step == 0 && d < total)
+			{
+				final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				log.info("Exporting {}: {}/{} ({} definitions/s)", type, d, total, millis == 0 ? d : d * 1000L / millis);
+			}
+		}
+	}
+}
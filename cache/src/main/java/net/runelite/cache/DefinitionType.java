@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.runelite.cache.definitions.AreaDefinition;
+import net.runelite.cache.definitions.InterfaceDefinition;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.NpcDefinition;
+import net.runelite.cache.definitions.ObjectDefinition;
+import net.runelite.cache.definitions.SpriteDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
+import net.runelite.cache.definitions.loaders.AreaLoader;
+import net.runelite.cache.definitions.loaders.InterfaceLoader;
+import net.runelite.cache.definitions.loaders.ItemLoader;
+import net.runelite.cache.definitions.loaders.NpcLoader;
+import net.runelite.cache.definitions.loaders.ObjectLoader;
+import net.runelite.cache.definitions.loaders.SpriteLoader;
+import net.runelite.cache.definitions.loaders.TextureLoader;
+import net.runelite.cache.io.StringPool;
+
+/**
+ * A kind of definition stored in the cache, with where its data is kept and
+ * how it is decoded
+ *
+ * @param <T> the definition class
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DefinitionType<T>
+{
+	public static final DefinitionType<ItemDefinition> ITEM = new DefinitionType<>("item", IndexType.CONFIGS,
+		Layout.FILES, ConfigType.ITEM.getId(), (id, data, pool) -> new ItemLoader(pool).load(id, data));
+	public static final DefinitionType<NpcDefinition> NPC = new DefinitionType<>("npc", IndexType.CONFIGS,
+		Layout.FILES, ConfigType.NPC.getId(), (id, data, pool) -> new NpcLoader(pool).load(id, data));
+	public static final DefinitionType<ObjectDefinition> OBJECT = new DefinitionType<>("object", IndexType.CONFIGS,
+		Layout.FILES, ConfigType.OBJECT.getId(), (id, data, pool) -> new ObjectLoader(pool).load(id, data));
+	public static final DefinitionType<AreaDefinition> AREA = new DefinitionType<>("area", IndexType.CONFIGS,
+		Layout.FILES, ConfigType.AREA.getId(), (id, data, pool) -> new AreaLoader().load(data, id));
+	public static final DefinitionType<TextureDefinition> TEXTURE = new DefinitionType<>("texture", IndexType.TEXTURES,
+		Layout.FILES, 0, (id, data, pool) -> new TextureLoader().load(id, data));
+	public static final DefinitionType<SpriteDefinition[]> SPRITE = new DefinitionType<>("sprite", IndexType.SPRITES,
+		Layout.ARCHIVES, -1, (id, data, pool) -> new SpriteLoader().load(id, data));
+	public static final DefinitionType<InterfaceDefinition> INTERFACE = new DefinitionType<>("interface", IndexType.INTERFACES,
+		Layout.GROUPS, -1, (id, data, pool) -> new InterfaceLoader().load(id, data));
+
+	private static final DefinitionType<?>[] VALUES =
+	{
+		ITEM, NPC, OBJECT, AREA, TEXTURE, SPRITE, INTERFACE
+	};
+
+	enum Layout
+	{
+		/**
+		 * Every definition is a file in one archive, with the definition id as the file id
+		 */
+		FILES,
+		/**
+		 * Every definition is its own archive, with the definition id as the archive id
+		 */
+		ARCHIVES,
+		/**
+		 * Definitions are files in many archives. The archive id is the high
+		 * 16 bits of the definition id, and the file id the low 16 bits.
+		 */
+		GROUPS
+	}
+
+	@FunctionalInterface
+	interface Decoder<D>
+	{
+		/**
+		 * @param stringPool pool of the store the definition is decoded from,
+		 * to intern its strings in
+		 */
+		D decode(int id, byte[] data, StringPool stringPool) throws IOException;
+	}
+
+	private final String name;
+	private final IndexType indexType;
+	@Getter(AccessLevel.PACKAGE)
+	private final Layout layout;
+	/**
+	 * The archive holding every definition, for the {@link Layout#FILES} layout
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	private final int archiveId;
+	@Getter(AccessLevel.PACKAGE)
+	private final Decoder<T> decoder;
+
+	/**
+	 * Get every definition type
+	 */
+	public static DefinitionType<?>[] values()
+	{
+		return VALUES.clone();
+	}
+
+	/**
+	 * Find a definition type by name
+	 *
+	 * @return the type, or null if there is none with the name
+	 */
+	public static DefinitionType<?> forName(String name)
+	{
+		for (DefinitionType<?> type : VALUES)
+		{
+			if (type.name.equalsIgnoreCase(name))
+			{
+				return type;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -26,7 +26,10 @@ package net.runelite.cache;
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import lombok.Getter;
+import lombok.Setter;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
@@ -43,6 +46,14 @@ public class HeightMapDumper
 	private final Store store;
 	private RegionLoader regionLoader;
 
+	/**
+	 * File the decoded regions are kept in between runs, or null to always
+	 * decode the regions from the store
+	 */
+	@Getter
+	@Setter
+	private File regionFile;
+
 	public HeightMapDumper(Store store)
 	{
 		this.store = store;
@@ -51,7 +62,14 @@ public class HeightMapDumper
 	public void load() throws IOException
 	{
 		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
+		if (regionFile != null)
+		{
+			regionLoader.loadRegions(regionFile);
+		}
+		else
+		{
+			regionLoader.loadRegions();
+		}
 		regionLoader.calculateBounds();
 	}
 
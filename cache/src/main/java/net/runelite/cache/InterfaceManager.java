@@ -27,59 +27,51 @@ package net.runelite.cache;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.List;
 import net.runelite.cache.definitions.InterfaceDefinition;
 import net.runelite.cache.definitions.exporters.InterfaceExporter;
-import net.runelite.cache.definitions.loaders.InterfaceLoader;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.Namer;
 
 public class InterfaceManager
 {
-	private final Store store;
+	private final DefinitionCache definitions;
 	private InterfaceDefinition[][] interfaces;
 	private final Namer namer = new Namer();
 
 	public InterfaceManager(Store store)
 	{
-		this.store = store;
+		this(new DefinitionCache(store));
 	}
 
-	public void load() throws IOException
+	public InterfaceManager(DefinitionCache definitions)
 	{
-		InterfaceLoader loader = new InterfaceLoader();
+		this.definitions = definitions;
+	}
 
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.INTERFACES);
+	public void load() throws IOException
+	{
+		definitions.preload(DefinitionType.INTERFACE);
 
-		int max = index.getArchives().stream().mapToInt(a -> a.getArchiveId()).max().getAsInt();
-		interfaces = new InterfaceDefinition[max + 1][];
+		List<Integer> ids = definitions.getIds(DefinitionType.INTERFACE);
+		int max = ids.stream().mapToInt(id -> id >>> 16).max().getAsInt();
 
-		for (Archive archive : index.getArchives())
+		int[] children = new int[max + 1];
+		for (int id : ids)
 		{
-			int archiveId = archive.getArchiveId();
-			byte[] archiveData = storage.loadArchive(archive);
-			ArchiveFiles files = archive.getFiles(archiveData);
+			children[id >>> 16] = Math.max(children[id >>> 16], (id & 0xffff) + 1);
+		}
 
-			InterfaceDefinition[] ifaces = interfaces[archiveId];
-			if (ifaces == null)
+		interfaces = new InterfaceDefinition[max + 1][];
+		for (int id : ids)
+		{
+			int groupId = id >>> 16;
+			if (interfaces[groupId] == null)
 			{
-				ifaces = interfaces[archiveId] = new InterfaceDefinition[archive.getFileData().length];
+				interfaces[groupId] = new InterfaceDefinition[children[groupId]];
 			}
 
-			for (FSFile file : files.getFiles())
-			{
-				int fileId = file.getFileId();
-
-				int widgetId = (archiveId << 16) + fileId;
-
-				InterfaceDefinition iface = loader.load(widgetId, file.getContents());
-				ifaces[fileId] = iface;
-			}
+			interfaces[groupId][id & 0xffff] = definitions.get(DefinitionType.INTERFACE, id);
 		}
 	}
 
@@ -100,7 +92,7 @@ public class InterfaceManager
 
 	public InterfaceDefinition getInterface(int groupId, int childId)
 	{
-		return interfaces[groupId][childId];
+		return definitions.getUnchecked(DefinitionType.INTERFACE, (groupId << 16) | childId);
 	}
 
 	public InterfaceDefinition[][] getInterfaces()
@@ -29,64 +29,50 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.exporters.ItemExporter;
-import net.runelite.cache.definitions.loaders.ItemLoader;
 import net.runelite.cache.definitions.providers.ItemProvider;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.Namer;
 
 public class ItemManager implements ItemProvider
 {
-	private final Store store;
-	private final Map<Integer, ItemDefinition> items = new HashMap<>();
+	private final DefinitionCache definitions;
 	private final Namer namer = new Namer();
 
 	public ItemManager(Store store)
 	{
-		this.store = store;
+		this(new DefinitionCache(store));
 	}
 
-	public void load() throws IOException
+	public ItemManager(DefinitionCache definitions)
 	{
-		ItemLoader loader = new ItemLoader();
-
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.CONFIGS);
-		Archive archive = index.getArchive(ConfigType.ITEM.getId());
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		this.definitions = definitions;
+	}
 
-		for (FSFile f : files.getFiles())
-		{
-			ItemDefinition def = loader.load(f.getFileId(), f.getContents());
-			items.put(f.getFileId(), def);
-		}
+	public void load() throws IOException
+	{
+		definitions.preload(DefinitionType.ITEM);
 	}
 
+	/**
+	 * @return a copy of the items, see {@link DefinitionCache#getAll}
+	 */
 	public Collection<ItemDefinition> getItems()
 	{
-		return Collections.unmodifiableCollection(items.values());
+		return Collections.unmodifiableCollection(definitions.getAll(DefinitionType.ITEM));
 	}
 
 	public ItemDefinition getItem(int itemId)
 	{
-		return items.get(itemId);
+		return definitions.getUnchecked(DefinitionType.ITEM, itemId);
 	}
 
 	public void export(File out) throws IOException
 	{
 		out.mkdirs();
 
-		for (ItemDefinition def : items.values())
+		for (ItemDefinition def : getItems())
 		{
 			ItemExporter exporter = new ItemExporter(def);
 
@@ -107,7 +93,7 @@ public class ItemManager implements ItemProvider
 			fw.println("");
 			fw.println("public final class ItemID");
 			fw.println("{");
-			for (ItemDefinition def : items.values())
+			for (ItemDefinition def : getItems())
 			{
 				if (def.name.equalsIgnoreCase("NULL"))
 				{
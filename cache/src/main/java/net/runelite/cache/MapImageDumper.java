@@ -27,10 +27,22 @@ package net.runelite.cache;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.cache.definitions.AreaDefinition;
@@ -49,7 +61,6 @@ import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.item.ColorPalette;
 import net.runelite.cache.item.RSTextureProvider;
-import net.runelite.cache.region.Location;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
 import net.runelite.cache.util.Djb2;
@@ -64,6 +75,7 @@ public class MapImageDumper
 	private static final int MAPICON_MAX_WIDTH = 5; // scale minimap icons down to this size so they fit..
 	private static final int MAPICON_MAX_HEIGHT = 6;
 	private static final int BLEND = 5; // number of surrounding tiles for ground blending
+	private static final int TILE_SIZE = Region.X * MAP_SCALE; // tiles are one region wide
 
 	private static int[] colorPalette = new ColorPalette(0.9d, 0, 512).getColorPalette();
 
@@ -79,6 +91,11 @@ public class MapImageDumper
 	private final Map<Integer, OverlayDefinition> overlays = new HashMap<>();
 	private final Map<Integer, Image> scaledMapIcons = new HashMap<>();
 
+	// Buffers reused for each region drawn by a thread
+	private final ThreadLocal<int[][]> mapPixels = ThreadLocal.withInitial(() -> new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE]);
+	private final ThreadLocal<int[][]> abovePixels = ThreadLocal.withInitial(() -> new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE]);
+	private final ThreadLocal<BufferedImage> tileImage = ThreadLocal.withInitial(() -> new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB));
+
 	private RegionLoader regionLoader;
 	private final AreaManager areas;
 	private final SpriteManager sprites;
@@ -93,6 +110,21 @@ public class MapImageDumper
 	@Setter
 	private boolean outlineRegions;
 
+	/**
+	 * Number of threads {@link #drawTiles(int, File)} draws tiles with
+	 */
+	@Getter
+	@Setter
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * File the decoded regions are kept in between runs, or null to always
+	 * decode the regions from the store
+	 */
+	@Getter
+	@Setter
+	private File regionFile;
+
 	public MapImageDumper(Store store)
 	{
 		this.store = store;
@@ -146,27 +178,194 @@ public class MapImageDumper
 
 	public BufferedImage drawRegion(Region region, int z)
 	{
-		int pixelsX = Region.X * MAP_SCALE;
-		int pixelsY = Region.Y * MAP_SCALE;
+		BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+		drawRegion(image, region, z);
+		return image;
+	}
+
+	/**
+	 * Draw the map of a plane as a pyramid of png tiles, without ever holding
+	 * the whole map in memory. Regions are drawn in parallel, one tile each,
+	 * into level 0. Each following level is drawn from the level below it at
+	 * half the scale, until one tile covers the whole map. Tiles are written
+	 * to {@code outDir/<level>/<x>_<y>.png}, where tile 0_0 is the north west
+	 * corner.
+	 *
+	 * @return the number of levels written
+	 */
+	public int drawTiles(int z, File outDir) throws IOException
+	{
+		final int lowestX = regionLoader.getLowestX().getRegionX();
+		final int highestY = regionLoader.getHighestY().getRegionY();
 
-		BufferedImage image = new BufferedImage(pixelsX, pixelsY, BufferedImage.TYPE_INT_RGB);
+		File levelDir = new File(outDir, "0");
+		levelDir.mkdirs();
+
+		int width = 0, height = 0;
+		for (Region region : regionLoader.getRegions())
+		{
+			width = Math.max(width, region.getRegionX() - lowestX + 1);
+			height = Math.max(height, highestY - region.getRegionY() + 1);
+		}
+
+		final File regionDir = levelDir;
+		final List<Region> regions = new ArrayList<>(regionLoader.getRegions());
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+		try
+		{
+			forEach(pool, regions.size(), i ->
+			{
+				Region region = regions.get(i);
+				BufferedImage image = tileImage.get();
+				clear(image);
+				drawRegion(image, region, z);
+
+				File tile = new File(regionDir, (region.getRegionX() - lowestX) + "_" + (highestY - region.getRegionY()) + ".png");
+				write(image, tile);
+			});
+
+			int level = 0;
+			while (width > 1 || height > 1)
+			{
+				final File childDir = levelDir;
+				final int parentWidth = (width + 1) / 2;
+				final int parentHeight = (height + 1) / 2;
+
+				levelDir = new File(outDir, Integer.toString(++level));
+				levelDir.mkdirs();
+
+				final File parentDir = levelDir;
+				forEach(pool, parentWidth * parentHeight, i ->
+					drawParentTile(childDir, parentDir, i % parentWidth, i / parentWidth));
+
+				width = parentWidth;
+				height = parentHeight;
+			}
+
+			logger.info("Wrote {} levels of tiles for plane {} to {}", level + 1, z, outDir);
+			return level + 1;
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Run a task for each index in {@code [0, count)} on the pool, and wait
+	 * for all of them to finish
+	 */
+	private static void forEach(ForkJoinPool pool, int count, IntConsumer task) throws IOException
+	{
+		final List<Future<?>> futures = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i)
+		{
+			final int index = i;
+			futures.add(pool.submit(() -> task.accept(index)));
+		}
+
+		try
+		{
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted drawing tiles", ex);
+		}
+		catch (ExecutionException ex)
+		{
+			if (ex.getCause() instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) ex.getCause()).getCause();
+			}
+			throw new IOException(ex.getCause());
+		}
+	}
+
+	private void drawParentTile(File childDir, File parentDir, int x, int y)
+	{
+		final BufferedImage parent = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D graphics = parent.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+		boolean empty = true;
+		for (int dx = 0; dx < 2; ++dx)
+		{
+			for (int dy = 0; dy < 2; ++dy)
+			{
+				File childFile = new File(childDir, (x * 2 + dx) + "_" + (y * 2 + dy) + ".png");
+				if (!childFile.exists())
+				{
+					continue;
+				}
+
+				try
+				{
+					BufferedImage child = ImageIO.read(childFile);
+					graphics.drawImage(child, dx * TILE_SIZE / 2, dy * TILE_SIZE / 2, TILE_SIZE / 2, TILE_SIZE / 2, null);
+					empty = false;
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			}
+		}
+
+		graphics.dispose();
+
+		if (!empty)
+		{
+			write(parent, new File(parentDir, x + "_" + y + ".png"));
+		}
+	}
+
+	private static void write(BufferedImage image, File file)
+	{
+		try
+		{
+			ImageIO.write(image, "png", file);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
 
+	private void drawRegion(BufferedImage image, Region region, int z)
+	{
 		drawMap(image, 0, 0, z, region);
 		drawObjects(image, 0, 0, region, z);
 		drawMapIcons(image, 0, 0, region, z);
+	}
 
-		return image;
+	private static void clear(BufferedImage image)
+	{
+		Arrays.fill(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0);
+	}
+
+	private static int[][] clear(int[][] pixels)
+	{
+		for (int[] column : pixels)
+		{
+			Arrays.fill(column, 0);
+		}
+		return pixels;
 	}
 
 	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region)
 	{
-		int[][] map = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+		int[][] map = clear(mapPixels.get());
 		drawMap(map, region, z);
 
 		int[][] above = null;
 		if (z < 3)
 		{
-			above = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+			above = clear(abovePixels.get());
 			drawMap(above, region, z + 1);
 		}
 
@@ -488,25 +687,26 @@ public class MapImageDumper
 	{
 		Graphics2D graphics = image.createGraphics();
 
-		for (Location location : region.getLocations())
+		for (int i = 0; i < region.getLocationCount(); ++i)
 		{
+			int id = region.getLocationId(i);
+			int rotation = region.getLocationOrientation(i);
+			int type = region.getLocationType(i);
 
-			int rotation = location.getOrientation();
-			int type = location.getType();
-
-			int localX = location.getPosition().getX() - region.getBaseX();
-			int localY = location.getPosition().getY() - region.getBaseY();
+			int localX = region.getLocationLocalX(i);
+			int localY = region.getLocationLocalY(i);
+			int localZ = region.getLocationZ(i);
 
 			boolean isBridge = (region.getTileSetting(1, localX, localY) & 2) != 0;
 
-			if (location.getPosition().getZ() == z + 1)
+			if (localZ == z + 1)
 			{
 				if (!isBridge)
 				{
 					continue;
 				}
 			}
-			else if (location.getPosition().getZ() == z)
+			else if (localZ == z)
 			{
 				if (isBridge)
 				{
@@ -523,7 +723,7 @@ public class MapImageDumper
 				continue;
 			}
 
-			ObjectDefinition object = findObject(location.getId());
+			ObjectDefinition object = findObject(id);
 
 			int drawX = (drawBaseX + localX) * MAP_SCALE;
 			int drawY = (drawBaseY + (Region.Y - 1 - localY)) * MAP_SCALE;
@@ -531,7 +731,7 @@ public class MapImageDumper
 			if (type >= 0 && type <= 3)
 			{
 				// this is a wall
-				int hash = (localY << 7) + localX + (location.getId() << 14) + 0x4000_0000;
+				int hash = (localY << 7) + localX + (id << 14) + 0x4000_0000;
 				if (object.getAnInt2088() == 0)
 				{
 					hash -= Integer.MIN_VALUE;
@@ -644,7 +844,7 @@ public class MapImageDumper
 					continue;
 				}
 
-				int hash = (localY << 7) + localX + (location.getId() << 14) + 0x4000_0000;
+				int hash = (localY << 7) + localX + (id << 14) + 0x4000_0000;
 				if (object.getAnInt2088() == 0)
 				{
 					hash -= Integer.MIN_VALUE;
@@ -856,21 +1056,21 @@ public class MapImageDumper
 
 	private void drawMapIcons(Graphics2D graphics, Region region, int z, int drawBaseX, int drawBaseY)
 	{
-		for (Location location : region.getLocations())
+		for (int i = 0; i < region.getLocationCount(); ++i)
 		{
-			int localZ = location.getPosition().getZ();
+			int localZ = region.getLocationZ(i);
 			if (z != 0 && localZ != z)
 			{
 				// draw all icons on z=0
 				continue;
 			}
 
-			ObjectDefinition od = findObject(location.getId());
+			ObjectDefinition od = findObject(region.getLocationId(i));
 
 			assert od != null;
 
-			int localX = location.getPosition().getX() - region.getBaseX();
-			int localY = location.getPosition().getY() - region.getBaseY();
+			int localX = region.getLocationLocalX(i);
+			int localY = region.getLocationLocalY(i);
 
 			int drawX = drawBaseX + localX;
 			int drawY = drawBaseY + (Region.Y - 1 - localY);
@@ -893,8 +1093,24 @@ public class MapImageDumper
 
 	private void loadRegions(Store store) throws IOException
 	{
-		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
+		RegionLoader regionLoader = new RegionLoader(store);
+		if (regionFile != null)
+		{
+			regionLoader.loadRegions(regionFile);
+		}
+		else
+		{
+			regionLoader.loadRegions();
+		}
+		loadRegions(regionLoader);
+	}
+
+	/**
+	 * Draw the regions of a loader instead of the regions of the store
+	 */
+	void loadRegions(RegionLoader regionLoader)
+	{
+		this.regionLoader = regionLoader;
 		regionLoader.calculateBounds();
 
 		logger.info("North most region: {}", regionLoader.getLowestY().getBaseY());
@@ -917,10 +1133,15 @@ public class MapImageDumper
 			UnderlayLoader loader = new UnderlayLoader();
 			UnderlayDefinition underlay = loader.load(file.getFileId(), file.getContents());
 
-			underlays.put(underlay.getId(), underlay);
+			addUnderlay(underlay);
 		}
 	}
 
+	void addUnderlay(UnderlayDefinition underlay)
+	{
+		underlays.put(underlay.getId(), underlay);
+	}
+
 	private UnderlayDefinition findUnderlay(int id)
 	{
 		return underlays.get(id);
@@ -27,58 +27,50 @@ package net.runelite.cache;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
 import java.util.List;
 import net.runelite.cache.definitions.NpcDefinition;
 import net.runelite.cache.definitions.exporters.NpcExporter;
-import net.runelite.cache.definitions.loaders.NpcLoader;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.Namer;
 
 public class NpcManager
 {
-	private final Store store;
-	private final List<NpcDefinition> npcs = new ArrayList<>();
+	private final DefinitionCache definitions;
 	private final Namer namer = new Namer();
 
 	public NpcManager(Store store)
 	{
-		this.store = store;
+		this(new DefinitionCache(store));
 	}
 
-	public void load() throws IOException
+	public NpcManager(DefinitionCache definitions)
 	{
-		NpcLoader loader = new NpcLoader();
-
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.CONFIGS);
-		Archive archive = index.getArchive(ConfigType.NPC.getId());
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		this.definitions = definitions;
+	}
 
-		for (FSFile f : files.getFiles())
-		{
-			NpcDefinition npc = loader.load(f.getFileId(), f.getContents());
-			npcs.add(npc);
-		}
+	public void load() throws IOException
+	{
+		definitions.preload(DefinitionType.NPC);
 	}
 	
+	/**
+	 * @return a copy of the npcs, see {@link DefinitionCache#getAll}
+	 */
 	public List<NpcDefinition> getNpcs()
 	{
-		return npcs;
+		return definitions.getAll(DefinitionType.NPC);
+	}
+
+	public NpcDefinition getNpc(int npcId)
+	{
+		return definitions.getUnchecked(DefinitionType.NPC, npcId);
 	}
 
 	public void dump(File out) throws IOException
 	{
 		out.mkdirs();
 
-		for (NpcDefinition def : npcs)
+		for (NpcDefinition def : getNpcs())
 		{
 			NpcExporter exporter = new NpcExporter(def);
 
@@ -99,7 +91,7 @@ public class NpcManager
 			fw.println("");
 			fw.println("public final class NpcID");
 			fw.println("{");
-			for (NpcDefinition def : npcs)
+			for (NpcDefinition def : getNpcs())
 			{
 				if (def.name.equalsIgnoreCase("NULL"))
 				{
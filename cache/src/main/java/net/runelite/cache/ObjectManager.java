@@ -29,63 +29,49 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import net.runelite.cache.definitions.ObjectDefinition;
 import net.runelite.cache.definitions.exporters.ObjectExporter;
-import net.runelite.cache.definitions.loaders.ObjectLoader;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.Namer;
 
 public class ObjectManager
 {
-	private final Store store;
-	private final Map<Integer, ObjectDefinition> objects = new HashMap<>();
+	private final DefinitionCache definitions;
 	private final Namer namer = new Namer();
 
 	public ObjectManager(Store store)
 	{
-		this.store = store;
+		this(new DefinitionCache(store));
 	}
 
-	public void load() throws IOException
+	public ObjectManager(DefinitionCache definitions)
 	{
-		ObjectLoader loader = new ObjectLoader();
-
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.CONFIGS);
-		Archive archive = index.getArchive(ConfigType.OBJECT.getId());
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		this.definitions = definitions;
+	}
 
-		for (FSFile f : files.getFiles())
-		{
-			ObjectDefinition def = loader.load(f.getFileId(), f.getContents());
-			objects.put(f.getFileId(), def);
-		}
+	public void load() throws IOException
+	{
+		definitions.preload(DefinitionType.OBJECT);
 	}
 
+	/**
+	 * @return a copy of the objects, see {@link DefinitionCache#getAll}
+	 */
 	public Collection<ObjectDefinition> getObjects()
 	{
-		return Collections.unmodifiableCollection(objects.values());
+		return Collections.unmodifiableCollection(definitions.getAll(DefinitionType.OBJECT));
 	}
 
 	public ObjectDefinition getObject(int id)
 	{
-		return objects.get(id);
+		return definitions.getUnchecked(DefinitionType.OBJECT, id);
 	}
 
 	public void dump(File out) throws IOException
 	{
 		out.mkdirs();
 
-		for (ObjectDefinition def : objects.values())
+		for (ObjectDefinition def : getObjects())
 		{
 			ObjectExporter exporter = new ObjectExporter(def);
 
@@ -106,7 +92,7 @@ public class ObjectManager
 			fw.println("");
 			fw.println("public final class ObjectID");
 			fw.println("{");
-			for (ObjectDefinition def : objects.values())
+			for (ObjectDefinition def : getObjects())
 			{
 				String name;
 				if (def.getName().equalsIgnoreCase("NULL"))
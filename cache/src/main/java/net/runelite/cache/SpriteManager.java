@@ -24,59 +24,59 @@
  */
 package net.runelite.cache;
 
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimap;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import net.runelite.cache.definitions.SpriteDefinition;
 import net.runelite.cache.definitions.exporters.SpriteExporter;
-import net.runelite.cache.definitions.loaders.SpriteLoader;
 import net.runelite.cache.definitions.providers.SpriteProvider;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 
 public class SpriteManager implements SpriteProvider
 {
-	private final Store store;
-	private final Multimap<Integer, SpriteDefinition> sprites = LinkedListMultimap.create();
+	private final DefinitionCache definitions;
 
 	public SpriteManager(Store store)
 	{
-		this.store = store;
+		this(new DefinitionCache(store));
 	}
 
-	public void load() throws IOException
+	public SpriteManager(DefinitionCache definitions)
 	{
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.SPRITES);
-
-		for (Archive a : index.getArchives())
-		{
-			byte[] contents = a.decompress(storage.loadArchive(a));
-
-			SpriteLoader loader = new SpriteLoader();
-			SpriteDefinition[] defs = loader.load(a.getArchiveId(), contents);
+		this.definitions = definitions;
+	}
 
-			for (SpriteDefinition sprite : defs)
-			{
-				sprites.put(sprite.getId(), sprite);
-			}
-		}
+	public void load() throws IOException
+	{
+		definitions.preload(DefinitionType.SPRITE);
 	}
 
+	/**
+	 * @return a copy of the sprites, see {@link DefinitionCache#getAll}
+	 */
 	public Collection<SpriteDefinition> getSprites()
 	{
-		return Collections.unmodifiableCollection(sprites.values());
+		List<SpriteDefinition> sprites = new ArrayList<>();
+		for (SpriteDefinition[] frames : definitions.getAll(DefinitionType.SPRITE))
+		{
+			Collections.addAll(sprites, frames);
+		}
+		return Collections.unmodifiableCollection(sprites);
 	}
 
 	public SpriteDefinition findSprite(int spriteId, int frameId)
 	{
-		for (SpriteDefinition sprite : sprites.get(spriteId))
+		SpriteDefinition[] frames = definitions.getUnchecked(DefinitionType.SPRITE, spriteId);
+		if (frames == null)
+		{
+			return null;
+		}
+
+		for (SpriteDefinition sprite : frames)
 		{
 			if (sprite.getFrame() == frameId)
 			{
@@ -95,7 +95,7 @@ public class SpriteManager implements SpriteProvider
 
 	public void export(File outDir) throws IOException
 	{
-		for (SpriteDefinition sprite : sprites.values())
+		for (SpriteDefinition sprite : getSprites())
 		{
 			// I don't know why this happens
 			if (sprite.getHeight() <= 0 || sprite.getWidth() <= 0)
@@ -25,66 +25,47 @@
 package net.runelite.cache;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import net.runelite.cache.definitions.TextureDefinition;
-import net.runelite.cache.definitions.loaders.TextureLoader;
 import net.runelite.cache.definitions.providers.TextureProvider;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 
 public class TextureManager implements TextureProvider
 {
-	private final Store store;
-	private final List<TextureDefinition> textures = new ArrayList<>();
+	private final DefinitionCache definitions;
 
 	public TextureManager(Store store)
 	{
-		this.store = store;
+		this(new DefinitionCache(store));
 	}
 
-	public void load() throws IOException
+	public TextureManager(DefinitionCache definitions)
 	{
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.TEXTURES);
-		Archive archive = index.getArchive(0);
-
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
-
-		TextureLoader loader = new TextureLoader();
+		this.definitions = definitions;
+	}
 
-		for (FSFile file : files.getFiles())
-		{
-			TextureDefinition texture = loader.load(file.getFileId(), file.getContents());
-			textures.add(texture);
-		}
+	public void load() throws IOException
+	{
+		definitions.preload(DefinitionType.TEXTURE);
 	}
 
+	/**
+	 * @return a copy of the textures, see {@link DefinitionCache#getAll}
+	 */
 	public List<TextureDefinition> getTextures()
 	{
-		return textures;
+		return definitions.getAll(DefinitionType.TEXTURE);
 	}
 
 	public TextureDefinition findTexture(int id)
 	{
-		for (TextureDefinition td : textures)
-		{
-			if (td.getId() == id)
-			{
-				return td;
-			}
-		}
-		return null;
+		return definitions.getUnchecked(DefinitionType.TEXTURE, id);
 	}
 
 	@Override
 	public TextureDefinition[] provide()
 	{
+		List<TextureDefinition> textures = getTextures();
 		return textures.toArray(new TextureDefinition[textures.size()]);
 	}
 }
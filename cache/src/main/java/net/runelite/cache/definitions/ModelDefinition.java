@@ -47,6 +47,50 @@ public class ModelDefinition
 	public byte[] aByteArray2580;
 	public short[] aShortArray2586;
 
+	/**
+	 * Copy this model so it can be resized, recolored and retextured without
+	 * changing this model. Arrays which those do not modify are shared.
+	 */
+	public ModelDefinition copy()
+	{
+		ModelDefinition copy = new ModelDefinition();
+		copy.id = id;
+		copy.vertexCount = vertexCount;
+		copy.vertexPositionsX = vertexPositionsX == null ? null : vertexPositionsX.clone();
+		copy.vertexPositionsY = vertexPositionsY == null ? null : vertexPositionsY.clone();
+		copy.vertexPositionsZ = vertexPositionsZ == null ? null : vertexPositionsZ.clone();
+		copy.vertexNormals = vertexNormals;
+		copy.faceCount = faceCount;
+		copy.faceVertexIndices1 = faceVertexIndices1;
+		copy.faceVertexIndices2 = faceVertexIndices2;
+		copy.faceVertexIndices3 = faceVertexIndices3;
+		copy.faceAlphas = faceAlphas;
+		copy.faceColors = faceColors == null ? null : faceColors.clone();
+		copy.faceRenderPriorities = faceRenderPriorities;
+		copy.faceRenderTypes = faceRenderTypes;
+		copy.faceNormals = faceNormals;
+		copy.textureTriangleCount = textureTriangleCount;
+		copy.textureTriangleVertexIndices1 = textureTriangleVertexIndices1;
+		copy.textureTriangleVertexIndices2 = textureTriangleVertexIndices2;
+		copy.textureTriangleVertexIndices3 = textureTriangleVertexIndices3;
+		copy.faceTextureUCoordinates = faceTextureUCoordinates;
+		copy.faceTextureVCoordinates = faceTextureVCoordinates;
+		copy.texturePrimaryColors = texturePrimaryColors;
+		copy.faceTextures = faceTextures == null ? null : faceTextures.clone();
+		copy.textureCoordinates = textureCoordinates;
+		copy.textureRenderTypes = textureRenderTypes;
+		copy.vertexSkins = vertexSkins;
+		copy.faceSkins = faceSkins;
+		copy.priority = priority;
+		copy.aShortArray2574 = aShortArray2574;
+		copy.aShortArray2575 = aShortArray2575;
+		copy.aShortArray2577 = aShortArray2577;
+		copy.aShortArray2578 = aShortArray2578;
+		copy.aByteArray2580 = aByteArray2580;
+		copy.aShortArray2586 = aShortArray2586;
+		return copy;
+	}
+
 	public void computeNormals()
 	{
 		if (this.vertexNormals != null)
@@ -31,15 +31,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import net.runelite.cache.io.StringPool;
 
 public class ItemLoader
 {
 	private static final Logger logger = LoggerFactory.getLogger(ItemLoader.class);
 
+	private final StringPool stringPool;
+
+	public ItemLoader()
+	{
+		this(new StringPool());
+	}
+
+	/**
+	 * @param stringPool pool to intern the strings of loaded definitions in, or null
+	 */
+	public ItemLoader(StringPool stringPool)
+	{
+		this.stringPool = stringPool;
+	}
+
 	public ItemDefinition load(int id, byte[] b)
 	{
 		ItemDefinition def = new ItemDefinition(id);
-		InputStream is = new InputStream(b);
+		InputStream is = new InputStream(b, stringPool);
 		
 		while (true)
 		{
@@ -30,15 +30,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import net.runelite.cache.io.StringPool;
 
 public class NpcLoader
 {
 	private static final Logger logger = LoggerFactory.getLogger(NpcLoader.class);
 
+	private final StringPool stringPool;
+
+	public NpcLoader()
+	{
+		this(new StringPool());
+	}
+
+	/**
+	 * @param stringPool pool to intern the strings of loaded definitions in, or null
+	 */
+	public NpcLoader(StringPool stringPool)
+	{
+		this.stringPool = stringPool;
+	}
+
 	public NpcDefinition load(int id, byte[] b)
 	{
 		NpcDefinition def = new NpcDefinition(id);
-		InputStream is = new InputStream(b);
+		InputStream is = new InputStream(b, stringPool);
 
 		while (true)
 		{
@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.Map;
 import net.runelite.cache.definitions.ObjectDefinition;
 import net.runelite.cache.io.InputStream;
+import net.runelite.cache.io.StringPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,10 +36,25 @@ public class ObjectLoader
 {
 	private static final Logger logger = LoggerFactory.getLogger(ObjectLoader.class);
 
+	private final StringPool stringPool;
+
+	public ObjectLoader()
+	{
+		this(new StringPool());
+	}
+
+	/**
+	 * @param stringPool pool to intern the strings of loaded definitions in, or null
+	 */
+	public ObjectLoader(StringPool stringPool)
+	{
+		this.stringPool = stringPool;
+	}
+
 	public ObjectDefinition load(int id, byte[] b)
 	{
 		ObjectDefinition def = new ObjectDefinition();
-		InputStream is = new InputStream(b);
+		InputStream is = new InputStream(b, stringPool);
 
 		def.setId(id);
 
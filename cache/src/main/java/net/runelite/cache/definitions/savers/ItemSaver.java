@@ -32,7 +32,7 @@ public class ItemSaver
 {
 	public byte[] save(ItemDefinition item)
 	{
-		OutputStream out = new OutputStream();
+		OutputStream out = OutputStream.pooled();
 		if (item.inventoryModel != 0)
 		{
 			out.writeByte(1);
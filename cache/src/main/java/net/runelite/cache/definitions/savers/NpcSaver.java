@@ -32,7 +32,7 @@ public class NpcSaver
 {
 	public byte[] save(NpcDefinition npc)
 	{
-		OutputStream out = new OutputStream();
+		OutputStream out = OutputStream.pooled();
 		if (npc.models != null)
 		{
 			out.writeByte(1);
@@ -32,7 +32,7 @@ public class ObjectSaver
 {
 	public byte[] save(ObjectDefinition obj)
 	{
-		OutputStream out = new OutputStream();
+		OutputStream out = OutputStream.pooled();
 		if (obj.getObjectTypes() != null && obj.getObjectModels() != null)
 		{
 			out.writeByte(1);
@@ -29,7 +29,10 @@ import java.nio.ByteBuffer;
 
 public class InputStream extends java.io.InputStream
 {
-	private static final char[] CHARACTERS = new char[]
+	/**
+	 * Characters of the CP1252 bytes 128-159, with 0 for unused bytes
+	 */
+	static final char[] CHARACTERS = new char[]
 	{
 		'\u20ac', '\u0000', '\u201a', '\u0192', '\u201e', '\u2026',
 		'\u2020', '\u2021', '\u02c6', '\u2030', '\u0160', '\u2039',
@@ -40,15 +43,50 @@ public class InputStream extends java.io.InputStream
 	};
 
 	private final ByteBuffer buffer;
+	private final StringPool stringPool;
+
+	/**
+	 * Buffer strings are decoded into
+	 */
+	private char[] chars;
 
 	public InputStream(byte[] buffer)
+	{
+		this(buffer, null);
+	}
+
+	/**
+	 * @param buffer data to read
+	 * @param stringPool pool to intern strings which are read in, or null
+	 */
+	public InputStream(byte[] buffer, StringPool stringPool)
 	{
 		this.buffer = ByteBuffer.wrap(buffer);
+		this.stringPool = stringPool;
 	}
 
+	/**
+	 * Read from the remaining data of a buffer, without copying it. The
+	 * buffer may be direct or memory mapped. Offsets are relative to the
+	 * position of the buffer, and reading does not change the buffer's position.
+	 * Nothing uses this yet, as {@link net.runelite.cache.fs.Storage} loads
+	 * archives into byte arrays.
+	 *
+	 * @param buffer data to read
+	 * @param stringPool pool to intern strings which are read in, or null
+	 */
+	public InputStream(ByteBuffer buffer, StringPool stringPool)
+	{
+		this.buffer = buffer.slice();
+		this.stringPool = stringPool;
+	}
+
+	/**
+	 * Get the array backing this stream. Only valid for streams created from a byte[].
+	 */
 	public byte[] getArray()
 	{
-		assert buffer.hasArray();
+		assert buffer.hasArray() && buffer.arrayOffset() == 0;
 		return buffer.array();
 	}
 
@@ -159,16 +197,22 @@ public class InputStream extends java.io.InputStream
 
 	public String readString()
 	{
-		StringBuilder sb = new StringBuilder();
+		int start = buffer.position();
+		int end = start;
+		while (buffer.get(end) != 0)
+		{
+			++end;
+		}
 
-		for (;;)
+		int length = end - start;
+		if (chars == null || chars.length < length)
 		{
-			int ch = this.readUnsignedByte();
+			chars = new char[Math.max(length, 64)];
+		}
 
-			if (ch == 0)
-			{
-				break;
-			}
+		for (int i = 0; i < length; ++i)
+		{
+			int ch = buffer.get(start + i) & 0xFF;
 
 			if (ch >= 128 && ch < 160)
 			{
@@ -181,9 +225,12 @@ public class InputStream extends java.io.InputStream
 				ch = var7;
 			}
 
-			sb.append((char) ch);
+			chars[i] = (char) ch;
 		}
-		return sb.toString();
+
+		buffer.position(end + 1); // skip terminator
+
+		return stringPool != null ? stringPool.intern(chars, length) : new String(chars, 0, length);
 	}
 
 	public String readStringOrNull()
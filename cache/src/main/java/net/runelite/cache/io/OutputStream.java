@@ -30,6 +30,13 @@ import java.nio.ByteBuffer;
 
 public final class OutputStream extends java.io.OutputStream
 {
+	/**
+	 * Capacity above which a pooled stream is replaced instead of reused
+	 */
+	private static final int MAX_POOLED_CAPACITY = 1024 * 1024;
+
+	private static final ThreadLocal<OutputStream> POOL = ThreadLocal.withInitial(() -> new OutputStream(4096));
+
 	private ByteBuffer buffer;
 
 	public OutputStream(int capacity)
@@ -42,6 +49,31 @@ public final class OutputStream extends java.io.OutputStream
 		this(16);
 	}
 
+	/**
+	 * Get the calling thread's reusable stream, reset to be empty. The
+	 * stream is reset again by the next call on the same thread, so its
+	 * data must be copied out with {@link #flip()} before then.
+	 */
+	public static OutputStream pooled()
+	{
+		OutputStream out = POOL.get();
+		if (out.buffer.capacity() > MAX_POOLED_CAPACITY)
+		{
+			out = new OutputStream(4096);
+			POOL.set(out);
+		}
+		out.reset();
+		return out;
+	}
+
+	/**
+	 * Discard the written data, keeping the allocated buffer
+	 */
+	public void reset()
+	{
+		buffer.clear();
+	}
+
 	public byte[] getArray()
 	{
 		assert buffer.hasArray();
@@ -180,9 +212,34 @@ public final class OutputStream extends java.io.OutputStream
 
 	public void writeString(String str)
 	{
-		byte[] b = str.getBytes();
-		writeBytes(b);
-		writeByte(0);
+		int length = str.length();
+		ensureRemaining(length + 1);
+		for (int i = 0; i < length; ++i)
+		{
+			buffer.put(encodeChar(str.charAt(i)));
+		}
+		buffer.put((byte) 0);
+	}
+
+	/**
+	 * Encode a character as CP1252, the inverse of how InputStream decodes strings
+	 */
+	private static byte encodeChar(char c)
+	{
+		if (c > 0 && c < 128 || c >= 160 && c <= 255)
+		{
+			return (byte) c;
+		}
+
+		for (int i = 0; i < InputStream.CHARACTERS.length; ++i)
+		{
+			if (InputStream.CHARACTERS[i] == c && c != 0)
+			{
+				return (byte) (128 + i);
+			}
+		}
+
+		return '?';
 	}
 
 	public byte[] flip()
@@ -196,7 +253,7 @@ public final class OutputStream extends java.io.OutputStream
 	@Override
 	public void write(int b) throws IOException
 	{
-		buffer.put((byte) b);
+		writeByte(b);
 	}
 
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.io;
+
+/**
+ * Interns strings read from definitions, such as names and menu actions,
+ * which repeat across many definitions. A string is only created the first
+ * time its characters are seen.
+ * <p>
+ * The pool is split into stripes by hash, each with its own lock, so
+ * threads decoding definitions in parallel rarely wait on each other.
+ */
+public class StringPool
+{
+	/**
+	 * Number of stripes, a power of two
+	 */
+	private static final int STRIPES = 16;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final Stripe[] stripes = new Stripe[STRIPES];
+
+	public StringPool()
+	{
+		for (int i = 0; i < STRIPES; ++i)
+		{
+			stripes[i] = new Stripe();
+		}
+	}
+
+	/**
+	 * Get the pooled string with the given characters, adding it if it is not in the pool
+	 *
+	 * @param chars characters of the string
+	 * @param length number of characters to use
+	 * @return the pooled string
+	 */
+	public String intern(char[] chars, int length)
+	{
+		// same hash as String.hashCode
+		int hash = 0;
+		for (int i = 0; i < length; ++i)
+		{
+			hash = 31 * hash + chars[i];
+		}
+
+		// the stripe is picked by the high bits, as the low bits pick the slot
+		return stripes[hash >>> 28].intern(hash, chars, length);
+	}
+
+	public int size()
+	{
+		int size = 0;
+		for (Stripe stripe : stripes)
+		{
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	public void clear()
+	{
+		for (Stripe stripe : stripes)
+		{
+			stripe.clear();
+		}
+	}
+
+	/**
+	 * An open addressed hash table of strings
+	 */
+	private static class Stripe
+	{
+		private String[] table = new String[INITIAL_CAPACITY];
+		private int size;
+
+		synchronized String intern(int hash, char[] chars, int length)
+		{
+			int mask = table.length - 1;
+			for (int i = hash & mask; ; i = (i + 1) & mask)
+			{
+				String s = table[i];
+				if (s == null)
+				{
+					s = new String(chars, 0, length);
+					table[i] = s;
+					if (++size * 2 > table.length)
+					{
+						grow();
+					}
+					return s;
+				}
+
+				if (s.hashCode() == hash && StringPool.equals(s, chars, length))
+				{
+					return s;
+				}
+			}
+		}
+
+		synchronized int size()
+		{
+			return size;
+		}
+
+		synchronized void clear()
+		{
+			table = new String[INITIAL_CAPACITY];
+			size = 0;
+		}
+
+		private void grow()
+		{
+			String[] old = table;
+			table = new String[old.length * 2];
+			int mask = table.length - 1;
+
+			for (String s : old)
+			{
+				if (s != null)
+				{
+					int i = s.hashCode() & mask;
+					while (table[i] != null)
+					{
+						i = (i + 1) & mask;
+					}
+					table[i] = s;
+				}
+			}
+		}
+	}
+
+	private static boolean equals(String s, char[] chars, int length)
+	{
+		if (s.length() != length)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < length; ++i)
+		{
+			if (s.charAt(i) != chars[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -42,14 +42,33 @@ public class ItemSpriteFactory
 		int itemId, int quantity, int border, int shadowColor,
 		boolean noted) throws IOException
 	{
-		SpritePixels spritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
+		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		return createSprite(itemProvider, modelProvider, createGraphics(rsTextureProvider),
+			itemId, quantity, border, shadowColor, noted);
+	}
+
+	/**
+	 * Create the graphics used to render item sprites. The graphics can be reused
+	 * for any number of sprites, but only by one thread at a time.
+	 */
+	static Graphics3D createGraphics(RSTextureProvider rsTextureProvider)
+	{
+		Graphics3D graphics = new Graphics3D(rsTextureProvider);
+		graphics.setBrightness(0.6d);
+		return graphics;
+	}
+
+	static BufferedImage createSprite(ItemProvider itemProvider, ModelProvider modelProvider,
+		Graphics3D graphics, int itemId, int quantity, int border, int shadowColor,
+		boolean noted) throws IOException
+	{
+		SpritePixels spritePixels = createSpritePixels(itemProvider, modelProvider, graphics,
 			itemId, quantity, border, shadowColor, noted);
 		return spritePixels == null ? null : spritePixels.toBufferedImage();
 	}
 
 	private static final SpritePixels createSpritePixels(ItemProvider itemProvider, ModelProvider modelProvider,
-		SpriteProvider spriteProvider, TextureProvider textureProvider,
-		int itemId, int quantity, int border, int shadowColor,
+		Graphics3D graphics, int itemId, int quantity, int border, int shadowColor,
 		boolean noted) throws IOException
 	{
 		ItemDefinition item = itemProvider.provide(itemId);
@@ -86,7 +105,7 @@ public class ItemSpriteFactory
 		SpritePixels auxSpritePixels = null;
 		if (item.notedTemplate != -1)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
+			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, graphics,
 				item.notedID, 10, 1, 0, true);
 			if (auxSpritePixels == null)
 			{
@@ -95,7 +114,7 @@ public class ItemSpriteFactory
 		}
 		else if (item.boughtTemplateId != -1)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
+			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, graphics,
 				item.boughtId, quantity, border, shadowColor, false);
 			if (auxSpritePixels == null)
 			{
@@ -104,7 +123,7 @@ public class ItemSpriteFactory
 		}
 		else if (item.placeholderTemplateId != -1)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
+			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, graphics,
 				item.placeholderId, quantity, 0, 0, false);
 			if (auxSpritePixels == null)
 			{
@@ -112,11 +131,7 @@ public class ItemSpriteFactory
 			}
 		}
 
-		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
-
 		SpritePixels spritePixels = new SpritePixels(36, 32);
-		Graphics3D graphics = new Graphics3D(rsTextureProvider);
-		graphics.setBrightness(0.6d);
 		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
 		graphics.reset();
 		graphics.setRasterClipping();
@@ -192,6 +207,9 @@ public class ItemSpriteFactory
 			return null;
 		}
 
+		// The definition may be shared, so resize and recolor a copy of it
+		inventoryModel = inventoryModel.copy();
+
 		if (item.resizeX != 128 || item.resizeY != 128 || item.resizeZ != 128)
 		{
 			inventoryModel.resize(item.resizeX, item.resizeY, item.resizeZ);
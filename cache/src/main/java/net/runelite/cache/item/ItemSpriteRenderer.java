@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.item;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.providers.ItemProvider;
+import net.runelite.cache.definitions.providers.ModelProvider;
+import net.runelite.cache.definitions.providers.SpriteProvider;
+import net.runelite.cache.definitions.providers.TextureProvider;
+
+/**
+ * Renders item sprites from many threads at once. Textures are loaded once
+ * up front and models are decoded once and shared, while each thread keeps
+ * its own graphics to render with.
+ */
+@Slf4j
+public class ItemSpriteRenderer
+{
+	public static final int DEFAULT_SHADOW_COLOR = 3153952;
+
+	private final ItemProvider itemProvider;
+	private final ModelProvider modelProvider;
+	private final ModelProvider sharedModelProvider = this::provideModel;
+	private final ThreadLocal<Graphics3D> graphics;
+	private final ConcurrentHashMap<Integer, ModelDefinition> models = new ConcurrentHashMap<>();
+	private final int threads;
+
+	public ItemSpriteRenderer(ItemProvider itemProvider, ModelProvider modelProvider,
+		SpriteProvider spriteProvider, TextureProvider textureProvider)
+	{
+		this(itemProvider, modelProvider, spriteProvider, textureProvider, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param threads the number of threads {@code renderAll} renders with
+	 */
+	public ItemSpriteRenderer(ItemProvider itemProvider, ModelProvider modelProvider,
+		SpriteProvider spriteProvider, TextureProvider textureProvider, int threads)
+	{
+		this.itemProvider = itemProvider;
+		this.modelProvider = modelProvider;
+		this.threads = threads;
+
+		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		rsTextureProvider.loadAll();
+		this.graphics = ThreadLocal.withInitial(() -> ItemSpriteFactory.createGraphics(rsTextureProvider));
+	}
+
+	/**
+	 * Render the sprite of an item
+	 *
+	 * @return the sprite, or null if the item has no model
+	 */
+	public BufferedImage render(int itemId, int quantity, int border, int shadowColor, boolean noted) throws IOException
+	{
+		return ItemSpriteFactory.createSprite(itemProvider, sharedModelProvider, graphics.get(),
+			itemId, quantity, border, shadowColor, noted);
+	}
+
+	/**
+	 * Render the sprites of items, writing each to a png file named by item id
+	 *
+	 * @return the number of sprites written
+	 */
+	public int renderAll(Collection<Integer> itemIds, File outputDirectory) throws IOException
+	{
+		outputDirectory.mkdirs();
+		return renderAll(itemIds, (itemId, image) -> ImageIO.write(image, "PNG", new File(outputDirectory, itemId + ".png")));
+	}
+
+	/**
+	 * Render the sprites of items, writing each to an archive entry named by item id.
+	 * Sprites are encoded in parallel, and only writing them to the archive is serialized.
+	 *
+	 * @return the number of sprites written
+	 */
+	public int renderAll(Collection<Integer> itemIds, ZipOutputStream out) throws IOException
+	{
+		return renderAll(itemIds, (itemId, image) ->
+		{
+			ByteArrayOutputStream png = new ByteArrayOutputStream();
+			ImageIO.write(image, "PNG", png);
+
+			synchronized (out)
+			{
+				out.putNextEntry(new ZipEntry(itemId + ".png"));
+				png.writeTo(out);
+				out.closeEntry();
+			}
+		});
+	}
+
+	private int renderAll(Collection<Integer> itemIds, SpriteWriter writer) throws IOException
+	{
+		final AtomicInteger count = new AtomicInteger();
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+
+		try
+		{
+			final List<Future<?>> futures = new ArrayList<>(itemIds.size());
+			for (int itemId : itemIds)
+			{
+				futures.add(pool.submit(() ->
+				{
+					try
+					{
+						BufferedImage image = render(itemId, 1, 1, DEFAULT_SHADOW_COLOR, false);
+						if (image != null)
+						{
+							writer.write(itemId, image);
+							count.incrementAndGet();
+						}
+					}
+					catch (Exception ex)
+					{
+						log.warn("error rendering item {}", itemId, ex);
+					}
+				}));
+			}
+
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted rendering items", ex);
+		}
+		catch (ExecutionException ex)
+		{
+			throw new IOException(ex.getCause());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		return count.get();
+	}
+
+	private ModelDefinition provideModel(int modelId) throws IOException
+	{
+		ModelDefinition model = models.get(modelId);
+		if (model != null)
+		{
+			return model;
+		}
+
+		model = modelProvider.provide(modelId);
+		if (model == null)
+		{
+			return null;
+		}
+
+		// Normals are computed before sharing the model, so renders only read them
+		model.computeNormals();
+
+		ModelDefinition existing = models.putIfAbsent(modelId, model);
+		return existing != null ? existing : model;
+	}
+
+	@FunctionalInterface
+	private interface SpriteWriter
+	{
+		void write(int itemId, BufferedImage image) throws IOException;
+	}
+}
@@ -64,6 +64,18 @@ public class RSTextureProvider
 		}
 	}
 
+	/**
+	 * Load the pixels of every texture up front. Textures are otherwise loaded
+	 * lazily, which is not safe when rendering from more than one thread.
+	 */
+	public void loadAll()
+	{
+		for (int i = 0; i < textures.length; ++i)
+		{
+			load(i);
+		}
+	}
+
 	public int[] load(int var1)
 	{
 		TextureDefinition var2 = this.textures[var1];
@@ -24,12 +24,25 @@
  */
 package net.runelite.cache.region;
 
-import java.util.ArrayList;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import net.runelite.cache.definitions.LocationsDefinition;
 import net.runelite.cache.definitions.MapDefinition;
 import net.runelite.cache.definitions.MapDefinition.Tile;
 
+/**
+ * The terrain and locations of a 64x64 map square.
+ * <p>
+ * Each plane of tile data is a flat array indexed by {@code x * Y + y}.
+ * Planes which are entirely zero are not stored, nor are the heights of
+ * upper planes which are all the default 240 above the plane below.
+ * Locations are stored as parallel arrays rather than objects.
+ */
 public class Region
 {
 
@@ -37,18 +50,34 @@ public class Region
 	public static final int Y = 64;
 	public static final int Z = 4;
 
+	private static final int PLANE_SIZE = X * Y;
+
+	/**
+	 * Height difference between planes of tiles which have no height set
+	 */
+	private static final int DEFAULT_PLANE_HEIGHT = 240;
+
 	private final int regionID;
 	private final int baseX;
 	private final int baseY;
 
-	private final int[][][] tileHeights = new int[Z][X][Y];
-	private final byte[][][] tileSettings = new byte[Z][X][Y];
-	private final byte[][][] overlayIds = new byte[Z][X][Y];
-	private final byte[][][] overlayPaths = new byte[Z][X][Y];
-	private final byte[][][] overlayRotations = new byte[Z][X][Y];
-	private final byte[][][] underlayIds = new byte[Z][X][Y];
+	private final int[][] tileHeights = new int[Z][];
+	private final byte[][] tileSettings = new byte[Z][];
+	private final byte[][] overlayIds = new byte[Z][];
+	private final byte[][] overlayPaths = new byte[Z][];
+	private final byte[][] overlayRotations = new byte[Z][];
+	private final byte[][] underlayIds = new byte[Z][];
 
-	private final List<Location> locations = new ArrayList<>();
+	private int locationCount;
+	private int[] locationIds = new int[0];
+	/**
+	 * Local position of each location, packed as z << 12 | x << 6 | y
+	 */
+	private short[] locationPositions = new short[0];
+	/**
+	 * Type and orientation of each location, packed as type << 2 | orientation
+	 */
+	private byte[] locationAttributes = new byte[0];
 
 	public Region(int id)
 	{
@@ -69,21 +98,34 @@ public class Region
 		Tile[][][] tiles = map.getTiles();
 		for (int z = 0; z < Z; z++)
 		{
+			int[] heights = null;
+			byte[] settings = new byte[PLANE_SIZE];
+			byte[] overlays = new byte[PLANE_SIZE];
+			byte[] paths = new byte[PLANE_SIZE];
+			byte[] rotations = new byte[PLANE_SIZE];
+			byte[] underlays = new byte[PLANE_SIZE];
+
+			if (z == 0)
+			{
+				heights = new int[PLANE_SIZE];
+			}
+
 			for (int x = 0; x < X; x++)
 			{
 				for (int y = 0; y < Y; y++)
 				{
 					Tile tile = tiles[z][x][y];
+					int idx = x * Y + y;
 
 					if (tile.height == null)
 					{
 						if (z == 0)
 						{
-							tileHeights[0][x][y] = -HeightCalc.calculate(baseX + x + 0xe3b7b, baseY + y + 0x87cce) * 8;
+							heights[idx] = -HeightCalc.calculate(baseX + x + 0xe3b7b, baseY + y + 0x87cce) * 8;
 						}
-						else
+						else if (heights != null)
 						{
-							tileHeights[z][x][y] = tileHeights[z - 1][x][y] - 240;
+							heights[idx] = getTileHeight(z - 1, x, y) - DEFAULT_PLANE_HEIGHT;
 						}
 					}
 					else
@@ -96,34 +138,78 @@ public class Region
 
 						if (z == 0)
 						{
-							tileHeights[0][x][y] = -height * 8;
+							heights[idx] = -height * 8;
 						}
 						else
 						{
-							tileHeights[z][x][y] = tileHeights[z - 1][x][y] - height * 8;
+							if (heights == null)
+							{
+								// the tiles before this one all have the default height
+								heights = defaultHeights(z);
+							}
+
+							heights[idx] = getTileHeight(z - 1, x, y) - height * 8;
 						}
 					}
 
-					overlayIds[z][x][y] = tile.getOverlayId();
-					overlayPaths[z][x][y] = tile.getOverlayPath();
-					overlayRotations[z][x][y] = tile.getOverlayRotation();
+					overlays[idx] = tile.getOverlayId();
+					paths[idx] = tile.getOverlayPath();
+					rotations[idx] = tile.getOverlayRotation();
 
-					tileSettings[z][x][y] = tile.getSettings();
-					underlayIds[z][x][y] = tile.getUnderlayId();
+					settings[idx] = tile.getSettings();
+					underlays[idx] = tile.getUnderlayId();
 				}
 			}
+
+			tileHeights[z] = heights;
+			tileSettings[z] = sparse(settings);
+			overlayIds[z] = sparse(overlays);
+			overlayPaths[z] = sparse(paths);
+			overlayRotations[z] = sparse(rotations);
+			underlayIds[z] = sparse(underlays);
+		}
+	}
+
+	private int[] defaultHeights(int z)
+	{
+		int[] heights = new int[PLANE_SIZE];
+		for (int x = 0; x < X; x++)
+		{
+			for (int y = 0; y < Y; y++)
+			{
+				heights[x * Y + y] = getTileHeight(z - 1, x, y) - DEFAULT_PLANE_HEIGHT;
+			}
+		}
+		return heights;
+	}
+
+	private static byte[] sparse(byte[] plane)
+	{
+		for (byte b : plane)
+		{
+			if (b != 0)
+			{
+				return plane;
+			}
 		}
+		return null;
 	}
 
 	public void loadLocations(LocationsDefinition locs)
 	{
-		for (Location loc : locs.getLocations())
+		List<Location> list = locs.getLocations();
+		int count = locationCount + list.size();
+		locationIds = Arrays.copyOf(locationIds, count);
+		locationPositions = Arrays.copyOf(locationPositions, count);
+		locationAttributes = Arrays.copyOf(locationAttributes, count);
+
+		for (Location loc : list)
 		{
-			Location newLoc = new Location(loc.getId(), loc.getType(), loc.getOrientation(),
-				new Position(getBaseX() + loc.getPosition().getX(),
-					getBaseY() + loc.getPosition().getY(),
-					loc.getPosition().getZ()));
-			locations.add(newLoc);
+			Position position = loc.getPosition();
+			locationIds[locationCount] = loc.getId();
+			locationPositions[locationCount] = (short) (position.getZ() << 12 | position.getX() << 6 | position.getY());
+			locationAttributes[locationCount] = (byte) (loc.getType() << 2 | loc.getOrientation());
+			++locationCount;
 		}
 	}
 
@@ -144,37 +230,106 @@ public class Region
 
 	public int getTileHeight(int z, int x, int y)
 	{
-		return tileHeights[z][x][y];
+		int[] heights = tileHeights[z];
+		if (heights == null)
+		{
+			return getTileHeight(z - 1, x, y) - DEFAULT_PLANE_HEIGHT;
+		}
+		return heights[x * Y + y];
 	}
 
 	public byte getTileSetting(int z, int x, int y)
 	{
-		return tileSettings[z][x][y];
+		return get(tileSettings[z], x, y);
 	}
 
 	public int getOverlayId(int z, int x, int y)
 	{
-		return overlayIds[z][x][y] & 0xFF;
+		return get(overlayIds[z], x, y) & 0xFF;
 	}
 
 	public byte getOverlayPath(int z, int x, int y)
 	{
-		return overlayPaths[z][x][y];
+		return get(overlayPaths[z], x, y);
 	}
 
 	public byte getOverlayRotation(int z, int x, int y)
 	{
-		return overlayRotations[z][x][y];
+		return get(overlayRotations[z], x, y);
 	}
 
 	public int getUnderlayId(int z, int x, int y)
 	{
-		return underlayIds[z][x][y] & 0xFF;
+		return get(underlayIds[z], x, y) & 0xFF;
 	}
 
+	private static byte get(byte[] plane, int x, int y)
+	{
+		return plane == null ? 0 : plane[x * Y + y];
+	}
+
+	public int getLocationCount()
+	{
+		return locationCount;
+	}
+
+	public int getLocationId(int idx)
+	{
+		return locationIds[idx];
+	}
+
+	public int getLocationType(int idx)
+	{
+		return (locationAttributes[idx] & 0xFF) >> 2;
+	}
+
+	public int getLocationOrientation(int idx)
+	{
+		return locationAttributes[idx] & 3;
+	}
+
+	public int getLocationLocalX(int idx)
+	{
+		return locationPositions[idx] >> 6 & 0x3F;
+	}
+
+	public int getLocationLocalY(int idx)
+	{
+		return locationPositions[idx] & 0x3F;
+	}
+
+	public int getLocationZ(int idx)
+	{
+		return locationPositions[idx] >> 12 & 0x3;
+	}
+
+	/**
+	 * Get the locations of this region, in world coordinates. Each
+	 * {@link Location} is created when it is accessed, so prefer the
+	 * getLocation methods when iterating many regions.
+	 */
 	public List<Location> getLocations()
 	{
-		return locations;
+		return new AbstractList<Location>()
+		{
+			@Override
+			public Location get(int index)
+			{
+				if (index < 0 || index >= locationCount)
+				{
+					throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + locationCount);
+				}
+
+				return new Location(getLocationId(index), getLocationType(index), getLocationOrientation(index),
+					new Position(baseX + getLocationLocalX(index), baseY + getLocationLocalY(index), getLocationZ(index)));
+			}
+
+			@Override
+			public int size()
+			{
+				return locationCount;
+			}
+		};
 	}
 
 	public int getRegionX()
@@ -186,4 +341,122 @@ public class Region
 	{
 		return baseY >> 6;
 	}
+
+	/**
+	 * Write the decoded region, to be read back with {@link #read(ByteBuffer)}
+	 */
+	public void write(DataOutput out) throws IOException
+	{
+		out.writeShort(regionID);
+
+		out.writeByte(planeMask(tileHeights));
+		for (int[] heights : tileHeights)
+		{
+			if (heights != null)
+			{
+				for (int height : heights)
+				{
+					out.writeInt(height);
+				}
+			}
+		}
+
+		write(out, tileSettings);
+		write(out, overlayIds);
+		write(out, overlayPaths);
+		write(out, overlayRotations);
+		write(out, underlayIds);
+
+		out.writeInt(locationCount);
+		for (int i = 0; i < locationCount; ++i)
+		{
+			out.writeInt(locationIds[i]);
+			out.writeShort(locationPositions[i]);
+			out.writeByte(locationAttributes[i]);
+		}
+	}
+
+	private static void write(DataOutput out, byte[][] planes) throws IOException
+	{
+		out.writeByte(planeMask(planes));
+		for (byte[] plane : planes)
+		{
+			if (plane != null)
+			{
+				out.write(plane);
+			}
+		}
+	}
+
+	private static int planeMask(Object[] planes)
+	{
+		int mask = 0;
+		for (int z = 0; z < planes.length; ++z)
+		{
+			if (planes[z] != null)
+			{
+				mask |= 1 << z;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Read a region written by {@link #write(DataOutput)}
+	 */
+	public static Region read(ByteBuffer buffer)
+	{
+		Region region = new Region(buffer.getShort() & 0xFFFF);
+
+		int mask = buffer.get();
+		for (int z = 0; z < Z; ++z)
+		{
+			if ((mask & (1 << z)) != 0)
+			{
+				int[] heights = new int[PLANE_SIZE];
+				buffer.asIntBuffer().get(heights);
+				buffer.position(buffer.position() + PLANE_SIZE * 4);
+				region.tileHeights[z] = heights;
+			}
+		}
+
+		read(buffer, region.tileSettings);
+		read(buffer, region.overlayIds);
+		read(buffer, region.overlayPaths);
+		read(buffer, region.overlayRotations);
+		read(buffer, region.underlayIds);
+
+		int count = buffer.getInt();
+		if (count < 0 || count > buffer.remaining() / 7)
+		{
+			// each location is 7 bytes
+			throw new BufferUnderflowException();
+		}
+		region.locationCount = count;
+		region.locationIds = new int[count];
+		region.locationPositions = new short[count];
+		region.locationAttributes = new byte[count];
+		for (int i = 0; i < count; ++i)
+		{
+			region.locationIds[i] = buffer.getInt();
+			region.locationPositions[i] = buffer.getShort();
+			region.locationAttributes[i] = buffer.get();
+		}
+
+		return region;
+	}
+
+	private static void read(ByteBuffer buffer, byte[][] planes)
+	{
+		int mask = buffer.get();
+		for (int z = 0; z < Z; ++z)
+		{
+			if ((mask & (1 << z)) != 0)
+			{
+				byte[] plane = new byte[PLANE_SIZE];
+				buffer.get(plane);
+				planes[z] = plane;
+			}
+		}
+	}
 }
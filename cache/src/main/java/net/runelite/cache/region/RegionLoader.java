@@ -24,10 +24,21 @@
  */
 package net.runelite.cache.region;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.LocationsDefinition;
 import net.runelite.cache.definitions.MapDefinition;
@@ -47,22 +58,35 @@ public class RegionLoader
 
 	private static final int MAX_REGION = 32768;
 
+	private static final int CACHE_MAGIC = 0x524c5247; // RLRG
+	private static final int CACHE_VERSION = 2;
+	private static final int CACHE_HEADER_SIZE = 24;
+
 	private final Store store;
 	private final Index index;
 	private final XteaKeyManager keyManager;
 
-	private final Map<Integer, Region> regions = new HashMap<>();
+	private final Region[] regionsById = new Region[MAX_REGION];
+	private final List<Region> regions = new ArrayList<>();
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
 	public RegionLoader(Store store)
 	{
-		this.store = store;
-		index = store.getIndex(IndexType.MAPS);
-		keyManager = new XteaKeyManager();
+		this(store, new XteaKeyManager());
 		keyManager.loadKeys();
 	}
 
+	/**
+	 * @param keyManager keys of the map archives, which are not loaded by this constructor
+	 */
+	public RegionLoader(Store store, XteaKeyManager keyManager)
+	{
+		this.store = store;
+		this.index = store.getIndex(IndexType.MAPS);
+		this.keyManager = keyManager;
+	}
+
 	public void loadRegions() throws IOException
 	{
 		for (int i = 0; i < MAX_REGION; ++i)
@@ -70,11 +94,139 @@ public class RegionLoader
 			Region region = this.loadRegionFromArchive(i);
 			if (region != null)
 			{
-				regions.put(i, region);
+				addRegion(region);
+			}
+		}
+	}
+
+	/**
+	 * Load the regions from a file of previously decoded regions, or from
+	 * the store if the file is missing, corrupt, or was written for a
+	 * different version of the maps index or different xtea keys. Regions
+	 * loaded from the store are then written to the file.
+	 *
+	 * @param file file of decoded regions
+	 * @throws IOException
+	 */
+	public void loadRegions(File file) throws IOException
+	{
+		if (file.exists() && readRegions(file))
+		{
+			logger.debug("Loaded {} regions from {}", regions.size(), file);
+			return;
+		}
+
+		loadRegions();
+		writeRegions(file);
+	}
+
+	/**
+	 * Read the regions from a file written by {@link #writeRegions(File)}
+	 *
+	 * @return false if the file is out of date or corrupt, in which case no
+	 * regions are added
+	 */
+	boolean readRegions(File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (buffer.remaining() < CACHE_HEADER_SIZE
+				|| buffer.getInt() != CACHE_MAGIC
+				|| buffer.getInt() != CACHE_VERSION
+				|| buffer.getInt() != index.getRevision()
+				|| buffer.getInt() != index.getCrc()
+				|| buffer.getInt() != keysHash())
+			{
+				logger.debug("Region file {} is out of date", file);
+				return false;
+			}
+
+			try
+			{
+				int count = buffer.getInt();
+				if (count < 0 || count > MAX_REGION)
+				{
+					throw new IllegalArgumentException("invalid region count " + count);
+				}
+
+				for (int i = 0; i < count; ++i)
+				{
+					addRegion(Region.read(buffer));
+				}
+
+				if (buffer.hasRemaining())
+				{
+					throw new IllegalArgumentException(buffer.remaining() + " trailing bytes");
+				}
+				return true;
+			}
+			catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException ex)
+			{
+				logger.warn("Region file {} is corrupt", file, ex);
+				clearRegions();
+				return false;
 			}
 		}
 	}
 
+	private void clearRegions()
+	{
+		Arrays.fill(regionsById, null);
+		regions.clear();
+	}
+
+	/**
+	 * Hash of the xtea keys of every region, as the locations of the regions
+	 * without keys are not in the region file
+	 */
+	private int keysHash()
+	{
+		int hash = 1;
+		for (int i = 0; i < MAX_REGION; ++i)
+		{
+			int[] keys = keyManager.getKeys(i);
+			if (keys != null)
+			{
+				hash = 31 * hash + i;
+				hash = 31 * hash + Arrays.hashCode(keys);
+			}
+		}
+		return hash;
+	}
+
+	void writeRegions(File file) throws IOException
+	{
+		File tmp = new File(file.getPath() + ".tmp");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp))))
+		{
+			out.writeInt(CACHE_MAGIC);
+			out.writeInt(CACHE_VERSION);
+			out.writeInt(index.getRevision());
+			out.writeInt(index.getCrc());
+			out.writeInt(keysHash());
+			out.writeInt(regions.size());
+
+			for (Region region : regions)
+			{
+				region.write(out);
+			}
+		}
+
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Add a region which was not loaded by this loader
+	 */
+	public void addRegion(Region region)
+	{
+		regionsById[region.getRegionID()] = region;
+		regions.add(region);
+	}
+
 	public Region loadRegionFromArchive(int i) throws IOException
 	{
 		int x = i >> 8;
@@ -118,7 +270,7 @@ public class RegionLoader
 
 	public void calculateBounds()
 	{
-		for (Region region : regions.values())
+		for (Region region : regions)
 		{
 			if (lowestX == null || region.getBaseX() < lowestX.getBaseX())
 			{
@@ -144,14 +296,18 @@ public class RegionLoader
 
 	public Collection<Region> getRegions()
 	{
-		return regions.values();
+		return regions;
 	}
 
 	public Region findRegionForWorldCoordinates(int x, int y)
 	{
 		x >>>= 6;
 		y >>>= 6;
-		return regions.get((x << 8) | y);
+		if (x > 0x7F || y > 0xFF)
+		{
+			return null;
+		}
+		return regionsById[(x << 8) | y];
 	}
 
 	public Region getLowestX()
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.script;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.definitions.ScriptDefinition;
+import net.runelite.cache.definitions.loaders.ScriptLoader;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.script.assembler.Assembler;
+import net.runelite.cache.script.disassembler.Disassembler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks that scripts survive being disassembled and assembled again,
+ * by comparing the disassembly of each script with the disassembly of
+ * its reassembled copy.
+ */
+public class ScriptVerifier
+{
+	private static final Logger logger = LoggerFactory.getLogger(ScriptVerifier.class);
+
+	private final Assembler assembler;
+	private final Disassembler disassembler;
+
+	/**
+	 * @param instructions initialized instruction table, which is shared
+	 * by the assembler and disassembler
+	 */
+	public ScriptVerifier(Instructions instructions)
+	{
+		assembler = new Assembler(instructions);
+		disassembler = new Disassembler(instructions);
+	}
+
+	/**
+	 * Verify every script in the client script index of a store. The
+	 * scripts are loaded from the store first, and then verified in parallel.
+	 *
+	 * @param store store to load the scripts from
+	 * @return ids of the scripts which did not round trip, in ascending order
+	 * @throws IOException if the scripts can't be loaded
+	 */
+	public List<Integer> verify(Store store) throws IOException
+	{
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.CLIENTSCRIPT);
+		ScriptLoader loader = new ScriptLoader();
+
+		List<ScriptDefinition> scripts = new ArrayList<>(index.getArchives().size());
+		for (Archive archive : index.getArchives())
+		{
+			byte[] contents = archive.decompress(storage.loadArchive(archive));
+
+			if (contents == null)
+			{
+				continue;
+			}
+
+			scripts.add(loader.load(archive.getArchiveId(), contents));
+		}
+
+		List<Integer> failed = scripts.parallelStream()
+			.filter(script -> !verify(script))
+			.map(ScriptDefinition::getId)
+			.sorted()
+			.collect(Collectors.toList());
+
+		logger.info("Verified {} scripts, {} failed", scripts.size(), failed.size());
+		return failed;
+	}
+
+	/**
+	 * Verify a single script
+	 *
+	 * @return true if the reassembled script disassembles to the same code
+	 */
+	public boolean verify(ScriptDefinition script)
+	{
+		try
+		{
+			String original = disassembler.disassemble(script);
+			ScriptDefinition assembled = assembler.assemble(new ByteArrayInputStream(original.getBytes()));
+			String roundTrip = disassembler.disassemble(assembled);
+
+			if (!original.equals(roundTrip))
+			{
+				logger.warn("Script {} does not match after reassembly", script.getId());
+				return false;
+			}
+
+			return true;
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			logger.warn("Unable to round trip script {}", script.getId(), ex);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.SpriteDefinition;
+import net.runelite.cache.fs.Store;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DefinitionCacheTest
+{
+	private static final Logger logger = LoggerFactory.getLogger(DefinitionCacheTest.class);
+
+	@Test
+	public void testGet() throws IOException
+	{
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+
+			DefinitionCache cache = new DefinitionCache(store);
+
+			ItemDefinition item = cache.get(DefinitionType.ITEM, 4151);
+			assertNotNull(item);
+			assertEquals(4151, item.id);
+			assertSame(item, cache.get(DefinitionType.ITEM, 4151));
+			assertEquals(1, cache.getHitCount());
+			assertEquals(1, cache.getDecodeCount());
+
+			assertNull(cache.get(DefinitionType.ITEM, Integer.MAX_VALUE));
+
+			SpriteDefinition[] sprite = cache.get(DefinitionType.SPRITE, 0);
+			assertNotNull(sprite);
+		}
+	}
+
+	@Test
+	public void testPreload() throws IOException
+	{
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+
+			DefinitionCache cache = new DefinitionCache(store);
+			cache.preload(DefinitionType.OBJECT);
+
+			int objects = cache.getIds(DefinitionType.OBJECT).size();
+			assertEquals(objects, cache.getDecodeCount());
+			assertEquals(objects, cache.getAll(DefinitionType.OBJECT).size());
+			assertEquals(objects, cache.getHitCount());
+
+			logger.info("{}", cache);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import net.runelite.cache.fs.Store;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DefinitionExporterTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testExport() throws IOException
+	{
+		File filesDir = folder.newFolder(),
+			ndjsonDir = folder.newFolder();
+
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+
+			DefinitionExporter exporter = new DefinitionExporter(new DefinitionCache(store));
+
+			DefinitionExporter.Result files = exporter.export(DefinitionType.ITEM, filesDir, DefinitionExporter.Format.FILES);
+			assertEquals(files.getCount(), filesDir.list().length);
+
+			DefinitionExporter.Result ndjson = exporter.export(DefinitionType.ITEM, ndjsonDir, DefinitionExporter.Format.NDJSON);
+			assertEquals(files.getCount(), ndjson.getCount());
+			assertEquals(ndjson.getCount(), Files.readAllLines(new File(ndjsonDir, "item.ndjson").toPath()).size());
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testUncreatableOutput() throws IOException
+	{
+		// a directory can't be created under a file
+		File out = new File(folder.newFile(), "out");
+
+		try (Store store = new Store(folder.newFolder()))
+		{
+			DefinitionExporter exporter = new DefinitionExporter(new DefinitionCache(store));
+			exporter.export(DefinitionType.ITEM, out, DefinitionExporter.Format.NDJSON);
+		}
+	}
+
+	@Test
+	public void testResultWithoutTime()
+	{
+		DefinitionExporter.Result result = new DefinitionExporter.Result(DefinitionType.ITEM, 10, 1000, 0);
+		assertEquals("item: 10 definitions, 0.0 MB in 0.00s", result.toString());
+	}
+}
@@ -27,10 +27,17 @@ package net.runelite.cache;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
 import javax.imageio.ImageIO;
+import net.runelite.cache.definitions.MapDefinition;
+import net.runelite.cache.definitions.UnderlayDefinition;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
+import net.runelite.cache.util.XteaKeyManager;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -71,6 +78,113 @@ public class MapImageDumperTest
 		}
 	}
 
+	@Test
+	@Ignore
+	public void dumpTiles() throws IOException
+	{
+		File base = StoreLocation.LOCATION,
+			outDir = folder.newFolder();
+
+		try (Store store = new Store(base))
+		{
+			store.load();
+
+			MapImageDumper dumper = new MapImageDumper(store);
+			dumper.load();
+
+			for (int i = 0; i < Region.Z; ++i)
+			{
+				long start = System.currentTimeMillis();
+				int levels = dumper.drawTiles(i, new File(outDir, Integer.toString(i)));
+				logger.info("Wrote {} tile levels for plane {} in {}ms", levels, i, System.currentTimeMillis() - start);
+			}
+		}
+	}
+
+	@Test
+	public void testDrawTilesThreaded() throws IOException
+	{
+		try (Store store = new Store(folder.newFolder()))
+		{
+			for (IndexType type : IndexType.values())
+			{
+				store.addIndex(type.getNumber());
+			}
+
+			RegionLoader regionLoader = new RegionLoader(store, new XteaKeyManager());
+			for (int x = 50; x < 53; ++x)
+			{
+				for (int y = 50; y < 52; ++y)
+				{
+					if (x != 52 || y != 51)
+					{
+						regionLoader.addRegion(region(x, y));
+					}
+				}
+			}
+
+			MapImageDumper dumper = new MapImageDumper(store);
+			dumper.loadRegions(regionLoader);
+			for (int i = 0; i < 3; ++i)
+			{
+				UnderlayDefinition underlay = new UnderlayDefinition();
+				underlay.setId(i);
+				underlay.setColor(0x305010 + i * 0x302010);
+				underlay.calculateHsl();
+				dumper.addUnderlay(underlay);
+			}
+
+			File singleDir = folder.newFolder(),
+				threadedDir = folder.newFolder();
+
+			dumper.setThreads(1);
+			int levels = dumper.drawTiles(0, singleDir);
+			dumper.setThreads(4);
+			assertEquals(levels, dumper.drawTiles(0, threadedDir));
+			assertEquals(3, levels);
+
+			for (int level = 0; level < levels; ++level)
+			{
+				File single = new File(singleDir, Integer.toString(level)),
+					threaded = new File(threadedDir, Integer.toString(level));
+
+				String[] tiles = single.list();
+				Arrays.sort(tiles);
+				String[] threadedTiles = threaded.list();
+				Arrays.sort(threadedTiles);
+				assertArrayEquals(tiles, threadedTiles);
+
+				for (String tile : tiles)
+				{
+					assertArrayEquals(level + "/" + tile, Files.readAllBytes(new File(single, tile).toPath()),
+						Files.readAllBytes(new File(threaded, tile).toPath()));
+				}
+			}
+		}
+	}
+
+	private static Region region(int regionX, int regionY)
+	{
+		MapDefinition map = new MapDefinition();
+		MapDefinition.Tile[][][] tiles = map.getTiles();
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int x = 0; x < Region.X; ++x)
+			{
+				for (int y = 0; y < Region.Y; ++y)
+				{
+					MapDefinition.Tile tile = new MapDefinition.Tile();
+					tile.underlayId = (byte) (1 + (x / 8 + y / 8 + regionX + regionY) % 3);
+					tiles[z][x][y] = tile;
+				}
+			}
+		}
+
+		Region region = new Region(regionX, regionY);
+		region.loadTerrain(map);
+		return region;
+	}
+
 	@Test
 	@Ignore
 	public void dumpRegions() throws Exception
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.io;
+
+import java.nio.ByteBuffer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class InputStreamTest
+{
+	@Test
+	public void testReadString()
+	{
+		byte[] b = {'a', (byte) 0x80, (byte) 0x81, (byte) 0xe9, 0, 'b', 0};
+
+		InputStream is = new InputStream(b);
+		assertEquals("a\u20ac?\u00e9", is.readString());
+		assertEquals("b", is.readString());
+		assertEquals(0, is.remaining());
+	}
+
+	@Test
+	public void testReadByteBuffer()
+	{
+		ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+		buffer.put(new byte[]{1, 2, 'h', 'i', 0, 0, 42});
+		buffer.flip();
+		buffer.position(2);
+
+		InputStream is = new InputStream(buffer, null);
+		assertEquals(0, is.getOffset());
+		assertEquals("hi", is.readString());
+		assertEquals(42, is.readUnsignedShort());
+		assertEquals(2, buffer.position());
+	}
+
+	@Test
+	public void testStringPool()
+	{
+		byte[] b = {'D', 'r', 'o', 'p', 0, 'D', 'r', 'o', 'p', 0, 'U', 's', 'e', 0};
+		StringPool pool = new StringPool();
+
+		InputStream is = new InputStream(b, pool);
+		String drop = is.readString();
+		assertSame(drop, is.readString());
+		assertEquals("Use", is.readString());
+		assertEquals(2, pool.size());
+
+		InputStream unpooled = new InputStream(b);
+		assertNotSame(unpooled.readString(), unpooled.readString());
+	}
+
+	@Test
+	public void testStringPoolGrow()
+	{
+		StringPool pool = new StringPool();
+		for (int i = 0; i < 5000; ++i)
+		{
+			char[] chars = Integer.toString(i).toCharArray();
+			pool.intern(chars, chars.length);
+		}
+		assertEquals(5000, pool.size());
+
+		char[] chars = "1234".toCharArray();
+		assertSame(pool.intern(chars, chars.length), pool.intern(chars, chars.length));
+		assertEquals(5000, pool.size());
+	}
+
+	@Test
+	public void testStringPoolClear()
+	{
+		StringPool pool = new StringPool();
+		char[] chars = "Drop".toCharArray();
+		String drop = pool.intern(chars, chars.length);
+
+		pool.clear();
+		assertEquals(0, pool.size());
+		assertNotSame(drop, pool.intern(chars, chars.length));
+		assertEquals(1, pool.size());
+	}
+}
@@ -43,4 +43,26 @@ public class OutputStreamTest
 		Assert.assertEquals(65535, is.readBigSmart());
 	}
 
+	@Test
+	public void testWriteString()
+	{
+		OutputStream os = new OutputStream();
+		os.writeString("a\u20ac\u00e9\u4e00");
+
+		Assert.assertArrayEquals(new byte[]{'a', (byte) 0x80, (byte) 0xe9, '?', 0}, os.flip());
+	}
+
+	@Test
+	public void testPooled()
+	{
+		OutputStream os = OutputStream.pooled();
+		os.writeInt(42);
+		Assert.assertArrayEquals(new byte[]{0, 0, 0, 42}, os.flip());
+
+		os = OutputStream.pooled();
+		Assert.assertEquals(0, os.getOffset());
+		os.writeByte(1);
+		Assert.assertArrayEquals(new byte[]{1}, os.flip());
+	}
+
 }
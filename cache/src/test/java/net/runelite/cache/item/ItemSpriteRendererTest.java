@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.item;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.ItemManager;
+import net.runelite.cache.SpriteManager;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.TextureManager;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
+import net.runelite.cache.definitions.loaders.ModelLoader;
+import net.runelite.cache.definitions.providers.ItemProvider;
+import net.runelite.cache.definitions.providers.ModelProvider;
+import net.runelite.cache.definitions.providers.TextureProvider;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Slf4j
+public class ItemSpriteRendererTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	@Ignore
+	public void testRenderAll() throws IOException
+	{
+		File base = StoreLocation.LOCATION,
+			outDir = folder.newFolder();
+
+		try (Store store = new Store(base))
+		{
+			store.load();
+
+			ItemManager itemManager = new ItemManager(store);
+			itemManager.load();
+
+			ModelProvider modelProvider = modelId ->
+			{
+				Index models = store.getIndex(IndexType.MODELS);
+				Archive archive = models.getArchive(modelId);
+
+				byte[] data;
+				synchronized (store)
+				{
+					data = archive.decompress(store.getStorage().loadArchive(archive));
+				}
+				return new ModelLoader().load(modelId, data);
+			};
+
+			SpriteManager spriteManager = new SpriteManager(store);
+			spriteManager.load();
+
+			TextureManager textureManager = new TextureManager(store);
+			textureManager.load();
+
+			List<Integer> itemIds = itemManager.getItems().stream()
+				.filter(itemDef -> itemDef.name != null && !itemDef.name.equalsIgnoreCase("null"))
+				.map(itemDef -> itemDef.id)
+				.collect(Collectors.toList());
+
+			long start = System.currentTimeMillis();
+			ItemSpriteRenderer renderer = new ItemSpriteRenderer(itemManager, modelProvider, spriteManager, textureManager);
+			int count = renderer.renderAll(itemIds, outDir);
+
+			log.info("Rendered {} item images to {} in {}ms", count, outDir, System.currentTimeMillis() - start);
+		}
+	}
+
+	@Test
+	public void testRenderAllThreaded() throws IOException
+	{
+		ItemProvider itemProvider = itemId ->
+		{
+			ItemDefinition def = new ItemDefinition(itemId);
+			def.inventoryModel = itemId % 2;
+			def.xan2d = itemId * 97 % 2048;
+			def.yan2d = itemId * 211 % 2048;
+			def.zoom2d = 1200 + itemId * 10;
+			return def;
+		};
+		ModelProvider modelProvider = modelId -> cube(modelId, 24 + modelId * 8);
+		TextureProvider textureProvider = () -> new TextureDefinition[0];
+
+		List<Integer> itemIds = IntStream.range(0, 32).boxed().collect(Collectors.toList());
+
+		File singleDir = folder.newFolder(),
+			threadedDir = folder.newFolder();
+		int single = new ItemSpriteRenderer(itemProvider, modelProvider, null, textureProvider, 1)
+			.renderAll(itemIds, singleDir);
+		int threaded = new ItemSpriteRenderer(itemProvider, modelProvider, null, textureProvider, 4)
+			.renderAll(itemIds, threadedDir);
+
+		assertEquals(itemIds.size(), single);
+		assertEquals(single, threaded);
+		for (int itemId : itemIds)
+		{
+			String name = itemId + ".png";
+			assertArrayEquals(name, Files.readAllBytes(new File(singleDir, name).toPath()),
+				Files.readAllBytes(new File(threadedDir, name).toPath()));
+		}
+	}
+
+	private static ModelDefinition cube(int modelId, int size)
+	{
+		ModelDefinition model = new ModelDefinition();
+		model.id = modelId;
+		model.vertexCount = 8;
+		model.vertexPositionsX = new int[8];
+		model.vertexPositionsY = new int[8];
+		model.vertexPositionsZ = new int[8];
+		for (int i = 0; i < 8; ++i)
+		{
+			model.vertexPositionsX[i] = (i & 1) == 0 ? -size : size;
+			model.vertexPositionsY[i] = (i & 2) == 0 ? -size : size;
+			model.vertexPositionsZ[i] = (i & 4) == 0 ? -size : size;
+		}
+
+		int[][] faces = {
+			{0, 2, 1}, {1, 2, 3}, {4, 5, 6}, {5, 7, 6},
+			{0, 1, 4}, {1, 5, 4}, {2, 6, 3}, {3, 6, 7},
+			{0, 4, 2}, {2, 4, 6}, {1, 3, 5}, {3, 7, 5},
+		};
+		model.faceCount = faces.length;
+		model.faceVertexIndices1 = new int[faces.length];
+		model.faceVertexIndices2 = new int[faces.length];
+		model.faceVertexIndices3 = new int[faces.length];
+		model.faceColors = new short[faces.length];
+		for (int i = 0; i < faces.length; ++i)
+		{
+			model.faceVertexIndices1[i] = faces[i][0];
+			model.faceVertexIndices2[i] = faces[i][1];
+			model.faceVertexIndices3[i] = faces[i][2];
+			model.faceColors[i] = (short) (i * 5000 + modelId * 300);
+		}
+		return model;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Store;
+import static net.runelite.cache.region.RegionTest.assertRegion;
+import static net.runelite.cache.region.RegionTest.createRegion;
+import net.runelite.cache.util.XteaKeyManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RegionLoaderTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	private Store store;
+	private File file;
+
+	@Before
+	public void before() throws IOException
+	{
+		store = new Store(folder.newFolder());
+		for (IndexType type : IndexType.values())
+		{
+			store.addIndex(type.getNumber());
+		}
+
+		file = new File(folder.getRoot(), "regions.dat");
+
+		RegionLoader regionLoader = new RegionLoader(store, new XteaKeyManager());
+		regionLoader.addRegion(createRegion(50, 50));
+		regionLoader.addRegion(createRegion(50, 51));
+		regionLoader.writeRegions(file);
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		store.close();
+	}
+
+	@Test
+	public void testWriteRead() throws IOException
+	{
+		RegionLoader regionLoader = new RegionLoader(store, new XteaKeyManager());
+		assertTrue(regionLoader.readRegions(file));
+
+		List<Region> regions = new ArrayList<>(regionLoader.getRegions());
+		assertEquals(2, regions.size());
+		assertEquals(50 << 8 | 50, regions.get(0).getRegionID());
+		assertEquals(50 << 8 | 51, regions.get(1).getRegionID());
+		for (Region region : regions)
+		{
+			assertRegion(region);
+		}
+
+		assertEquals(regions.get(1), regionLoader.findRegionForWorldCoordinates(50 * 64 + 10, 51 * 64 + 10));
+	}
+
+	@Test
+	public void testKeysChanged() throws IOException
+	{
+		XteaKeyManager keyManager = new XteaKeyManager()
+		{
+			@Override
+			public int[] getKeys(int region)
+			{
+				return region == (50 << 8 | 50) ? new int[]{1, 2, 3, 4} : null;
+			}
+		};
+
+		RegionLoader regionLoader = new RegionLoader(store, keyManager);
+		assertFalse(regionLoader.readRegions(file));
+		assertTrue(regionLoader.getRegions().isEmpty());
+	}
+
+	@Test
+	public void testTruncated() throws IOException
+	{
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+		{
+			raf.setLength(raf.length() - 1);
+		}
+
+		RegionLoader regionLoader = new RegionLoader(store, new XteaKeyManager());
+		assertFalse(regionLoader.readRegions(file));
+		assertTrue(regionLoader.getRegions().isEmpty());
+		assertNull(regionLoader.findRegionForWorldCoordinates(50 * 64, 50 * 64));
+	}
+
+	@Test
+	public void testCorruptFallsBackToStore() throws IOException
+	{
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+		{
+			raf.setLength(raf.length() - 1);
+		}
+
+		// the store has no maps, so no regions are loaded and the rewritten file is empty
+		RegionLoader regionLoader = new RegionLoader(store, new XteaKeyManager());
+		regionLoader.loadRegions(file);
+		assertTrue(regionLoader.getRegions().isEmpty());
+
+		regionLoader = new RegionLoader(store, new XteaKeyManager());
+		assertTrue(regionLoader.readRegions(file));
+		assertTrue(regionLoader.getRegions().isEmpty());
+	}
+}
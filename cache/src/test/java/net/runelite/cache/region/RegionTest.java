@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import net.runelite.cache.definitions.LocationsDefinition;
+import net.runelite.cache.definitions.MapDefinition;
+import net.runelite.cache.definitions.MapDefinition.Tile;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RegionTest
+{
+	private Region region;
+
+	@Before
+	public void before()
+	{
+		region = createRegion(50, 50);
+	}
+
+	/**
+	 * Create a region with terrain and locations checked by {@link #assertRegion(Region)}
+	 */
+	static Region createRegion(int regionX, int regionY)
+	{
+		MapDefinition map = new MapDefinition();
+		Tile[][][] tiles = map.getTiles();
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int x = 0; x < Region.X; ++x)
+			{
+				for (int y = 0; y < Region.Y; ++y)
+				{
+					Tile tile = new Tile();
+					if (z == 0)
+					{
+						tile.height = x + y;
+						tile.overlayId = (byte) 200;
+						tile.settings = 2;
+					}
+					tiles[z][x][y] = tile;
+				}
+			}
+		}
+		tiles[2][10][20].height = 5;
+
+		LocationsDefinition locs = new LocationsDefinition();
+		locs.getLocations().add(new Location(1234, 10, 3, new Position(5, 6, 1)));
+		locs.getLocations().add(new Location(56789, 22, 0, new Position(63, 0, 3)));
+
+		Region region = new Region(regionX, regionY);
+		region.loadTerrain(map);
+		region.loadLocations(locs);
+		return region;
+	}
+
+	@Test
+	public void testTerrain()
+	{
+		assertRegion(region);
+	}
+
+	@Test
+	public void testWriteRead() throws IOException
+	{
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		region.write(new DataOutputStream(bout));
+
+		Region read = Region.read(ByteBuffer.wrap(bout.toByteArray()));
+		assertEquals(region.getRegionID(), read.getRegionID());
+		assertRegion(read);
+	}
+
+	static void assertRegion(Region region)
+	{
+		assertEquals(-(1 + 2) * 8, region.getTileHeight(0, 1, 2));
+		assertEquals(0, region.getTileHeight(0, 0, 1)); // height 1 is 0
+		assertEquals(-(1 + 2) * 8 - 240, region.getTileHeight(1, 1, 2));
+		assertEquals(-(10 + 20) * 8 - 240 - 5 * 8, region.getTileHeight(2, 10, 20));
+		assertEquals(-(10 + 21) * 8 - 480, region.getTileHeight(2, 10, 21));
+		assertEquals(-(10 + 20) * 8 - 240 - 5 * 8 - 240, region.getTileHeight(3, 10, 20));
+
+		assertEquals(200, region.getOverlayId(0, 30, 40));
+		assertEquals(0, region.getOverlayId(1, 30, 40));
+		assertEquals(2, region.getTileSetting(0, 63, 63));
+		assertEquals(0, region.getTileSetting(3, 63, 63));
+
+		assertEquals(2, region.getLocationCount());
+		assertEquals(1234, region.getLocationId(0));
+		assertEquals(10, region.getLocationType(0));
+		assertEquals(3, region.getLocationOrientation(0));
+		assertEquals(5, region.getLocationLocalX(0));
+		assertEquals(6, region.getLocationLocalY(0));
+		assertEquals(1, region.getLocationZ(0));
+		assertEquals(22, region.getLocationType(1));
+		assertEquals(63, region.getLocationLocalX(1));
+		assertEquals(3, region.getLocationZ(1));
+
+		assertEquals(new Location(56789, 22, 0, new Position(region.getBaseX() + 63, region.getBaseY(), 3)), region.getLocations().get(1));
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.api;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Records the latency of requests per endpoint. Numeric path segments are
+ * folded together, so lookups of different items share an endpoint, and
+ * the api version is dropped.
+ */
+public class EndpointMetrics implements Interceptor
+{
+	private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+	@Override
+	public Response intercept(Chain chain) throws IOException
+	{
+		Request request = chain.request();
+		Endpoint endpoint = endpoints.computeIfAbsent(getEndpoint(request), k -> new Endpoint());
+
+		long start = System.nanoTime();
+		boolean success = false;
+		try
+		{
+			Response response = chain.proceed(request);
+			success = response.isSuccessful() || response.code() == 304;
+			return response;
+		}
+		finally
+		{
+			endpoint.record(System.nanoTime() - start, success);
+		}
+	}
+
+	/**
+	 * Get a snapshot of the metrics of each endpoint, sorted by endpoint
+	 */
+	public Map<String, Endpoint> getEndpoints()
+	{
+		return Collections.unmodifiableMap(new TreeMap<>(endpoints));
+	}
+
+	static String getEndpoint(Request request)
+	{
+		HttpUrl url = request.url();
+		StringBuilder sb = new StringBuilder(request.method()).append(' ');
+		int start = sb.length();
+
+		for (String segment : url.pathSegments())
+		{
+			if (segment.isEmpty() || segment.startsWith("runelite-"))
+			{
+				continue;
+			}
+
+			sb.append('/');
+			sb.append(isNumeric(segment) ? "{id}" : segment);
+		}
+
+		if (sb.length() == start)
+		{
+			sb.append('/');
+		}
+
+		return sb.toString();
+	}
+
+	private static boolean isNumeric(String segment)
+	{
+		for (int i = 0; i < segment.length(); ++i)
+		{
+			if (!Character.isDigit(segment.charAt(i)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static class Endpoint
+	{
+		private final LongAdder requests = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		private void record(long nanos, boolean success)
+		{
+			requests.increment();
+			if (!success)
+			{
+				failures.increment();
+			}
+			totalNanos.add(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+		}
+
+		public long getRequests()
+		{
+			return requests.sum();
+		}
+
+		/**
+		 * Number of requests which failed or had an unsuccessful response
+		 */
+		public long getFailures()
+		{
+			return failures.sum();
+		}
+
+		/**
+		 * Average request latency, in milliseconds
+		 */
+		public long getAverageTime()
+		{
+			long count = requests.sum();
+			return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / count);
+		}
+
+		public long getMaxTime()
+		{
+			return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+		}
+
+		@Override
+		public String toString()
+		{
+			return "requests=" + getRequests()
+				+ ", failures=" + getFailures()
+				+ ", avg=" + getAverageTime() + "ms"
+				+ ", max=" + getMaxTime() + "ms";
+		}
+	}
+}
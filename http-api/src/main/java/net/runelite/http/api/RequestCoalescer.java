@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Runs requests on an http client, sharing one call between concurrent
+ * GET requests for the same url.
+ */
+public class RequestCoalescer
+{
+	private final OkHttpClient client;
+	private final ConcurrentMap<HttpUrl, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+	public RequestCoalescer(OkHttpClient client)
+	{
+		this.client = client;
+	}
+
+	/**
+	 * GET the url on the calling thread, or wait for a request for it which
+	 * is already in flight. Concurrent callers for the same url must use the
+	 * same handler, as they share its result.
+	 */
+	public <T> T execute(HttpUrl url, ResponseHandler<T> handler) throws IOException
+	{
+		CompletableFuture<T> future = new CompletableFuture<>();
+		CompletableFuture<T> existing = join(url, future);
+		if (existing != null)
+		{
+			return await(existing);
+		}
+
+		try (Response response = client.newCall(get(url)).execute())
+		{
+			T result = handler.handle(response);
+			future.complete(result);
+			return result;
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally
+		{
+			inFlight.remove(url, future);
+		}
+	}
+
+	/**
+	 * GET the url asynchronously, or join a request for it which is already
+	 * in flight. Concurrent callers for the same url must use the same
+	 * handler, as they share its result.
+	 */
+	public <T> CompletableFuture<T> executeAsync(HttpUrl url, ResponseHandler<T> handler)
+	{
+		CompletableFuture<T> future = new CompletableFuture<>();
+		CompletableFuture<T> existing = join(url, future);
+		if (existing != null)
+		{
+			return existing;
+		}
+
+		client.newCall(get(url)).enqueue(new Callback()
+		{
+			@Override
+			public void onFailure(Call call, IOException e)
+			{
+				inFlight.remove(url, future);
+				future.completeExceptionally(e);
+			}
+
+			@Override
+			public void onResponse(Call call, Response response)
+			{
+				try
+				{
+					complete(response, handler, future);
+				}
+				finally
+				{
+					inFlight.remove(url, future);
+				}
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Run a request asynchronously without coalescing it, for requests which
+	 * are not idempotent
+	 */
+	public <T> CompletableFuture<T> enqueue(Request request, ResponseHandler<T> handler)
+	{
+		CompletableFuture<T> future = new CompletableFuture<>();
+
+		client.newCall(request).enqueue(new Callback()
+		{
+			@Override
+			public void onFailure(Call call, IOException e)
+			{
+				future.completeExceptionally(e);
+			}
+
+			@Override
+			public void onResponse(Call call, Response response)
+			{
+				complete(response, handler, future);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Number of GET requests currently in flight
+	 */
+	public int getInFlightCount()
+	{
+		return inFlight.size();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> CompletableFuture<T> join(HttpUrl url, CompletableFuture<T> future)
+	{
+		return (CompletableFuture<T>) inFlight.putIfAbsent(url, future);
+	}
+
+	private static <T> void complete(Response response, ResponseHandler<T> handler, CompletableFuture<T> future)
+	{
+		try (Response r = response)
+		{
+			future.complete(handler.handle(r));
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			future.completeExceptionally(ex);
+		}
+	}
+
+	private static Request get(HttpUrl url)
+	{
+		return new Request.Builder()
+			.url(url)
+			.build();
+	}
+
+	private static <T> T await(CompletableFuture<T> future) throws IOException
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+		catch (ExecutionException ex)
+		{
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException)
+			{
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException)
+			{
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+}
@@ -25,11 +25,15 @@
 package net.runelite.http.api;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import okhttp3.Cache;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
+import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,7 +43,15 @@ public class RuneLiteAPI
 
 	public static final String RUNELITE_AUTH = "RUNELITE-AUTH";
 
-	public static final OkHttpClient CLIENT = new OkHttpClient();
+	private static final File CACHE_DIR = new File(System.getProperty("user.home"), ".runelite/cache/okhttp");
+	private static final long CACHE_SIZE = 20 * 1024 * 1024;
+
+	public static final EndpointMetrics METRICS = new EndpointMetrics();
+	public static final OkHttpClient CLIENT = new OkHttpClient.Builder()
+		.cache(new Cache(CACHE_DIR, CACHE_SIZE))
+		.addInterceptor(METRICS)
+		.build();
+	public static final RequestCoalescer REQUESTS = new RequestCoalescer(CLIENT);
 	public static final Gson GSON = new Gson();
 
 	private static final String BASE = "https://api.runelite.net/runelite-";
@@ -68,6 +80,21 @@ public class RuneLiteAPI
 		}
 	}
 
+	/**
+	 * Parse the json body of a response
+	 */
+	public static <T> T fromJson(Response response, Class<T> type) throws IOException
+	{
+		try
+		{
+			return GSON.fromJson(response.body().charStream(), type);
+		}
+		catch (JsonParseException ex)
+		{
+			throw new IOException(ex);
+		}
+	}
+
 	public static HttpUrl getApiBase()
 	{
 		return HttpUrl.parse(BASE + getVersion());
@@ -25,6 +25,7 @@
 package net.runelite.http.api.examine;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import net.runelite.http.api.RuneLiteAPI;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
@@ -45,17 +46,51 @@ public class ExamineClient
 		submit("object", id, text);
 	}
 
+	public CompletableFuture<Void> submitObjectAsync(int id, String text)
+	{
+		return submitAsync("object", id, text);
+	}
+
 	public void submitNpc(int id, String text) throws IOException
 	{
 		submit("npc", id, text);
 	}
 
+	public CompletableFuture<Void> submitNpcAsync(int id, String text)
+	{
+		return submitAsync("npc", id, text);
+	}
+
 	public void submitItem(int id, String text) throws IOException
 	{
 		submit("item", id, text);
 	}
 
+	public CompletableFuture<Void> submitItemAsync(int id, String text)
+	{
+		return submitAsync("item", id, text);
+	}
+
 	private void submit(String type, int id, String text) throws IOException
+	{
+		try (Response response = RuneLiteAPI.CLIENT.newCall(submitRequest(type, id, text)).execute())
+		{
+			logger.debug("Submitted examine info for {} {}: {}",
+				type, id, text);
+		}
+	}
+
+	private CompletableFuture<Void> submitAsync(String type, int id, String text)
+	{
+		return RuneLiteAPI.REQUESTS.enqueue(submitRequest(type, id, text), response ->
+		{
+			logger.debug("Submitted examine info for {} {}: {}",
+				type, id, text);
+			return null;
+		});
+	}
+
+	private static Request submitRequest(String type, int id, String text)
 	{
 		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("examine")
@@ -65,15 +100,9 @@ public class ExamineClient
 
 		logger.debug("Built URI: {}", url);
 
-		Request request = new Request.Builder()
+		return new Request.Builder()
 			.url(url)
 			.post(RequestBody.create(TEXT, text))
 			.build();
-
-		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
-		{
-			logger.debug("Submitted examine info for {} {}: {}",
-				type, id, text);
-		}
 	}
 }
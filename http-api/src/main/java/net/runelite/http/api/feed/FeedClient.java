@@ -24,14 +24,11 @@
  */
 package net.runelite.http.api.feed;
 
-import com.google.gson.JsonParseException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.util.concurrent.CompletableFuture;
+import net.runelite.http.api.ResponseHandler;
 import net.runelite.http.api.RuneLiteAPI;
 import okhttp3.HttpUrl;
-import okhttp3.Request;
-import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,32 +36,34 @@ public class FeedClient
 {
 	private static final Logger logger = LoggerFactory.getLogger(FeedClient.class);
 
+	private static final ResponseHandler<FeedResult> HANDLER = response ->
+	{
+		if (!response.isSuccessful())
+		{
+			logger.debug("Error looking up feed: {}", response.message());
+			return null;
+		}
+
+		return RuneLiteAPI.fromJson(response, FeedResult.class);
+	};
+
 	public FeedResult lookupFeed() throws IOException
+	{
+		return RuneLiteAPI.REQUESTS.execute(feedUrl(), HANDLER);
+	}
+
+	public CompletableFuture<FeedResult> lookupFeedAsync()
+	{
+		return RuneLiteAPI.REQUESTS.executeAsync(feedUrl(), HANDLER);
+	}
+
+	private static HttpUrl feedUrl()
 	{
 		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("feed")
 			.build();
 
 		logger.debug("Built URI: {}", url);
-
-		Request request = new Request.Builder()
-			.url(url)
-			.build();
-
-		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
-		{
-			if (!response.isSuccessful())
-			{
-				logger.debug("Error looking up feed: {}", response.message());
-				return null;
-			}
-
-			InputStream in = response.body().byteStream();
-			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), FeedResult.class);
-		}
-		catch (JsonParseException ex)
-		{
-			throw new IOException(ex);
-		}
+		return url;
 	}
 }
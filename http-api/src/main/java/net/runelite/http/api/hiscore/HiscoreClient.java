@@ -24,14 +24,11 @@
  */
 package net.runelite.http.api.hiscore;
 
-import com.google.gson.JsonParseException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.util.concurrent.CompletableFuture;
+import net.runelite.http.api.ResponseHandler;
 import net.runelite.http.api.RuneLiteAPI;
 import okhttp3.HttpUrl;
-import okhttp3.Request;
-import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,7 +36,33 @@ public class HiscoreClient
 {
 	private static final Logger logger = LoggerFactory.getLogger(HiscoreClient.class);
 
+	private static final ResponseHandler<HiscoreResult> RESULT_HANDLER =
+		response -> RuneLiteAPI.fromJson(response, HiscoreResult.class);
+
+	private static final ResponseHandler<SingleHiscoreSkillResult> SKILL_RESULT_HANDLER =
+		response -> RuneLiteAPI.fromJson(response, SingleHiscoreSkillResult.class);
+
 	public HiscoreResult lookup(String username, HiscoreEndpoint endpoint) throws IOException
+	{
+		return RuneLiteAPI.REQUESTS.execute(lookupUrl(username, endpoint), RESULT_HANDLER);
+	}
+
+	public CompletableFuture<HiscoreResult> lookupAsync(String username, HiscoreEndpoint endpoint)
+	{
+		return RuneLiteAPI.REQUESTS.executeAsync(lookupUrl(username, endpoint), RESULT_HANDLER);
+	}
+
+	public HiscoreResult lookup(String username) throws IOException
+	{
+		return lookup(username, HiscoreEndpoint.NORMAL);
+	}
+
+	public CompletableFuture<HiscoreResult> lookupAsync(String username)
+	{
+		return lookupAsync(username, HiscoreEndpoint.NORMAL);
+	}
+
+	private static HttpUrl lookupUrl(String username, HiscoreEndpoint endpoint)
 	{
 		HttpUrl.Builder builder = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("hiscore")
@@ -49,28 +72,30 @@ public class HiscoreClient
 		HttpUrl url = builder.build();
 
 		logger.debug("Built URI: {}", url);
+		return url;
+	}
+
+	public SingleHiscoreSkillResult lookup(String username, HiscoreSkill skill, HiscoreEndpoint endpoint) throws IOException
+	{
+		return RuneLiteAPI.REQUESTS.execute(lookupUrl(username, skill, endpoint), SKILL_RESULT_HANDLER);
+	}
 
-		Request request = new Request.Builder()
-			.url(url)
-			.build();
-
-		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
-		{
-			InputStream in = response.body().byteStream();
-			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), HiscoreResult.class);
-		}
-		catch (JsonParseException ex)
-		{
-			throw new IOException(ex);
-		}
+	public CompletableFuture<SingleHiscoreSkillResult> lookupAsync(String username, HiscoreSkill skill, HiscoreEndpoint endpoint)
+	{
+		return RuneLiteAPI.REQUESTS.executeAsync(lookupUrl(username, skill, endpoint), SKILL_RESULT_HANDLER);
 	}
 
-	public HiscoreResult lookup(String username) throws IOException
+	public SingleHiscoreSkillResult lookup(String username, HiscoreSkill skill) throws IOException
 	{
-		return lookup(username, HiscoreEndpoint.NORMAL);
+		return lookup(username, skill, HiscoreEndpoint.NORMAL);
 	}
 
-	public SingleHiscoreSkillResult lookup(String username, HiscoreSkill skill, HiscoreEndpoint endpoint) throws IOException
+	public CompletableFuture<SingleHiscoreSkillResult> lookupAsync(String username, HiscoreSkill skill)
+	{
+		return lookupAsync(username, skill, HiscoreEndpoint.NORMAL);
+	}
+
+	private static HttpUrl lookupUrl(String username, HiscoreSkill skill, HiscoreEndpoint endpoint)
 	{
 		HttpUrl.Builder builder = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("hiscore")
@@ -81,24 +106,6 @@ public class HiscoreClient
 		HttpUrl url = builder.build();
 
 		logger.debug("Built URI: {}", url);
-
-		Request request = new Request.Builder()
-			.url(url)
-			.build();
-
-		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
-		{
-			InputStream in = response.body().byteStream();
-			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), SingleHiscoreSkillResult.class);
-		}
-		catch (JsonParseException ex)
-		{
-			throw new IOException(ex);
-		}
-	}
-
-	public SingleHiscoreSkillResult lookup(String username, HiscoreSkill skill) throws IOException
-	{
-		return lookup(username, skill, HiscoreEndpoint.NORMAL);
+		return url;
 	}
 }
@@ -24,17 +24,16 @@
  */
 package net.runelite.http.api.item;
 
-import com.google.gson.JsonParseException;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import javax.imageio.ImageIO;
+import net.runelite.http.api.ResponseHandler;
 import net.runelite.http.api.RuneLiteAPI;
 import okhttp3.HttpUrl;
-import okhttp3.Request;
-import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,7 +41,28 @@ public class ItemClient
 {
 	private static final Logger logger = LoggerFactory.getLogger(ItemClient.class);
 
+	private static final ResponseHandler<PriceDeltaResult> PRICE_DELTA_HANDLER = response ->
+	{
+		if (!response.isSuccessful())
+		{
+			logger.debug("Error looking up price delta: {}", response.message());
+			return null;
+		}
+
+		return RuneLiteAPI.fromJson(response, PriceDeltaResult.class);
+	};
+
 	public ItemPrice lookupItemPrice(int itemId) throws IOException
+	{
+		return RuneLiteAPI.REQUESTS.execute(priceUrl(itemId), priceHandler(itemId));
+	}
+
+	public CompletableFuture<ItemPrice> lookupItemPriceAsync(int itemId)
+	{
+		return RuneLiteAPI.REQUESTS.executeAsync(priceUrl(itemId), priceHandler(itemId));
+	}
+
+	private static HttpUrl priceUrl(int itemId)
 	{
 		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("item")
@@ -51,12 +71,12 @@ public class ItemClient
 			.build();
 
 		logger.debug("Built URI: {}", url);
+		return url;
+	}
 
-		Request request = new Request.Builder()
-			.url(url)
-			.build();
-
-		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
+	private static ResponseHandler<ItemPrice> priceHandler(int itemId)
+	{
+		return response ->
 		{
 			if (!response.isSuccessful())
 			{
@@ -64,16 +84,21 @@ public class ItemClient
 				return null;
 			}
 
-			InputStream in = response.body().byteStream();
-			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), ItemPrice.class);
-		}
-		catch (JsonParseException ex)
-		{
-			throw new IOException(ex);
-		}
+			return RuneLiteAPI.fromJson(response, ItemPrice.class);
+		};
 	}
 
 	public ItemPrice[] lookupItemPrice(Integer[] itemIds) throws IOException
+	{
+		return RuneLiteAPI.REQUESTS.execute(pricesUrl(itemIds), pricesHandler(itemIds));
+	}
+
+	public CompletableFuture<ItemPrice[]> lookupItemPriceAsync(Integer[] itemIds)
+	{
+		return RuneLiteAPI.REQUESTS.executeAsync(pricesUrl(itemIds), pricesHandler(itemIds));
+	}
+
+	private static HttpUrl pricesUrl(Integer[] itemIds)
 	{
 		HttpUrl.Builder urlBuilder = RuneLiteAPI.getApiBase().newBuilder()
 				.addPathSegment("item")
@@ -87,12 +112,12 @@ public class ItemClient
 		HttpUrl url = urlBuilder.build();
 
 		logger.debug("Built URI: {}", url);
+		return url;
+	}
 
-		Request request = new Request.Builder()
-				.url(url)
-				.build();
-
-		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
+	private static ResponseHandler<ItemPrice[]> pricesHandler(Integer[] itemIds)
+	{
+		return response ->
 		{
 			if (!response.isSuccessful())
 			{
@@ -100,16 +125,54 @@ public class ItemClient
 				return null;
 			}
 
-			InputStream in = response.body().byteStream();
-			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), ItemPrice[].class);
-		}
-		catch (JsonParseException ex)
+			return RuneLiteAPI.fromJson(response, ItemPrice[].class);
+		};
+	}
+
+	/**
+	 * Look up the prices which have changed since the last delta
+	 *
+	 * @param since time of the last delta, or null for all prices
+	 * @return the changed prices, or null if the lookup was unsuccessful
+	 */
+	public PriceDeltaResult lookupPriceDelta(Instant since) throws IOException
+	{
+		return RuneLiteAPI.REQUESTS.execute(priceDeltaUrl(since), PRICE_DELTA_HANDLER);
+	}
+
+	public CompletableFuture<PriceDeltaResult> lookupPriceDeltaAsync(Instant since)
+	{
+		return RuneLiteAPI.REQUESTS.executeAsync(priceDeltaUrl(since), PRICE_DELTA_HANDLER);
+	}
+
+	private static HttpUrl priceDeltaUrl(Instant since)
+	{
+		HttpUrl.Builder urlBuilder = RuneLiteAPI.getApiBase().newBuilder()
+			.addPathSegment("item")
+			.addPathSegment("prices");
+
+		if (since != null)
 		{
-			throw new IOException(ex);
+			urlBuilder.addQueryParameter("since", since.toString());
 		}
+
+		HttpUrl url = urlBuilder.build();
+
+		logger.debug("Built URI: {}", url);
+		return url;
 	}
 
 	public BufferedImage getIcon(int itemId) throws IOException
+	{
+		return RuneLiteAPI.REQUESTS.execute(iconUrl(itemId), iconHandler(itemId));
+	}
+
+	public CompletableFuture<BufferedImage> getIconAsync(int itemId)
+	{
+		return RuneLiteAPI.REQUESTS.executeAsync(iconUrl(itemId), iconHandler(itemId));
+	}
+
+	private static HttpUrl iconUrl(int itemId)
 	{
 		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("item")
@@ -118,12 +181,12 @@ public class ItemClient
 			.build();
 
 		logger.debug("Built URI: {}", url);
+		return url;
+	}
 
-		Request request = new Request.Builder()
-			.url(url)
-			.build();
-
-		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
+	private static ResponseHandler<BufferedImage> iconHandler(int itemId)
+	{
+		return response ->
 		{
 			if (!response.isSuccessful())
 			{
@@ -136,10 +199,20 @@ public class ItemClient
 			{
 				return ImageIO.read(in);
 			}
-		}
+		};
 	}
 
 	public SearchResult search(String itemName) throws IOException
+	{
+		return RuneLiteAPI.REQUESTS.execute(searchUrl(itemName), searchHandler(itemName));
+	}
+
+	public CompletableFuture<SearchResult> searchAsync(String itemName)
+	{
+		return RuneLiteAPI.REQUESTS.executeAsync(searchUrl(itemName), searchHandler(itemName));
+	}
+
+	private static HttpUrl searchUrl(String itemName)
 	{
 		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("item")
@@ -148,12 +221,12 @@ public class ItemClient
 			.build();
 
 		logger.debug("Built URI: {}", url);
+		return url;
+	}
 
-		Request request = new Request.Builder()
-			.url(url)
-			.build();
-
-		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
+	private static ResponseHandler<SearchResult> searchHandler(String itemName)
+	{
+		return response ->
 		{
 			if (!response.isSuccessful())
 			{
@@ -161,12 +234,7 @@ public class ItemClient
 				return null;
 			}
 
-			InputStream in = response.body().byteStream();
-			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), SearchResult.class);
-		}
-		catch (JsonParseException ex)
-		{
-			throw new IOException(ex);
-		}
+			return RuneLiteAPI.fromJson(response, SearchResult.class);
+		};
 	}
 }
@@ -25,48 +25,47 @@
  */
 package net.runelite.http.api.worlds;
 
-import com.google.gson.JsonParseException;
+import net.runelite.http.api.ResponseHandler;
 import net.runelite.http.api.RuneLiteAPI;
 import okhttp3.HttpUrl;
-import okhttp3.Request;
-import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.util.concurrent.CompletableFuture;
 
 public class WorldClient
 {
 	private static final Logger logger = LoggerFactory.getLogger(WorldClient.class);
 
+	private static final ResponseHandler<WorldResult> HANDLER = response ->
+	{
+		if (!response.isSuccessful())
+		{
+			logger.debug("Error looking up worlds: {}", response.message());
+			return null;
+		}
+
+		return RuneLiteAPI.fromJson(response, WorldResult.class);
+	};
+
 	public WorldResult lookupWorlds() throws IOException
+	{
+		return RuneLiteAPI.REQUESTS.execute(worldsUrl(), HANDLER);
+	}
+
+	public CompletableFuture<WorldResult> lookupWorldsAsync()
+	{
+		return RuneLiteAPI.REQUESTS.executeAsync(worldsUrl(), HANDLER);
+	}
+
+	private static HttpUrl worldsUrl()
 	{
 		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("worlds")
 			.build();
 
 		logger.debug("Built URI: {}", url);
-
-		Request request = new Request.Builder()
-			.url(url)
-			.build();
-
-		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
-		{
-			if (!response.isSuccessful())
-			{
-				logger.debug("Error looking up worlds: {}", response.message());
-				return null;
-			}
-
-			InputStream in = response.body().byteStream();
-			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), WorldResult.class);
-		}
-		catch (JsonParseException ex)
-		{
-			throw new IOException(ex);
-		}
+		return url;
 	}
 }
@@ -25,6 +25,7 @@
 package net.runelite.http.api.xp;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import net.runelite.http.api.RuneLiteAPI;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
@@ -32,6 +33,16 @@ import okhttp3.Request;
 public class XpClient
 {
 	public void update(String username) throws IOException
+	{
+		RuneLiteAPI.CLIENT.newCall(updateRequest(username)).execute().close();
+	}
+
+	public CompletableFuture<Void> updateAsync(String username)
+	{
+		return RuneLiteAPI.REQUESTS.enqueue(updateRequest(username), response -> null);
+	}
+
+	private static Request updateRequest(String username)
 	{
 		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("xp")
@@ -39,10 +50,8 @@ public class XpClient
 			.addQueryParameter("username", username)
 			.build();
 
-		Request request = new Request.Builder()
+		return new Request.Builder()
 			.url(url)
 			.build();
-
-		RuneLiteAPI.CLIENT.newCall(request).execute().close();
 	}
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.api;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import okhttp3.Cache;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RequestCoalescerTest
+{
+	private static final ResponseHandler<String> BODY = response -> response.body().string();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final MockWebServer server = new MockWebServer();
+	private final EndpointMetrics metrics = new EndpointMetrics();
+	private OkHttpClient client;
+	private RequestCoalescer requests;
+
+	@Before
+	public void before() throws IOException
+	{
+		server.start();
+		client = new OkHttpClient.Builder()
+			.cache(new Cache(folder.getRoot(), 1024 * 1024))
+			.addInterceptor(metrics)
+			.build();
+		requests = new RequestCoalescer(client);
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		server.shutdown();
+		client.cache().close();
+	}
+
+	@Test
+	public void testCoalesce() throws Exception
+	{
+		CountDownLatch latch = new CountDownLatch(1);
+		server.setDispatcher(new Dispatcher()
+		{
+			@Override
+			public MockResponse dispatch(RecordedRequest request) throws InterruptedException
+			{
+				latch.await();
+				return new MockResponse().setBody("price");
+			}
+		});
+
+		HttpUrl url = server.url("/item/4151/price");
+		CompletableFuture<String> first = requests.executeAsync(url, BODY);
+		CompletableFuture<String> second = requests.executeAsync(url, BODY);
+		assertSame(first, second);
+
+		latch.countDown();
+		assertEquals("price", first.get());
+		assertEquals(0, requests.getInFlightCount());
+		assertEquals(1, server.getRequestCount());
+	}
+
+	@Test
+	public void testCache() throws Exception
+	{
+		server.enqueue(new MockResponse()
+			.setHeader("Cache-Control", "public, max-age=60")
+			.setBody("price"));
+
+		HttpUrl url = server.url("/item/4151/price");
+		assertEquals("price", requests.execute(url, BODY));
+		assertEquals("price", requests.execute(url, BODY));
+
+		assertEquals(1, server.getRequestCount());
+		assertEquals(1, client.cache().hitCount());
+	}
+
+	@Test
+	public void testEnqueueIsNotCoalesced() throws Exception
+	{
+		server.enqueue(new MockResponse().setBody("a"));
+		server.enqueue(new MockResponse().setBody("b"));
+
+		Request request = new Request.Builder()
+			.url(server.url("/xp/update"))
+			.build();
+
+		String first = requests.enqueue(request, BODY).get();
+		String second = requests.enqueue(request, BODY).get();
+
+		assertEquals("a", first);
+		assertEquals("b", second);
+		assertEquals(2, server.getRequestCount());
+	}
+
+	@Test
+	public void testMetrics() throws Exception
+	{
+		server.enqueue(new MockResponse().setBody("price"));
+		server.enqueue(new MockResponse().setBody("price"));
+		server.enqueue(new MockResponse().setResponseCode(404));
+
+		requests.execute(server.url("/runelite-1.0.0/item/4151/price"), BODY);
+		requests.execute(server.url("/runelite-1.0.0/item/11802/price"), BODY);
+		requests.execute(server.url("/runelite-1.0.0/item/search?query=whip"), BODY);
+
+		EndpointMetrics.Endpoint price = metrics.getEndpoints().get("GET /item/{id}/price");
+		assertEquals(2, price.getRequests());
+		assertEquals(0, price.getFailures());
+
+		EndpointMetrics.Endpoint search = metrics.getEndpoints().get("GET /item/search");
+		assertEquals(1, search.getRequests());
+		assertEquals(1, search.getFailures());
+	}
+}
@@ -36,6 +36,7 @@ import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.http.api.item.Item;
 import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.PriceDeltaResult;
 import net.runelite.http.api.item.SearchResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.CacheControl;
@@ -188,6 +189,34 @@ public class ItemController
 		return searchResult;
 	}
 
+	/**
+	 * Get the latest prices which have changed since the given time. The
+	 * returned time is passed as since on the next call to get only the
+	 * prices which have changed since this one. It is the latest fetch time
+	 * of the returned prices, so it comes from the same query as they do.
+	 */
+	@RequestMapping("/prices")
+	public PriceDeltaResult pricesSince(@RequestParam(required = false) Instant since)
+	{
+		List<PriceEntry> prices = itemService.getPricesSince(since);
+
+		Instant time = since != null ? since : Instant.EPOCH;
+		for (PriceEntry price : prices)
+		{
+			if (price.getFetched_time().isAfter(time))
+			{
+				time = price.getFetched_time();
+			}
+		}
+
+		PriceDeltaResult result = new PriceDeltaResult();
+		result.setTime(time);
+		result.setPrices(prices.stream()
+			.map(ItemController::toItemPrice)
+			.collect(Collectors.toList()));
+		return result;
+	}
+
 	@RequestMapping("/price")
 	public ItemPrice[] prices(@RequestParam("id") int[] itemIds)
 	{
@@ -199,17 +228,19 @@ public class ItemController
 		List<PriceEntry> prices = itemService.getPrices(itemIds);
 
 		return prices.stream()
-			.map(priceEntry ->
-			{
-				Item item = new Item();
-				item.setId(priceEntry.getItem()); // fake item
-
-				ItemPrice itemPrice = new ItemPrice();
-				itemPrice.setItem(item);
-				itemPrice.setPrice(priceEntry.getPrice());
-				itemPrice.setTime(priceEntry.getTime());
-				return itemPrice;
-			})
+			.map(ItemController::toItemPrice)
 			.toArray(ItemPrice[]::new);
 	}
+
+	private static ItemPrice toItemPrice(PriceEntry priceEntry)
+	{
+		Item item = new Item();
+		item.setId(priceEntry.getItem()); // fake item
+
+		ItemPrice itemPrice = new ItemPrice();
+		itemPrice.setItem(item);
+		itemPrice.setPrice(priceEntry.getPrice());
+		itemPrice.setTime(priceEntry.getTime());
+		return itemPrice;
+	}
 }
@@ -77,9 +77,13 @@ public class ItemService
 		+ "  `time` timestamp NOT NULL DEFAULT '0000-00-00 00:00:00',\n"
 		+ "  `fetched_time` timestamp NOT NULL DEFAULT '0000-00-00 00:00:00',\n"
 		+ "  UNIQUE KEY `item_time` (`item`,`time`),\n"
-		+ "  KEY `item_fetched_time` (`item`,`fetched_time`)\n"
+		+ "  KEY `item_fetched_time` (`item`,`fetched_time`),\n"
+		+ "  KEY `fetched_time` (`fetched_time`)\n"
 		+ ") ENGINE=InnoDB";
 
+	private static final String CREATE_PRICES_FETCHED_TIME = "ALTER TABLE `prices`\n"
+		+ "  ADD KEY `fetched_time` (`fetched_time`);";
+
 	private static final String CREATE_PRICES_FK = "ALTER TABLE `prices`\n"
 		+ "  ADD CONSTRAINT `item` FOREIGN KEY (`item`) REFERENCES `items` (`id`);";
 
@@ -110,6 +114,16 @@ public class ItemService
 			{
 				// Ignore, happens when index already exists
 			}
+
+			try
+			{
+				con.createQuery(CREATE_PRICES_FETCHED_TIME)
+					.executeUpdate();
+			}
+			catch (Sql2oException ex)
+			{
+				// Ignore, happens when index already exists
+			}
 		}
 	}
 
@@ -179,6 +193,26 @@ public class ItemService
 		}
 	}
 
+	/**
+	 * Get the latest price of each item which has been fetched since the given time.
+	 * Only prices fetched since then are grouped, and all prices of an item are
+	 * fetched at once, so the latest of those is the latest price of the item.
+	 *
+	 * @param since time of the last sync, or null for every item
+	 * @return latest price entries
+	 */
+	public List<PriceEntry> getPricesSince(Instant since)
+	{
+		try (Connection con = sql2o.open())
+		{
+			return con.createQuery("select p.item, p.price, p.time, p.fetched_time from prices p "
+				+ "join (select item, max(time) as time from prices where fetched_time > :since group by item) latest "
+				+ "on p.item = latest.item and p.time = latest.time")
+				.addParameter("since", (since != null ? since : Instant.EPOCH).toString())
+				.executeAndFetch(PriceEntry.class);
+		}
+	}
+
 	public List<ItemEntry> search(String search)
 	{
 		try (Connection con = sql2o.open())
@@ -25,88 +25,72 @@
 package net.runelite.protocol.update.decoders;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
 import java.util.List;
 import net.runelite.cache.fs.jagex.CompressionType;
 import net.runelite.protocol.api.update.ArchiveResponsePacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Decodes archive responses as their chunks arrive. The header of the
+ * archive being received and the position within the current chunk are
+ * kept between calls, so each byte is parsed once and copied straight
+ * into the archive data.
+ */
 public class ArchiveResponseDecoder extends ByteToMessageDecoder
 {
 	private static final Logger logger = LoggerFactory.getLogger(ArchiveResponseDecoder.class);
 
 	private static final int CHUNK_SIZE = 512;
 
+	/**
+	 * Largest archive accepted. The archive buffer is allocated from the
+	 * header, before any of its data has arrived, so the size is checked
+	 * first.
+	 */
+	private static final int MAX_ARCHIVE_SIZE = 32 * 1024 * 1024;
+
+	private int index;
+	private int file;
+	private byte[] data; // archive being received, or null if waiting for a header
+	private int received; // bytes of data received so far
+	private int chunkPosition; // position in the current chunk, including markers
+
 	@Override
 	public void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception
 	{
-		if (in.readableBytes() < 8)
-		{
-			return;
-		}
-
-		ByteBuf copy = in.slice();
-
-		int index = copy.readUnsignedByte();
-		int file = copy.readUnsignedShort();
-		// decompress() starts reading here
-		int compression = copy.readUnsignedByte();
-		int compressedFileSize = copy.readInt();
-
-		assert compression == CompressionType.NONE ||
-			compression == CompressionType.BZ2 ||
-			compression == CompressionType.GZ;
-
-		int size = compressedFileSize
-			+ 5 // 1 byte compresion type, 4 byte compressed size
-			+ (compression != CompressionType.NONE ? 4 : 0); // compression has leading 4 byte decompressed length
-
-		assert size > 0;
-
-		int breaks = calculateBreaks(size);
-
-		// 3 for index/file
-		if (size + 3 + breaks > in.readableBytes())
+		if (data == null && !readHeader(in))
 		{
-			logger.trace("Index {} archive {}: Not enough data yet {} > {}", index, file, size + 3 + breaks, in.readableBytes());
 			return;
 		}
 
-		ByteBuf compressedData = Unpooled.buffer(size);
-
-		int totalRead = 3;
-		in.skipBytes(3); // skip index/file
-
-		for (int i = 0; i < breaks + 1; ++i)
+		while (received < data.length && in.isReadable())
 		{
-			int bytesInBlock = CHUNK_SIZE - (totalRead % CHUNK_SIZE);
-			int bytesToRead = Math.min(bytesInBlock, size - compressedData.writerIndex());
-
-			logger.trace("{}/{}: reading block {}/{}, read so far this block: {}, file status: {}/{}",
-				index, file,
-				(totalRead % CHUNK_SIZE), CHUNK_SIZE,
-				bytesInBlock,
-				compressedData.writerIndex(), size);
-
-			ByteBuf chunk = in.readBytes(bytesToRead);
-			compressedData.writeBytes(chunk);
-			chunk.release();
-
-			totalRead += bytesToRead;
-
-			if (i < breaks)
+			if (chunkPosition == CHUNK_SIZE)
 			{
-				assert compressedData.writerIndex() < size;
 				int b = in.readUnsignedByte();
-				++totalRead;
 				assert b == 0xff;
+				chunkPosition = 1;
+				continue;
 			}
+
+			int bytesToRead = Math.min(in.readableBytes(),
+				Math.min(CHUNK_SIZE - chunkPosition, data.length - received));
+
+			in.readBytes(data, received, bytesToRead);
+			received += bytesToRead;
+			chunkPosition += bytesToRead;
 		}
 
-		assert compressedData.writerIndex() == size;
+		logger.trace("{}/{}: received {}/{}", index, file, received, data.length);
+
+		if (received < data.length)
+		{
+			return;
+		}
 
 		logger.trace("{}/{}: done downloading file, remaining buffer {}",
 			index, file,
@@ -115,47 +99,54 @@ public class ArchiveResponseDecoder extends ByteToMessageDecoder
 		ArchiveResponsePacket archiveResponse = new ArchiveResponsePacket();
 		archiveResponse.setIndex(index);
 		archiveResponse.setArchive(file);
-		archiveResponse.setData(compressedData.array());
+		archiveResponse.setData(data);
 		out.add(archiveResponse);
 
-		compressedData.release();
+		data = null;
 	}
 
 	/**
-	 * Calculate how many breaks there are in the file stream. There are
-	 * calculateBreaks()+1 total chunks in the file stream
-	 *
-	 * File contents are sent in 512 byte chunks, with the first byte of
-	 * each chunk except for the first one being 0xff.
+	 * Read the header of the next archive, which is the index and file
+	 * followed by the start of the archive data, the compression type and
+	 * compressed size
 	 *
-	 * The first chunk has an 8 byte header (index, file, compression,
-	 * compressed size). So, the first chunk can contain 512 - 8 bytes of
-	 * the file, and each chunk after 511 bytes.
-	 *
-	 * The 'size' parameter has the compression type and size included in
-	 * it, since they haven't been read yet by the buffer stream, as
-	 * decompress() reads it, so we use 512 - 3 (because 8-5) = 3
+	 * @return false if the header has not been fully received yet
+	 * @throws CorruptedFrameException if the archive size is negative or too large
 	 */
-	private static int calculateBreaks(int size)
+	private boolean readHeader(ByteBuf in)
 	{
-		int initialSize = CHUNK_SIZE - 3;
-		if (size <= initialSize)
+		if (in.readableBytes() < 8)
 		{
-			return 0; // First in the initial chunk, no breaks
+			return false;
 		}
-		int left = size - initialSize;
 
-		if (left % (CHUNK_SIZE - 1) == 0)
-		{
-			return (left / (CHUNK_SIZE - 1));
-		}
-		else
+		int readerIndex = in.readerIndex();
+
+		index = in.getUnsignedByte(readerIndex);
+		file = in.getUnsignedShort(readerIndex + 1);
+		// decompress() starts reading here
+		int compression = in.getUnsignedByte(readerIndex + 3);
+		int compressedFileSize = in.getInt(readerIndex + 4);
+
+		assert compression == CompressionType.NONE ||
+			compression == CompressionType.BZ2 ||
+			compression == CompressionType.GZ;
+
+		if (compressedFileSize < 0 || compressedFileSize > MAX_ARCHIVE_SIZE)
 		{
-			// / 511 because 511 bytes of the file per chunk.
-			// + 1 if there is some left over, it still needs its
-			// own chunk
-			return (left / (CHUNK_SIZE - 1)) + 1;
+			throw new CorruptedFrameException("archive " + index + "/" + file + " has invalid size " + compressedFileSize);
 		}
+
+		int size = compressedFileSize
+			+ 5 // 1 byte compresion type, 4 byte compressed size
+			+ (compression != CompressionType.NONE ? 4 : 0); // compression has leading 4 byte decompressed length
+
+		in.skipBytes(3); // skip index/file
+
+		data = new byte[size];
+		received = 0;
+		chunkPosition = 3;
+		return true;
 	}
 
 }
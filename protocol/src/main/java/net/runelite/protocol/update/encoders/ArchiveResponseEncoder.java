@@ -27,60 +27,78 @@ package net.runelite.protocol.update.encoders;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import java.util.List;
 import net.runelite.protocol.api.update.ArchiveResponsePacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ArchiveResponseEncoder extends MessageToByteEncoder<ArchiveResponsePacket>
+/**
+ * Encodes archive responses as a composite buffer of slices of the archive
+ * data, interleaved with the chunk markers, so the archive is not copied.
+ */
+public class ArchiveResponseEncoder extends MessageToMessageEncoder<ArchiveResponsePacket>
 {
 	private static final Logger logger = LoggerFactory.getLogger(ArchiveResponseEncoder.class);
 
 	private static final int CHUNK_SIZE = 512;
 
-	@Override
-	protected void encode(ChannelHandlerContext ctx, ArchiveResponsePacket archiveResponse, ByteBuf out) throws Exception
+	private static final ByteBuf CHUNK_MARKER = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(new byte[]
 	{
-		// archive file header
-		// 1 byte index
-		// 2 byte archive
-		out.writeByte(archiveResponse.getIndex());
-		out.writeShort(archiveResponse.getArchive());
-
-		int pos = out.readableBytes();
+		(byte) 0xff
+	}));
 
-		// next is the compressed data which starts with compression
-		// type and length
+	@Override
+	protected void encode(ChannelHandlerContext ctx, ArchiveResponsePacket archiveResponse, List<Object> out) throws Exception
+	{
 		ByteBuf file = Unpooled.wrappedBuffer(archiveResponse.getData());
-		// - 3 for the header
-		int chunkSize = Math.min(file.readableBytes(), CHUNK_SIZE - 3);
+		int length = file.readableBytes();
 
-		writeChunk(file.readBytes(chunkSize), out);
+		// the first chunk follows the 3 byte header, and each
+		// chunk after it is preceded by a 1 byte marker
+		int remaining = Math.max(0, length - (CHUNK_SIZE - 3));
+		int chunks = 1 + (remaining + CHUNK_SIZE - 2) / (CHUNK_SIZE - 1);
+		ByteBuf[] parts = new ByteBuf[chunks * 2];
+		int count = 0;
 
-		while (file.isReadable())
+		try
 		{
-			out.writeByte(0xff);
+			// archive file header
+			// 1 byte index
+			// 2 byte archive
+			ByteBuf header = Unpooled.buffer(3);
+			header.writeByte(archiveResponse.getIndex());
+			header.writeShort(archiveResponse.getArchive());
+			parts[count++] = header;
 
-			chunkSize = Math.min(file.readableBytes(), CHUNK_SIZE - 1);
-			writeChunk(file.readBytes(chunkSize), out);
-		}
+			// next is the compressed data which starts with compression
+			// type and length
+			// - 3 for the header
+			int chunkSize = Math.min(length, CHUNK_SIZE - 3);
+			parts[count++] = file.retainedSlice(0, chunkSize);
 
-		int size = out.readableBytes() - pos;
-		logger.debug("Wrote index {} archive {} (size {}) in {} bytes",
-			archiveResponse.getIndex(), archiveResponse.getArchive(),
-			archiveResponse.getData().length, size);
-	}
+			for (int pos = chunkSize; pos < length; pos += chunkSize)
+			{
+				parts[count++] = CHUNK_MARKER.duplicate();
 
-	private void writeChunk(ByteBuf chunk, ByteBuf out)
-	{
-		try
-		{
-			out.writeBytes(chunk);
+				chunkSize = Math.min(length - pos, CHUNK_SIZE - 1);
+				parts[count++] = file.retainedSlice(pos, chunkSize);
+			}
 		}
 		finally
 		{
-			chunk.release();
+			file.release();
 		}
+
+		assert count == parts.length;
+
+		ByteBuf buf = Unpooled.wrappedBuffer(parts.length, parts);
+
+		logger.debug("Wrote index {} archive {} (size {}) in {} bytes",
+			archiveResponse.getIndex(), archiveResponse.getArchive(),
+			length, buf.readableBytes());
+
+		out.add(buf);
 	}
 
 }
@@ -51,9 +51,23 @@ public class XorEncoder extends MessageToByteEncoder<ByteBuf>
 			return;
 		}
 
-		while (msg.isReadable())
+		int start = out.writerIndex();
+		int length = msg.readableBytes();
+		out.writeBytes(msg);
+
+		// xor the copy in place, a long at a time
+		long longKey = (key & 0xffL) * 0x0101010101010101L;
+		int end = start + length;
+		int i = start;
+
+		for (; i + 8 <= end; i += 8)
+		{
+			out.setLong(i, out.getLong(i) ^ longKey);
+		}
+
+		for (; i < end; ++i)
 		{
-			out.writeByte(msg.readByte() ^ key);
+			out.setByte(i, out.getByte(i) ^ key);
 		}
 	}
 
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.protocol.update;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class ArchiveResponseChunks
+{
+	/**
+	 * Reference encoding of an archive response, writing the header and then
+	 * the data in chunks of 512 bytes separated by 0xff markers
+	 */
+	public static byte[] encode(int index, int archive, byte[] data)
+	{
+		ByteBuf out = Unpooled.buffer();
+		out.writeByte(index);
+		out.writeShort(archive);
+
+		int pos = 0;
+		int chunkSize = Math.min(data.length, 512 - 3);
+		out.writeBytes(data, pos, chunkSize);
+		pos += chunkSize;
+
+		while (pos < data.length)
+		{
+			out.writeByte(0xff);
+			chunkSize = Math.min(data.length - pos, 512 - 1);
+			out.writeBytes(data, pos, chunkSize);
+			pos += chunkSize;
+		}
+
+		byte[] encoded = new byte[out.readableBytes()];
+		out.readBytes(encoded);
+		return encoded;
+	}
+}
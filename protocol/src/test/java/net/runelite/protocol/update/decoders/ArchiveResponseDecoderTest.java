@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2016-2017, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.protocol.update.decoders;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.CorruptedFrameException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.protocol.api.update.ArchiveResponsePacket;
+import net.runelite.protocol.update.ArchiveResponseChunks;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArchiveResponseDecoderTest
+{
+	@Test
+	public void testDecodeSplit() throws Exception
+	{
+		Random random = new Random(42L);
+		byte[] first = createArchive(random, 3000);
+		byte[] second = createArchive(random, 100);
+
+		ByteBuf stream = Unpooled.buffer();
+		stream.writeBytes(ArchiveResponseChunks.encode(2, 10, first));
+		stream.writeBytes(ArchiveResponseChunks.encode(5, 20, second));
+
+		for (int maxPiece : new int[]
+		{
+			1, 7, 511, 512, 513, 4096
+		})
+		{
+			ArchiveResponseDecoder decoder = new ArchiveResponseDecoder();
+			ByteBuf in = Unpooled.buffer();
+			List<Object> out = new ArrayList<>();
+
+			ByteBuf data = stream.duplicate();
+			while (data.isReadable())
+			{
+				int piece = Math.min(data.readableBytes(), 1 + random.nextInt(maxPiece));
+				in.writeBytes(data, piece);
+
+				// as ByteToMessageDecoder does, decode until nothing more is produced
+				int decoded;
+				do
+				{
+					decoded = out.size();
+					decoder.decode(null, in, out);
+				}
+				while (out.size() != decoded && in.isReadable());
+			}
+
+			Assert.assertFalse(in.isReadable());
+			Assert.assertEquals(2, out.size());
+
+			ArchiveResponsePacket response = (ArchiveResponsePacket) out.get(0);
+			Assert.assertEquals(2, response.getIndex());
+			Assert.assertEquals(10, response.getArchive());
+			Assert.assertArrayEquals(first, response.getData());
+
+			response = (ArchiveResponsePacket) out.get(1);
+			Assert.assertEquals(5, response.getIndex());
+			Assert.assertEquals(20, response.getArchive());
+			Assert.assertArrayEquals(second, response.getData());
+		}
+	}
+
+	@Test(expected = CorruptedFrameException.class)
+	public void testDecodeOversized() throws Exception
+	{
+		ByteBuf in = Unpooled.buffer();
+		in.writeByte(2);
+		in.writeShort(10);
+		in.writeByte(CompressionType.NONE);
+		in.writeInt(Integer.MAX_VALUE);
+
+		new ArchiveResponseDecoder().decode(null, in, new ArrayList<>());
+	}
+
+	private static byte[] createArchive(Random random, int length) throws Exception
+	{
+		byte[] data = new byte[length];
+		random.nextBytes(data);
+
+		Container container = new Container(CompressionType.NONE, -1);
+		container.compress(data, null);
+		return container.data;
+	}
+}
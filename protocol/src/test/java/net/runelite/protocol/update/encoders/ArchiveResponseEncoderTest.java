@@ -33,11 +33,17 @@ import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.jagex.CompressionType;
 import net.runelite.protocol.update.decoders.ArchiveResponseDecoder;
 import net.runelite.protocol.api.update.ArchiveResponsePacket;
+import net.runelite.protocol.update.ArchiveResponseChunks;
 import org.junit.Assert;
+import org.junit.Ignore;
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ArchiveResponseEncoderTest
 {
+	private static final Logger logger = LoggerFactory.getLogger(ArchiveResponseEncoderTest.class);
+
 	@Test
 	public void testEncode() throws Exception
 	{
@@ -54,9 +60,7 @@ public class ArchiveResponseEncoderTest
 		archiveResponse.setArchive(1);
 		archiveResponse.setData(compressedData);
 
-		ByteBuf buf = Unpooled.buffer(1024);
-		ArchiveResponseEncoder encoder = new ArchiveResponseEncoder();
-		encoder.encode(null, archiveResponse, buf);
+		ByteBuf buf = encode(archiveResponse);
 
 		ArchiveResponseDecoder decoder = new ArchiveResponseDecoder();
 		List<Object> out = new ArrayList<>();
@@ -73,4 +77,68 @@ public class ArchiveResponseEncoderTest
 		Assert.assertArrayEquals(data, decompressedData);
 	}
 
+	@Test
+	public void testEncodeChunks() throws Exception
+	{
+		for (int length : new int[]
+		{
+			0, 1, 508, 509, 510, 1020, 1021, 5000
+		})
+		{
+			byte[] data = new byte[length];
+			new Random(length).nextBytes(data);
+
+			ArchiveResponsePacket archiveResponse = new ArchiveResponsePacket();
+			archiveResponse.setIndex(255);
+			archiveResponse.setArchive(65535);
+			archiveResponse.setData(data);
+
+			ByteBuf buf = encode(archiveResponse);
+			byte[] encoded = new byte[buf.readableBytes()];
+			buf.readBytes(encoded);
+			buf.release();
+
+			Assert.assertArrayEquals("length " + length, ArchiveResponseChunks.encode(255, 65535, data), encoded);
+		}
+	}
+
+	@Test
+	@Ignore
+	public void benchmarkEncode() throws Exception
+	{
+		byte[] data = new byte[1024 * 1024];
+		new Random(42L).nextBytes(data);
+
+		ArchiveResponsePacket archiveResponse = new ArchiveResponsePacket();
+		archiveResponse.setIndex(7);
+		archiveResponse.setArchive(1);
+		archiveResponse.setData(data);
+
+		XorEncoder xorEncoder = new XorEncoder();
+		xorEncoder.setKey((byte) 0x5a);
+		ByteBuf out = Unpooled.buffer(data.length * 2);
+
+		int iterations = 2000;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; ++i)
+		{
+			ByteBuf buf = encode(archiveResponse);
+			out.clear();
+			xorEncoder.encode(null, buf, out);
+			buf.release();
+		}
+		long elapsed = System.nanoTime() - start;
+
+		logger.info("Encoded {} MB/s", (long) iterations * data.length * 1_000_000_000L / elapsed / (1024 * 1024));
+	}
+
+	private static ByteBuf encode(ArchiveResponsePacket archiveResponse) throws Exception
+	{
+		ArchiveResponseEncoder encoder = new ArchiveResponseEncoder();
+		List<Object> out = new ArrayList<>();
+		encoder.encode(null, archiveResponse, out);
+
+		Assert.assertEquals(1, out.size());
+		return (ByteBuf) out.get(0);
+	}
 }
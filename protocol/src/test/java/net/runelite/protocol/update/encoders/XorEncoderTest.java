@@ -26,6 +26,7 @@ package net.runelite.protocol.update.encoders;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -48,4 +49,27 @@ public class XorEncoderTest
 		Assert.assertEquals((Byte) (byte) 0xfe, (Byte) encoded);
 	}
 
+	@Test
+	public void testEncodeLong() throws Exception
+	{
+		byte[] data = new byte[1001];
+		new Random(42L).nextBytes(data);
+
+		XorEncoder encoder = new XorEncoder();
+		encoder.setKey((byte) 0xa5);
+
+		ByteBuf buf = Unpooled.wrappedBuffer(data);
+		ByteBuf out = Unpooled.buffer(1);
+		out.writeByte(0x42);
+		encoder.encode(null, buf, out);
+
+		Assert.assertFalse(buf.isReadable());
+		Assert.assertEquals(data.length + 1, out.readableBytes());
+		Assert.assertEquals(0x42, out.readByte());
+		for (byte b : data)
+		{
+			Assert.assertEquals((byte) (b ^ 0xa5), out.readByte());
+		}
+	}
+
 }
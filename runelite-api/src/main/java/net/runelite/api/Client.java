@@ -29,6 +29,7 @@ import java.awt.Dimension;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import net.runelite.api.annotations.VisibleForDevtools;
 import net.runelite.api.coords.LocalPoint;
@@ -39,14 +40,58 @@ import net.runelite.api.widgets.WidgetInfo;
 
 public interface Client extends GameEngine
 {
+	/**
+	 * Gets the players in the scene. The returned list is an immutable
+	 * snapshot which is shared between calls until the player indices
+	 * change, so it is safe to keep and to read from any thread.
+	 *
+	 * @return an unmodifiable list of players
+	 */
 	List<Player> getPlayers();
 
+	/**
+	 * Gets the NPCs in the scene. The returned list is an immutable
+	 * snapshot which is shared between calls until the NPC indices
+	 * change, so it is safe to keep and to read from any thread.
+	 *
+	 * @return an unmodifiable list of NPCs
+	 */
 	List<NPC> getNpcs();
 
+	/**
+	 * Visit each player in the scene without building a list
+	 *
+	 * @param consumer the visitor
+	 */
+	void forEachPlayer(Consumer<Player> consumer);
+
+	/**
+	 * Visit each NPC in the scene without building a list
+	 *
+	 * @param consumer the visitor
+	 */
+	void forEachNpc(Consumer<NPC> consumer);
+
 	NPC[] getCachedNPCs();
 
 	Player[] getCachedPlayers();
 
+	/**
+	 * Gets the indices into {@link #getCachedNPCs()} of the NPCs in the scene.
+	 * Only the first {@link #getNpcIndexesCount()} entries are valid.
+	 */
+	int[] getNpcIndices();
+
+	int getNpcIndexesCount();
+
+	/**
+	 * Gets the indices into {@link #getCachedPlayers()} of the players in the
+	 * scene. Only the first {@link #getPlayerIndexesCount()} entries are valid.
+	 */
+	int[] getPlayerIndices();
+
+	int getPlayerIndexesCount();
+
 	int getBoostedSkillLevel(Skill skill);
 
 	int getRealSkillLevel(Skill skill);
@@ -113,6 +158,8 @@ public interface Client extends GameEngine
 
 	IndexDataBase getIndexSprites();
 
+	IndexDataBase getIndexConfig();
+
 	int getBaseX();
 
 	int getBaseY();
@@ -155,10 +202,61 @@ public interface Client extends GameEngine
 	 */
 	World[] getWorldList();
 
+	/**
+	 * Gets a copy of the current menu entries. Prefer the menu arrays and
+	 * the in place edit methods when only a few entries are touched.
+	 */
 	MenuEntry[] getMenuEntries();
 
 	void setMenuEntries(MenuEntry[] entries);
 
+	/**
+	 * Gets the number of entries in the current menu. Only the first this
+	 * many elements of the menu arrays are valid.
+	 */
+	int getMenuOptionCount();
+
+	/**
+	 * Gets the client's menu option array. Writes to this array change the
+	 * option of the corresponding entry in place.
+	 */
+	String[] getMenuOptions();
+
+	/**
+	 * Gets the client's menu target array. Writes to this array change the
+	 * target of the corresponding entry in place.
+	 */
+	String[] getMenuTargets();
+
+	int[] getMenuIdentifiers();
+
+	int[] getMenuTypes();
+
+	int[] getMenuActionParams0();
+
+	int[] getMenuActionParams1();
+
+	/**
+	 * Swaps two entries of the current menu in place
+	 */
+	void swapMenuEntries(int first, int second);
+
+	/**
+	 * Inserts an entry into the current menu, shifting later entries up.
+	 * Entries later in the menu are shown higher up, and the last entry is
+	 * the left click option. This does not post a {@link net.runelite.api.events.MenuEntryAdded}.
+	 *
+	 * @param index index to insert at, between 0 and the menu option count
+	 * @param entry the entry
+	 * @return true if the entry was inserted, false if the menu is full
+	 */
+	boolean insertMenuEntry(int index, MenuEntry entry);
+
+	/**
+	 * Removes an entry from the current menu, shifting later entries down
+	 */
+	void removeMenuEntry(int index);
+
 	boolean isMenuOpen();
 
 	int getMapAngle();
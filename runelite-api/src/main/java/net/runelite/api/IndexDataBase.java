@@ -26,4 +26,12 @@ package net.runelite.api;
 
 public interface IndexDataBase
 {
+	/**
+	 * Gets the CRC of an archive in this index, which changes whenever the
+	 * archive is updated
+	 *
+	 * @param archiveId the archive id
+	 * @return the CRC, or 0 if the index is not loaded or has no such archive
+	 */
+	int getArchiveCrc(int archiveId);
 }
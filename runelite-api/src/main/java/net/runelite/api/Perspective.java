@@ -27,18 +27,13 @@ package net.runelite.api;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
-import java.awt.Rectangle;
 import java.awt.geom.Area;
+import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import net.runelite.api.coords.LocalPoint;
-import net.runelite.api.model.Jarvis;
-import net.runelite.api.model.Triangle;
-import net.runelite.api.model.Vertex;
+import net.runelite.api.model.MonotoneChain;
 
 public class Perspective
 {
@@ -449,6 +444,94 @@ public class Perspective
 		return new Point(xOffset, yOffset);
 	}
 
+	/**
+	 * Translates the vertices of a model to their corresponding coordinates
+	 * on the game screen. The camera is read once for all of the vertices,
+	 * and every vertex is placed at the height of the model's tile.
+	 * Vertices which can not be projected have their x coordinate set to
+	 * {@link MonotoneChain#SKIP}.
+	 *
+	 * @param client
+	 * @param count the number of vertices
+	 * @param localX the local x coordinate of the model
+	 * @param localY the local y coordinate of the model
+	 * @param orientation the orientation of the model (0-2048, where 0 is north)
+	 * @param verticesX the model vertices x coordinates
+	 * @param verticesY the model vertices y (height) coordinates
+	 * @param verticesZ the model vertices z coordinates
+	 * @param canvasX output canvas x coordinates, at least {@code count} long
+	 * @param canvasY output canvas y coordinates, at least {@code count} long
+	 */
+	public static void modelToCanvas(
+		@Nonnull Client client,
+		int count,
+		int localX,
+		int localY,
+		int orientation,
+		@Nonnull int[] verticesX,
+		@Nonnull int[] verticesY,
+		@Nonnull int[] verticesZ,
+		@Nonnull int[] canvasX,
+		@Nonnull int[] canvasY
+	)
+	{
+		final int height = getTileHeight(client, localX, localY, client.getPlane());
+
+		final int cameraX = client.getCameraX();
+		final int cameraY = client.getCameraY();
+		final int cameraZ = client.getCameraZ();
+		final int pitchSin = SINE[client.getCameraPitch()];
+		final int pitchCos = COSINE[client.getCameraPitch()];
+		final int yawSin = SINE[client.getCameraYaw()];
+		final int yawCos = COSINE[client.getCameraYaw()];
+		final int scale = client.getScale();
+		final int viewportHalfWidth = client.getViewportWidth() / 2;
+		final int viewportHalfHeight = client.getViewportHeight() / 2;
+
+		// models are orientated north (1024) and there are 2048 angles total
+		final int rotation = (orientation + 1024) % 2048;
+		final int orientSin = SINE[rotation];
+		final int orientCos = COSINE[rotation];
+
+		for (int i = 0; i < count; ++i)
+		{
+			int vx = verticesX[i];
+			int vz = verticesZ[i];
+			if (rotation != 0)
+			{
+				int rotatedX = vx * orientCos + vz * orientSin >> 16;
+				vz = vz * orientCos - vx * orientSin >> 16;
+				vx = rotatedX;
+			}
+
+			int x = localX - vx;
+			int y = localY - vz;
+			if (x < 128 || y < 128 || x > 13056 || y > 13056)
+			{
+				canvasX[i] = MonotoneChain.SKIP;
+				continue;
+			}
+
+			x -= cameraX;
+			y -= cameraY;
+			int z = height + verticesY[i] - cameraZ;
+
+			int x1 = yawCos * x + y * yawSin >> 16;
+			int y1 = yawCos * y - yawSin * x >> 16;
+			int z1 = pitchCos * z - y1 * pitchSin >> 16;
+			int depth = z * pitchSin + y1 * pitchCos >> 16;
+
+			if (depth < 50)
+			{
+				canvasX[i] = MonotoneChain.SKIP;
+				continue;
+			}
+
+			canvasX[i] = viewportHalfWidth + x1 * scale / depth;
+			canvasY[i] = viewportHalfHeight + z1 * scale / depth;
+		}
+	}
+
 	/**
 	 * You don't want this. Use {@link TileObject#getClickbox()} instead
 	 *
@@ -469,103 +552,108 @@ public class Perspective
 			return null;
 		}
 
-		List<Triangle> triangles = model.getTriangles().stream()
-			.map(triangle -> triangle.rotate(orientation))
-			.collect(Collectors.toList());
+		int count = model.getVerticesCount();
+		int[] canvasX = new int[count];
+		int[] canvasY = new int[count];
+		modelToCanvas(client, count, tileX, tileY, orientation,
+			model.getVerticesX(), model.getVerticesY(), model.getVerticesZ(),
+			canvasX, canvasY);
 
-		List<Vertex> vertices = model.getVertices().stream()
-				.map(v -> v.rotate(orientation))
-				.collect(Collectors.toList());
-
-		Area clickBox = get2DGeometry(client, triangles, orientation, tileX, tileY);
-		Area visibleAABB = getAABB(client, vertices, orientation, tileX, tileY);
-
-		if (visibleAABB == null || clickBox == null)
+		Area visibleAABB = getAABB(client, model, orientation, tileX, tileY);
+		if (visibleAABB == null)
 		{
 			return null;
 		}
 
+		Area clickBox = get2DGeometry(client, model, canvasX, canvasY);
 		clickBox.intersect(visibleAABB);
 		return clickBox;
 	}
 
 	private static Area get2DGeometry(
 		@Nonnull Client client,
-		@Nonnull List<Triangle> triangles,
-		int orientation,
-		int tileX,
-		int tileY
+		@Nonnull Model model,
+		@Nonnull int[] canvasX,
+		@Nonnull int[] canvasY
 	)
 	{
-		int radius = 5;
-		Area geometry = new Area();
-
-		for (Triangle triangle : triangles)
+		final int radius = 5;
+		final int count = model.getTrianglesCount();
+		final int[] trianglesX = model.getTrianglesX();
+		final int[] trianglesY = model.getTrianglesY();
+		final int[] trianglesZ = model.getTrianglesZ();
+
+		// For some reason, this calculation is always 4 pixels short of the actual in-client one
+		int maxXOffset = client.getViewportXOffset();
+		int maxYOffset = client.getViewportYOffset();
+		int offset = 0;
+
+		// ...and the rectangles in the fixed client are shifted 4 pixels right and down
+		if (!client.isResized())
 		{
-			Vertex _a = triangle.getA();
-			Point a = worldToCanvas(client,
-				tileX - _a.getX(),
-				tileY - _a.getZ(),
-				-_a.getY(), tileX, tileY);
-			if (a == null)
-			{
-				continue;
-			}
+			offset = 4;
+		}
 
-			Vertex _b = triangle.getB();
-			Point b = worldToCanvas(client,
-				tileX - _b.getX(),
-				tileY - _b.getZ(),
-				-_b.getY(), tileX, tileY);
-			if (b == null)
-			{
-				continue;
-			}
+		// All of the rectangles are wound the same way, so the non-zero
+		// winding rule makes the area their union. Building the area once
+		// from a single path is much cheaper than adding each rectangle.
+		Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, count * 5);
+
+		for (int i = 0; i < count; ++i)
+		{
+			int a = trianglesX[i];
+			int b = trianglesY[i];
+			int c = trianglesZ[i];
 
-			Vertex _c = triangle.getC();
-			Point c = worldToCanvas(client,
-				tileX - _c.getX(),
-				tileY - _c.getZ(),
-				-_c.getY(), tileX, tileY);
-			if (c == null)
+			if (canvasX[a] == MonotoneChain.SKIP
+				|| canvasX[b] == MonotoneChain.SKIP
+				|| canvasX[c] == MonotoneChain.SKIP)
 			{
 				continue;
 			}
 
-			int minX = Math.min(Math.min(a.getX(), b.getX()), c.getX());
-			int minY = Math.min(Math.min(a.getY(), b.getY()), c.getY());
+			int minX = Math.min(Math.min(canvasX[a], canvasX[b]), canvasX[c]) + offset;
+			int minY = Math.min(Math.min(canvasY[a], canvasY[b]), canvasY[c]) + offset;
+			int maxX = Math.max(Math.max(canvasX[a], canvasX[b]), canvasX[c]) + maxXOffset + offset;
+			int maxY = Math.max(Math.max(canvasY[a], canvasY[b]), canvasY[c]) + maxYOffset + offset;
 
-			// For some reason, this calculation is always 4 pixels short of the actual in-client one
-			int maxX = Math.max(Math.max(a.getX(), b.getX()), c.getX()) + client.getViewportXOffset();
-			int maxY = Math.max(Math.max(a.getY(), b.getY()), c.getY()) + client.getViewportYOffset();
-
-			// ...and the rectangles in the fixed client are shifted 4 pixels right and down
-			if (!client.isResized())
+			int x = minX - radius;
+			int y = minY - radius;
+			int width = maxX - minX + radius;
+			int height = maxY - minY + radius;
+			if (width <= 0 || height <= 0)
 			{
-				minX += 4;
-				minY += 4;
-				maxX += 4;
-				maxY += 4;
+				continue;
 			}
 
-			Rectangle clickableRect = new Rectangle(
-				minX - radius, minY - radius,
-				maxX - minX + radius, maxY - minY + radius
-			);
-			geometry.add(new Area(clickableRect));
+			path.moveTo(x, y);
+			path.lineTo(x + width, y);
+			path.lineTo(x + width, y + height);
+			path.lineTo(x, y + height);
+			path.closePath();
 		}
 
-		return geometry;
+		return new Area(path);
 	}
 
 	private static Area getAABB(
 		@Nonnull Client client,
-		@Nonnull List<Vertex> vertices,
+		@Nonnull Model model,
 		int orientation,
 		int tileX,
 		int tileY
 	)
 	{
+		final int count = model.getVerticesCount();
+		final int[] verticesX = model.getVerticesX();
+		final int[] verticesY = model.getVerticesY();
+		final int[] verticesZ = model.getVerticesZ();
+
+		// models are orientated north (1024) and there are 2048 angles total
+		final int rotation = (orientation + 1024) % 2048;
+		final int orientSin = SINE[rotation];
+		final int orientCos = COSINE[rotation];
+
 		int maxX = 0;
 		int minX = 0;
 		int maxY = 0;
@@ -573,11 +661,18 @@ public class Perspective
 		int maxZ = 0;
 		int minZ = 0;
 
-		for (Vertex vertex : vertices)
+		for (int i = 0; i < count; ++i)
 		{
-			int x = vertex.getX();
-			int y = vertex.getY();
-			int z = vertex.getZ();
+			int x = verticesX[i];
+			int y = verticesY[i];
+			int z = verticesZ[i];
+
+			if (rotation != 0)
+			{
+				int rotatedX = x * orientCos + z * orientSin >> 16;
+				z = z * orientCos - x * orientSin >> 16;
+				x = rotatedX;
+			}
 
 			if (x > maxX)
 			{
@@ -633,48 +728,36 @@ public class Perspective
 		int y2 = centerY + extremeY;
 		int z2 = tileY - (centerZ + extremeZ);
 
-		Point p1 = worldToCanvas(client, x1, z1, -y1, tileX, tileY);
-		Point p2 = worldToCanvas(client, x1, z2, -y1, tileX, tileY);
-		Point p3 = worldToCanvas(client, x2, z2, -y1, tileX, tileY);
-
-		Point p4 = worldToCanvas(client, x2, z1, -y1, tileX, tileY);
-		Point p5 = worldToCanvas(client, x1, z1, -y2, tileX, tileY);
-		Point p6 = worldToCanvas(client, x1, z2, -y2, tileX, tileY);
-		Point p7 = worldToCanvas(client, x2, z2, -y2, tileX, tileY);
-		Point p8 = worldToCanvas(client, x2, z1, -y2, tileX, tileY);
-
-		List<Point> points = new ArrayList<>(8);
-		points.add(p1);
-		points.add(p2);
-		points.add(p3);
-		points.add(p4);
-		points.add(p5);
-		points.add(p6);
-		points.add(p7);
-		points.add(p8);
-
-		try
+		Point[] corners =
 		{
-			points = Jarvis.convexHull(points);
-		}
-		catch (NullPointerException e)
+			worldToCanvas(client, x1, z1, -y1, tileX, tileY),
+			worldToCanvas(client, x1, z2, -y1, tileX, tileY),
+			worldToCanvas(client, x2, z2, -y1, tileX, tileY),
+			worldToCanvas(client, x2, z1, -y1, tileX, tileY),
+			worldToCanvas(client, x1, z1, -y2, tileX, tileY),
+			worldToCanvas(client, x1, z2, -y2, tileX, tileY),
+			worldToCanvas(client, x2, z2, -y2, tileX, tileY),
+			worldToCanvas(client, x2, z1, -y2, tileX, tileY)
+		};
+
+		int[] cornersX = new int[corners.length];
+		int[] cornersY = new int[corners.length];
+		for (int i = 0; i < corners.length; ++i)
 		{
-			// No non-null screen points for this AABB e.g. for an way off-screen model
-			return null;
-		}
+			if (corners[i] == null)
+			{
+				// No screen point for this corner e.g. for an way off-screen model
+				return null;
+			}
 
-		if (points == null)
-		{
-			return null;
+			cornersX[i] = corners[i].getX();
+			cornersY[i] = corners[i].getY();
 		}
 
-		Polygon hull = new Polygon();
-		for (Point p : points)
+		Polygon hull = MonotoneChain.convexHull(cornersX, cornersY, corners.length);
+		if (hull == null)
 		{
-			if (p != null)
-			{
-				hull.addPoint(p.getX(), p.getY());
-			}
+			return null;
 		}
 
 		return new Area(hull);
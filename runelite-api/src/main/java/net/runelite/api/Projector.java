@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import static net.runelite.api.Constants.REGION_SIZE;
+import static net.runelite.api.Perspective.COSINE;
+import static net.runelite.api.Perspective.LOCAL_COORD_BITS;
+import static net.runelite.api.Perspective.LOCAL_TILE_SIZE;
+import static net.runelite.api.Perspective.SINE;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.model.MonotoneChain;
+
+/**
+ * Projects local coordinates onto the canvas from a snapshot of the camera.
+ * <p>
+ * The {@link Perspective} methods read the camera from the client and
+ * recompute its trigonometry for every point. A projector reads them once
+ * per {@link #update(Client)}, and can then project many points into caller
+ * supplied arrays. The client provides a shared projector, which it updates
+ * once per frame before drawing the scene overlays, so overlays should
+ * inject that instead of creating and updating their own.
+ * Points which can not be projected have their x coordinate set to
+ * {@link MonotoneChain#SKIP}.
+ * <p>
+ * The four corner heights of each tile are cached for the frame the first
+ * time a point on the tile is projected, so marking many points on nearby
+ * tiles does not resolve bridges and read the height arrays every time.
+ */
+public class Projector
+{
+	private int plane;
+	private int cameraX;
+	private int cameraY;
+	private int cameraZ;
+	private int pitchSin;
+	private int pitchCos;
+	private int yawSin;
+	private int yawCos;
+	private int scale;
+	private int viewportHalfWidth;
+	private int viewportHalfHeight;
+	private byte[][][] tileSettings;
+	private int[][][] tileHeights;
+
+	private final int[] tileX = new int[4];
+	private final int[] tileY = new int[4];
+
+	/**
+	 * South west, south east, north west and north east corner heights of
+	 * each scene tile, valid when the tile's stamp matches {@link #frame}
+	 */
+	private final int[] cornerHeights = new int[REGION_SIZE * REGION_SIZE * 4];
+	private final int[] cornerFrames = new int[REGION_SIZE * REGION_SIZE];
+	private int frame;
+
+	/**
+	 * Snapshot the camera and scene state of the client
+	 *
+	 * @param client
+	 */
+	public void update(@Nonnull Client client)
+	{
+		plane = client.getPlane();
+		cameraX = client.getCameraX();
+		cameraY = client.getCameraY();
+		cameraZ = client.getCameraZ();
+
+		int cameraPitch = client.getCameraPitch();
+		int cameraYaw = client.getCameraYaw();
+		pitchSin = SINE[cameraPitch];
+		pitchCos = COSINE[cameraPitch];
+		yawSin = SINE[cameraYaw];
+		yawCos = COSINE[cameraYaw];
+
+		scale = client.getScale();
+		viewportHalfWidth = client.getViewportWidth() / 2;
+		viewportHalfHeight = client.getViewportHeight() / 2;
+		tileSettings = client.getTileSettings();
+		tileHeights = client.getTileHeights();
+
+		if (++frame == 0)
+		{
+			Arrays.fill(cornerFrames, 0);
+			frame = 1;
+		}
+	}
+
+	/**
+	 * Calculates the above ground height of a tile point on the current plane.
+	 *
+	 * @param localX the ground coordinate on the x axis
+	 * @param localY the ground coordinate on the y axis
+	 * @return the offset from the ground of the tile
+	 * @see Perspective#getTileHeight(Client, int, int, int)
+	 */
+	public int getTileHeight(int localX, int localY)
+	{
+		int sceneX = localX >> LOCAL_COORD_BITS;
+		int sceneY = localY >> LOCAL_COORD_BITS;
+		if (sceneX < 0 || sceneY < 0 || sceneX >= REGION_SIZE || sceneY >= REGION_SIZE)
+		{
+			return 0;
+		}
+
+		int tile = sceneX * REGION_SIZE + sceneY;
+		int corners = tile * 4;
+		if (cornerFrames[tile] != frame)
+		{
+			int z = plane;
+			if (plane < 3 && (tileSettings[1][sceneX][sceneY] & 2) == 2)
+			{
+				z = plane + 1;
+			}
+
+			int[][] heights = tileHeights[z];
+			cornerHeights[corners] = heights[sceneX][sceneY];
+			cornerHeights[corners + 1] = heights[sceneX + 1][sceneY];
+			cornerHeights[corners + 2] = heights[sceneX][sceneY + 1];
+			cornerHeights[corners + 3] = heights[sceneX + 1][sceneY + 1];
+			cornerFrames[tile] = frame;
+		}
+
+		int offsetX = localX & 127;
+		int offsetY = localY & 127;
+		int south = offsetX * cornerHeights[corners + 1] + (128 - offsetX) * cornerHeights[corners] >> 7;
+		int north = cornerHeights[corners + 2] * (128 - offsetX) + offsetX * cornerHeights[corners + 3] >> 7;
+		return (128 - offsetY) * south + offsetY * north >> 7;
+	}
+
+	/**
+	 * Translates a ground point to the canvas.
+	 *
+	 * @param x ground coordinate on the x axis
+	 * @param y ground coordinate on the y axis
+	 * @param zOffset distance from ground on the z axis
+	 * @return the point on the canvas, or null if it is not visible
+	 * @see Perspective#worldToCanvas(Client, int, int, int, int)
+	 */
+	public Point project(int x, int y, int zOffset)
+	{
+		if (!project(x, y, zOffset, tileX, tileY, 0))
+		{
+			return null;
+		}
+
+		return new Point(tileX[0], tileY[0]);
+	}
+
+	/**
+	 * Calculates the location of text centered above a ground point.
+	 *
+	 * @param graphics the graphics the text is drawn with
+	 * @param localLocation the ground point
+	 * @param text the text
+	 * @param zOffset distance from ground on the z axis
+	 * @return the location to draw the text at, or null if it is not visible
+	 * @see Perspective#getCanvasTextLocation(Client, Graphics2D, LocalPoint, String, int)
+	 */
+	public Point getCanvasTextLocation(@Nonnull Graphics2D graphics, @Nonnull LocalPoint localLocation,
+		@Nonnull String text, int zOffset)
+	{
+		Point p = project(localLocation.getX(), localLocation.getY(), plane + zOffset);
+		if (p == null)
+		{
+			return null;
+		}
+
+		Rectangle2D bounds = graphics.getFontMetrics().getStringBounds(text, graphics);
+		return new Point(p.getX() - (int) (bounds.getWidth() / 2), p.getY());
+	}
+
+	/**
+	 * Translates ground points to the canvas in bulk.
+	 *
+	 * @param count the number of points
+	 * @param localX ground coordinates on the x axis
+	 * @param localY ground coordinates on the y axis
+	 * @param zOffset distance from ground on the z axis
+	 * @param canvasX output canvas x coordinates
+	 * @param canvasY output canvas y coordinates
+	 * @return the number of points which were visible
+	 */
+	public int project(int count, @Nonnull int[] localX, @Nonnull int[] localY, int zOffset,
+		@Nonnull int[] canvasX, @Nonnull int[] canvasY)
+	{
+		int visible = 0;
+		for (int i = 0; i < count; ++i)
+		{
+			if (project(localX[i], localY[i], zOffset, canvasX, canvasY, i))
+			{
+				++visible;
+			}
+		}
+		return visible;
+	}
+
+	/**
+	 * Translates the four corners of tile areas to the canvas in bulk. The
+	 * corners of the i-th area are written to indices {@code 4 * i} to
+	 * {@code 4 * i + 3} of the output arrays, in the same order as
+	 * {@link Perspective#getCanvasTileAreaPoly(Client, LocalPoint, int)}.
+	 * If any corner of an area is not visible, its first x coordinate is
+	 * set to {@link MonotoneChain#SKIP}.
+	 *
+	 * @param count the number of areas
+	 * @param localX the local x coordinates of the area centers
+	 * @param localY the local y coordinates of the area centers
+	 * @param size the size of the areas in tiles
+	 * @param canvasX output canvas x coordinates, at least {@code 4 * count} long
+	 * @param canvasY output canvas y coordinates, at least {@code 4 * count} long
+	 * @return the number of areas which were visible
+	 */
+	public int projectTiles(int count, @Nonnull int[] localX, @Nonnull int[] localY, int size,
+		@Nonnull int[] canvasX, @Nonnull int[] canvasY)
+	{
+		int visible = 0;
+		for (int i = 0; i < count; ++i)
+		{
+			if (projectTile(localX[i], localY[i], size, canvasX, canvasY, i * 4))
+			{
+				++visible;
+			}
+			else
+			{
+				canvasX[i * 4] = MonotoneChain.SKIP;
+			}
+		}
+		return visible;
+	}
+
+	/**
+	 * Returns a polygon representing a tile area.
+	 *
+	 * @param localLocation center location of the area
+	 * @param size size of the area in tiles
+	 * @return the polygon, or null if it is not visible
+	 * @see Perspective#getCanvasTileAreaPoly(Client, LocalPoint, int)
+	 */
+	public Polygon getTileAreaPoly(@Nonnull LocalPoint localLocation, int size)
+	{
+		if (!projectTile(localLocation.getX(), localLocation.getY(), size, tileX, tileY, 0))
+		{
+			return null;
+		}
+
+		return new Polygon(tileX.clone(), tileY.clone(), 4);
+	}
+
+	/**
+	 * Returns a polygon representing a tile.
+	 *
+	 * @param localLocation location of the tile
+	 * @return the polygon, or null if it is not visible
+	 */
+	public Polygon getTilePoly(@Nonnull LocalPoint localLocation)
+	{
+		return getTileAreaPoly(localLocation, 1);
+	}
+
+	private boolean projectTile(int localX, int localY, int size, int[] canvasX, int[] canvasY, int offset)
+	{
+		int halfTile = LOCAL_TILE_SIZE / 2;
+		int aoeSize = size / 2;
+
+		int southX = localX - (aoeSize * LOCAL_TILE_SIZE) - halfTile + 1;
+		int southY = localY - (aoeSize * LOCAL_TILE_SIZE) - halfTile + 1;
+		int northX = southX + size * LOCAL_TILE_SIZE - 1;
+		int northY = southY + size * LOCAL_TILE_SIZE - 1;
+
+		// the client plane is passed as the height offset to match Perspective
+		return project(southX, southY, plane, canvasX, canvasY, offset)
+			&& project(northX, southY, plane, canvasX, canvasY, offset + 1)
+			&& project(northX, northY, plane, canvasX, canvasY, offset + 2)
+			&& project(southX, northY, plane, canvasX, canvasY, offset + 3);
+	}
+
+	private boolean project(int x, int y, int zOffset, int[] canvasX, int[] canvasY, int index)
+	{
+		if (x < 128 || y < 128 || x > 13056 || y > 13056)
+		{
+			canvasX[index] = MonotoneChain.SKIP;
+			return false;
+		}
+
+		int z = getTileHeight(x, y) - zOffset - cameraZ;
+		x -= cameraX;
+		y -= cameraY;
+
+		int x1 = yawCos * x + y * yawSin >> 16;
+		int y1 = yawCos * y - yawSin * x >> 16;
+		int z1 = pitchCos * z - y1 * pitchSin >> 16;
+		int depth = z * pitchSin + y1 * pitchCos >> 16;
+
+		if (depth < 50)
+		{
+			canvasX[index] = MonotoneChain.SKIP;
+			return false;
+		}
+
+		canvasX[index] = viewportHalfWidth + x1 * scale / depth;
+		canvasY[index] = viewportHalfHeight + z1 * scale / depth;
+		return true;
+	}
+}
@@ -36,6 +36,19 @@ public abstract class Query<EntityType, QueryType>
 
 	public abstract EntityType[] result(Client client);
 
+	/**
+	 * Run the query, using the scene index to narrow down the candidates
+	 * where the query type supports it.
+	 *
+	 * @param client the client
+	 * @param index the scene index
+	 * @return the matching entities
+	 */
+	public EntityType[] result(Client client, SceneIndex index)
+	{
+		return result(client);
+	}
+
 	protected Predicate<EntityType> and(Predicate<EntityType> other)
 	{
 		if (predicate == null)
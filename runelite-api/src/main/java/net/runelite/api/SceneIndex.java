@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.util.Collection;
+
+/**
+ * An index of the objects and NPCs in the loaded scene, maintained as they
+ * spawn and despawn so that lookups do not have to walk every tile of the
+ * region or every NPC.
+ */
+public interface SceneIndex
+{
+	/**
+	 * Get all indexed objects of a given type on a plane.
+	 *
+	 * @param type one of {@link GameObject}, {@link WallObject},
+	 * {@link DecorativeObject} or {@link GroundObject}
+	 * @param plane the plane
+	 * @param <T> the object type
+	 * @return the objects
+	 */
+	<T extends TileObject> Collection<T> getTileObjects(Class<T> type, int plane);
+
+	/**
+	 * Get the indexed objects of a given type and id on a plane.
+	 *
+	 * @param type the object type
+	 * @param plane the plane
+	 * @param id the object id
+	 * @param <T> the object type
+	 * @return the objects
+	 */
+	<T extends TileObject> Collection<T> getTileObjects(Class<T> type, int plane, int id);
+
+	/**
+	 * Get the indexed objects of a given type whose scene location is
+	 * within the given inclusive bounds.
+	 *
+	 * @param type the object type
+	 * @param plane the plane
+	 * @param minX minimum scene x
+	 * @param minY minimum scene y
+	 * @param maxX maximum scene x
+	 * @param maxY maximum scene y
+	 * @param <T> the object type
+	 * @return the objects
+	 */
+	<T extends TileObject> Collection<T> getTileObjects(Class<T> type, int plane, int minX, int minY, int maxX, int maxY);
+
+	/**
+	 * Get the NPCs with the given id. NPCs which transform are re-indexed
+	 * under their new id at most one game tick after the change.
+	 *
+	 * @param id the NPC id
+	 * @return the NPCs
+	 */
+	Collection<NPC> getNpcs(int id);
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.model;
+
+import java.awt.Polygon;
+import java.util.Arrays;
+
+/**
+ * Implementation of Andrew's monotone chain convex hull algorithm over
+ * primitive coordinate arrays
+ * https://en.wikibooks.org/wiki/Algorithm_Implementation/Geometry/Convex_hull/Monotone_chain
+ */
+public class MonotoneChain
+{
+	/**
+	 * Marks a point which could not be projected and should be skipped
+	 */
+	public static final int SKIP = Integer.MIN_VALUE;
+
+	/**
+	 * Compute the convex hull of the points {@code (xs[i], ys[i])} for
+	 * {@code i < count}. Points with an x coordinate of {@link #SKIP} are
+	 * ignored.
+	 *
+	 * @param xs x coordinates
+	 * @param ys y coordinates
+	 * @param count number of points
+	 * @return the hull, or null if there are fewer than 3 points
+	 */
+	public static Polygon convexHull(int[] xs, int[] ys, int count)
+	{
+		// pack the points so that sorting orders them by x, then y
+		long[] points = new long[count];
+		int n = 0;
+		for (int i = 0; i < count; ++i)
+		{
+			if (xs[i] != SKIP)
+			{
+				points[n++] = pack(xs[i], ys[i]);
+			}
+		}
+
+		if (n < 3)
+		{
+			return null;
+		}
+
+		Arrays.sort(points, 0, n);
+
+		long[] hull = new long[n * 2];
+		int k = 0;
+
+		// lower hull
+		for (int i = 0; i < n; ++i)
+		{
+			while (k >= 2 && crossProduct(hull[k - 2], hull[k - 1], points[i]) <= 0)
+			{
+				--k;
+			}
+			hull[k++] = points[i];
+		}
+
+		// upper hull
+		for (int i = n - 2, lower = k + 1; i >= 0; --i)
+		{
+			while (k >= lower && crossProduct(hull[k - 2], hull[k - 1], points[i]) <= 0)
+			{
+				--k;
+			}
+			hull[k++] = points[i];
+		}
+
+		// the last point is the same as the first
+		--k;
+
+		if (k < 3)
+		{
+			return null;
+		}
+
+		int[] hullX = new int[k];
+		int[] hullY = new int[k];
+		for (int i = 0; i < k; ++i)
+		{
+			hullX[i] = unpackX(hull[i]);
+			hullY[i] = unpackY(hull[i]);
+		}
+
+		return new Polygon(hullX, hullY, k);
+	}
+
+	private static long pack(int x, int y)
+	{
+		// flip the sign bit of y so it orders correctly as the low word
+		return (long) x << 32 | (y ^ 0x80000000) & 0xFFFFFFFFL;
+	}
+
+	private static int unpackX(long point)
+	{
+		return (int) (point >> 32);
+	}
+
+	private static int unpackY(long point)
+	{
+		return (int) point ^ 0x80000000;
+	}
+
+	private static long crossProduct(long o, long a, long b)
+	{
+		long ox = unpackX(o), oy = unpackY(o);
+		return (unpackX(a) - ox) * (unpackY(b) - oy)
+			- (unpackY(a) - oy) * (unpackX(b) - ox);
+	}
+}
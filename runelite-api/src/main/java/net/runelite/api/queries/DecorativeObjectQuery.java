@@ -26,6 +26,7 @@ package net.runelite.api.queries;
 
 import net.runelite.api.Client;
 import net.runelite.api.DecorativeObject;
+import net.runelite.api.SceneIndex;
 import net.runelite.api.Tile;
 
 import java.util.ArrayList;
@@ -44,6 +45,14 @@ public class DecorativeObjectQuery extends TileObjectQuery<DecorativeObject, Dec
 			.toArray(DecorativeObject[]::new);
 	}
 
+	@Override
+	public DecorativeObject[] result(Client client, SceneIndex index)
+	{
+		return getTileObjects(index, DecorativeObject.class, client.getPlane()).stream()
+			.filter(predicate)
+			.toArray(DecorativeObject[]::new);
+	}
+
 	private Collection<DecorativeObject> getDecorativeObjects(Client client)
 	{
 		Collection<DecorativeObject> objects = new ArrayList<>();
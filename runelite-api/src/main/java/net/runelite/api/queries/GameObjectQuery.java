@@ -26,6 +26,7 @@ package net.runelite.api.queries;
 
 import net.runelite.api.Client;
 import net.runelite.api.GameObject;
+import net.runelite.api.SceneIndex;
 import net.runelite.api.Tile;
 
 import java.util.ArrayList;
@@ -45,6 +46,14 @@ public class GameObjectQuery extends TileObjectQuery<GameObject, GameObjectQuery
 			.toArray(GameObject[]::new);
 	}
 
+	@Override
+	public GameObject[] result(Client client, SceneIndex index)
+	{
+		return getTileObjects(index, GameObject.class, client.getPlane()).stream()
+			.filter(predicate)
+			.toArray(GameObject[]::new);
+	}
+
 	private Collection<GameObject> getGameObjects(Client client)
 	{
 		Collection<GameObject> objects = new ArrayList<>();
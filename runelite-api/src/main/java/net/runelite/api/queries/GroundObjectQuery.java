@@ -26,6 +26,7 @@ package net.runelite.api.queries;
 
 import net.runelite.api.Client;
 import net.runelite.api.GroundObject;
+import net.runelite.api.SceneIndex;
 import net.runelite.api.Tile;
 
 import java.util.ArrayList;
@@ -44,6 +45,14 @@ public class GroundObjectQuery extends TileObjectQuery<GroundObject, GroundObjec
 			.toArray(GroundObject[]::new);
 	}
 
+	@Override
+	public GroundObject[] result(Client client, SceneIndex index)
+	{
+		return getTileObjects(index, GroundObject.class, client.getPlane()).stream()
+			.filter(predicate)
+			.toArray(GroundObject[]::new);
+	}
+
 	private Collection<GroundObject> getGroundObjects(Client client)
 	{
 		Collection<GroundObject> objects = new ArrayList<>();
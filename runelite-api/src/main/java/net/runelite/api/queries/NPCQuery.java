@@ -24,12 +24,22 @@
  */
 package net.runelite.api.queries;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import net.runelite.api.Client;
 import net.runelite.api.NPC;
+import net.runelite.api.SceneIndex;
 
 
 public class NPCQuery extends ActorQuery<NPC, NPCQuery>
 {
+	/**
+	 * The ids given to the first {@link #idEquals(int...)}, used to look
+	 * candidates up in the scene index instead of visiting every NPC.
+	 */
+	private int[] ids;
+
 	@Override
 	public NPC[] result(Client client)
 	{
@@ -37,10 +47,43 @@ public class NPCQuery extends ActorQuery<NPC, NPCQuery>
 				.filter(predicate)
 				.toArray(NPC[]::new);
 	}
-	
+
+	@Override
+	public NPC[] result(Client client, SceneIndex index)
+	{
+		if (ids == null)
+		{
+			return result(client);
+		}
+
+		Collection<NPC> npcs;
+		if (ids.length == 1)
+		{
+			npcs = index.getNpcs(ids[0]);
+		}
+		else
+		{
+			List<NPC> list = new ArrayList<>();
+			for (int id : ids)
+			{
+				list.addAll(index.getNpcs(id));
+			}
+			npcs = list;
+		}
+
+		return npcs.stream()
+			.filter(predicate)
+			.toArray(NPC[]::new);
+	}
+
 	@SuppressWarnings("unchecked")
 	public NPCQuery idEquals(int... ids)
 	{
+		if (this.ids == null)
+		{
+			this.ids = ids;
+		}
+
 		predicate = and(object ->
 		{
 			for (int id : ids)
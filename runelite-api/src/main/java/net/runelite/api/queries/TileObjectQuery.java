@@ -25,13 +25,16 @@
 package net.runelite.api.queries;
 
 import static java.lang.Math.abs;
+import static net.runelite.api.Perspective.LOCAL_COORD_BITS;
 import net.runelite.api.Client;
 import net.runelite.api.Query;
 import net.runelite.api.Region;
+import net.runelite.api.SceneIndex;
 import net.runelite.api.Tile;
 import net.runelite.api.TileObject;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
@@ -40,6 +43,20 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 {
 	private static final int REGION_SIZE = 104;
 
+	/**
+	 * The ids given to the first {@link #idEquals(int...)}, used to look
+	 * candidates up in the scene index instead of visiting every object.
+	 */
+	private int[] ids;
+
+	/**
+	 * Scene tile bounds implied by the distance and area predicates, used
+	 * to look candidates up by chunk in the scene index
+	 */
+	private int minX = Integer.MIN_VALUE, minY = Integer.MIN_VALUE;
+	private int maxX = Integer.MAX_VALUE, maxY = Integer.MAX_VALUE;
+	private boolean bounded;
+
 	protected List<Tile> getTiles(Client client)
 	{
 		List<Tile> tilesList = new ArrayList<>();
@@ -61,9 +78,38 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 		return tilesList;
 	}
 
+	protected Collection<EntityType> getTileObjects(SceneIndex index, Class<EntityType> type, int plane)
+	{
+		if (ids == null)
+		{
+			if (bounded)
+			{
+				return index.getTileObjects(type, plane, minX, minY, maxX, maxY);
+			}
+			return index.getTileObjects(type, plane);
+		}
+
+		if (ids.length == 1)
+		{
+			return index.getTileObjects(type, plane, ids[0]);
+		}
+
+		List<EntityType> objects = new ArrayList<>();
+		for (int id : ids)
+		{
+			objects.addAll(index.getTileObjects(type, plane, id));
+		}
+		return objects;
+	}
+
 	@SuppressWarnings("unchecked")
 	public QueryType idEquals(int... ids)
 	{
+		if (this.ids == null)
+		{
+			this.ids = ids;
+		}
+
 		predicate = and(object ->
 		{
 			for (int id : ids)
@@ -95,6 +141,7 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 	@SuppressWarnings("unchecked")
 	public QueryType isWithinDistance(LocalPoint to, int distance)
 	{
+		bound(to.getX() - distance, to.getY() - distance, to.getX() + distance, to.getY() + distance);
 		predicate = and(a -> a.getLocalLocation().distanceTo(to) <= distance);
 		return (QueryType) this;
 	}
@@ -102,6 +149,7 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 	@SuppressWarnings("unchecked")
 	public QueryType isWithinArea(LocalPoint from, int area)
 	{
+		bound(from.getX() - area + 1, from.getY() - area + 1, from.getX() + area - 1, from.getY() + area - 1);
 		predicate = and(a ->
 		{
 			LocalPoint localLocation = a.getLocalLocation();
@@ -110,4 +158,16 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 		});
 		return (QueryType) this;
 	}
+
+	/**
+	 * Narrow the scene tile bounds to contain the given local coordinates
+	 */
+	private void bound(int localMinX, int localMinY, int localMaxX, int localMaxY)
+	{
+		minX = Math.max(minX, localMinX >> LOCAL_COORD_BITS);
+		minY = Math.max(minY, localMinY >> LOCAL_COORD_BITS);
+		maxX = Math.min(maxX, localMaxX >> LOCAL_COORD_BITS);
+		maxY = Math.min(maxY, localMaxY >> LOCAL_COORD_BITS);
+		bounded = true;
+	}
 }
@@ -25,6 +25,7 @@
 package net.runelite.api.queries;
 
 import net.runelite.api.Client;
+import net.runelite.api.SceneIndex;
 import net.runelite.api.Tile;
 import net.runelite.api.WallObject;
 
@@ -44,6 +45,14 @@ public class WallObjectQuery extends TileObjectQuery<WallObject, WallObjectQuery
 			.toArray(WallObject[]::new);
 	}
 
+	@Override
+	public WallObject[] result(Client client, SceneIndex index)
+	{
+		return getTileObjects(index, WallObject.class, client.getPlane()).stream()
+			.filter(predicate)
+			.toArray(WallObject[]::new);
+	}
+
 	private Collection<WallObject> getWallObjects(Client client)
 	{
 		Collection<WallObject> objects = new ArrayList<>();
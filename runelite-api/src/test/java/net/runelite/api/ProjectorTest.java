@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.awt.Polygon;
+import java.util.Random;
+import static net.runelite.api.Constants.MAX_Z;
+import static net.runelite.api.Constants.REGION_SIZE;
+import net.runelite.api.coords.LocalPoint;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProjectorTest
+{
+	private Client client;
+	private int[][][] tileHeights;
+
+	@Before
+	public void before()
+	{
+		Random random = new Random(42);
+		tileHeights = new int[MAX_Z][REGION_SIZE + 1][REGION_SIZE + 1];
+		for (int z = 0; z < MAX_Z; ++z)
+		{
+			for (int x = 0; x <= REGION_SIZE; ++x)
+			{
+				for (int y = 0; y <= REGION_SIZE; ++y)
+				{
+					tileHeights[z][x][y] = -random.nextInt(2000) - z * 240;
+				}
+			}
+		}
+
+		byte[][][] tileSettings = new byte[MAX_Z][REGION_SIZE][REGION_SIZE];
+		for (int x = 40; x < 50; ++x)
+		{
+			// a bridge
+			tileSettings[1][x][52] = 2;
+		}
+
+		client = mock(Client.class);
+		when(client.getPlane()).thenReturn(0);
+		when(client.getCameraX()).thenReturn(6000);
+		when(client.getCameraY()).thenReturn(5000);
+		when(client.getCameraZ()).thenReturn(-1500);
+		when(client.getCameraPitch()).thenReturn(300);
+		when(client.getCameraYaw()).thenReturn(700);
+		when(client.getScale()).thenReturn(512);
+		when(client.getViewportWidth()).thenReturn(765);
+		when(client.getViewportHeight()).thenReturn(503);
+		when(client.getTileSettings()).thenReturn(tileSettings);
+		when(client.getTileHeights()).thenReturn(tileHeights);
+	}
+
+	@Test
+	public void testProjectMatchesPerspective()
+	{
+		Projector projector = new Projector();
+		projector.update(client);
+
+		for (int x = 0; x < REGION_SIZE * 128; x += 37)
+		{
+			for (int y = 0; y < REGION_SIZE * 128; y += 41)
+			{
+				assertEquals(Perspective.getTileHeight(client, x, y, 0), projector.getTileHeight(x, y));
+				assertEquals(Perspective.worldToCanvas(client, x, y, 0, 25), projector.project(x, y, 25));
+			}
+		}
+	}
+
+	@Test
+	public void testTilePolyMatchesPerspective()
+	{
+		Projector projector = new Projector();
+		projector.update(client);
+
+		for (int x = 0; x < REGION_SIZE; ++x)
+		{
+			for (int y = 0; y < REGION_SIZE; ++y)
+			{
+				LocalPoint lp = LocalPoint.fromRegion(x, y);
+				assertPolygonEquals(Perspective.getCanvasTilePoly(client, lp), projector.getTilePoly(lp));
+				assertPolygonEquals(Perspective.getCanvasTileAreaPoly(client, lp, 3), projector.getTileAreaPoly(lp, 3));
+			}
+		}
+	}
+
+	@Test
+	public void testBulkProjection()
+	{
+		Projector projector = new Projector();
+		projector.update(client);
+
+		int count = 50;
+		int[] localX = new int[count];
+		int[] localY = new int[count];
+		for (int i = 0; i < count; ++i)
+		{
+			localX[i] = 4000 + i * 97;
+			localY[i] = 6000 + i * 61;
+		}
+
+		int[] canvasX = new int[count];
+		int[] canvasY = new int[count];
+		projector.project(count, localX, localY, 0, canvasX, canvasY);
+
+		for (int i = 0; i < count; ++i)
+		{
+			Point p = Perspective.worldToCanvas(client, localX[i], localY[i], 0);
+			if (p != null)
+			{
+				assertEquals(p.getX(), canvasX[i]);
+				assertEquals(p.getY(), canvasY[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testHeightsRefreshOnUpdate()
+	{
+		Projector projector = new Projector();
+		projector.update(client);
+		int height = projector.getTileHeight(3000, 3000);
+
+		tileHeights[0][23][23] -= 500;
+		assertEquals(height, projector.getTileHeight(3000, 3000));
+
+		projector.update(client);
+		assertEquals(Perspective.getTileHeight(client, 3000, 3000, 0), projector.getTileHeight(3000, 3000));
+	}
+
+	private static void assertPolygonEquals(Polygon expected, Polygon actual)
+	{
+		if (expected == null)
+		{
+			assertNull(actual);
+			return;
+		}
+
+		assertEquals(expected.npoints, actual.npoints);
+		for (int i = 0; i < expected.npoints; ++i)
+		{
+			assertEquals(expected.xpoints[i], actual.xpoints[i]);
+			assertEquals(expected.ypoints[i], actual.ypoints[i]);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.model;
+
+import java.awt.Polygon;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MonotoneChainTest
+{
+	@Test
+	public void test()
+	{
+		int[] xs = {0, 1, 2, 4, 0, 1, 3, 3};
+		int[] ys = {3, 1, 2, 4, 0, 2, 1, 3};
+
+		Polygon hull = MonotoneChain.convexHull(xs, ys, xs.length);
+		Assert.assertNotNull(hull);
+		Assert.assertEquals(4, hull.npoints);
+		Assert.assertArrayEquals(new int[]{0, 3, 4, 0}, hull.xpoints);
+		Assert.assertArrayEquals(new int[]{0, 1, 4, 3}, hull.ypoints);
+	}
+
+	@Test
+	public void testSkip()
+	{
+		int[] xs = {0, 3, MonotoneChain.SKIP, 5, 3, 1, 1, 2};
+		int[] ys = {3, 5, 0, 3, 0, 1, 2, 2};
+
+		Polygon hull = MonotoneChain.convexHull(xs, ys, xs.length);
+		Assert.assertNotNull(hull);
+		Assert.assertEquals(5, hull.npoints);
+		Assert.assertArrayEquals(new int[]{0, 1, 3, 5, 3}, hull.xpoints);
+		Assert.assertArrayEquals(new int[]{3, 1, 0, 3, 5}, hull.ypoints);
+	}
+
+	@Test
+	public void testNegative()
+	{
+		int[] xs = {-10, 10, 0, 0};
+		int[] ys = {-10, -10, 10, -5};
+
+		Polygon hull = MonotoneChain.convexHull(xs, ys, xs.length);
+		Assert.assertNotNull(hull);
+		Assert.assertEquals(3, hull.npoints);
+		Assert.assertArrayEquals(new int[]{-10, 10, 0}, hull.xpoints);
+		Assert.assertArrayEquals(new int[]{-10, -10, 10}, hull.ypoints);
+	}
+
+	@Test
+	public void testTooFewPoints()
+	{
+		Assert.assertNull(MonotoneChain.convexHull(new int[]{0, 1}, new int[]{0, 1}, 2));
+		Assert.assertNull(MonotoneChain.convexHull(new int[]{0, 1, 2}, new int[]{0, 1, 2}, 3));
+	}
+}
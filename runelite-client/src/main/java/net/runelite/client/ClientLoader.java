@@ -25,15 +25,21 @@
 package net.runelite.client;
 
 import java.applet.Applet;
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import lombok.extern.slf4j.Slf4j;
+import static net.runelite.client.RuneLite.RUNELITE_DIR;
+import net.runelite.http.api.RuneLiteAPI;
 import net.runelite.http.api.updatecheck.UpdateCheckClient;
+import okhttp3.HttpUrl;
 
 @Slf4j
 public class ClientLoader
 {
+	private static final File GAMEPACK_DIR = new File(RUNELITE_DIR, "gamepack");
+
 	public Applet loadRs(UpdateCheckMode updateMode)
 	{
 		if (updateMode == UpdateCheckMode.AUTO)
@@ -99,13 +105,19 @@ public class ClientLoader
 		String initialJar = config.getProperty(ConfigLoader.INITIAL_JAR);
 		String initialClass = config.getProperty(ConfigLoader.INITIAL_CLASS).replace(".class", "");
 
-		URL url = new URL(codebase + initialJar);
+		HttpUrl url = HttpUrl.parse(codebase + initialJar);
+		if (url == null)
+		{
+			throw new IOException("Invalid gamepack url: " + codebase + initialJar);
+		}
+
+		File gamepack = new GamepackCache(GAMEPACK_DIR, RuneLiteAPI.CLIENT).get(url, initialJar);
 
 		// Must set parent classloader to null, or it will pull from
 		// this class's classloader first
 		URLClassLoader classloader = new URLClassLoader(new URL[]
 			{
-				url
+				gamepack.toURI().toURL()
 			}, null);
 
 		Class<?> clientClass = classloader.loadClass(initialClass);
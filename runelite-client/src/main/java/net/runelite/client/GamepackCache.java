@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client;
+
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Stores downloaded gamepacks on disk, keyed by jar name. A cached gamepack
+ * is checked against its recorded hash before use, and revalidated with a
+ * conditional request so an unchanged gamepack is not downloaded again.
+ */
+@Slf4j
+class GamepackCache
+{
+	private static final String HASH = "sha256";
+	private static final String ETAG = "etag";
+	private static final String LAST_MODIFIED = "last-modified";
+
+	private final File directory;
+	private final OkHttpClient client;
+
+	GamepackCache(File directory, OkHttpClient client)
+	{
+		this.directory = directory;
+		this.client = client;
+	}
+
+	/**
+	 * Get the gamepack with the given name, downloading it if it is not
+	 * cached or has changed
+	 *
+	 * @param url url of the gamepack
+	 * @param name jar name, which identifies the gamepack revision
+	 * @return the cached gamepack
+	 * @throws IOException if the gamepack is not cached and can't be downloaded
+	 */
+	File get(HttpUrl url, String name) throws IOException
+	{
+		directory.mkdirs();
+
+		final File jar = new File(directory, name);
+		final File metaFile = new File(directory, name + ".properties");
+		final Properties meta = readMeta(jar, metaFile);
+
+		final Request.Builder builder = new Request.Builder()
+			.url(url);
+
+		if (meta != null)
+		{
+			if (meta.getProperty(ETAG) != null)
+			{
+				builder.header("If-None-Match", meta.getProperty(ETAG));
+			}
+			if (meta.getProperty(LAST_MODIFIED) != null)
+			{
+				builder.header("If-Modified-Since", meta.getProperty(LAST_MODIFIED));
+			}
+		}
+
+		try (Response response = client.newCall(builder.build()).execute())
+		{
+			if (response.code() == 304 && meta != null)
+			{
+				log.debug("Gamepack {} is unchanged", name);
+				return jar;
+			}
+
+			if (!response.isSuccessful())
+			{
+				throw new IOException("Unable to download gamepack: " + response.code());
+			}
+
+			final File tmp = new File(directory, name + ".tmp");
+			final String hash;
+
+			try (HashingInputStream in = new HashingInputStream(Hashing.sha256(), response.body().byteStream());
+				OutputStream out = new FileOutputStream(tmp))
+			{
+				ByteStreams.copy(in, out);
+				hash = in.hash().toString();
+			}
+
+			final long length = response.body().contentLength();
+			if (length != -1 && length != tmp.length())
+			{
+				tmp.delete();
+				throw new IOException("Truncated gamepack download: " + tmp.length() + " of " + length + " bytes");
+			}
+
+			if (!isJar(tmp))
+			{
+				tmp.delete();
+				throw new IOException("Downloaded gamepack is not a valid jar");
+			}
+
+			Files.move(tmp, jar);
+
+			final Properties newMeta = new Properties();
+			newMeta.setProperty(HASH, hash);
+			if (response.header("ETag") != null)
+			{
+				newMeta.setProperty(ETAG, response.header("ETag"));
+			}
+			if (response.header("Last-Modified") != null)
+			{
+				newMeta.setProperty(LAST_MODIFIED, response.header("Last-Modified"));
+			}
+
+			try (OutputStream out = new FileOutputStream(metaFile))
+			{
+				newMeta.store(out, null);
+			}
+
+			log.debug("Downloaded gamepack {} ({} bytes)", name, jar.length());
+			return jar;
+		}
+		catch (IOException ex)
+		{
+			if (meta != null)
+			{
+				log.warn("Unable to revalidate gamepack, using cached copy", ex);
+				return jar;
+			}
+
+			throw ex;
+		}
+	}
+
+	/**
+	 * Read the metadata of a cached gamepack, or null if there is no valid
+	 * cached gamepack
+	 */
+	private static Properties readMeta(File jar, File metaFile)
+	{
+		if (!jar.exists() || !metaFile.exists())
+		{
+			return null;
+		}
+
+		final Properties meta = new Properties();
+
+		try (InputStream in = new FileInputStream(metaFile))
+		{
+			meta.load(in);
+		}
+		catch (IOException ex)
+		{
+			log.debug("Unable to read gamepack metadata", ex);
+			return null;
+		}
+
+		final String expected = meta.getProperty(HASH);
+		if (expected == null)
+		{
+			return null;
+		}
+
+		try
+		{
+			if (!expected.equals(Files.asByteSource(jar).hash(Hashing.sha256()).toString()))
+			{
+				log.warn("Cached gamepack {} does not match its hash, discarding", jar.getName());
+				return null;
+			}
+		}
+		catch (IOException ex)
+		{
+			log.debug("Unable to verify cached gamepack", ex);
+			return null;
+		}
+
+		return meta;
+	}
+
+	private static boolean isJar(File file)
+	{
+		try (JarInputStream in = new JarInputStream(new FileInputStream(file)))
+		{
+			JarEntry entry = in.getNextJarEntry();
+			return entry != null;
+		}
+		catch (IOException ex)
+		{
+			return false;
+		}
+	}
+}
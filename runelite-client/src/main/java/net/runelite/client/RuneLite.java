@@ -27,6 +27,7 @@ package net.runelite.client;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
 import com.google.common.eventbus.EventBus;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
@@ -49,6 +50,7 @@ import net.runelite.client.config.ConfigManager;
 import net.runelite.client.discord.DiscordService;
 import net.runelite.client.game.ClanManager;
 import net.runelite.client.game.ItemManager;
+import net.runelite.client.game.SceneIndexManager;
 import net.runelite.client.menus.MenuManager;
 import net.runelite.client.plugins.PluginManager;
 import net.runelite.client.ui.ClientUI;
@@ -116,6 +118,9 @@ public class RuneLite
 	@Inject
 	private ClanManager clanManager;
 
+	@Inject
+	private SceneIndexManager sceneIndexManager;
+
 	Client client;
 
 	public static void main(String[] args) throws Exception
@@ -172,8 +177,11 @@ public class RuneLite
 
 	public void start(UpdateCheckMode updateMode) throws Exception
 	{
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+
 		// Load RuneLite or Vanilla client
 		final Applet client = new ClientLoader().loadRs(updateMode);
+		log.debug("Client loaded in {}", stopwatch);
 
 		final boolean isOutdated = !(client instanceof Client);
 
@@ -194,12 +202,12 @@ public class RuneLite
 		eventBus.register(drawManager);
 		eventBus.register(menuManager);
 		eventBus.register(chatMessageManager);
-		eventBus.register(commandManager);
 		eventBus.register(pluginManager);
 		eventBus.register(clanManager);
 		if (this.client != null)
 		{
 			eventBus.register(itemManager.get());
+			eventBus.register(sceneIndexManager);
 		}
 
 		// Load user configuration
@@ -211,6 +219,7 @@ public class RuneLite
 		// Load the plugins, but does not start them yet.
 		// This will initialize configuration
 		pluginManager.loadCorePlugins();
+		log.debug("Plugins loaded in {}", stopwatch);
 
 		// Plugins have provided their config, so set default config
 		// to main settings
@@ -230,6 +239,7 @@ public class RuneLite
 
 		// Show UI after all plugins are loaded
 		clientUI.show();
+		log.info("Client started in {}", stopwatch);
 	}
 
 	public void shutdown()
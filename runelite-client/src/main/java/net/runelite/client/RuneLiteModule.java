@@ -28,29 +28,45 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.SubscriberExceptionContext;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.Projector;
+import net.runelite.api.SceneIndex;
 import net.runelite.client.account.SessionManager;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.config.RuneLiteConfig;
 import net.runelite.client.game.ItemManager;
+import net.runelite.client.game.SceneIndexManager;
 import net.runelite.client.menus.MenuManager;
 import net.runelite.client.plugins.PluginManager;
+import net.runelite.client.task.ComputeExecutor;
+import net.runelite.client.task.DiskExecutor;
+import net.runelite.client.task.MonitoredExecutor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.task.Scheduler;
 import net.runelite.client.util.QueryRunner;
 
 @Slf4j
 public class RuneLiteModule extends AbstractModule
 {
+	private static final int NETWORK_THREADS = 4;
+	private static final int COMPUTE_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
 	@Override
 	protected void configure()
 	{
-		bind(ScheduledExecutorService.class).toInstance(Executors.newSingleThreadScheduledExecutor());
+		// Unqualified executor is for timers and short periodic tasks
+		bind(ScheduledExecutorService.class).toInstance(new MonitoredExecutor("timer", 1));
+		bind(ScheduledExecutorService.class).annotatedWith(NetworkExecutor.class).toInstance(new MonitoredExecutor("network", NETWORK_THREADS));
+		bind(ScheduledExecutorService.class).annotatedWith(DiskExecutor.class).toInstance(new MonitoredExecutor("disk", 1));
+		bind(ScheduledExecutorService.class).annotatedWith(ComputeExecutor.class).toInstance(new MonitoredExecutor("compute", COMPUTE_THREADS));
 		bind(QueryRunner.class);
+		bind(SceneIndex.class).to(SceneIndexManager.class);
+		// Updated by the client once per frame, before the scene overlays are drawn
+		bind(Projector.class).in(Singleton.class);
 		bind(MenuManager.class);
 		bind(ChatMessageManager.class);
 		bind(ItemManager.class);
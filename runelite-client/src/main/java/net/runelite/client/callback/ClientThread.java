@@ -25,10 +25,15 @@
 package net.runelite.client.callback;
 
 import com.google.inject.Inject;
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
 import javax.inject.Singleton;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 
@@ -36,11 +41,88 @@ import net.runelite.api.Client;
 @Slf4j
 public class ClientThread
 {
-	private ConcurrentLinkedQueue<BooleanSupplier> invokes = new ConcurrentLinkedQueue<>();
+	/**
+	 * How long invokes may run for in one client loop before the rest are
+	 * deferred to the next loop
+	 */
+	private static final long LOOP_BUDGET = TimeUnit.MILLISECONDS.toNanos(4);
+
+	/**
+	 * The share of the loop budget which due retries may use before new
+	 * invokes are run, so neither can starve the other
+	 */
+	private static final long RETRY_BUDGET = LOOP_BUDGET / 2;
+
+	/**
+	 * The most loops an invoke which keeps returning false waits before
+	 * being run again. Must be less than the number of retry buckets.
+	 */
+	private static final int MAX_RETRY_DELAY = 16;
+	private static final int RETRY_BUCKETS = 32;
+
+	/**
+	 * Invokes which have not been run yet. May be added to from any thread.
+	 */
+	private final ConcurrentLinkedQueue<Invoke> invokes = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queuedCount = new AtomicInteger();
+
+	/**
+	 * Invokes which returned false, bucketed by the loop they are next due.
+	 * Only accessed from the client thread.
+	 */
+	@SuppressWarnings("unchecked")
+	private final Queue<Invoke>[] retries = new Queue[RETRY_BUCKETS];
+
+	/**
+	 * Retries which are due, including those which did not fit in the
+	 * budget of their loop
+	 */
+	private final Queue<Invoke> dueRetries = new ArrayDeque<>();
+
+	private int loop;
+
+	/**
+	 * Number of invokes waiting to be retried. The metrics are only written
+	 * from the client thread, and may be read from any thread.
+	 */
+	@Getter
+	private volatile int retryingCount;
+
+	/**
+	 * Time spent running invokes in the last client loop, in nanoseconds
+	 */
+	@Getter
+	private volatile long lastLoopTime;
+
+	/**
+	 * Longest time a single invoke has taken, in nanoseconds
+	 */
+	@Getter
+	private volatile long slowestInvokeTime;
+
+	/**
+	 * Number of client loops which ran out of budget and left invokes for
+	 * the next loop
+	 */
+	@Getter
+	private volatile int deferredLoops;
+
+	/**
+	 * Source of the time invokes are budgeted against, replaced in tests
+	 */
+	LongSupplier clock = System::nanoTime;
 
 	@Inject
 	private Client client;
 
+	public ClientThread()
+	{
+		for (int i = 0; i < RETRY_BUCKETS; ++i)
+		{
+			retries[i] = new ArrayDeque<>();
+		}
+	}
+
 	public void invokeLater(Runnable r)
 	{
 		invokeLater(() ->
@@ -52,45 +134,129 @@ public class ClientThread
 
 	/**
 	 * Will run r on the game thread, at a unspecified point in the future.
-	 * If r returns false, r will be ran again, at a later point
+	 * If r returns false, r will be ran again, at a later point. The delay
+	 * before it is run again grows each time it returns false.
 	 */
 	public void invokeLater(BooleanSupplier r)
 	{
+		Invoke invoke = new Invoke(r);
 		if (client.isClientThread())
 		{
-			if (r.getAsBoolean())
+			if (!run(invoke))
 			{
-				invokes.add(r);
+				retry(invoke);
 			}
 			return;
 		}
-		invokes.add(r);
+		invokes.add(invoke);
+		queuedCount.incrementAndGet();
+	}
+
+	/**
+	 * Number of invokes waiting to be run for the first time
+	 */
+	public int getQueuedCount()
+	{
+		return queuedCount.get();
 	}
 
 	void invoke()
 	{
 		assert client.isClientThread();
-		Iterator<BooleanSupplier> ir = invokes.iterator();
-		for (; ir.hasNext(); )
+
+		final long start = clock.getAsLong();
+		final Queue<Invoke> bucket = retries[++loop & (RETRY_BUCKETS - 1)];
+		dueRetries.addAll(bucket);
+		bucket.clear();
+
+		// due retries get their share of the budget first, then new invokes
+		// the rest. Each runs at least one invoke per loop so neither starves,
+		// and any budget left over goes to the remaining retries.
+		runQueue(dueRetries, start, RETRY_BUDGET, true);
+		runQueue(invokes, start, LOOP_BUDGET, true);
+		runQueue(dueRetries, start, LOOP_BUDGET, false);
+
+		lastLoopTime = clock.getAsLong() - start;
+		if (!dueRetries.isEmpty() || !invokes.isEmpty())
 		{
-			BooleanSupplier r = ir.next();
-			boolean remove = true;
-			try
-			{
-				remove = r.getAsBoolean();
-			}
-			catch (ThreadDeath d)
+			++deferredLoops;
+		}
+	}
+
+	/**
+	 * Runs invokes from the queue until it is empty or the budget since the
+	 * start of the loop is used up
+	 *
+	 * @param runOne whether to run one invoke even if the budget is used up
+	 */
+	private void runQueue(Queue<Invoke> queue, long start, long budget, boolean runOne)
+	{
+		Invoke invoke;
+		while ((runOne || clock.getAsLong() - start < budget) && (invoke = queue.poll()) != null)
+		{
+			runOne = false;
+			if (queue == invokes)
 			{
-				throw d;
+				queuedCount.decrementAndGet();
 			}
-			catch (Throwable e)
+			else
 			{
-				log.warn("Exception in invokeLater", e);
+				--retryingCount;
 			}
-			if (remove)
+
+			if (!run(invoke))
 			{
-				ir.remove();
+				retry(invoke);
 			}
 		}
 	}
+
+	/**
+	 * Runs the invoke
+	 *
+	 * @return true if the invoke is done
+	 */
+	private boolean run(Invoke invoke)
+	{
+		final long start = clock.getAsLong();
+		boolean done = true;
+		try
+		{
+			done = invoke.supplier.getAsBoolean();
+		}
+		catch (ThreadDeath d)
+		{
+			throw d;
+		}
+		catch (Throwable e)
+		{
+			log.warn("Exception in invokeLater", e);
+		}
+
+		final long time = clock.getAsLong() - start;
+		if (time > slowestInvokeTime)
+		{
+			slowestInvokeTime = time;
+			log.debug("Slowest invoke so far took {}us: {}", TimeUnit.NANOSECONDS.toMicros(time), invoke.supplier);
+		}
+		return done;
+	}
+
+	private void retry(Invoke invoke)
+	{
+		retries[(loop + invoke.delay) & (RETRY_BUCKETS - 1)].add(invoke);
+		++retryingCount;
+		invoke.delay = Math.min(invoke.delay * 2, MAX_RETRY_DELAY);
+	}
+
+	private static class Invoke
+	{
+		private final BooleanSupplier supplier;
+		private int delay = 1;
+
+		Invoke(BooleanSupplier supplier)
+		{
+			this.supplier = supplier;
+		}
+	}
 }
@@ -48,6 +48,7 @@ import net.runelite.api.MenuAction;
 import net.runelite.api.MessageNode;
 import net.runelite.api.PacketBuffer;
 import net.runelite.api.Projectile;
+import net.runelite.api.Projector;
 import net.runelite.api.Region;
 import net.runelite.api.RenderOverview;
 import net.runelite.api.TextureProvider;
@@ -63,6 +64,7 @@ import net.runelite.api.events.MenuOpened;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.events.PostItemComposition;
 import net.runelite.api.events.ProjectileMoved;
+import net.runelite.api.events.ScriptCallbackEvent;
 import net.runelite.api.events.SetMessage;
 import net.runelite.api.widgets.Widget;
 import static net.runelite.api.widgets.WidgetInfo.WORLD_MAP_VIEW;
@@ -102,6 +104,9 @@ public class Hooks
 	private static final GameTick tick = new GameTick();
 	private static final DrawManager renderHooks = injector.getInstance(DrawManager.class);
 	private static final Notifier notifier = injector.getInstance(Notifier.class);
+	private static final ScriptCallbackManager scriptCallbackManager = injector.getInstance(ScriptCallbackManager.class);
+	private static final ScriptProfiler scriptProfiler = injector.getInstance(ScriptProfiler.class);
+	private static final Projector projector = injector.getInstance(Projector.class);
 
 	private static Dimension lastStretchedDimensions;
 	private static BufferedImage stretchedImage;
@@ -326,6 +331,9 @@ public class Hooks
 		BufferedImage image = (BufferedImage) bufferProvider.getImage();
 		Graphics2D graphics2d = (Graphics2D) image.getGraphics();
 
+		// the camera is fixed for the rest of the frame
+		projector.update(client);
+
 		try
 		{
 			renderer.render(graphics2d, OverlayLayer.ABOVE_SCENE);
@@ -501,4 +509,15 @@ public class Hooks
 		GraphicsObjectCreated event = new GraphicsObjectCreated(go);
 		eventBus.post(event);
 	}
+
+	public static void scriptCallback(ScriptCallbackEvent event)
+	{
+		scriptCallbackManager.dispatch(event);
+		eventBus.post(event);
+	}
+
+	public static void scriptExecuted(int scriptId, int instructions, long nanos)
+	{
+		scriptProfiler.record(scriptId, instructions, nanos);
+	}
 }
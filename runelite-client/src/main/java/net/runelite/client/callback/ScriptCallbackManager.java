@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.events.ScriptCallbackEvent;
+
+/**
+ * Dispatches runelite_callback script events to the handlers registered for
+ * the event name, so a callback only runs the handlers interested in it
+ * instead of every handler comparing the event name itself. The events are
+ * still posted to the event bus afterwards for subscribers which have not
+ * registered here.
+ */
+@Singleton
+@Slf4j
+public class ScriptCallbackManager
+{
+	private final Map<String, List<Handler>> handlers = new ConcurrentHashMap<>();
+
+	/**
+	 * Register a handler for one or more script callback events
+	 *
+	 * @param owner object which owns the handler, used to unregister it
+	 * @param handler handler to call
+	 * @param eventNames names of the callback events to handle
+	 */
+	public void register(Object owner, Consumer<ScriptCallbackEvent> handler, String... eventNames)
+	{
+		for (String eventName : eventNames)
+		{
+			handlers.computeIfAbsent(eventName, k -> new CopyOnWriteArrayList<>())
+				.add(new Handler(owner, handler));
+		}
+	}
+
+	/**
+	 * Unregister all handlers registered by the given owner
+	 */
+	public void unregister(Object owner)
+	{
+		for (List<Handler> list : handlers.values())
+		{
+			list.removeIf(h -> h.owner == owner);
+		}
+	}
+
+	void dispatch(ScriptCallbackEvent event)
+	{
+		List<Handler> list = handlers.get(event.getEventName());
+		if (list == null)
+		{
+			return;
+		}
+
+		for (Handler h : list)
+		{
+			try
+			{
+				h.handler.accept(event);
+			}
+			catch (Exception ex)
+			{
+				log.warn("Uncaught exception in script callback {}", event.getEventName(), ex);
+			}
+		}
+	}
+
+	private static class Handler
+	{
+		private final Object owner;
+		private final Consumer<ScriptCallbackEvent> handler;
+
+		Handler(Object owner, Consumer<ScriptCallbackEvent> handler)
+		{
+			this.owner = owner;
+			this.handler = handler;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * Records the scripts run by the client while enabled. The most recent runs
+ * are kept in a ring buffer, and can be aggregated into per script counts of
+ * executions, instructions and time. Scripts called from a script are
+ * counted as part of the script which called them.
+ */
+@Singleton
+public class ScriptProfiler
+{
+	static final int CAPACITY = 8192;
+
+	private final int[] scriptIds = new int[CAPACITY];
+	private final int[] instructions = new int[CAPACITY];
+	private final long[] times = new long[CAPACITY];
+
+	/**
+	 * Index the next run is recorded at
+	 */
+	private int position;
+
+	/**
+	 * Number of runs in the buffer
+	 */
+	private int size;
+
+	@Getter
+	private volatile boolean enabled;
+
+	/**
+	 * Start or stop recording script runs. Starting discards previously
+	 * recorded runs.
+	 */
+	public synchronized void setEnabled(boolean enabled)
+	{
+		if (enabled && !this.enabled)
+		{
+			position = 0;
+			size = 0;
+		}
+		this.enabled = enabled;
+	}
+
+	void record(int scriptId, int instructionCount, long nanos)
+	{
+		if (!enabled)
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			scriptIds[position] = scriptId;
+			instructions[position] = instructionCount;
+			times[position] = nanos;
+			position = (position + 1) % CAPACITY;
+			size = Math.min(size + 1, CAPACITY);
+		}
+	}
+
+	/**
+	 * Aggregate the recorded runs by script id
+	 *
+	 * @return stats for each script, most total time first
+	 */
+	public List<ScriptStats> getStats()
+	{
+		final Map<Integer, long[]> totals = new HashMap<>();
+
+		synchronized (this)
+		{
+			for (int i = 0; i < size; ++i)
+			{
+				// executions, instructions, total time, max time
+				long[] t = totals.computeIfAbsent(scriptIds[i], k -> new long[4]);
+				++t[0];
+				t[1] += instructions[i];
+				t[2] += times[i];
+				t[3] = Math.max(t[3], times[i]);
+			}
+		}
+
+		final List<ScriptStats> stats = new ArrayList<>(totals.size());
+		for (Map.Entry<Integer, long[]> entry : totals.entrySet())
+		{
+			long[] t = entry.getValue();
+			stats.add(new ScriptStats(entry.getKey(), (int) t[0], t[1], t[2], t[3]));
+		}
+		stats.sort(Comparator.comparingLong(ScriptStats::getTotalTime).reversed());
+		return stats;
+	}
+
+	@Value
+	public static class ScriptStats
+	{
+		private final int scriptId;
+		private final int executions;
+		private final long instructions;
+		/**
+		 * Total time spent running the script, in nanoseconds
+		 */
+		private final long totalTime;
+		/**
+		 * Longest single run of the script, in nanoseconds
+		 */
+		private final long maxTime;
+	}
+}
@@ -52,6 +52,8 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.events.ConfigChanged;
 import net.runelite.client.RuneLite;
 import net.runelite.client.account.AccountSession;
+import net.runelite.client.task.DiskExecutor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.http.api.config.ConfigClient;
 import net.runelite.http.api.config.ConfigEntry;
 import net.runelite.http.api.config.Configuration;
@@ -66,8 +68,13 @@ public class ConfigManager
 	EventBus eventBus;
 
 	@Inject
+	@NetworkExecutor
 	ScheduledExecutorService executor;
 
+	@Inject
+	@DiskExecutor
+	ScheduledExecutorService diskExecutor;
+
 	private AccountSession session;
 	private ConfigClient client;
 	private File propertiesFile;
@@ -291,7 +298,7 @@ public class ConfigManager
 				log.warn("unable to save configuration file", ex);
 			}
 		};
-		executor.execute(task);
+		diskExecutor.execute(task);
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -341,7 +348,7 @@ public class ConfigManager
 				log.warn("unable to save configuration file", ex);
 			}
 		};
-		executor.execute(task);
+		diskExecutor.execute(task);
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
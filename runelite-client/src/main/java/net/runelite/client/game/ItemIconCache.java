@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores rendered item icons on disk so they survive restarts. Icons are
+ * grouped by the version of the item definitions they were rendered from,
+ * and icons from other versions are removed the first time a version is
+ * used. The number of icons kept is capped, removing the least recently
+ * used icons first.
+ */
+@Slf4j
+class ItemIconCache
+{
+	private static final int MAX_ICONS = 10_000;
+
+	/**
+	 * How many icons are written between checks of the icon count
+	 */
+	private static final int TRIM_INTERVAL = 256;
+
+	private final File directory;
+	private final int maxIcons;
+	private Integer prunedVersion;
+	private int writes;
+
+	ItemIconCache(File directory)
+	{
+		this(directory, MAX_ICONS);
+	}
+
+	ItemIconCache(File directory, int maxIcons)
+	{
+		this.directory = directory;
+		this.maxIcons = maxIcons;
+	}
+
+	/**
+	 * Read a cached icon into an image
+	 *
+	 * @return true if the icon was cached and has been copied into image
+	 */
+	boolean read(int version, int itemId, int quantity, boolean stackable, int border, BufferedImage image)
+	{
+		final File file = getFile(version, itemId, quantity, stackable, border);
+		if (!file.exists())
+		{
+			return false;
+		}
+
+		final BufferedImage cached;
+		try
+		{
+			cached = ImageIO.read(file);
+		}
+		catch (IOException ex)
+		{
+			log.debug("Unable to read item icon {}", file, ex);
+			return false;
+		}
+
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		if (cached == null || cached.getWidth() != width || cached.getHeight() != height)
+		{
+			file.delete();
+			return false;
+		}
+
+		image.setRGB(0, 0, width, height, cached.getRGB(0, 0, width, height, null, 0, width), 0, width);
+
+		// the modification time orders icons for trimming
+		file.setLastModified(System.currentTimeMillis());
+		return true;
+	}
+
+	void write(int version, int itemId, int quantity, boolean stackable, int border, BufferedImage image)
+	{
+		prune(version);
+
+		if (writes++ % TRIM_INTERVAL == 0)
+		{
+			trim(version);
+		}
+
+		final File file = getFile(version, itemId, quantity, stackable, border);
+		file.getParentFile().mkdirs();
+
+		// Write to a temporary file first so a partially written icon is never read
+		final File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+		try
+		{
+			ImageIO.write(image, "PNG", tmp);
+			if (!tmp.renameTo(file))
+			{
+				tmp.delete();
+			}
+		}
+		catch (IOException ex)
+		{
+			log.debug("Unable to write item icon {}", file, ex);
+			tmp.delete();
+		}
+	}
+
+	/**
+	 * Remove icons from versions other than the given one
+	 */
+	private void prune(int version)
+	{
+		if (prunedVersion != null && prunedVersion == version)
+		{
+			return;
+		}
+
+		prunedVersion = version;
+
+		final File[] versions = directory.listFiles();
+		if (versions == null)
+		{
+			return;
+		}
+
+		final String current = Integer.toString(version);
+		for (File dir : versions)
+		{
+			if (dir.getName().equals(current))
+			{
+				continue;
+			}
+
+			final File[] files = dir.listFiles();
+			if (files != null)
+			{
+				for (File file : files)
+				{
+					file.delete();
+				}
+			}
+			dir.delete();
+		}
+	}
+
+	/**
+	 * Remove the least recently used icons of a version once there are more
+	 * than the maximum, down to three quarters of it
+	 */
+	private void trim(int version)
+	{
+		final File[] files = new File(directory, Integer.toString(version)).listFiles();
+		if (files == null || files.length <= maxIcons)
+		{
+			return;
+		}
+
+		final long[] modified = new long[files.length];
+		final Integer[] order = new Integer[files.length];
+		for (int i = 0; i < files.length; ++i)
+		{
+			modified[i] = files[i].lastModified();
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingLong(i -> modified[i]));
+
+		final int remove = files.length - maxIcons * 3 / 4;
+		for (int i = 0; i < remove; ++i)
+		{
+			files[order[i]].delete();
+		}
+
+		log.debug("Removed {} least recently used item icons", remove);
+	}
+
+	/**
+	 * The client draws the quantity of stacks of 100,000 and over in whole
+	 * thousands, and of 10,000,000 and over in whole millions. Alternate
+	 * stack models only change at lower quantities, so larger stacks which
+	 * round to the same amount render the same icon.
+	 */
+	static int quantityBucket(int quantity)
+	{
+		if (quantity < 100_000)
+		{
+			return quantity;
+		}
+		else if (quantity < 10_000_000)
+		{
+			return quantity / 1_000 * 1_000;
+		}
+		return quantity / 1_000_000 * 1_000_000;
+	}
+
+	private File getFile(int version, int itemId, int quantity, boolean stackable, int border)
+	{
+		final String name = itemId + "-" + quantityBucket(quantity) + "-" + (stackable ? 1 : 0) + "-" + border + ".png";
+		return new File(new File(directory, Integer.toString(version)), name);
+	}
+}
@@ -29,7 +29,10 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.eventbus.Subscribe;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -45,12 +48,21 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import static net.runelite.api.Constants.CLIENT_DEFAULT_ZOOM;
 import net.runelite.api.GameState;
+import net.runelite.api.IndexDataBase;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
 import net.runelite.api.ItemComposition;
+import net.runelite.api.ItemContainer;
 import net.runelite.api.SpritePixels;
 import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.client.RuneLite;
 import net.runelite.client.callback.ClientThread;
+import net.runelite.client.task.DiskExecutor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.http.api.item.ItemClient;
 import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.PriceDeltaResult;
 import net.runelite.http.api.item.SearchResult;
 
 @Singleton
@@ -75,26 +87,56 @@ public class ItemManager
 	 */
 	static final ItemPrice NONE = new ItemPrice();
 
+	private static final File ICON_CACHE_DIR = new File(RuneLite.RUNELITE_DIR, "icons");
+	private static final File PRICE_STORE_FILE = new File(RuneLite.RUNELITE_DIR, "prices.dat");
+	private static final int ICON_BORDER = 1;
+
+	/**
+	 * Archive of the config index holding the item definitions
+	 */
+	private static final int ITEM_CONFIG_ARCHIVE = 10;
+
+	/**
+	 * How often prices which have changed are synced into the price store
+	 */
+	private static final Duration PRICE_SYNC_PERIOD = Duration.ofMinutes(30);
+
+	/**
+	 * How long after the last sync the price store is used for prices which
+	 * are not in the price cache, the same as prices are kept in the cache
+	 */
+	private static final Duration PRICE_STORE_MAX_AGE = Duration.ofHours(1);
+
 	private final Client client;
 	private final ScheduledExecutorService scheduledExecutorService;
+	private final ScheduledExecutorService diskExecutor;
 	private final ClientThread clientThread;
+	private final ItemIconCache iconCache = new ItemIconCache(ICON_CACHE_DIR);
+	private final ItemPriceStore priceStore = new ItemPriceStore(PRICE_STORE_FILE);
+	private volatile Instant lastPriceSync = Instant.EPOCH;
 
 	private final ItemClient itemClient = new ItemClient();
 	private final LoadingCache<String, SearchResult> itemSearches;
 	private final LoadingCache<Integer, ItemPrice> itemPriceCache;
+	/**
+	 * Icons in memory, in front of the icon cache on disk. This only bounds
+	 * the number of icons, evicting roughly the least recently used first.
+	 */
 	private final LoadingCache<ImageKey, AsyncBufferedImage> itemImages;
 	private final LoadingCache<Integer, ItemComposition> itemCompositions;
 
 	@Inject
-	public ItemManager(Client client, ScheduledExecutorService executor, ClientThread clientThread)
+	public ItemManager(Client client, @NetworkExecutor ScheduledExecutorService executor,
+		@DiskExecutor ScheduledExecutorService diskExecutor, ClientThread clientThread)
 	{
 		this.client = client;
 		this.scheduledExecutorService = executor;
+		this.diskExecutor = diskExecutor;
 		this.clientThread = clientThread;
 
 		itemPriceCache = CacheBuilder.newBuilder()
 			.maximumSize(1024L)
-			.expireAfterAccess(1, TimeUnit.HOURS)
+			.expireAfterAccess(PRICE_STORE_MAX_AGE.toMinutes(), TimeUnit.MINUTES)
 			.build(new ItemPriceLoader(executor, itemClient));
 
 		itemSearches = CacheBuilder.newBuilder()
@@ -110,7 +152,7 @@ public class ItemManager
 			});
 
 		itemImages = CacheBuilder.newBuilder()
-			.maximumSize(128L)
+			.maximumSize(2048L)
 			.expireAfterAccess(1, TimeUnit.HOURS)
 			.build(new CacheLoader<ImageKey, AsyncBufferedImage>()
 			{
@@ -132,6 +174,38 @@ public class ItemManager
 					return client.getItemDefinition(key);
 				}
 			});
+
+		diskExecutor.execute(() ->
+		{
+			priceStore.load();
+			scheduledExecutorService.scheduleWithFixedDelay(this::syncPrices,
+				0, PRICE_SYNC_PERIOD.getSeconds(), TimeUnit.SECONDS);
+		});
+	}
+
+	/**
+	 * Download the prices which have changed since the price store was last
+	 * synced, and save them
+	 */
+	private void syncPrices()
+	{
+		try
+		{
+			PriceDeltaResult delta = itemClient.lookupPriceDelta(priceStore.getSyncTime());
+			if (delta == null)
+			{
+				return;
+			}
+
+			priceStore.update(delta);
+			lastPriceSync = Instant.now();
+			itemPriceCache.invalidateAll();
+			diskExecutor.execute(priceStore::save);
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to sync item prices", ex);
+		}
 	}
 
 	@Subscribe
@@ -143,6 +217,29 @@ public class ItemManager
 		}
 	}
 
+	@Subscribe
+	public void onItemContainerChanged(final ItemContainerChanged event)
+	{
+		final ItemContainer container = event.getItemContainer();
+		if (container != client.getItemContainer(InventoryID.BANK)
+			&& container != client.getItemContainer(InventoryID.INVENTORY))
+		{
+			return;
+		}
+
+		// Start loading the icons of held items, as most panels and overlays
+		// showing items show these
+		final List<Integer> itemIds = new ArrayList<>();
+		for (Item item : container.getItems())
+		{
+			if (item.getId() != -1)
+			{
+				itemIds.add(item.getId());
+			}
+		}
+		prefetchImages(itemIds);
+	}
+
 	/**
 	 * Look up an item's price asynchronously.
 	 *
@@ -151,7 +248,7 @@ public class ItemManager
 	 */
 	public ItemPrice getItemPriceAsync(int itemId)
 	{
-		ItemPrice itemPrice = itemPriceCache.getIfPresent(itemId);
+		ItemPrice itemPrice = getCachedPrice(itemId);
 		if (itemPrice != null && itemPrice != EMPTY)
 		{
 			return itemPrice == NONE ? null : itemPrice;
@@ -173,7 +270,7 @@ public class ItemManager
 		final List<ItemPrice> existing = new ArrayList<>();
 		for (int itemId : itemIds)
 		{
-			ItemPrice itemPrice = itemPriceCache.getIfPresent(itemId);
+			ItemPrice itemPrice = getCachedPrice(itemId);
 			if (itemPrice != null)
 			{
 				existing.add(itemPrice);
@@ -234,7 +331,7 @@ public class ItemManager
 	 */
 	public ItemPrice getItemPrice(int itemId) throws IOException
 	{
-		ItemPrice itemPrice = itemPriceCache.getIfPresent(itemId);
+		ItemPrice itemPrice = getCachedPrice(itemId);
 		if (itemPrice != null && itemPrice != EMPTY)
 		{
 			return itemPrice == NONE ? null : itemPrice;
@@ -251,6 +348,34 @@ public class ItemManager
 		return itemPrice;
 	}
 
+	/**
+	 * Get an item's price from the price cache, falling back to the price store
+	 * if it has been synced recently. Stored prices are not put in the price
+	 * cache, so once the store is stale prices are looked up again.
+	 *
+	 * @param itemId item id
+	 * @return the price, EMPTY or NONE, or null if it has not been looked up
+	 */
+	private ItemPrice getCachedPrice(int itemId)
+	{
+		ItemPrice itemPrice = itemPriceCache.getIfPresent(itemId);
+		if (itemPrice != null && itemPrice != EMPTY)
+		{
+			return itemPrice;
+		}
+
+		if (lastPriceSync.plus(PRICE_STORE_MAX_AGE).isAfter(Instant.now()))
+		{
+			ItemPrice stored = priceStore.get(itemId);
+			if (stored != null)
+			{
+				return stored;
+			}
+		}
+
+		return itemPrice;
+	}
+
 	/**
 	 * Look up an item's composition
 	 *
@@ -276,7 +401,7 @@ public class ItemManager
 	}
 
 	/**
-	 * Loads item sprite from game, makes transparent, and generates image
+	 * Loads item sprite from the icon cache, or from the game if it is not cached
 	 *
 	 * @param itemId
 	 * @return
@@ -284,13 +409,39 @@ public class ItemManager
 	private AsyncBufferedImage loadImage(int itemId, int quantity, boolean stackable)
 	{
 		AsyncBufferedImage img = new AsyncBufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		if (client.isClientThread())
+		{
+			// Rendering on the client thread fills the image immediately
+			renderImage(img, itemId, quantity, stackable);
+			return img;
+		}
+
+		diskExecutor.execute(() ->
+		{
+			final int version = getIconVersion();
+			if (version != 0 && iconCache.read(version, itemId, quantity, stackable, ICON_BORDER, img))
+			{
+				img.changed();
+				return;
+			}
+
+			renderImage(img, itemId, quantity, stackable);
+		});
+		return img;
+	}
+
+	/**
+	 * Renders item sprite from game, makes transparent, and stores it in the icon cache
+	 */
+	private void renderImage(AsyncBufferedImage img, int itemId, int quantity, boolean stackable)
+	{
 		clientThread.invokeLater(() ->
 		{
 			if (client.getGameState().ordinal() < GameState.LOGIN_SCREEN.ordinal())
 			{
 				return false;
 			}
-			SpritePixels sprite = client.createItemSprite(itemId, quantity, 1, SpritePixels.DEFAULT_SHADOW_COLOR,
+			SpritePixels sprite = client.createItemSprite(itemId, quantity, ICON_BORDER, SpritePixels.DEFAULT_SHADOW_COLOR,
 				stackable ? 1 : 0, false, CLIENT_DEFAULT_ZOOM);
 			if (sprite == null)
 			{
@@ -298,9 +449,50 @@ public class ItemManager
 			}
 			sprite.toBufferedImage(img);
 			img.changed();
+
+			final int version = getIconVersion();
+			if (version != 0)
+			{
+				diskExecutor.execute(() -> iconCache.write(version, itemId, quantity, stackable, ICON_BORDER, img));
+			}
 			return true;
 		});
-		return img;
+	}
+
+	/**
+	 * Version of the item definitions icons are rendered from. Icons change
+	 * with the item definitions, which can be updated without a new client
+	 * revision.
+	 *
+	 * @return the CRC of the item definitions archive, or 0 if it is not loaded yet
+	 */
+	private int getIconVersion()
+	{
+		final IndexDataBase index = client.getIndexConfig();
+		return index == null ? 0 : index.getArchiveCrc(ITEM_CONFIG_ARCHIVE);
+	}
+
+	/**
+	 * Start loading the images of many items, so they are ready to be painted
+	 * by the time they are shown
+	 *
+	 * @param itemIds item ids
+	 */
+	public void prefetchImages(Collection<Integer> itemIds)
+	{
+		if (client.isClientThread())
+		{
+			// Icons requested on the client thread are rendered at once, so
+			// hand the ids off to be loaded in the background instead
+			final List<Integer> ids = new ArrayList<>(itemIds);
+			diskExecutor.execute(() -> prefetchImages(ids));
+			return;
+		}
+
+		for (int itemId : itemIds)
+		{
+			getImage(itemId);
+		}
 	}
 
 	/**
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.item.Item;
+import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.PriceDeltaResult;
+
+/**
+ * Stores the price of every item on disk, so prices are available as soon
+ * as the client starts and only the prices which have changed since the
+ * last session have to be downloaded. Prices are kept in arrays sorted by
+ * item id, which are replaced as a whole when a delta is merged in.
+ */
+@Slf4j
+class ItemPriceStore
+{
+	private static final int MAGIC = 0x52_4C_50_53; // RLPS
+	private static final int VERSION = 1;
+
+	private static class Table
+	{
+		private final Instant syncTime;
+		private final int[] ids;
+		private final int[] prices;
+		private final long[] times;
+
+		Table(Instant syncTime, int[] ids, int[] prices, long[] times)
+		{
+			this.syncTime = syncTime;
+			this.ids = ids;
+			this.prices = prices;
+			this.times = times;
+		}
+	}
+
+	private static final Table EMPTY_TABLE = new Table(null, new int[0], new int[0], new long[0]);
+
+	private final File file;
+	private volatile Table table = EMPTY_TABLE;
+
+	ItemPriceStore(File file)
+	{
+		this.file = file;
+	}
+
+	/**
+	 * Time the store was last synced, or null if it never has been
+	 */
+	Instant getSyncTime()
+	{
+		return table.syncTime;
+	}
+
+	int size()
+	{
+		return table.ids.length;
+	}
+
+	/**
+	 * Get the stored price of an item
+	 *
+	 * @return the price, or null if the item has no stored price
+	 */
+	ItemPrice get(int itemId)
+	{
+		final Table t = table;
+		final int idx = Arrays.binarySearch(t.ids, itemId);
+		if (idx < 0)
+		{
+			return null;
+		}
+
+		Item item = new Item();
+		item.setId(itemId);
+
+		ItemPrice itemPrice = new ItemPrice();
+		itemPrice.setItem(item);
+		itemPrice.setPrice(t.prices[idx]);
+		itemPrice.setTime(Instant.ofEpochMilli(t.times[idx]));
+		return itemPrice;
+	}
+
+	/**
+	 * Merge a price delta into the store
+	 */
+	synchronized void update(PriceDeltaResult delta)
+	{
+		final Table t = table;
+		final List<ItemPrice> changed = delta.getPrices();
+		final ItemPrice[] sorted = changed == null ? new ItemPrice[0] : changed.toArray(new ItemPrice[changed.size()]);
+		Arrays.sort(sorted, Comparator.comparingInt(itemPrice -> itemPrice.getItem().getId()));
+
+		final int[] ids = new int[t.ids.length + sorted.length];
+		final int[] prices = new int[ids.length];
+		final long[] times = new long[ids.length];
+		int count = 0;
+		int i = 0;
+		int j = 0;
+
+		while (i < t.ids.length || j < sorted.length)
+		{
+			final int oldId = i < t.ids.length ? t.ids[i] : Integer.MAX_VALUE;
+			final int newId = j < sorted.length ? sorted[j].getItem().getId() : Integer.MAX_VALUE;
+
+			if (newId <= oldId)
+			{
+				final ItemPrice itemPrice = sorted[j++];
+				if (oldId == newId)
+				{
+					++i;
+				}
+				if (count > 0 && ids[count - 1] == newId)
+				{
+					// duplicate in the delta, keep the last
+					--count;
+				}
+
+				ids[count] = newId;
+				prices[count] = itemPrice.getPrice();
+				times[count] = itemPrice.getTime() != null ? itemPrice.getTime().toEpochMilli() : 0L;
+			}
+			else
+			{
+				ids[count] = oldId;
+				prices[count] = t.prices[i];
+				times[count] = t.times[i];
+				++i;
+			}
+			++count;
+		}
+
+		table = new Table(delta.getTime(),
+			Arrays.copyOf(ids, count),
+			Arrays.copyOf(prices, count),
+			Arrays.copyOf(times, count));
+
+		log.debug("Merged {} changed prices, {} prices stored", sorted.length, count);
+	}
+
+	/**
+	 * Load the store from disk, leaving it empty if it can't be read
+	 */
+	synchronized void load()
+	{
+		if (!file.exists())
+		{
+			return;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				log.debug("Discarding item price store with unknown format");
+				return;
+			}
+
+			final long syncTime = in.readLong();
+			final int count = in.readInt();
+			final int[] ids = new int[count];
+			final int[] prices = new int[count];
+			final long[] times = new long[count];
+
+			for (int i = 0; i < count; ++i)
+			{
+				ids[i] = in.readInt();
+				prices[i] = in.readInt();
+				times[i] = in.readLong();
+
+				if (i > 0 && ids[i] <= ids[i - 1])
+				{
+					log.debug("Discarding unsorted item price store");
+					return;
+				}
+			}
+
+			table = new Table(Instant.ofEpochMilli(syncTime), ids, prices, times);
+			log.debug("Loaded {} item prices synced at {}", count, table.syncTime);
+		}
+		catch (IOException ex)
+		{
+			log.debug("Unable to read item price store", ex);
+		}
+	}
+
+	/**
+	 * Write the store to disk
+	 */
+	void save()
+	{
+		final Table t = table;
+		if (t.syncTime == null)
+		{
+			return;
+		}
+
+		file.getParentFile().mkdirs();
+
+		// Write to a temporary file first so a partially written store is never read
+		final File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(t.syncTime.toEpochMilli());
+			out.writeInt(t.ids.length);
+
+			for (int i = 0; i < t.ids.length; ++i)
+			{
+				out.writeInt(t.ids[i]);
+				out.writeInt(t.prices[i]);
+				out.writeLong(t.times[i]);
+			}
+		}
+		catch (IOException ex)
+		{
+			log.debug("Unable to write item price store {}", file, ex);
+			tmp.delete();
+			return;
+		}
+
+		file.delete();
+		if (!tmp.renameTo(file))
+		{
+			tmp.delete();
+		}
+	}
+}
@@ -0,0 +1,568 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.common.eventbus.Subscribe;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.inject.Singleton;
+import static net.runelite.api.Constants.CHUNK_SIZE;
+import static net.runelite.api.Constants.MAX_Z;
+import static net.runelite.api.Constants.REGION_SIZE;
+import net.runelite.api.DecorativeObject;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.GroundObject;
+import net.runelite.api.NPC;
+import net.runelite.api.Point;
+import net.runelite.api.SceneIndex;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.WallObject;
+import static net.runelite.api.coords.LocalPoint.LOCAL_COORD_BITS;
+import net.runelite.api.events.DecorativeObjectChanged;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectChanged;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GroundObjectChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.events.WallObjectChanged;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+
+/**
+ * Maintains a {@link SceneIndex} from the spawn, despawn and change events.
+ * Objects are indexed by type and id per plane, and by the chunk of every
+ * tile they occupy. NPCs are indexed by id.
+ */
+@Singleton
+public class SceneIndexManager implements SceneIndex
+{
+	private static final int CHUNKS = REGION_SIZE / CHUNK_SIZE;
+
+	private final ObjectIndex gameObjects = new ObjectIndex();
+	private final ObjectIndex wallObjects = new ObjectIndex();
+	private final ObjectIndex decorativeObjects = new ObjectIndex();
+	private final ObjectIndex groundObjects = new ObjectIndex();
+
+	/**
+	 * The number of tiles each object is on. Game objects larger than
+	 * one tile are spawned and despawned once per tile.
+	 */
+	private final Map<TileObject, Integer> tileCounts = new IdentityHashMap<>();
+
+	/**
+	 * One entry per tile an object is on, so the chunk buckets of multi tile
+	 * objects stay correct as each of their tiles is despawned.
+	 */
+	@SuppressWarnings("unchecked")
+	private final List<TileObject>[][][] chunks = new List[MAX_Z][CHUNKS][CHUNKS];
+
+	/**
+	 * The id each NPC was indexed under, to detect NPCs which transform
+	 */
+	private final Map<NPC, Integer> npcIds = new IdentityHashMap<>();
+	private final Map<Integer, Set<NPC>> npcs = new HashMap<>();
+
+	/**
+	 * Set when NPC ids may have changed since they were indexed, either from
+	 * a definition change or a varbit driving a transform
+	 */
+	private boolean npcsStale;
+
+	@Override
+	public <T extends TileObject> Collection<T> getTileObjects(Class<T> type, int plane)
+	{
+		ObjectIndex index = getIndex(type);
+		if (index == null)
+		{
+			return Collections.emptyList();
+		}
+
+		return cast(index.getObjects(plane));
+	}
+
+	@Override
+	public <T extends TileObject> Collection<T> getTileObjects(Class<T> type, int plane, int id)
+	{
+		ObjectIndex index = getIndex(type);
+		if (index == null)
+		{
+			return Collections.emptyList();
+		}
+
+		return cast(index.getObjects(plane, id));
+	}
+
+	@Override
+	public <T extends TileObject> Collection<T> getTileObjects(Class<T> type, int plane, int minX, int minY, int maxX, int maxY)
+	{
+		if (plane < 0 || plane >= MAX_Z)
+		{
+			return Collections.emptyList();
+		}
+
+		int minChunkX = Math.max(minX, 0) / CHUNK_SIZE;
+		int minChunkY = Math.max(minY, 0) / CHUNK_SIZE;
+		int maxChunkX = Math.min(maxX, REGION_SIZE - 1) / CHUNK_SIZE;
+		int maxChunkY = Math.min(maxY, REGION_SIZE - 1) / CHUNK_SIZE;
+
+		Set<T> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX)
+		{
+			for (int chunkY = minChunkY; chunkY <= maxChunkY; ++chunkY)
+			{
+				List<TileObject> chunk = chunks[plane][chunkX][chunkY];
+				if (chunk == null)
+				{
+					continue;
+				}
+
+				for (TileObject object : chunk)
+				{
+					if (!type.isInstance(object))
+					{
+						continue;
+					}
+
+					int x = object.getX() >> LOCAL_COORD_BITS;
+					int y = object.getY() >> LOCAL_COORD_BITS;
+					if (x >= minX && x <= maxX && y >= minY && y <= maxY)
+					{
+						objects.add(type.cast(object));
+					}
+				}
+			}
+		}
+		return objects;
+	}
+
+	@Override
+	public Collection<NPC> getNpcs(int id)
+	{
+		if (npcsStale)
+		{
+			reindexNpcs();
+		}
+
+		Set<NPC> npcs = this.npcs.get(id);
+		if (npcs == null)
+		{
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(npcs);
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		GameState gameState = event.getGameState();
+		if (gameState == GameState.LOGIN_SCREEN || gameState == GameState.HOPPING)
+		{
+			npcIds.clear();
+			npcs.clear();
+		}
+
+		if (gameState == GameState.LOADING || gameState == GameState.LOGIN_SCREEN)
+		{
+			// the scene is rebuilt without despawning the previous objects
+			gameObjects.clear();
+			wallObjects.clear();
+			decorativeObjects.clear();
+			groundObjects.clear();
+			tileCounts.clear();
+			for (List<TileObject>[][] plane : chunks)
+			{
+				for (List<TileObject>[] column : plane)
+				{
+					Arrays.fill(column, null);
+				}
+			}
+		}
+	}
+
+	@Subscribe
+	public void onNpcSpawned(NpcSpawned event)
+	{
+		NPC npc = event.getNpc();
+		removeNpc(npc);
+		addNpc(npc, npc.getId());
+	}
+
+	@Subscribe
+	public void onNpcDespawned(NpcDespawned event)
+	{
+		removeNpc(event.getNpc());
+	}
+
+	@Subscribe
+	public void onNpcChanged(NpcChanged event)
+	{
+		// posted before the new definition is set
+		npcsStale = true;
+	}
+
+	@Subscribe
+	public void onVarbitChanged(VarbitChanged event)
+	{
+		npcsStale = true;
+	}
+
+	@Subscribe
+	public void onGameTick(GameTick event)
+	{
+		reindexNpcs();
+	}
+
+	@Subscribe
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		add(gameObjects, event.getTile(), event.getGameObject());
+	}
+
+	@Subscribe
+	public void onGameObjectChanged(GameObjectChanged event)
+	{
+		remove(gameObjects, event.getTile(), event.getPrevious());
+		add(gameObjects, event.getTile(), event.getGameObject());
+	}
+
+	@Subscribe
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		remove(gameObjects, event.getTile(), event.getGameObject());
+	}
+
+	@Subscribe
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		add(wallObjects, event.getTile(), event.getWallObject());
+	}
+
+	@Subscribe
+	public void onWallObjectChanged(WallObjectChanged event)
+	{
+		remove(wallObjects, event.getTile(), event.getPrevious());
+		add(wallObjects, event.getTile(), event.getWallObject());
+	}
+
+	@Subscribe
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		remove(wallObjects, event.getTile(), event.getWallObject());
+	}
+
+	@Subscribe
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		add(decorativeObjects, event.getTile(), event.getDecorativeObject());
+	}
+
+	@Subscribe
+	public void onDecorativeObjectChanged(DecorativeObjectChanged event)
+	{
+		remove(decorativeObjects, event.getTile(), event.getPrevious());
+		add(decorativeObjects, event.getTile(), event.getDecorativeObject());
+	}
+
+	@Subscribe
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		remove(decorativeObjects, event.getTile(), event.getDecorativeObject());
+	}
+
+	@Subscribe
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		add(groundObjects, event.getTile(), event.getGroundObject());
+	}
+
+	@Subscribe
+	public void onGroundObjectChanged(GroundObjectChanged event)
+	{
+		remove(groundObjects, event.getTile(), event.getPrevious());
+		add(groundObjects, event.getTile(), event.getGroundObject());
+	}
+
+	@Subscribe
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		remove(groundObjects, event.getTile(), event.getGroundObject());
+	}
+
+	/**
+	 * Re-keys NPCs whose id no longer matches the one they were indexed under
+	 */
+	private void reindexNpcs()
+	{
+		npcsStale = false;
+
+		List<NPC> transformed = null;
+		for (Map.Entry<NPC, Integer> entry : npcIds.entrySet())
+		{
+			if (entry.getKey().getId() != entry.getValue())
+			{
+				if (transformed == null)
+				{
+					transformed = new ArrayList<>();
+				}
+				transformed.add(entry.getKey());
+			}
+		}
+
+		if (transformed != null)
+		{
+			for (NPC npc : transformed)
+			{
+				removeNpc(npc);
+				addNpc(npc, npc.getId());
+			}
+		}
+	}
+
+	private void addNpc(NPC npc, int id)
+	{
+		npcIds.put(npc, id);
+		npcs.computeIfAbsent(id, k -> Collections.newSetFromMap(new IdentityHashMap<>()))
+			.add(npc);
+	}
+
+	private void removeNpc(NPC npc)
+	{
+		Integer id = npcIds.remove(npc);
+		if (id == null)
+		{
+			return;
+		}
+
+		Set<NPC> npcs = this.npcs.get(id);
+		if (npcs != null)
+		{
+			npcs.remove(npc);
+			if (npcs.isEmpty())
+			{
+				this.npcs.remove(id);
+			}
+		}
+	}
+
+	private void add(ObjectIndex index, Tile tile, TileObject object)
+	{
+		if (tile == null || object == null)
+		{
+			return;
+		}
+
+		List<TileObject> chunk = getChunk(tile, true);
+		if (chunk != null)
+		{
+			chunk.add(object);
+		}
+
+		int count = tileCounts.getOrDefault(object, 0);
+		tileCounts.put(object, count + 1);
+		if (count == 0)
+		{
+			index.add(tile.getPlane(), object);
+		}
+	}
+
+	private void remove(ObjectIndex index, Tile tile, TileObject object)
+	{
+		if (tile == null || object == null)
+		{
+			return;
+		}
+
+		List<TileObject> chunk = getChunk(tile, false);
+		if (chunk != null)
+		{
+			for (int i = 0; i < chunk.size(); ++i)
+			{
+				if (chunk.get(i) == object)
+				{
+					chunk.remove(i);
+					break;
+				}
+			}
+		}
+
+		Integer count = tileCounts.get(object);
+		if (count == null)
+		{
+			return;
+		}
+
+		if (count > 1)
+		{
+			tileCounts.put(object, count - 1);
+		}
+		else
+		{
+			tileCounts.remove(object);
+			index.remove(tile.getPlane(), object);
+		}
+	}
+
+	private List<TileObject> getChunk(Tile tile, boolean create)
+	{
+		Point location = tile.getRegionLocation();
+		int plane = tile.getPlane();
+		int chunkX = location.getX() / CHUNK_SIZE;
+		int chunkY = location.getY() / CHUNK_SIZE;
+		if (plane < 0 || plane >= MAX_Z || chunkX < 0 || chunkX >= CHUNKS || chunkY < 0 || chunkY >= CHUNKS)
+		{
+			return null;
+		}
+
+		List<TileObject> chunk = chunks[plane][chunkX][chunkY];
+		if (chunk == null && create)
+		{
+			chunk = chunks[plane][chunkX][chunkY] = new ArrayList<>();
+		}
+		return chunk;
+	}
+
+	private ObjectIndex getIndex(Class<?> type)
+	{
+		if (type == GameObject.class)
+		{
+			return gameObjects;
+		}
+		else if (type == WallObject.class)
+		{
+			return wallObjects;
+		}
+		else if (type == DecorativeObject.class)
+		{
+			return decorativeObjects;
+		}
+		else if (type == GroundObject.class)
+		{
+			return groundObjects;
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends TileObject> Collection<T> cast(Collection<TileObject> objects)
+	{
+		return (Collection<T>) Collections.unmodifiableCollection(objects);
+	}
+
+	/**
+	 * Objects of a single type, by plane and by id
+	 */
+	private static class ObjectIndex
+	{
+		@SuppressWarnings("unchecked")
+		private final Set<TileObject>[] planes = new Set[MAX_Z];
+		@SuppressWarnings("unchecked")
+		private final Map<Integer, Set<TileObject>>[] ids = new Map[MAX_Z];
+
+		ObjectIndex()
+		{
+			for (int z = 0; z < MAX_Z; ++z)
+			{
+				planes[z] = Collections.newSetFromMap(new IdentityHashMap<>());
+				ids[z] = new HashMap<>();
+			}
+		}
+
+		Collection<TileObject> getObjects(int plane)
+		{
+			if (plane < 0 || plane >= MAX_Z)
+			{
+				return Collections.emptySet();
+			}
+			return planes[plane];
+		}
+
+		Collection<TileObject> getObjects(int plane, int id)
+		{
+			if (plane < 0 || plane >= MAX_Z)
+			{
+				return Collections.emptySet();
+			}
+			return ids[plane].getOrDefault(id, Collections.emptySet());
+		}
+
+		void add(int plane, TileObject object)
+		{
+			if (plane < 0 || plane >= MAX_Z)
+			{
+				return;
+			}
+
+			planes[plane].add(object);
+			ids[plane].computeIfAbsent(object.getId(), k -> Collections.newSetFromMap(new IdentityHashMap<>()))
+				.add(object);
+		}
+
+		void remove(int plane, TileObject object)
+		{
+			if (plane < 0 || plane >= MAX_Z)
+			{
+				return;
+			}
+
+			planes[plane].remove(object);
+			Set<TileObject> objects = ids[plane].get(object.getId());
+			if (objects != null)
+			{
+				objects.remove(object);
+				if (objects.isEmpty())
+				{
+					ids[plane].remove(object.getId());
+				}
+			}
+		}
+
+		void clear()
+		{
+			for (int z = 0; z < MAX_Z; ++z)
+			{
+				planes[z].clear();
+				ids[z].clear();
+			}
+		}
+	}
+}
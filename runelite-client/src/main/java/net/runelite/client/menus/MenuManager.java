@@ -29,7 +29,6 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -72,6 +71,13 @@ public class MenuManager
 	private final Multimap<Integer, WidgetMenuOption> managedMenuOptions = HashMultimap.create();
 	private final Set<String> npcMenuOptions = new HashSet<>();
 
+	// Tag stripped lower case menu options and targets, keyed by menu index and
+	// valid while the client still has the same string instance at that index
+	private String[] optionSources = new String[0];
+	private String[] optionKeys = new String[0];
+	private String[] targetSources = new String[0];
+	private String[] targetKeys = new String[0];
+
 	@Inject
 	public MenuManager(Provider<Client> clientProvider, EventBus eventBus)
 	{
@@ -148,12 +154,12 @@ public class MenuManager
 			return false;
 		}
 
-		for (MenuEntry menuEntry : client.getMenuEntries())
-		{
-			String option = menuEntry.getOption();
-			String target = menuEntry.getTarget();
+		String[] options = client.getMenuOptions();
+		String[] targets = client.getMenuTargets();
 
-			if (option.equals(customMenuOption.getMenuOption()) && target.equals(customMenuOption.getMenuTarget()))
+		for (int i = client.getMenuOptionCount() - 1; i >= 0; --i)
+		{
+			if (options[i].equals(customMenuOption.getMenuOption()) && targets[i].equals(customMenuOption.getMenuTarget()))
 			{
 				return true;
 			}
@@ -177,20 +183,98 @@ public class MenuManager
 		{
 			if (!menuContainsCustomMenu(currentMenu))//Don't add if we have already added it to this widget
 			{
-				MenuEntry[] menuEntries = client.getMenuEntries();
-				menuEntries = Arrays.copyOf(menuEntries, menuEntries.length + 1);
-
-				MenuEntry menuEntry = menuEntries[menuEntries.length - 1] = new MenuEntry();
+				MenuEntry menuEntry = new MenuEntry();
 				menuEntry.setOption(currentMenu.getMenuOption());
 				menuEntry.setParam1(widgetId);
 				menuEntry.setTarget(currentMenu.getMenuTarget());
 				menuEntry.setType(MenuAction.RUNELITE.getId());
 
-				client.setMenuEntries(menuEntries);
+				client.insertMenuEntry(client.getMenuOptionCount(), menuEntry);
 			}
 		}
 	}
 
+	/**
+	 * Gets the option of a menu entry with tags removed, in lower case.
+	 * The result is cached until the client changes the option at that index.
+	 *
+	 * @param index menu entry index
+	 * @return the stripped option
+	 */
+	public String getMenuOptionKey(int index)
+	{
+		Client client = clientProvider.get();
+		String[] options = client.getMenuOptions();
+
+		if (optionSources.length != options.length)
+		{
+			optionSources = new String[options.length];
+			optionKeys = new String[options.length];
+		}
+
+		return key(options[index], optionSources, optionKeys, index);
+	}
+
+	/**
+	 * Gets the target of a menu entry with tags removed, in lower case.
+	 * The result is cached until the client changes the target at that index.
+	 *
+	 * @param index menu entry index
+	 * @return the stripped target
+	 */
+	public String getMenuTargetKey(int index)
+	{
+		Client client = clientProvider.get();
+		String[] targets = client.getMenuTargets();
+
+		if (targetSources.length != targets.length)
+		{
+			targetSources = new String[targets.length];
+			targetKeys = new String[targets.length];
+		}
+
+		return key(targets[index], targetSources, targetKeys, index);
+	}
+
+	private static String key(String value, String[] sources, String[] keys, int index)
+	{
+		if (sources[index] != value)
+		{
+			sources[index] = value;
+			keys[index] = value == null ? null : Text.removeTags(value).toLowerCase();
+		}
+
+		return keys[index];
+	}
+
+	/**
+	 * Swaps two entries of the current menu in place, keeping their cached keys
+	 */
+	public void swapMenuEntries(int first, int second)
+	{
+		Client client = clientProvider.get();
+		client.swapMenuEntries(first, second);
+
+		if (first < optionSources.length && second < optionSources.length)
+		{
+			swap(optionSources, first, second);
+			swap(optionKeys, first, second);
+		}
+
+		if (first < targetSources.length && second < targetSources.length)
+		{
+			swap(targetSources, first, second);
+			swap(targetKeys, first, second);
+		}
+	}
+
+	private static void swap(String[] array, int first, int second)
+	{
+		String tmp = array[first];
+		array[first] = array[second];
+		array[second] = tmp;
+	}
+
 	public void addPlayerMenuItem(String menuText)
 	{
 		Preconditions.checkNotNull(menuText);
@@ -24,6 +24,7 @@
  */
 package net.runelite.client.plugins;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.eventbus.EventBus;
@@ -32,6 +33,7 @@ import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
+import com.google.common.io.Resources;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
 import com.google.inject.Binder;
@@ -43,14 +45,20 @@ import com.google.inject.Module;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.inject.Singleton;
 import javax.swing.SwingUtilities;
@@ -78,6 +86,16 @@ public class PluginManager
 	 */
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
 
+	/**
+	 * Index of the core plugin classes, so they can be loaded without scanning the classpath
+	 */
+	private static final String PLUGIN_INDEX = "plugins.txt";
+
+	/**
+	 * Plugins taking at least this long to start up are logged
+	 */
+	private static final long SLOW_PLUGIN_START_MS = 100;
+
 	@Inject
 	EventBus eventBus;
 
@@ -182,42 +200,175 @@ public class PluginManager
 
 	public void loadCorePlugins() throws IOException
 	{
-		plugins.addAll(scanAndInstantiate(getClass().getClassLoader(), PLUGIN_PACKAGE));
+		final ClassLoader classLoader = getClass().getClassLoader();
+		final List<Class<?>> classes = readPluginIndex(classLoader);
+
+		if (classes == null)
+		{
+			log.warn("Plugin index is missing, scanning the classpath for plugins");
+			plugins.addAll(scanAndInstantiate(classLoader, PLUGIN_PACKAGE));
+			return;
+		}
+
+		plugins.addAll(instantiatePlugins(classes));
 	}
 
-	public void startCorePlugins()
+	/**
+	 * Read the core plugin classes from the plugin index
+	 *
+	 * @return the plugin classes, or null if there is no index
+	 */
+	List<Class<?>> readPluginIndex(ClassLoader classLoader) throws IOException
 	{
-		List<Plugin> scannedPlugins = new ArrayList<>(plugins);
-		for (Plugin plugin : scannedPlugins)
+		final URL index = PluginManager.class.getResource(PLUGIN_INDEX);
+		if (index == null)
 		{
+			return null;
+		}
+
+		final List<Class<?>> classes = new ArrayList<>();
+		for (String line : Resources.readLines(index, StandardCharsets.UTF_8))
+		{
+			line = line.trim();
+			if (line.isEmpty())
+			{
+				continue;
+			}
+
 			try
 			{
-				startPlugin(plugin);
+				classes.add(classLoader.loadClass(line));
 			}
-			catch (PluginInstantiationException ex)
+			catch (ClassNotFoundException ex)
 			{
-				log.warn("Unable to start plugin {}. {}", plugin.getClass().getSimpleName(), ex);
-				plugins.remove(plugin);
+				log.warn("Plugin {} in the plugin index does not exist", line);
 			}
 		}
+
+		return classes;
 	}
 
-	List<Plugin> scanAndInstantiate(ClassLoader classLoader, String packageName) throws IOException
+	public void startCorePlugins()
 	{
-		boolean developerPlugins = RuneLite.getOptions().has("developer-mode");
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		final List<List<Plugin>> waves = groupIntoWaves(new ArrayList<>(plugins), Plugin::getClass);
 
-		MutableGraph<Class<? extends Plugin>> graph = GraphBuilder
-			.directed()
-			.build();
+		for (List<Plugin> wave : waves)
+		{
+			startPlugins(wave);
+		}
 
-		List<Plugin> scannedPlugins = new ArrayList<>();
+		log.debug("Started {} plugins in {}", activePlugins.size(), stopwatch);
+	}
+
+	/**
+	 * Start a wave of plugins which do not depend on each other. All of the plugins
+	 * are started in a single hop to the event thread, and are then registered for
+	 * events and scheduled tasks.
+	 */
+	private synchronized void startPlugins(List<Plugin> wave)
+	{
+		final List<Plugin> toStart = new ArrayList<>(wave.size());
+		for (Plugin plugin : wave)
+		{
+			if (!activePlugins.contains(plugin) && isPluginEnabled(plugin))
+			{
+				toStart.add(plugin);
+			}
+		}
+
+		if (toStart.isEmpty())
+		{
+			return;
+		}
+
+		final List<Plugin> started = new ArrayList<>(toStart.size());
+
+		try
+		{
+			// plugins always start in the event thread
+			SwingUtilities.invokeAndWait(() ->
+			{
+				for (Plugin plugin : toStart)
+				{
+					final String name = plugin.getClass().getSimpleName();
+					final Stopwatch stopwatch = Stopwatch.createStarted();
+
+					try
+					{
+						plugin.startUp();
+					}
+					catch (Exception ex)
+					{
+						log.warn("Unable to start plugin {}. {}", name, ex);
+						plugins.remove(plugin);
+						continue;
+					}
+
+					// mark the plugin active as soon as it is up, so a failure
+					// later in the wave can't leave a running plugin untracked
+					activePlugins.add(plugin);
+					started.add(plugin);
+
+					final long elapsed = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+					if (elapsed >= SLOW_PLUGIN_START_MS)
+					{
+						log.info("Plugin {} took {}ms to start", name, elapsed);
+					}
+					else
+					{
+						log.debug("Plugin {} started in {}ms", name, elapsed);
+					}
+				}
+			});
+		}
+		catch (InterruptedException | InvocationTargetException ex)
+		{
+			log.warn("Unable to start plugins", ex);
+			return;
+		}
+
+		// Simulated spawns share one event bus, so they can't run concurrently
+		for (Plugin plugin : started)
+		{
+			regionTileManager.simulateObjectSpawns(plugin);
+		}
+
+		for (Plugin plugin : started)
+		{
+			eventBus.register(plugin);
+			schedule(plugin);
+			log.debug("Plugin {} is now running", plugin.getClass().getSimpleName());
+			eventBus.post(new PluginChanged(plugin, true));
+		}
+	}
+
+	List<Plugin> scanAndInstantiate(ClassLoader classLoader, String packageName) throws IOException
+	{
 		ClassPath classPath = ClassPath.from(classLoader);
 
 		ImmutableSet<ClassInfo> classes = packageName == null ? classPath.getAllClasses()
 			: classPath.getTopLevelClassesRecursive(packageName);
+
+		List<Class<?>> loaded = new ArrayList<>(classes.size());
 		for (ClassInfo classInfo : classes)
 		{
-			Class<?> clazz = classInfo.load();
+			loaded.add(classInfo.load());
+		}
+
+		return instantiatePlugins(loaded);
+	}
+
+	private List<Plugin> instantiatePlugins(Collection<Class<?>> classes)
+	{
+		boolean developerPlugins = RuneLite.getOptions().has("developer-mode");
+
+		MutableGraph<Class<? extends Plugin>> graph = GraphBuilder
+			.directed()
+			.build();
+
+		for (Class<?> clazz : classes)
+		{
 			PluginDescriptor pluginDescriptor = clazz.getAnnotation(PluginDescriptor.class);
 
 			if (pluginDescriptor == null)
@@ -270,6 +421,9 @@ public class PluginManager
 		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
 		sortedPlugins = Lists.reverse(sortedPlugins);
 
+		// Plugins are instantiated one at a time, as plugin constructors and
+		// their injected members are not required to be thread safe
+		List<Plugin> scannedPlugins = new ArrayList<>();
 		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
 		{
 			Plugin plugin;
@@ -289,6 +443,42 @@ public class PluginManager
 		return scannedPlugins;
 	}
 
+	/**
+	 * Group plugins into waves, where each plugin only depends on plugins in earlier waves
+	 *
+	 * @param sorted plugins, ordered so dependencies come before their dependents
+	 * @param classOf function to get the plugin class
+	 */
+	private static <T> List<List<T>> groupIntoWaves(List<T> sorted, Function<? super T, ? extends Class<?>> classOf)
+	{
+		final Map<Class<?>, Integer> waveOf = new HashMap<>();
+		final List<List<T>> waves = new ArrayList<>();
+
+		for (T plugin : sorted)
+		{
+			final Class<?> clazz = classOf.apply(plugin);
+			int wave = 0;
+
+			for (PluginDependency dependency : clazz.getAnnotationsByType(PluginDependency.class))
+			{
+				Integer dependencyWave = waveOf.get(dependency.value());
+				if (dependencyWave != null)
+				{
+					wave = Math.max(wave, dependencyWave + 1);
+				}
+			}
+
+			waveOf.put(clazz, wave);
+			if (wave == waves.size())
+			{
+				waves.add(new ArrayList<>());
+			}
+			waves.get(wave).add(plugin);
+		}
+
+		return waves;
+	}
+
 	public synchronized boolean startPlugin(Plugin plugin) throws PluginInstantiationException
 	{
 		if (activePlugins.contains(plugin) || !isPluginEnabled(plugin))
@@ -38,6 +38,7 @@ import net.runelite.client.account.AccountSession;
 import net.runelite.client.account.SessionManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.TitleToolbar;
 import net.runelite.client.util.RunnableExceptionLogger;
@@ -56,6 +57,7 @@ public class AccountPlugin extends Plugin
 	private TitleToolbar titleToolbar;
 
 	@Inject
+	@NetworkExecutor
 	private ScheduledExecutorService executor;
 
 	private NavigationButton loginButton;
@@ -34,6 +34,7 @@ import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.Point;
+import net.runelite.api.Projector;
 import net.runelite.api.Tile;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.client.ui.overlay.Overlay;
@@ -49,15 +50,17 @@ public class AgilityOverlay extends Overlay
 	private final Client client;
 	private final AgilityPlugin plugin;
 	private final AgilityConfig config;
+	private final Projector projector;
 
 	@Inject
-	public AgilityOverlay(Client client, AgilityPlugin plugin, AgilityConfig config)
+	public AgilityOverlay(Client client, AgilityPlugin plugin, AgilityConfig config, Projector projector)
 	{
 		setPosition(OverlayPosition.DYNAMIC);
 		setLayer(OverlayLayer.ABOVE_SCENE);
 		this.client = client;
 		this.plugin = plugin;
 		this.config = config;
+		this.projector = projector;
 	}
 
 	@Override
@@ -80,7 +83,7 @@ public class AgilityOverlay extends Overlay
 				// This assumes that the obstacle is not clickable.
 				if (Obstacles.TRAP_OBSTACLE_IDS.contains(object.getId()))
 				{
-					Polygon polygon = object.getCanvasTilePoly();
+					Polygon polygon = projector.getTilePoly(object.getLocalLocation());
 					if (polygon != null)
 					{
 						OverlayUtil.renderPolygon(graphics, polygon, config.getTrapColor());
@@ -119,7 +122,7 @@ public class AgilityOverlay extends Overlay
 			if (markOfGrace.getPlane() == client.getPlane() && markOfGrace.getItemLayer() != null
 				&& markOfGrace.getLocalLocation().distanceTo(playerLocation) < MAX_DISTANCE)
 			{
-				final Polygon poly = markOfGrace.getItemLayer().getCanvasTilePoly();
+				final Polygon poly = projector.getTilePoly(markOfGrace.getItemLayer().getLocalLocation());
 
 				if (poly == null)
 				{
@@ -41,6 +41,7 @@ import net.runelite.api.events.ScriptCallbackEvent;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetConfig;
 import net.runelite.api.widgets.WidgetInfo;
+import net.runelite.client.callback.ScriptCallbackManager;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.game.ChatboxInputManager;
 import net.runelite.client.game.ItemManager;
@@ -79,6 +80,22 @@ public class BankTagsPlugin extends Plugin
 	@Inject
 	private ChatboxInputManager chatboxInputManager;
 
+	@Inject
+	private ScriptCallbackManager scriptCallbackManager;
+
+	@Override
+	protected void startUp()
+	{
+		scriptCallbackManager.register(this, this::onScriptEvent,
+			"bankTagsActive", "setSearchBankInputText", "setBankItemMenu", "bankSearchFilter");
+	}
+
+	@Override
+	protected void shutDown()
+	{
+		scriptCallbackManager.unregister(this);
+	}
+
 	private String getTags(int itemId)
 	{
 		String config = configManager.getConfiguration(CONFIG_GROUP, ITEM_KEY_PREFIX + itemId);
@@ -111,8 +128,7 @@ public class BankTagsPlugin extends Plugin
 		return 0;
 	}
 
-	@Subscribe
-	public void onScriptEvent(ScriptCallbackEvent event)
+	private void onScriptEvent(ScriptCallbackEvent event)
 	{
 		String eventName = event.getEventName();
 
@@ -27,11 +27,9 @@ package net.runelite.client.plugins.barrows;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.util.List;
 import javax.inject.Inject;
 import net.runelite.api.Client;
 import net.runelite.api.GameObject;
-import net.runelite.api.NPC;
 import net.runelite.api.ObjectComposition;
 import net.runelite.api.Perspective;
 import net.runelite.api.Player;
@@ -68,16 +66,15 @@ class BarrowsOverlay extends Overlay
 		if (!plugin.getWalls().isEmpty() && client.getPlane() == 0 && config.showMinimap())
 		{
 			//NPC yellow dot
-			List<NPC> npcs = client.getNpcs();
-			for (NPC npc : npcs)
+			graphics.setColor(Color.yellow);
+			client.forEachNpc(npc ->
 			{
 				net.runelite.api.Point minimapLocation = npc.getMinimapLocation();
 				if (minimapLocation != null)
 				{
-					graphics.setColor(Color.yellow);
 					graphics.fillOval(minimapLocation.getX(), minimapLocation.getY(), 4, 4);
 				}
-			}
+			});
 
 			//Render barrows walls/doors
 			renderObjects(graphics, local);
@@ -49,6 +49,7 @@ import net.runelite.client.config.ConfigManager;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.util.StackFormatter;
 import net.runelite.http.api.hiscore.HiscoreClient;
 import net.runelite.http.api.hiscore.HiscoreSkill;
@@ -81,6 +82,7 @@ public class ChatCommandsPlugin extends Plugin
 	private ChatMessageManager chatMessageManager;
 
 	@Inject
+	@NetworkExecutor
 	private ScheduledExecutorService executor;
 
 	@Override
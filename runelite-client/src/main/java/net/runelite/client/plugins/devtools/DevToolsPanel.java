@@ -25,18 +25,30 @@
  */
 package net.runelite.client.plugins.devtools;
 
+import com.google.common.collect.ImmutableList;
 import java.awt.Color;
 import java.awt.GridLayout;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.swing.JButton;
 import javax.swing.JPanel;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.callback.ScriptProfiler;
+import net.runelite.client.task.ComputeExecutor;
+import net.runelite.client.task.DiskExecutor;
+import net.runelite.client.task.MonitoredExecutor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.ui.PluginPanel;
 
 @Slf4j
 public class DevToolsPanel extends PluginPanel
 {
+	private static final int MAX_SCRIPT_STATS = 20;
+
 	private final Client client;
 	private final DevToolsPlugin plugin;
 
@@ -44,13 +56,26 @@ public class DevToolsPanel extends PluginPanel
 
 	private WidgetInspector widgetInspector;
 
+	private final ScriptProfiler scriptProfiler;
+
+	private final ClientThread clientThread;
+
+	private final List<ScheduledExecutorService> executors;
+
 	@Inject
-	public DevToolsPanel(Client client, DevToolsPlugin plugin, WidgetInspector widgetInspector)
+	public DevToolsPanel(Client client, DevToolsPlugin plugin, WidgetInspector widgetInspector, ScriptProfiler scriptProfiler,
+		ClientThread clientThread, ScheduledExecutorService timerExecutor,
+		@NetworkExecutor ScheduledExecutorService networkExecutor,
+		@DiskExecutor ScheduledExecutorService diskExecutor,
+		@ComputeExecutor ScheduledExecutorService computeExecutor)
 	{
 		super();
 		this.client = client;
 		this.plugin = plugin;
 		this.widgetInspector = widgetInspector;
+		this.scriptProfiler = scriptProfiler;
+		this.clientThread = clientThread;
+		this.executors = ImmutableList.of(timerExecutor, networkExecutor, diskExecutor, computeExecutor);
 
 		varTracker = new VarTracker(client);
 		add(createOptionsPanel());
@@ -198,9 +223,68 @@ public class DevToolsPanel extends PluginPanel
 		});
 		container.add(graphicsObjectsBtn);
 
+		final JButton profileScriptsBtn = new JButton("Profile Scripts");
+		profileScriptsBtn.addActionListener(e ->
+		{
+			highlightButton(profileScriptsBtn);
+			scriptProfiler.setEnabled(!scriptProfiler.isEnabled());
+		});
+		container.add(profileScriptsBtn);
+
+		final JButton scriptStatsBtn = new JButton("Script Stats");
+		scriptStatsBtn.addActionListener(e -> logScriptStats());
+		container.add(scriptStatsBtn);
+
+		final JButton clientThreadStatsBtn = new JButton("Invoke Stats");
+		clientThreadStatsBtn.addActionListener(e -> logClientThreadStats());
+		container.add(clientThreadStatsBtn);
+
+		final JButton executorStatsBtn = new JButton("Executor Stats");
+		executorStatsBtn.addActionListener(e -> logExecutorStats());
+		container.add(executorStatsBtn);
+
 		return container;
 	}
 
+	private void logExecutorStats()
+	{
+		for (ScheduledExecutorService service : executors)
+		{
+			if (!(service instanceof MonitoredExecutor))
+			{
+				continue;
+			}
+
+			final MonitoredExecutor executor = (MonitoredExecutor) service;
+			log.info("{} executor: {} threads, {} queued, {} run, wait {}ms avg {}ms max, run {}ms avg {}ms max",
+				executor.getName(), executor.getPoolSize(), executor.getQueueDepth(), executor.getTasksRun(),
+				executor.getAverageWaitTime(), executor.getMaxWaitTime(),
+				executor.getAverageRunTime(), executor.getMaxRunTime());
+		}
+	}
+
+	private void logClientThreadStats()
+	{
+		log.info("Client thread: {} queued, {} retrying, last loop {}us, slowest invoke {}us, {} deferred loops",
+			clientThread.getQueuedCount(), clientThread.getRetryingCount(),
+			TimeUnit.NANOSECONDS.toMicros(clientThread.getLastLoopTime()),
+			TimeUnit.NANOSECONDS.toMicros(clientThread.getSlowestInvokeTime()),
+			clientThread.getDeferredLoops());
+	}
+
+	private void logScriptStats()
+	{
+		final List<ScriptProfiler.ScriptStats> stats = scriptProfiler.getStats();
+		log.info("Profiled {} scripts", stats.size());
+
+		for (ScriptProfiler.ScriptStats s : stats.subList(0, Math.min(stats.size(), MAX_SCRIPT_STATS)))
+		{
+			log.info("Script {}: {} runs, {} instructions, {}us total, {}us max",
+				s.getScriptId(), s.getExecutions(), s.getInstructions(),
+				TimeUnit.NANOSECONDS.toMicros(s.getTotalTime()), TimeUnit.NANOSECONDS.toMicros(s.getMaxTime()));
+		}
+	}
+
 	private void highlightButton(JButton button)
 	{
 		if (button.getBackground().equals(Color.GREEN))
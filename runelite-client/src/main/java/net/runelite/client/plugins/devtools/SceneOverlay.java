@@ -28,19 +28,19 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.awt.Polygon;
 import java.awt.geom.GeneralPath;
-import java.util.List;
+import java.util.Arrays;
 import javax.inject.Inject;
 import net.runelite.api.Actor;
 import net.runelite.api.Client;
 import net.runelite.api.NPC;
 import net.runelite.api.Perspective;
 import net.runelite.api.Player;
-import net.runelite.api.Point;
+import net.runelite.api.Projector;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.model.MonotoneChain;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -63,14 +63,22 @@ public class SceneOverlay extends Overlay
 
 	private final Client client;
 	private final DevToolsPlugin plugin;
+	private final Projector projector;
+
+	// local coordinates of the points or tiles to draw, and their projections, reused between frames
+	private int[] localX = new int[64];
+	private int[] localY = new int[64];
+	private int[] canvasX = new int[256];
+	private int[] canvasY = new int[256];
 
 	@Inject
-	public SceneOverlay(Client client, DevToolsPlugin plugin)
+	public SceneOverlay(Client client, DevToolsPlugin plugin, Projector projector)
 	{
 		setPosition(OverlayPosition.DYNAMIC);
 		setLayer(OverlayLayer.ABOVE_SCENE);
 		this.client = client;
 		this.plugin = plugin;
+		this.projector = projector;
 	}
 
 	@Override
@@ -78,12 +86,12 @@ public class SceneOverlay extends Overlay
 	{
 		if (plugin.isToggleChunkBorders())
 		{
-			renderChunkBorders(graphics);
+			renderGridLines(graphics, CHUNK_SIZE, CHUNK_BORDER_COLOR);
 		}
 
 		if (plugin.isToggleMapSquares())
 		{
-			renderMapSquares(graphics);
+			renderGridLines(graphics, MAP_SQUARE_SIZE, MAP_SQUARE_COLOR);
 		}
 
 		if (plugin.isToggleLineOfSight())
@@ -99,248 +107,162 @@ public class SceneOverlay extends Overlay
 		return null;
 	}
 
-	private void renderChunkBorders(Graphics2D graphics)
+	/**
+	 * Render the lines between grid cells of a size near the player, such as
+	 * chunk or map square borders
+	 */
+	private void renderGridLines(Graphics2D graphics, int size, Color color)
 	{
 		WorldPoint wp = client.getLocalPlayer().getWorldLocation();
-		int startX = (wp.getX() - CULL_CHUNK_BORDERS_RANGE + CHUNK_SIZE - 1) / CHUNK_SIZE * CHUNK_SIZE;
-		int startY = (wp.getY() - CULL_CHUNK_BORDERS_RANGE + CHUNK_SIZE - 1) / CHUNK_SIZE * CHUNK_SIZE;
-		int endX = (wp.getX() + CULL_CHUNK_BORDERS_RANGE) / CHUNK_SIZE * CHUNK_SIZE;
-		int endY = (wp.getY() + CULL_CHUNK_BORDERS_RANGE) / CHUNK_SIZE * CHUNK_SIZE;
+		int startX = (wp.getX() - CULL_CHUNK_BORDERS_RANGE + size - 1) / size * size;
+		int startY = (wp.getY() - CULL_CHUNK_BORDERS_RANGE + size - 1) / size * size;
+		int endX = (wp.getX() + CULL_CHUNK_BORDERS_RANGE) / size * size;
+		int endY = (wp.getY() + CULL_CHUNK_BORDERS_RANGE) / size * size;
 
 		graphics.setStroke(new BasicStroke(STROKE_WIDTH));
-		graphics.setColor(CHUNK_BORDER_COLOR);
+		graphics.setColor(color);
 
 		GeneralPath path = new GeneralPath();
-		for (int x = startX; x <= endX; x += CHUNK_SIZE)
+		for (int x = startX; x <= endX; x += size)
 		{
 			LocalPoint lp1 = LocalPoint.fromWorld(client, x, wp.getY() - CULL_CHUNK_BORDERS_RANGE);
 			LocalPoint lp2 = LocalPoint.fromWorld(client, x, wp.getY() + CULL_CHUNK_BORDERS_RANGE);
 
-			boolean first = true;
+			int count = 0;
 			for (int y = lp1.getY(); y <= lp2.getY(); y += LOCAL_TILE_SIZE)
 			{
-				Point p = Perspective.worldToCanvas(client,
-					lp1.getX() - LOCAL_TILE_SIZE / 2,
-					y - LOCAL_TILE_SIZE / 2,
-					client.getPlane());
-				if (p != null)
-				{
-					if (first)
-					{
-						path.moveTo(p.getX(), p.getY());
-						first = false;
-					}
-					else
-					{
-						path.lineTo(p.getX(), p.getY());
-					}
-				}
+				ensureCapacity(count + 1);
+				localX[count] = lp1.getX() - LOCAL_TILE_SIZE / 2;
+				localY[count] = y - LOCAL_TILE_SIZE / 2;
+				++count;
 			}
+			addLine(path, count);
 		}
-		for (int y = startY; y <= endY; y += CHUNK_SIZE)
+		for (int y = startY; y <= endY; y += size)
 		{
 			LocalPoint lp1 = LocalPoint.fromWorld(client, wp.getX() - CULL_CHUNK_BORDERS_RANGE, y);
 			LocalPoint lp2 = LocalPoint.fromWorld(client, wp.getX() + CULL_CHUNK_BORDERS_RANGE, y);
 
-			boolean first = true;
+			int count = 0;
 			for (int x = lp1.getX(); x <= lp2.getX(); x += LOCAL_TILE_SIZE)
 			{
-				Point p = Perspective.worldToCanvas(client,
-					x - LOCAL_TILE_SIZE / 2,
-					lp1.getY() - LOCAL_TILE_SIZE / 2,
-					client.getPlane());
-				if (p != null)
-				{
-					if (first)
-					{
-						path.moveTo(p.getX(), p.getY());
-						first = false;
-					}
-					else
-					{
-						path.lineTo(p.getX(), p.getY());
-					}
-				}
+				ensureCapacity(count + 1);
+				localX[count] = x - LOCAL_TILE_SIZE / 2;
+				localY[count] = lp1.getY() - LOCAL_TILE_SIZE / 2;
+				++count;
 			}
+			addLine(path, count);
 		}
 		graphics.draw(path);
 	}
 
-	private void renderMapSquares(Graphics2D graphics)
+	/**
+	 * Project the first count points and add a line through the visible ones to the path
+	 */
+	private void addLine(GeneralPath path, int count)
 	{
-		WorldPoint wp = client.getLocalPlayer().getWorldLocation();
-		int startX = (wp.getX() - CULL_CHUNK_BORDERS_RANGE + MAP_SQUARE_SIZE - 1) / MAP_SQUARE_SIZE * MAP_SQUARE_SIZE;
-		int startY = (wp.getY() - CULL_CHUNK_BORDERS_RANGE + MAP_SQUARE_SIZE - 1) / MAP_SQUARE_SIZE * MAP_SQUARE_SIZE;
-		int endX = (wp.getX() + CULL_CHUNK_BORDERS_RANGE) / MAP_SQUARE_SIZE * MAP_SQUARE_SIZE;
-		int endY = (wp.getY() + CULL_CHUNK_BORDERS_RANGE) / MAP_SQUARE_SIZE * MAP_SQUARE_SIZE;
-
-		graphics.setStroke(new BasicStroke(STROKE_WIDTH));
-		graphics.setColor(MAP_SQUARE_COLOR);
+		projector.project(count, localX, localY, client.getPlane(), canvasX, canvasY);
 
-		GeneralPath path = new GeneralPath();
-		for (int x = startX; x <= endX; x += MAP_SQUARE_SIZE)
+		boolean first = true;
+		for (int i = 0; i < count; ++i)
 		{
-			LocalPoint lp1 = LocalPoint.fromWorld(client, x, wp.getY() - CULL_CHUNK_BORDERS_RANGE);
-			LocalPoint lp2 = LocalPoint.fromWorld(client, x, wp.getY() + CULL_CHUNK_BORDERS_RANGE);
-
-			boolean first = true;
-			for (int y = lp1.getY(); y <= lp2.getY(); y += LOCAL_TILE_SIZE)
+			if (canvasX[i] == MonotoneChain.SKIP)
 			{
-				Point p = Perspective.worldToCanvas(client,
-					lp1.getX() - LOCAL_TILE_SIZE / 2,
-					y - LOCAL_TILE_SIZE / 2,
-					client.getPlane());
-				if (p != null)
-				{
-					if (first)
-					{
-						path.moveTo(p.getX(), p.getY());
-						first = false;
-					}
-					else
-					{
-						path.lineTo(p.getX(), p.getY());
-					}
-				}
+				continue;
 			}
-		}
-		for (int y = startY; y <= endY; y += MAP_SQUARE_SIZE)
-		{
-			LocalPoint lp1 = LocalPoint.fromWorld(client, wp.getX() - CULL_CHUNK_BORDERS_RANGE, y);
-			LocalPoint lp2 = LocalPoint.fromWorld(client, wp.getX() + CULL_CHUNK_BORDERS_RANGE, y);
 
-			boolean first = true;
-			for (int x = lp1.getX(); x <= lp2.getX(); x += LOCAL_TILE_SIZE)
+			if (first)
 			{
-				Point p = Perspective.worldToCanvas(client,
-					x - LOCAL_TILE_SIZE / 2,
-					lp1.getY() - LOCAL_TILE_SIZE / 2,
-					client.getPlane());
-				if (p != null)
-				{
-					if (first)
-					{
-						path.moveTo(p.getX(), p.getY());
-						first = false;
-					}
-					else
-					{
-						path.lineTo(p.getX(), p.getY());
-					}
-				}
+				path.moveTo(canvasX[i], canvasY[i]);
+				first = false;
+			}
+			else
+			{
+				path.lineTo(canvasX[i], canvasY[i]);
 			}
 		}
-		graphics.draw(path);
 	}
 
-	private void renderTileIfValidForMovement(Graphics2D graphics, Actor actor, int dx, int dy)
+	private void ensureCapacity(int count)
 	{
-		WorldArea area = actor.getWorldArea();
-		if (area == null)
+		if (localX.length < count)
 		{
-			return;
+			int length = Math.max(count, localX.length * 2);
+			localX = Arrays.copyOf(localX, length);
+			localY = Arrays.copyOf(localY, length);
+			canvasX = new int[length * 4];
+			canvasY = new int[length * 4];
 		}
+	}
 
-		if (area.canTravelInDirection(client, dx, dy))
+	/**
+	 * Project and render the first count tiles
+	 */
+	private void renderTiles(Graphics2D graphics, int count, Color color)
+	{
+		if (projector.projectTiles(count, localX, localY, 1, canvasX, canvasY) > 0)
 		{
-			LocalPoint lp = actor.getLocalLocation();
-			if (lp == null)
-			{
-				return;
-			}
-
-			lp = new LocalPoint(
-				lp.getX() + dx * Perspective.LOCAL_TILE_SIZE + dx * Perspective.LOCAL_TILE_SIZE * (area.getWidth() - 1) / 2,
-				lp.getY() + dy * Perspective.LOCAL_TILE_SIZE + dy * Perspective.LOCAL_TILE_SIZE * (area.getHeight() - 1) / 2);
-			if (lp == null)
-			{
-				return;
-			}
-
-			Polygon poly = Perspective.getCanvasTilePoly(client, lp);
-			if (poly == null)
-			{
-				return;
-			}
-
-			if (actor == client.getLocalPlayer())
-			{
-				OverlayUtil.renderPolygon(graphics, poly, LOCAL_VALID_MOVEMENT_COLOR);
-			}
-			else
-			{
-				OverlayUtil.renderPolygon(graphics, poly, VALID_MOVEMENT_COLOR);
-			}
+			OverlayUtil.renderTiles(graphics, count, canvasX, canvasY, color);
 		}
 	}
 
-	private void renderValidMovement(Graphics2D graphics)
+	/**
+	 * Add the tiles next to an actor which it can move to
+	 *
+	 * @return the new number of tiles
+	 */
+	private int addValidMovementTiles(Actor actor, int count)
 	{
-		Player player = client.getLocalPlayer();
-		List<NPC> npcs = client.getNpcs();
-		for (NPC npc : npcs)
+		WorldArea area = actor.getWorldArea();
+		LocalPoint lp = actor.getLocalLocation();
+		if (area == null || lp == null)
 		{
-			if (player.getInteracting() != npc && npc.getInteracting() != player)
-			{
-				continue;
-			}
-			for (int dx = -1; dx <= 1; dx++)
-			{
-				for (int dy = -1; dy <= 1; dy++)
-				{
-					if (dx == 0 && dy == 0)
-					{
-						continue;
-					}
-					renderTileIfValidForMovement(graphics, npc, dx, dy);
-				}
-			}
+			return count;
 		}
 
 		for (int dx = -1; dx <= 1; dx++)
 		{
 			for (int dy = -1; dy <= 1; dy++)
 			{
-				if (dx == 0 && dy == 0)
+				if ((dx == 0 && dy == 0) || !area.canTravelInDirection(client, dx, dy))
 				{
 					continue;
 				}
-				renderTileIfValidForMovement(graphics, player, dx, dy);
+
+				ensureCapacity(count + 1);
+				localX[count] = lp.getX() + dx * Perspective.LOCAL_TILE_SIZE + dx * Perspective.LOCAL_TILE_SIZE * (area.getWidth() - 1) / 2;
+				localY[count] = lp.getY() + dy * Perspective.LOCAL_TILE_SIZE + dy * Perspective.LOCAL_TILE_SIZE * (area.getHeight() - 1) / 2;
+				++count;
 			}
 		}
+		return count;
 	}
 
-	private void renderTileIfHasLineOfSight(Graphics2D graphics, WorldArea start, int targetX, int targetY)
+	private void renderValidMovement(Graphics2D graphics)
 	{
-		WorldPoint targetLocation = new WorldPoint(targetX, targetY, start.getPlane());
-		if (targetLocation == null)
-		{
-			return;
-		}
+		Player player = client.getLocalPlayer();
 
-		// Running the line of sight algorithm 100 times per frame doesn't
-		// seem to use much CPU time, however rendering 100 tiles does
-		if (start.hasLineOfSightTo(client, targetLocation))
+		int count = 0;
+		for (NPC npc : client.getNpcs())
 		{
-			LocalPoint lp = LocalPoint.fromWorld(client, targetLocation);
-			if (lp == null)
+			if (player.getInteracting() == npc || npc.getInteracting() == player)
 			{
-				return;
+				count = addValidMovementTiles(npc, count);
 			}
-
-			Polygon poly = Perspective.getCanvasTilePoly(client, lp);
-			if (poly == null)
-			{
-				return;
-			}
-
-			OverlayUtil.renderPolygon(graphics, poly, LINE_OF_SIGHT_COLOR);
 		}
+		renderTiles(graphics, count, VALID_MOVEMENT_COLOR);
+
+		count = addValidMovementTiles(player, 0);
+		renderTiles(graphics, count, LOCAL_VALID_MOVEMENT_COLOR);
 	}
 
 	private void renderLineOfSight(Graphics2D graphics)
 	{
 		WorldArea area = client.getLocalPlayer().getWorldArea();
+
+		// Running the line of sight algorithm 100 times per frame doesn't
+		// seem to use much CPU time, however rendering 100 tiles does
+		int count = 0;
 		for (int x = area.getX() - CULL_LINE_OF_SIGHT_RANGE; x <= area.getX() + CULL_LINE_OF_SIGHT_RANGE; x++)
 		{
 			for (int y = area.getY() - CULL_LINE_OF_SIGHT_RANGE; y <= area.getY() + CULL_LINE_OF_SIGHT_RANGE; y++)
@@ -349,9 +271,26 @@ public class SceneOverlay extends Overlay
 				{
 					continue;
 				}
-				renderTileIfHasLineOfSight(graphics, area, x, y);
+
+				WorldPoint targetLocation = new WorldPoint(x, y, area.getPlane());
+				if (!area.hasLineOfSightTo(client, targetLocation))
+				{
+					continue;
+				}
+
+				LocalPoint lp = LocalPoint.fromWorld(client, targetLocation);
+				if (lp == null)
+				{
+					continue;
+				}
+
+				ensureCapacity(count + 1);
+				localX[count] = lp.getX();
+				localY[count] = lp.getY();
+				++count;
 			}
 		}
-	}
 
+		renderTiles(graphics, count, LINE_OF_SIGHT_COLOR);
+	}
 }
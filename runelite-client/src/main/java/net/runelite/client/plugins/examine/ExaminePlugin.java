@@ -57,6 +57,7 @@ import net.runelite.client.config.ConfigManager;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.util.StackFormatter;
 import net.runelite.http.api.examine.ExamineClient;
 import net.runelite.http.api.item.ItemPrice;
@@ -93,6 +94,7 @@ public class ExaminePlugin extends Plugin
 	private ChatMessageManager chatMessageManager;
 
 	@Inject
+	@NetworkExecutor
 	private ScheduledExecutorService executor;
 
 	@Override
@@ -40,6 +40,7 @@ import net.runelite.api.events.ConfigChanged;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.task.Schedule;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.PluginToolbar;
@@ -60,6 +61,7 @@ public class FeedPlugin extends Plugin
 	private FeedConfig config;
 
 	@Inject
+	@NetworkExecutor
 	private ScheduledExecutorService executorService;
 
 	private FeedPanel feedPanel;
@@ -28,7 +28,6 @@
 package net.runelite.client.plugins.friendnotes;
 
 import com.google.common.base.Strings;
-import com.google.common.collect.ObjectArrays;
 import com.google.common.eventbus.Subscribe;
 import javax.inject.Inject;
 import lombok.Getter;
@@ -149,8 +148,7 @@ public class FriendNotesPlugin extends Plugin
 			addNote.setParam1(event.getActionParam1());
 
 			// Add menu entry
-			MenuEntry[] menuEntries = ObjectArrays.concat(client.getMenuEntries(), addNote);
-			client.setMenuEntries(menuEntries);
+			client.insertMenuEntry(client.getMenuOptionCount(), addNote);
 		}
 		else if (hoveredFriend != null)
 		{
@@ -38,6 +38,7 @@ import net.runelite.api.Client;
 import net.runelite.api.GrandExchangeOffer;
 import net.runelite.api.ItemComposition;
 import net.runelite.client.game.ItemManager;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.ui.PluginPanel;
 
 @Slf4j
@@ -55,7 +56,7 @@ class GrandExchangePanel extends PluginPanel
 	private JTabbedPane tabbedPane = new JTabbedPane();
 
 	@Inject
-	GrandExchangePanel(Client client, ItemManager itemManager, ScheduledExecutorService executor)
+	GrandExchangePanel(Client client, ItemManager itemManager, @NetworkExecutor ScheduledExecutorService executor)
 	{
 		setLayout(new BorderLayout());
 		add(tabbedPane, BorderLayout.NORTH);
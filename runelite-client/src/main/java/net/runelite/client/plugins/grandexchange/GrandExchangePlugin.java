@@ -41,7 +41,6 @@ import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.GrandExchangeOffer;
 import net.runelite.api.ItemComposition;
-import net.runelite.api.MenuEntry;
 import net.runelite.api.events.ConfigChanged;
 import net.runelite.api.events.FocusChanged;
 import net.runelite.api.events.GrandExchangeOfferChanged;
@@ -175,9 +174,8 @@ public class GrandExchangePlugin extends Plugin
 			return;
 		}
 
-		final MenuEntry[] entries = client.getMenuEntries();
-		final MenuEntry menuEntry = entries[entries.length - 1];
-		final int widgetId = menuEntry.getParam1();
+		final int last = client.getMenuOptionCount() - 1;
+		final int widgetId = client.getMenuActionParams1()[last];
 		final int groupId = WidgetInfo.TO_GROUP(widgetId);
 
 		switch (groupId)
@@ -190,8 +188,7 @@ public class GrandExchangePlugin extends Plugin
 				}
 			case WidgetID.INVENTORY_GROUP_ID:
 			case WidgetID.BANK_INVENTORY_GROUP_ID:
-				menuEntry.setOption("Search Grand Exchange");
-				client.setMenuEntries(entries);
+				client.getMenuOptions()[last] = "Search Grand Exchange";
 		}
 	}
 
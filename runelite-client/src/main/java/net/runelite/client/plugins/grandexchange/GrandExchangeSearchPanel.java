@@ -34,6 +34,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 import javax.imageio.ImageIO;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
@@ -148,6 +149,10 @@ class GrandExchangeSearchPanel extends JPanel
 
 		if (result != null && !result.getItems().isEmpty())
 		{
+			itemManager.prefetchImages(result.getItems().stream()
+				.map(Item::getId)
+				.collect(Collectors.toList()));
+
 			for (Item item : result.getItems())
 			{
 				int itemId = item.getId();
@@ -34,9 +34,9 @@ import java.util.HashMap;
 import java.util.Map;
 import javax.inject.Inject;
 import net.runelite.api.Client;
-import net.runelite.api.Perspective;
 import net.runelite.api.Player;
 import net.runelite.api.Point;
+import net.runelite.api.Projector;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.game.ItemManager;
@@ -51,6 +51,8 @@ import net.runelite.http.api.item.ItemPrice;
 public class GroundItemsOverlay extends Overlay
 {
 	private static final int MAX_DISTANCE = 2500;
+	// The max distance in tiles between the player and the item.
+	private static final int MAX_RANGE = 18;
 	// We must offset the text on the z-axis such that
 	// it doesn't obscure the ground items below it.
 	private static final int OFFSET_Z = 20;
@@ -68,10 +70,12 @@ public class GroundItemsOverlay extends Overlay
 	private final StringBuilder itemStringBuilder = new StringBuilder();
 	private final TextComponent textComponent = new TextComponent();
 	private final Map<WorldPoint, Integer> offsetMap = new HashMap<>();
+	private final Projector projector;
 	private final ItemManager itemManager;
 
 	@Inject
-	public GroundItemsOverlay(Client client, GroundItemsPlugin plugin, GroundItemsConfig config, ItemManager itemManager)
+	public GroundItemsOverlay(Client client, GroundItemsPlugin plugin, GroundItemsConfig config, ItemManager itemManager,
+		Projector projector)
 	{
 		setPosition(OverlayPosition.DYNAMIC);
 		setLayer(OverlayLayer.ABOVE_SCENE);
@@ -79,6 +83,7 @@ public class GroundItemsOverlay extends Overlay
 		this.plugin = plugin;
 		this.config = config;
 		this.itemManager = itemManager;
+		this.projector = projector;
 	}
 
 	@Override
@@ -101,9 +106,17 @@ public class GroundItemsOverlay extends Overlay
 
 		offsetMap.clear();
 		final LocalPoint localLocation = player.getLocalLocation();
+		final WorldPoint worldLocation = player.getWorldLocation();
 
 		for (GroundItem item : plugin.getCollectedGroundItems().values())
 		{
+			// The plugin tracks items on the whole region, so cull far
+			// away items before converting and projecting them
+			if (item.getLocation().distanceTo2D(worldLocation) > MAX_RANGE)
+			{
+				continue;
+			}
+
 			final LocalPoint groundPoint = LocalPoint.fromWorld(client, item.getLocation());
 
 			if (groundPoint == null || localLocation.distanceTo(groundPoint) > MAX_DISTANCE)
@@ -178,8 +191,7 @@ public class GroundItemsOverlay extends Overlay
 			final String itemString = itemStringBuilder.toString();
 			itemStringBuilder.setLength(0);
 
-			final Point textPoint = Perspective.getCanvasTextLocation(client,
-				graphics,
+			final Point textPoint = projector.getCanvasTextLocation(graphics,
 				groundPoint,
 				itemString,
 				item.getHeight() + OFFSET_Z);
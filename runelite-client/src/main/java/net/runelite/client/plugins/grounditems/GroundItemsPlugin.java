@@ -37,14 +37,13 @@ import java.awt.Rectangle;
 import static java.lang.Boolean.TRUE;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 import java.util.regex.Pattern;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import lombok.AccessLevel;
@@ -58,12 +57,11 @@ import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemID;
 import net.runelite.api.ItemLayer;
 import net.runelite.api.MenuAction;
-import net.runelite.api.MenuEntry;
 import net.runelite.api.Node;
 import net.runelite.api.Player;
 import net.runelite.api.Region;
 import net.runelite.api.Tile;
-import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.ConfigChanged;
 import net.runelite.api.events.FocusChanged;
 import net.runelite.api.events.GameStateChanged;
@@ -89,10 +87,6 @@ import net.runelite.http.api.item.ItemPrice;
 @Slf4j
 public class GroundItemsPlugin extends Plugin
 {
-	//Size of one region
-	private static final int REGION_SIZE = 104;
-	// The max distance in tiles between the player and the item.
-	private static final int MAX_RANGE = 18;
 	// Used when getting High Alchemy value - multiplied by general store price.
 	private static final float HIGH_ALCHEMY_CONSTANT = 0.6f;
 	// ItemID for coins
@@ -110,7 +104,6 @@ public class GroundItemsPlugin extends Plugin
 
 	private List<String> hiddenItemList = new ArrayList<>();
 	private List<String> highlightedItemsList = new ArrayList<>();
-	private boolean dirty;
 
 	@Inject
 	private GroundItemInputListener inputListener;
@@ -135,21 +128,18 @@ public class GroundItemsPlugin extends Plugin
 
 	@Getter
 	private final Map<GroundItem.GroundItemKey, GroundItem> collectedGroundItems = new LinkedHashMap<>();
-	private final List<GroundItem> groundItems = new ArrayList<>();
 	private LoadingCache<String, Boolean> highlightedItems;
 	private LoadingCache<String, Boolean> hiddenItems;
 
-	// Collects similar ground items
-	private final Collector<GroundItem, ?, Map<GroundItem.GroundItemKey, GroundItem>> groundItemMapCollector = Collectors
-		.toMap
-			((item) -> new GroundItem.GroundItemKey(item.getItemId(), item.getLocation()), Function.identity(), (a, b) ->
-				{
-					b.setHaPrice(a.getHaPrice() + b.getHaPrice());
-					b.setGePrice(a.getGePrice() + b.getGePrice());
-					b.setQuantity(a.getQuantity() + b.getQuantity());
-					return b;
-				},
-				() -> collectedGroundItems);
+	// Grouped ground items on each tile of the region, on every plane
+	private final Map<Tile, List<GroundItem>> tileItems = new HashMap<>();
+	// Tiles whose item layer changed since the last check
+	private final Set<Tile> dirtyTiles = new HashSet<>();
+	// Item metadata by item id, so building ground items does not need a composition lookup
+	private final Map<Integer, GroundItemData> itemData = new HashMap<>();
+	// Plane the collected ground items are from, or -1 if they need to be rebuilt
+	private int collectedPlane = -1;
+	private boolean rescan;
 
 	@Provides
 	GroundItemsConfig provideConfig(ConfigManager configManager)
@@ -167,6 +157,7 @@ public class GroundItemsPlugin extends Plugin
 	protected void startUp()
 	{
 		reset();
+		rescan = true;
 		mouseManager.registerMouseListener(inputListener);
 		keyManager.registerKeyListener(inputListener);
 	}
@@ -176,8 +167,11 @@ public class GroundItemsPlugin extends Plugin
 	{
 		mouseManager.unregisterMouseListener(inputListener);
 		keyManager.unregisterKeyListener(inputListener);
-		groundItems.clear();
 		collectedGroundItems.clear();
+		tileItems.clear();
+		dirtyTiles.clear();
+		itemData.clear();
+		collectedPlane = -1;
 		highlightedItems.invalidateAll();
 		highlightedItems = null;
 		hiddenItems.invalidateAll();
@@ -200,104 +194,191 @@ public class GroundItemsPlugin extends Plugin
 	{
 		if (event.getGameState() == GameState.LOGGED_IN)
 		{
-			dirty = true;
+			// Item layers are not reported while the region loads
+			rescan = true;
 		}
 	}
 
 	@Subscribe
 	public void onItemLayerChanged(ItemLayerChanged event)
 	{
-		dirty = true;
+		dirtyTiles.add(event.getTile());
 	}
 
 	void checkItems()
 	{
 		final Player player = client.getLocalPlayer();
 
-		if (!dirty || player == null || client.getViewportWidget() == null)
+		if (player == null || client.getViewportWidget() == null)
 		{
 			return;
 		}
 
-		dirty = false;
+		if (rescan)
+		{
+			rescan = false;
+			dirtyTiles.clear();
+			tileItems.clear();
+			collectedPlane = -1;
 
-		final Region region = client.getRegion();
-		final Tile[][][] tiles = region.getTiles();
-		final int z = client.getPlane();
-		final LocalPoint from = player.getLocalLocation();
+			for (Tile[][] planeTiles : client.getRegion().getTiles())
+			{
+				for (Tile[] column : planeTiles)
+				{
+					for (Tile tile : column)
+					{
+						if (tile != null)
+						{
+							updateTile(tile);
+						}
+					}
+				}
+			}
+		}
 
-		final int lowerX = Math.max(0, from.getRegionX() - MAX_RANGE);
-		final int lowerY = Math.max(0, from.getRegionY() - MAX_RANGE);
+		if (!dirtyTiles.isEmpty())
+		{
+			for (Tile tile : dirtyTiles)
+			{
+				final List<GroundItem> previous = updateTile(tile);
 
-		final int upperX = Math.min(from.getRegionX() + MAX_RANGE, REGION_SIZE - 1);
-		final int upperY = Math.min(from.getRegionY() + MAX_RANGE, REGION_SIZE - 1);
+				if (tile.getPlane() == collectedPlane)
+				{
+					if (previous != null)
+					{
+						removeCollected(previous);
+					}
 
-		groundItems.clear();
+					addCollected(tileItems.get(tile));
+				}
+			}
+
+			dirtyTiles.clear();
+		}
 
-		for (int x = lowerX; x <= upperX; ++x)
+		final int plane = client.getPlane();
+		if (plane != collectedPlane)
 		{
-			for (int y = lowerY; y <= upperY; ++y)
+			collectedPlane = plane;
+			collectedGroundItems.clear();
+
+			for (Map.Entry<Tile, List<GroundItem>> entry : tileItems.entrySet())
 			{
-				Tile tile = tiles[z][x][y];
-				if (tile == null)
+				if (entry.getKey().getPlane() == plane)
 				{
-					continue;
+					addCollected(entry.getValue());
 				}
+			}
+		}
+	}
 
-				ItemLayer itemLayer = tile.getItemLayer();
-				if (itemLayer == null)
-				{
-					continue;
-				}
+	/**
+	 * Rebuild the grouped ground items of a tile
+	 *
+	 * @return the previous ground items of the tile
+	 */
+	@Nullable
+	private List<GroundItem> updateTile(final Tile tile)
+	{
+		final ItemLayer itemLayer = tile.getItemLayer();
+		if (itemLayer == null)
+		{
+			return tileItems.remove(tile);
+		}
 
-				Node current = itemLayer.getBottom();
+		final WorldPoint location = tile.getWorldLocation();
+		final List<GroundItem> items = new ArrayList<>();
+		Node current = itemLayer.getBottom();
 
-				// adds the items on the ground to the ArrayList to be drawn
-				while (current instanceof Item)
-				{
-					final Item item = (Item) current;
+		while (current instanceof Item)
+		{
+			final Item item = (Item) current;
 
-					// Continue iteration
-					current = current.getNext();
+			// Continue iteration
+			current = current.getNext();
 
-					// Build ground item
-					final GroundItem groundItem = buildGroundItem(tile, item);
+			final GroundItem groundItem = buildGroundItem(location, item);
+			groundItem.setHeight(itemLayer.getHeight());
+			items.add(groundItem);
+		}
 
-					if (groundItem != null)
-					{
-						groundItem.setHeight(itemLayer.getHeight());
-						groundItems.add(groundItem);
-					}
-				}
+		if (items.isEmpty())
+		{
+			return tileItems.remove(tile);
+		}
+
+		// Group similar ground items together, ordered from the top of the pile
+		final List<GroundItem> grouped = new ArrayList<>(items.size());
+		for (final GroundItem groundItem : Lists.reverse(items))
+		{
+			final GroundItem existing = findItem(grouped, groundItem.getItemId());
+			if (existing != null)
+			{
+				existing.setHaPrice(existing.getHaPrice() + groundItem.getHaPrice());
+				existing.setGePrice(existing.getGePrice() + groundItem.getGePrice());
+				existing.setQuantity(existing.getQuantity() + groundItem.getQuantity());
+			}
+			else
+			{
+				grouped.add(groundItem);
 			}
 		}
 
-		// Group ground items together and sort them properly
-		collectedGroundItems.clear();
-		Lists.reverse(groundItems).stream().collect(groundItemMapCollector);
+		return tileItems.put(tile, grouped);
 	}
 
 	@Nullable
-	private GroundItem buildGroundItem(final Tile tile, final Item item)
+	private static GroundItem findItem(final List<GroundItem> items, final int itemId)
+	{
+		for (final GroundItem item : items)
+		{
+			if (item.getItemId() == itemId)
+			{
+				return item;
+			}
+		}
+
+		return null;
+	}
+
+	private void addCollected(@Nullable final List<GroundItem> items)
+	{
+		if (items == null)
+		{
+			return;
+		}
+
+		for (final GroundItem item : items)
+		{
+			collectedGroundItems.put(new GroundItem.GroundItemKey(item.getItemId(), item.getLocation()), item);
+		}
+	}
+
+	private void removeCollected(final List<GroundItem> items)
+	{
+		for (final GroundItem item : items)
+		{
+			collectedGroundItems.remove(new GroundItem.GroundItemKey(item.getItemId(), item.getLocation()));
+		}
+	}
+
+	private GroundItem buildGroundItem(final WorldPoint location, final Item item)
 	{
 		// Collect the data for the item
 		final int itemId = item.getId();
-		final ItemComposition itemComposition = itemManager.getItemComposition(itemId);
-		final int realItemId = itemComposition.getNote() != -1 ? itemComposition.getLinkedNoteId() : itemId;
-		final int alchPrice = Math.round(itemComposition.getPrice() * HIGH_ALCHEMY_CONSTANT);
+		final GroundItemData data = itemData.computeIfAbsent(itemId, this::loadItemData);
 
 		final GroundItem groundItem = GroundItem.builder()
 			.id(itemId)
-			.location(tile.getWorldLocation())
-			.itemId(realItemId)
+			.location(location)
+			.itemId(data.getRealItemId())
 			.quantity(item.getQuantity())
-			.name(itemComposition.getName())
-			.haPrice(alchPrice * item.getQuantity())
+			.name(data.getName())
+			.haPrice(data.getHaPrice() * item.getQuantity())
 			.build();
 
-
 		// Update item price in case it is coins
-		if (realItemId == COINS)
+		if (data.getRealItemId() == COINS)
 		{
 			groundItem.setHaPrice(groundItem.getQuantity());
 			groundItem.setGePrice(groundItem.getQuantity());
@@ -306,6 +387,14 @@ public class GroundItemsPlugin extends Plugin
 		return groundItem;
 	}
 
+	private GroundItemData loadItemData(final int itemId)
+	{
+		final ItemComposition itemComposition = itemManager.getItemComposition(itemId);
+		final int realItemId = itemComposition.getNote() != -1 ? itemComposition.getLinkedNoteId() : itemId;
+		final int alchPrice = Math.round(itemComposition.getPrice() * HIGH_ALCHEMY_CONSTANT);
+		return new GroundItemData(realItemId, itemComposition.getName(), alchPrice);
+	}
+
 	private void reset()
 	{
 		Splitter COMMA_SPLITTER = Splitter.on(Pattern.compile("\\s*,\\s*"));
@@ -325,8 +414,6 @@ public class GroundItemsPlugin extends Plugin
 			.maximumSize(512L)
 			.expireAfterAccess(10, TimeUnit.MINUTES)
 			.build(new WildcardMatchLoader(hiddenItemList));
-
-		dirty = true;
 	}
 
 	private ItemPrice getItemPrice(ItemComposition itemComposition)
@@ -364,8 +451,9 @@ public class GroundItemsPlugin extends Plugin
 				return;
 			}
 
-			MenuEntry[] menuEntries = client.getMenuEntries();
-			MenuEntry lastEntry = menuEntries[menuEntries.length - 1];
+			final String[] menuOptions = client.getMenuOptions();
+			final String[] menuTargets = client.getMenuTargets();
+			final int last = client.getMenuOptionCount() - 1;
 
 			int quantity = 1;
 			Node current = itemLayer.getBottom();
@@ -393,22 +481,20 @@ public class GroundItemsPlugin extends Plugin
 
 				if (mode == BOTH || mode == OPTION)
 				{
-					lastEntry.setOption(colTag + "Take");
+					menuOptions[last] = colTag + "Take";
 				}
 
 				if (mode == BOTH || mode == NAME)
 				{
-					String target = lastEntry.getTarget().substring(lastEntry.getTarget().indexOf(">") + 1);
-					lastEntry.setTarget(colTag + target);
+					String target = menuTargets[last].substring(menuTargets[last].indexOf(">") + 1);
+					menuTargets[last] = colTag + target;
 				}
 			}
 
 			if (config.showMenuItemQuantities() && itemComposition.isStackable() && quantity > 1)
 			{
-				lastEntry.setTarget(lastEntry.getTarget() + " (" + quantity + ")");
+				menuTargets[last] = menuTargets[last] + " (" + quantity + ")";
 			}
-
-			client.setMenuEntries(menuEntries);
 		}
 	}
 
@@ -32,11 +32,11 @@ import net.runelite.client.util.WildcardMatcher;
 
 class WildcardMatchLoader extends CacheLoader<String, Boolean>
 {
-	private final List<String> nameFilters;
+	private final WildcardMatcher matcher;
 
 	WildcardMatchLoader(List<String> nameFilters)
 	{
-		this.nameFilters = nameFilters;
+		this.matcher = WildcardMatcher.compile(nameFilters);
 	}
 
 	@Override
@@ -47,16 +47,6 @@ class WildcardMatchLoader extends CacheLoader<String, Boolean>
 			return false;
 		}
 
-		final String filteredName = key.trim();
-
-		for (final String filter : nameFilters)
-		{
-			if (WildcardMatcher.matches(filter, filteredName))
-			{
-				return true;
-			}
-		}
-
-		return false;
+		return matcher.matches(key.trim());
 	}
 }
@@ -27,11 +27,10 @@ package net.runelite.client.plugins.groundmarkers;
 
 import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.awt.Polygon;
 import java.util.List;
 import javax.inject.Inject;
 import net.runelite.api.Client;
-import net.runelite.api.Perspective;
+import net.runelite.api.Projector;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.ui.overlay.Overlay;
@@ -45,13 +44,21 @@ public class GroundMarkerOverlay extends Overlay
 	private final Client client;
 	private final GroundMarkerConfig config;
 	private final GroundMarkerPlugin plugin;
+	private final Projector projector;
+
+	// local coordinates of the marked tiles and their projected corners, reused between frames
+	private int[] localX = new int[0];
+	private int[] localY = new int[0];
+	private int[] canvasX = new int[0];
+	private int[] canvasY = new int[0];
 
 	@Inject
-	private GroundMarkerOverlay(Client client, GroundMarkerConfig config, GroundMarkerPlugin plugin)
+	private GroundMarkerOverlay(Client client, GroundMarkerConfig config, GroundMarkerPlugin plugin, Projector projector)
 	{
 		this.client = client;
 		this.config = config;
 		this.plugin = plugin;
+		this.projector = projector;
 		setPosition(OverlayPosition.DYNAMIC);
 		setPriority(OverlayPriority.HIGH);
 		setLayer(OverlayLayer.UNDER_WIDGETS);
@@ -61,40 +68,45 @@ public class GroundMarkerOverlay extends Overlay
 	public Dimension render(Graphics2D graphics)
 	{
 		List<WorldPoint> points = plugin.getPoints();
-		for (WorldPoint point : points)
+		if (points.isEmpty())
 		{
-			if (point.getPlane() != client.getPlane())
-			{
-				continue;
-			}
-
-			drawTile(graphics, point);
+			return null;
 		}
 
-		return null;
-	}
+		if (localX.length < points.size())
+		{
+			localX = new int[points.size()];
+			localY = new int[points.size()];
+			canvasX = new int[points.size() * 4];
+			canvasY = new int[points.size() * 4];
+		}
 
-	private void drawTile(Graphics2D graphics, WorldPoint point)
-	{
 		WorldPoint playerLocation = client.getLocalPlayer().getWorldLocation();
+		int count = 0;
 
-		if (point.distanceTo(playerLocation) >= 32)
+		for (WorldPoint point : points)
 		{
-			return;
-		}
+			if (point.getPlane() != client.getPlane() || point.distanceTo(playerLocation) >= 32)
+			{
+				continue;
+			}
 
-		LocalPoint lp = LocalPoint.fromWorld(client, point);
-		if (lp == null)
-		{
-			return;
+			LocalPoint lp = LocalPoint.fromWorld(client, point);
+			if (lp == null)
+			{
+				continue;
+			}
+
+			localX[count] = lp.getX();
+			localY[count] = lp.getY();
+			++count;
 		}
 
-		Polygon poly = Perspective.getCanvasTilePoly(client, lp);
-		if (poly == null)
+		if (projector.projectTiles(count, localX, localY, 1, canvasX, canvasY) > 0)
 		{
-			return;
+			OverlayUtil.renderTiles(graphics, count, canvasX, canvasY, config.markerColor());
 		}
 
-		OverlayUtil.renderPolygon(graphics, poly, config.markerColor());
+		return null;
 	}
-}
\ No newline at end of file
+}
@@ -31,7 +31,6 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.google.inject.Provides;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -258,16 +257,13 @@ public class GroundMarkerPlugin extends Plugin
 	{
 		if (hotKeyPressed && event.getOption().equals(WALK_HERE))
 		{
-			MenuEntry[] menuEntries = client.getMenuEntries();
-			menuEntries = Arrays.copyOf(menuEntries, menuEntries.length + 1);
-
-			MenuEntry menuEntry = menuEntries[menuEntries.length - 1] = new MenuEntry();
+			MenuEntry menuEntry = new MenuEntry();
 
 			menuEntry.setOption(MARK);
 			menuEntry.setTarget(event.getTarget());
 			menuEntry.setType(MenuAction.CANCEL.getId());
 
-			client.setMenuEntries(menuEntries);
+			client.insertMenuEntry(client.getMenuOptionCount(), menuEntry);
 		}
 	}
 
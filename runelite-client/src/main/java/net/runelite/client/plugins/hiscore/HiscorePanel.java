@@ -63,6 +63,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.Experience;
 import net.runelite.api.Player;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.ui.PluginPanel;
 import net.runelite.client.util.StackFormatter;
 import net.runelite.http.api.hiscore.HiscoreClient;
@@ -120,6 +121,7 @@ public class HiscorePanel extends PluginPanel
 	));
 
 	@Inject
+	@NetworkExecutor
 	ScheduledExecutorService executor;
 
 	@Inject
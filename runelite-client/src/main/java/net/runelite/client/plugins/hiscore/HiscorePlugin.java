@@ -25,7 +25,6 @@
 package net.runelite.client.plugins.hiscore;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ObjectArrays;
 import com.google.common.eventbus.Subscribe;
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
@@ -46,10 +45,10 @@ import net.runelite.client.config.ConfigManager;
 import net.runelite.client.menus.MenuManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.PluginToolbar;
 import net.runelite.client.util.Text;
-import org.apache.commons.lang3.ArrayUtils;
 
 @PluginDescriptor(
 	name = "HiScore",
@@ -73,6 +72,7 @@ public class HiscorePlugin extends Plugin
 	private MenuManager menuManager;
 
 	@Inject
+	@NetworkExecutor
 	private ScheduledExecutorService executor;
 
 	@Inject
@@ -190,23 +190,11 @@ public class HiscorePlugin extends Plugin
 			lookup.setParam0(event.getActionParam0());
 			lookup.setParam1(event.getActionParam1());
 
-			insertMenuEntry(lookup, client.getMenuEntries(), after);
+			final int count = client.getMenuOptionCount();
+			client.insertMenuEntry(after ? count - 1 : count, lookup);
 		}
 	}
 
-	private void insertMenuEntry(MenuEntry newEntry, MenuEntry[] entries, boolean after)
-	{
-		MenuEntry[] newMenu = ObjectArrays.concat(entries, newEntry);
-
-		if (after)
-		{
-			int menuEntryCount = newMenu.length;
-			ArrayUtils.swap(newMenu, menuEntryCount - 1, menuEntryCount - 2);
-		}
-
-		client.setMenuEntries(newMenu);
-	}
-
 	@Subscribe
 	public void onLookupMenuClicked(PlayerMenuOptionClicked event)
 	{
@@ -42,6 +42,7 @@ import net.runelite.api.events.SessionClose;
 import net.runelite.api.events.SessionOpen;
 import net.runelite.client.RuneLiteProperties;
 import net.runelite.client.account.SessionManager;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.PluginPanel;
 import net.runelite.client.util.RunnableExceptionLogger;
@@ -66,6 +67,7 @@ public class InfoPanel extends PluginPanel
 	private SessionManager sessionManager;
 
 	@Inject
+	@NetworkExecutor
 	private ScheduledExecutorService executor;
 
 	private final GroupLayout layout = new GroupLayout(this);
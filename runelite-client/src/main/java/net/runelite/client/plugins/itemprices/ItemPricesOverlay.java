@@ -34,7 +34,6 @@ import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.ItemID;
 import net.runelite.api.MenuAction;
-import net.runelite.api.MenuEntry;
 import net.runelite.api.widgets.WidgetID;
 import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.game.ItemManager;
@@ -79,17 +78,15 @@ class ItemPricesOverlay extends Overlay
 			return null;
 		}
 
-		final MenuEntry[] menuEntries = client.getMenuEntries();
-		final int last = menuEntries.length - 1;
+		final int last = client.getMenuOptionCount() - 1;
 
 		if (last < 0)
 		{
 			return null;
 		}
 
-		final MenuEntry menuEntry = menuEntries[last];
-		final MenuAction action = MenuAction.of(menuEntry.getType());
-		final int widgetId = menuEntry.getParam1();
+		final MenuAction action = MenuAction.of(client.getMenuTypes()[last]);
+		final int widgetId = client.getMenuActionParams1()[last];
 		final int groupId = WidgetInfo.TO_GROUP(widgetId);
 
 		// Tooltip action type handling
@@ -114,7 +111,7 @@ class ItemPricesOverlay extends Overlay
 					case WidgetID.BANK_GROUP_ID:
 					case WidgetID.BANK_INVENTORY_GROUP_ID:
 						// Make tooltip
-						final String text = makeValueTooltip(menuEntry);
+						final String text = makeValueTooltip(widgetId, client.getMenuActionParams0()[last]);
 						if (text != null)
 						{
 							tooltipManager.add(new Tooltip("<col=eeeeee>" + text));
@@ -126,7 +123,7 @@ class ItemPricesOverlay extends Overlay
 		return null;
 	}
 
-	private String makeValueTooltip(MenuEntry menuEntry)
+	private String makeValueTooltip(int widgetId, int index)
 	{
 		// Disabling both disables all value tooltips
 		if (!config.showGEPrice() && !config.showHAValue())
@@ -134,7 +131,6 @@ class ItemPricesOverlay extends Overlay
 			return null;
 		}
 
-		final int widgetId = menuEntry.getParam1();
 		ItemContainer container = null;
 
 		// Inventory item
@@ -155,7 +151,6 @@ class ItemPricesOverlay extends Overlay
 
 		// Find the item in the container to get stack size
 		final Item[] items = container.getItems();
-		final int index = menuEntry.getParam0();
 		if (index < items.length)
 		{
 			final Item item = items[index];
@@ -37,9 +37,11 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import net.runelite.api.Client;
+import net.runelite.api.NPC;
 import net.runelite.api.Perspective;
 import net.runelite.api.Player;
 import net.runelite.api.Point;
+import net.runelite.api.SceneIndex;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.ui.overlay.Overlay;
@@ -57,12 +59,14 @@ public class KourendLibraryOverlay extends Overlay
 
 	private final Library library;
 	private final Client client;
+	private final SceneIndex sceneIndex;
 
 	@Inject
-	KourendLibraryOverlay(Library library, Client client)
+	KourendLibraryOverlay(Library library, Client client, SceneIndex sceneIndex)
 	{
 		this.library = library;
 		this.client = client;
+		this.sceneIndex = sceneIndex;
 
 		setPosition(OverlayPosition.DYNAMIC);
 		setLayer(OverlayLayer.ABOVE_SCENE);
@@ -211,20 +215,18 @@ public class KourendLibraryOverlay extends Overlay
 		LibraryCustomer customer = library.getCustomer();
 		if (customer != null)
 		{
-			client.getNpcs().stream()
-				.filter(n -> n.getId() == customer.getId())
-				.forEach(n ->
+			for (NPC n : sceneIndex.getNpcs(customer.getId()))
+			{
+				Book b = library.getCustomerBook();
+				LocalPoint local = n.getLocalLocation();
+				Polygon poly = getCanvasTilePoly(client, local);
+				OverlayUtil.renderPolygon(g, poly, Color.WHITE);
+				Point screen = Perspective.worldToCanvas(client, local.getX(), local.getY(), client.getPlane(), n.getLogicalHeight());
+				if (screen != null)
 				{
-					Book b = library.getCustomerBook();
-					LocalPoint local = n.getLocalLocation();
-					Polygon poly = getCanvasTilePoly(client, local);
-					OverlayUtil.renderPolygon(g, poly, Color.WHITE);
-					Point screen = Perspective.worldToCanvas(client, local.getX(), local.getY(), client.getPlane(), n.getLogicalHeight());
-					if (screen != null)
-					{
-						g.drawImage(b.getIcon(), screen.getX() - (b.getIcon().getWidth() / 2), screen.getY() - b.getIcon().getHeight(), null);
-					}
-				});
+					g.drawImage(b.getIcon(), screen.getX() - (b.getIcon().getWidth() / 2), screen.getY() - b.getIcon().getHeight(), null);
+				}
+			}
 		}
 
 		return null;
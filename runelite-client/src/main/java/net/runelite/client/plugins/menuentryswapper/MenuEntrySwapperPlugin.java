@@ -464,13 +464,12 @@ public class MenuEntrySwapperPlugin extends Plugin
 		}
 	}
 
-	private int searchIndex(MenuEntry[] entries, String option, String target, boolean strict)
+	private int searchIndex(String option, String target, boolean strict)
 	{
-		for (int i = entries.length - 1; i >= 0; i--)
+		for (int i = client.getMenuOptionCount() - 1; i >= 0; i--)
 		{
-			MenuEntry entry = entries[i];
-			String entryOption = Text.removeTags(entry.getOption()).toLowerCase();
-			String entryTarget = Text.removeTags(entry.getTarget()).toLowerCase();
+			String entryOption = menuManager.getMenuOptionKey(i);
+			String entryTarget = menuManager.getMenuTargetKey(i);
 
 			if (strict)
 			{
@@ -493,18 +492,12 @@ public class MenuEntrySwapperPlugin extends Plugin
 
 	private void swap(String optionA, String optionB, String target, boolean strict)
 	{
-		MenuEntry[] entries = client.getMenuEntries();
-
-		int idxA = searchIndex(entries, optionA, target, strict);
-		int idxB = searchIndex(entries, optionB, target, strict);
+		int idxA = searchIndex(optionA, target, strict);
+		int idxB = searchIndex(optionB, target, strict);
 
 		if (idxA >= 0 && idxB >= 0)
 		{
-			MenuEntry entry = entries[idxA];
-			entries[idxA] = entries[idxB];
-			entries[idxB] = entry;
-
-			client.setMenuEntries(entries);
+			menuManager.swapMenuEntries(idxA, idxB);
 		}
 	}
 
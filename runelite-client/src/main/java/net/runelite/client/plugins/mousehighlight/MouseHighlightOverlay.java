@@ -29,7 +29,6 @@ import java.awt.Dimension;
 import java.awt.Graphics2D;
 import javax.inject.Inject;
 import net.runelite.api.Client;
-import net.runelite.api.MenuEntry;
 import net.runelite.api.VarClientInt;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
@@ -61,17 +60,15 @@ class MouseHighlightOverlay extends Overlay
 			return null;
 		}
 
-		MenuEntry[] menuEntries = client.getMenuEntries();
-		int last = menuEntries.length - 1;
+		int last = client.getMenuOptionCount() - 1;
 
 		if (last < 0)
 		{
 			return null;
 		}
 
-		MenuEntry menuEntry = menuEntries[last];
-		String target = menuEntry.getTarget();
-		String option = menuEntry.getOption();
+		String target = client.getMenuTargets()[last];
+		String option = client.getMenuOptions()[last];
 
 		if (Strings.isNullOrEmpty(option))
 		{
@@ -93,7 +90,7 @@ class MouseHighlightOverlay extends Overlay
 				}
 		}
 
-		final int widgetId = menuEntry.getParam1();
+		final int widgetId = client.getMenuActionParams1()[last];
 		final int groupId = WidgetInfo.TO_GROUP(widgetId);
 		final int childId = WidgetInfo.TO_CHILD(widgetId);
 		final Widget widget = client.getWidget(groupId, childId);
@@ -27,12 +27,10 @@ package net.runelite.client.plugins.npchighlight;
 
 import com.google.common.eventbus.Subscribe;
 import com.google.inject.Provides;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import javax.inject.Inject;
 import lombok.AccessLevel;
@@ -95,9 +93,9 @@ public class NpcIndicatorsPlugin extends Plugin
 	private final Set<NPC> highlightedNpcs = new HashSet<>();
 
 	/**
-	 * Highlight strings from the configuration
+	 * Highlight patterns from the configuration
 	 */
-	private List<String> highlights = new ArrayList<>();
+	private WildcardMatcher highlights = WildcardMatcher.compile(Collections.emptyList());
 
 	private boolean hotKeyPressed = false;
 
@@ -142,14 +140,13 @@ public class NpcIndicatorsPlugin extends Plugin
 		rebuildNpcs();
 	}
 
-	private List<String> getHighlights()
+	private WildcardMatcher getHighlights()
 	{
 		String configNpcs = config.getNpcToHighlight().toLowerCase();
 		if (configNpcs.isEmpty())
-			return Collections.emptyList();
+			return WildcardMatcher.compile(Collections.emptyList());
 
-		List<String> highlightedNpcs = Arrays.asList(configNpcs.split(DELIMITER_REGEX));
-		return highlightedNpcs;
+		return WildcardMatcher.compile(Arrays.asList(configNpcs.split(DELIMITER_REGEX)));
 	}
 
 	/**
@@ -159,24 +156,14 @@ public class NpcIndicatorsPlugin extends Plugin
 	{
 		highlightedNpcs.clear();
 
-		for (NPC npc : client.getNpcs())
+		client.forEachNpc(npc ->
 		{
 			String npcName = npc.getName();
-
-			if (npcName == null)
-			{
-				continue;
-			}
-
-			for (String highlight : highlights)
+			if (npcName != null && highlights.matches(npcName))
 			{
-				if (WildcardMatcher.matches(highlight, npcName))
-				{
-					highlightedNpcs.add(npc);
-					break;
-				}
+				highlightedNpcs.add(npc);
 			}
-		}
+		});
 	}
 
 	@Subscribe
@@ -201,16 +188,9 @@ public class NpcIndicatorsPlugin extends Plugin
 	{
 		NPC npc = npcSpawned.getNpc();
 		String npcName = npc.getName();
-		if (npcName != null)
+		if (npcName != null && highlights.matches(npcName))
 		{
-			for (String highlight : highlights)
-			{
-				if (WildcardMatcher.matches(highlight, npcName))
-				{
-					highlightedNpcs.add(npc);
-					break;
-				}
-			}
+			highlightedNpcs.add(npc);
 		}
 	}
 
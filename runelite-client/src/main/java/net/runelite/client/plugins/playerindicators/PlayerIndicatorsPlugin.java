@@ -45,7 +45,6 @@ import static net.runelite.api.MenuAction.PLAYER_SIXTH_OPTION;
 import static net.runelite.api.MenuAction.PLAYER_THIRD_OPTION;
 import static net.runelite.api.MenuAction.SPELL_CAST_ON_PLAYER;
 import static net.runelite.api.MenuAction.TRADE;
-import net.runelite.api.MenuEntry;
 import net.runelite.api.Player;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.client.config.ConfigManager;
@@ -150,28 +149,26 @@ public class PlayerIndicatorsPlugin extends Plugin
 
 			if (image != -1 || color != null)
 			{
-				MenuEntry[] menuEntries = client.getMenuEntries();
-				MenuEntry lastEntry = menuEntries[menuEntries.length - 1];
+				final String[] menuTargets = client.getMenuTargets();
+				final int last = client.getMenuOptionCount() - 1;
 
 				if (color != null && config.colorPlayerMenu())
 				{
 					// strip out existing <col...
-					String target = lastEntry.getTarget();
+					String target = menuTargets[last];
 					int idx = target.indexOf('>');
 					if (idx != -1)
 					{
 						target = target.substring(idx + 1);
 					}
 
-					lastEntry.setTarget("<col=" + Integer.toHexString(color.getRGB() & 0xFFFFFF) + ">" + target);
+					menuTargets[last] = "<col=" + Integer.toHexString(color.getRGB() & 0xFFFFFF) + ">" + target;
 				}
 
 				if (image != -1 && config.showClanRanks())
 				{
-					lastEntry.setTarget("<img=" + image + ">" + lastEntry.getTarget());
+					menuTargets[last] = "<img=" + image + ">" + menuTargets[last];
 				}
-
-				client.setMenuEntries(menuEntries);
 			}
 		}
 	}
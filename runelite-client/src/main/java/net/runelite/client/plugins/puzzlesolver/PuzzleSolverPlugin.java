@@ -31,6 +31,7 @@ import javax.inject.Inject;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.task.ComputeExecutor;
 
 @PluginDescriptor(
 	name = "Puzzle Solver"
@@ -41,6 +42,7 @@ public class PuzzleSolverPlugin extends Plugin
 	private PuzzleSolverOverlay puzzleSolverOverlay;
 
 	@Inject
+	@ComputeExecutor
 	private ScheduledExecutorService executorService;
 
 	@Provides
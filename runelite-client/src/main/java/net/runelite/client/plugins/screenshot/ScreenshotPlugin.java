@@ -35,10 +35,12 @@ import java.awt.TrayIcon;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.StringSelection;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
@@ -75,6 +77,8 @@ import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.screenshot.imgur.ImageUploadRequest;
 import net.runelite.client.plugins.screenshot.imgur.ImageUploadResponse;
+import net.runelite.client.task.ComputeExecutor;
+import net.runelite.client.task.DiskExecutor;
 import net.runelite.client.ui.ClientUI;
 import net.runelite.client.ui.DrawManager;
 import net.runelite.client.ui.NavigationButton;
@@ -137,7 +141,12 @@ public class ScreenshotPlugin extends Plugin
 	private ScreenshotInput inputListener;
 
 	@Inject
-	private ScheduledExecutorService executor;
+	@ComputeExecutor
+	private ScheduledExecutorService computeExecutor;
+
+	@Inject
+	@DiskExecutor
+	private ScheduledExecutorService diskExecutor;
 
 	@Inject
 	private KeyManager keyManager;
@@ -446,27 +455,24 @@ public class ScreenshotPlugin extends Plugin
 
 			playerFolder.mkdirs();
 
-			executor.execute(() ->
+			// Encoding the PNG is CPU bound, so only the file write is left
+			// to the disk executor
+			computeExecutor.execute(() ->
 			{
+				final byte[] png;
 				try
 				{
-					File screenshotFile = new File(playerFolder, fileName + ".png");
-
-					ImageIO.write(screenshot, "PNG", screenshotFile);
-
-					if (config.uploadScreenshot())
-					{
-						uploadScreenshot(screenshotFile);
-					}
-					else if (config.notifyWhenTaken())
-					{
-						notifier.notify("A screenshot was saved to " + screenshotFile, TrayIcon.MessageType.INFO);
-					}
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					ImageIO.write(screenshot, "PNG", out);
+					png = out.toByteArray();
 				}
 				catch (IOException ex)
 				{
-					log.warn("error writing screenshot", ex);
+					log.warn("error encoding screenshot", ex);
+					return;
 				}
+
+				diskExecutor.execute(() -> saveScreenshot(new File(playerFolder, fileName + ".png"), png));
 			});
 		};
 
@@ -480,6 +486,34 @@ public class ScreenshotPlugin extends Plugin
 		}
 	}
 
+	/**
+	 * Writes an encoded screenshot to disk, and uploads it or notifies the
+	 * user depending on the config.
+	 *
+	 * @param screenshotFile File to write the screenshot to.
+	 * @param png            The screenshot encoded as a PNG.
+	 */
+	private void saveScreenshot(File screenshotFile, byte[] png)
+	{
+		try
+		{
+			Files.write(screenshotFile.toPath(), png);
+
+			if (config.uploadScreenshot())
+			{
+				uploadScreenshot(screenshotFile);
+			}
+			else if (config.notifyWhenTaken())
+			{
+				notifier.notify("A screenshot was saved to " + screenshotFile, TrayIcon.MessageType.INFO);
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("error writing screenshot", ex);
+		}
+	}
+
 	/**
 	 * Uploads a screenshot to the Imgur image-hosting service,
 	 * and copies the image link to the clipboard.
@@ -36,7 +36,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.inject.Inject;
@@ -134,6 +136,12 @@ public class SlayerPlugin extends Plugin
 	@Getter(AccessLevel.PACKAGE)
 	private List<NPC> highlightedTargets = new ArrayList<>();
 
+	/**
+	 * Whether the npcs seen for the current task are targets, by npc id and
+	 * transformed composition id
+	 */
+	private final Map<Long, Boolean> targets = new HashMap<>();
+
 	@Getter(AccessLevel.PACKAGE)
 	private Collection<WidgetItem> slayerItems = Collections.emptyList();
 
@@ -463,6 +471,7 @@ public class SlayerPlugin extends Plugin
 	private void setTask(String name, int amt)
 	{
 		taskName = name.toLowerCase();
+		targets.clear();
 		amount = amt;
 		save();
 		removeCounter();
@@ -509,31 +518,43 @@ public class SlayerPlugin extends Plugin
 			return Collections.EMPTY_LIST;
 
 		List<NPC> npcs = new ArrayList<>();
-		List<String> highlightedNpcs = new ArrayList<>(Arrays.asList(Task.getTask(taskName).getTargetNames()));
-		highlightedNpcs.add(taskName.replaceAll("s$", ""));
-
-		for (NPC npc : client.getNpcs())
+		client.forEachNpc(npc ->
 		{
 			NPCComposition composition = getComposition(npc);
 
 			if (composition == null || composition.getName() == null)
-				continue;
+				return;
 
-			String name = npc.getName();
-			for (String highlight : highlightedNpcs)
+			long key = (long) npc.getId() << 32 | composition.getId();
+			if (targets.computeIfAbsent(key, k -> isTarget(npc.getName(), composition)))
 			{
-				if (name.toLowerCase().contains(highlight.toLowerCase())
-					&& Arrays.asList(composition.getActions()).contains("Attack"))
-				{
-					npcs.add(npc);
-					break;
-				}
+				npcs.add(npc);
 			}
-		}
+		});
 
 		return npcs;
 	}
 
+	private boolean isTarget(String name, NPCComposition composition)
+	{
+		if (!Arrays.asList(composition.getActions()).contains("Attack"))
+		{
+			return false;
+		}
+
+		List<String> highlightedNpcs = new ArrayList<>(Arrays.asList(Task.getTask(taskName).getTargetNames()));
+		highlightedNpcs.add(taskName.replaceAll("s$", ""));
+
+		for (String highlight : highlightedNpcs)
+		{
+			if (name.toLowerCase().contains(highlight.toLowerCase()))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Get npc composition, account for imposters
 	 *
@@ -28,7 +28,7 @@ import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
 import net.runelite.api.Client;
-import net.runelite.api.Perspective;
+import net.runelite.api.Projector;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
@@ -40,11 +40,13 @@ public class TileIndicatorsOverlay extends Overlay
 {
 	private final Client client;
 	private final TileIndicatorsConfig config;
+	private final Projector projector;
 
-	TileIndicatorsOverlay(Client client, TileIndicatorsConfig config)
+	TileIndicatorsOverlay(Client client, TileIndicatorsConfig config, Projector projector)
 	{
 		this.client = client;
 		this.config = config;
+		this.projector = projector;
 		setPosition(OverlayPosition.DYNAMIC);
 		setLayer(OverlayLayer.ABOVE_SCENE);
 		setPriority(OverlayPriority.LOW);
@@ -59,7 +61,7 @@ public class TileIndicatorsOverlay extends Overlay
 			return null;
 		}
 
-		Polygon poly = Perspective.getCanvasTilePoly(client, dest);
+		Polygon poly = projector.getTilePoly(dest);
 		if (poly == null)
 		{
 			return null;
@@ -27,6 +27,7 @@ package net.runelite.client.plugins.tileindicators;
 import com.google.inject.Provides;
 import javax.inject.Inject;
 import net.runelite.api.Client;
+import net.runelite.api.Projector;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
@@ -44,6 +45,9 @@ public class TileIndicatorsPlugin extends Plugin
 	@Inject
 	private TileIndicatorsConfig config;
 
+	@Inject
+	private Projector projector;
+
 	private TileIndicatorsOverlay tileIndicatorsOverlay;
 
 	@Provides
@@ -55,7 +59,7 @@ public class TileIndicatorsPlugin extends Plugin
 	@Override
 	protected void startUp() throws Exception
 	{
-		tileIndicatorsOverlay = new TileIndicatorsOverlay(client, config);
+		tileIndicatorsOverlay = new TileIndicatorsOverlay(client, config, projector);
 	}
 
 	@Override
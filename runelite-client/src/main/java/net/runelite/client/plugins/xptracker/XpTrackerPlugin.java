@@ -46,6 +46,7 @@ import net.runelite.api.events.GameTick;
 import net.runelite.client.game.SkillIconManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.task.NetworkExecutor;
 import static net.runelite.client.plugins.xptracker.XpWorldType.NORMAL;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.PluginToolbar;
@@ -71,6 +72,7 @@ public class XpTrackerPlugin extends Plugin
 	private SkillIconManager skillIconManager;
 
 	@Inject
+	@NetworkExecutor
 	private ScheduledExecutorService executor;
 
 	private NavigationButton navButton;
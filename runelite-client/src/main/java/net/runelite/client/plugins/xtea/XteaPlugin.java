@@ -35,6 +35,7 @@ import net.runelite.api.Client;
 import net.runelite.api.events.MapRegionChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.task.NetworkExecutor;
 import net.runelite.http.api.xtea.XteaClient;
 import okhttp3.Response;
 
@@ -53,6 +54,7 @@ public class XteaPlugin extends Plugin
 	private Client client;
 
 	@Inject
+	@NetworkExecutor
 	private ScheduledExecutorService executor;
 
 	@Subscribe
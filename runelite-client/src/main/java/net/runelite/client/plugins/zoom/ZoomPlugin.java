@@ -32,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.events.ConfigChanged;
 import net.runelite.api.events.ScriptCallbackEvent;
+import net.runelite.client.callback.ScriptCallbackManager;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
@@ -48,14 +49,16 @@ public class ZoomPlugin extends Plugin
 	@Inject
 	private ZoomConfig zoomConfig;
 
+	@Inject
+	private ScriptCallbackManager scriptCallbackManager;
+
 	@Provides
 	ZoomConfig getConfig(ConfigManager configManager)
 	{
 		return configManager.getConfig(ZoomConfig.class);
 	}
 
-	@Subscribe
-	public void onScriptEvent(ScriptCallbackEvent event)
+	private void onScriptEvent(ScriptCallbackEvent event)
 	{
 		int[] intStack = client.getIntStack();
 		int intStackSize = client.getIntStackSize();
@@ -113,12 +116,17 @@ public class ZoomPlugin extends Plugin
 	protected void startUp()
 	{
 		client.setCameraPitchRelaxerEnabled(zoomConfig.relaxCameraPitch());
+		scriptCallbackManager.register(this, this::onScriptEvent,
+			"fixedOuterZoomLimit", "resizableOuterZoomLimit",
+			"fixedInnerZoomLimit", "resizableInnerZoomLimit",
+			"zoomLinToExp", "zoomExpToLin");
 	}
 
 	@Override
 	protected void shutDown()
 	{
 		client.setCameraPitchRelaxerEnabled(false);
+		scriptCallbackManager.unregister(this);
 	}
 
 	@Subscribe
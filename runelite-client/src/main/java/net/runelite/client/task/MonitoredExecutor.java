@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A fixed size scheduled executor with named threads which records how long
+ * tasks wait in its queue and how long they take to run.
+ */
+@Slf4j
+public class MonitoredExecutor extends ScheduledThreadPoolExecutor
+{
+	private static final long SLOW_TASK_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+	@Getter
+	private final String name;
+
+	private final LongAdder tasksRun = new LongAdder();
+	private final LongAdder totalWaitNanos = new LongAdder();
+	private final LongAdder totalRunNanos = new LongAdder();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final AtomicLong maxRunNanos = new AtomicLong();
+
+	public MonitoredExecutor(String name, int threads)
+	{
+		super(threads, new ThreadFactoryBuilder()
+			.setNameFormat(name + "-%d")
+			.build());
+		this.name = name;
+		setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Number of tasks waiting to run, including delayed tasks which are not yet due
+	 */
+	public int getQueueDepth()
+	{
+		return getQueue().size();
+	}
+
+	public long getTasksRun()
+	{
+		return tasksRun.sum();
+	}
+
+	/**
+	 * Average time tasks spent waiting past their due time before starting, in milliseconds
+	 */
+	public long getAverageWaitTime()
+	{
+		long count = tasksRun.sum();
+		return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / count);
+	}
+
+	public long getMaxWaitTime()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+	}
+
+	/**
+	 * Average time tasks took to run, in milliseconds
+	 */
+	public long getAverageRunTime()
+	{
+		long count = tasksRun.sum();
+		return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunNanos.sum() / count);
+	}
+
+	public long getMaxRunTime()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get());
+	}
+
+	@Override
+	protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task)
+	{
+		return new TimedTask<>(task);
+	}
+
+	@Override
+	protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task)
+	{
+		return new TimedTask<>(task);
+	}
+
+	private void record(long waitNanos, long runNanos)
+	{
+		tasksRun.increment();
+		totalWaitNanos.add(waitNanos);
+		totalRunNanos.add(runNanos);
+		maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+		maxRunNanos.accumulateAndGet(runNanos, Math::max);
+
+		if (runNanos > SLOW_TASK_NANOS)
+		{
+			log.debug("Slow task on {} executor took {}ms", name, TimeUnit.NANOSECONDS.toMillis(runNanos));
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return name + "[threads=" + getPoolSize()
+			+ ", queued=" + getQueueDepth()
+			+ ", run=" + getTasksRun()
+			+ ", avgWait=" + getAverageWaitTime() + "ms"
+			+ ", maxWait=" + getMaxWaitTime() + "ms"
+			+ ", avgRun=" + getAverageRunTime() + "ms"
+			+ ", maxRun=" + getMaxRunTime() + "ms]";
+	}
+
+	private class TimedTask<V> implements RunnableScheduledFuture<V>
+	{
+		private final RunnableScheduledFuture<V> task;
+
+		TimedTask(RunnableScheduledFuture<V> task)
+		{
+			this.task = task;
+		}
+
+		@Override
+		public void run()
+		{
+			// The delay is negative once the task is overdue, which is how long it was queued
+			long wait = Math.max(0, -task.getDelay(TimeUnit.NANOSECONDS));
+			long start = System.nanoTime();
+			try
+			{
+				task.run();
+			}
+			finally
+			{
+				record(wait, System.nanoTime() - start);
+			}
+		}
+
+		@Override
+		public boolean isPeriodic()
+		{
+			return task.isPeriodic();
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit)
+		{
+			return task.getDelay(unit);
+		}
+
+		@Override
+		public int compareTo(Delayed o)
+		{
+			if (o instanceof TimedTask)
+			{
+				return task.compareTo(((TimedTask) o).task);
+			}
+			return task.compareTo(o);
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning)
+		{
+			return task.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled()
+		{
+			return task.isCancelled();
+		}
+
+		@Override
+		public boolean isDone()
+		{
+			return task.isDone();
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException
+		{
+			return task.get();
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+		{
+			return task.get(timeout, unit);
+		}
+	}
+}
@@ -43,6 +43,7 @@ public class Scheduler
 	private final List<ScheduledMethod> scheduledMethods = new CopyOnWriteArrayList<>();
 
 	@Inject
+	@NetworkExecutor
 	ScheduledExecutorService executor;
 
 	public void addScheduledMethod(ScheduledMethod method)
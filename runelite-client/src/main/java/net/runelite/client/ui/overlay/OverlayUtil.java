@@ -32,13 +32,16 @@ import java.awt.Polygon;
 import java.awt.RenderingHints;
 import java.awt.Stroke;
 import java.awt.geom.Area;
+import java.awt.geom.Path2D;
 import java.awt.image.BufferedImage;
 import net.runelite.api.Actor;
 import net.runelite.api.Client;
 import net.runelite.api.Perspective;
 import net.runelite.api.Point;
+import net.runelite.api.Projector;
 import net.runelite.api.TileObject;
 import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.model.MonotoneChain;
 
 
 /**
@@ -57,6 +60,42 @@ public class OverlayUtil
 		graphics.setStroke(originalStroke);
 	}
 
+	/**
+	 * Render tiles projected by {@link Projector#projectTiles}, like
+	 * {@link #renderPolygon(Graphics2D, Polygon, Color)} but as a single shape
+	 *
+	 * @param graphics graphics to draw to
+	 * @param count number of tiles
+	 * @param xs canvas x coordinates of the tile corners
+	 * @param ys canvas y coordinates of the tile corners
+	 * @param color outline color
+	 */
+	public static void renderTiles(Graphics2D graphics, int count, int[] xs, int[] ys, Color color)
+	{
+		final Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, count * 5);
+		for (int i = 0; i < count * 4; i += 4)
+		{
+			if (xs[i] == MonotoneChain.SKIP)
+			{
+				continue;
+			}
+
+			path.moveTo(xs[i], ys[i]);
+			path.lineTo(xs[i + 1], ys[i + 1]);
+			path.lineTo(xs[i + 2], ys[i + 2]);
+			path.lineTo(xs[i + 3], ys[i + 3]);
+			path.closePath();
+		}
+
+		graphics.setColor(color);
+		final Stroke originalStroke = graphics.getStroke();
+		graphics.setStroke(new BasicStroke(2));
+		graphics.draw(path);
+		graphics.setColor(new Color(0, 0, 0, 50));
+		graphics.fill(path);
+		graphics.setStroke(originalStroke);
+	}
+
 	public static void renderMinimapLocation(Graphics2D graphics, Point mini, Color color)
 	{
 		graphics.setColor(Color.BLACK);
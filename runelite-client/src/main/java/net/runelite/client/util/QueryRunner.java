@@ -28,6 +28,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import net.runelite.api.Client;
 import net.runelite.api.Query;
+import net.runelite.client.game.SceneIndexManager;
 
 @Singleton
 public class QueryRunner
@@ -35,9 +36,12 @@ public class QueryRunner
 	@Inject
 	private Client client;
 
+	@Inject
+	private SceneIndexManager sceneIndex;
+
 	@SuppressWarnings("unchecked")
 	public <T> T[] runQuery(Query query)
 	{
-		return (T[]) query.result(client);
+		return (T[]) query.result(client, sceneIndex);
 	}
 }
\ No newline at end of file
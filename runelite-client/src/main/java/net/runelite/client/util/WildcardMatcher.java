@@ -24,34 +24,97 @@
  */
 package net.runelite.client.util;
 
+import java.util.Collection;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Case insensitive matcher for names against patterns where {@code *} matches any
+ * sequence of characters. A list of patterns can be compiled once with
+ * {@link #compile(Collection)} into a single matcher which accepts text matching
+ * any of them.
+ */
 public class WildcardMatcher
 {
 	private static final Pattern WILDCARD_PATTERN = Pattern.compile("(?i)[^*]+|(\\*)");
+	private static final WildcardMatcher NONE = new WildcardMatcher(null);
+
+	/**
+	 * Compiled alternation of all patterns, or null if there are none
+	 */
+	private final Pattern pattern;
+
+	private WildcardMatcher(Pattern pattern)
+	{
+		this.pattern = pattern;
+	}
+
+	/**
+	 * Compile a list of wildcard patterns into a single matcher. Blank patterns
+	 * are ignored, and surrounding whitespace is trimmed from each pattern.
+	 *
+	 * @param patterns patterns to match against
+	 * @return matcher which accepts text matching any of the patterns
+	 */
+	public static WildcardMatcher compile(Collection<String> patterns)
+	{
+		final StringBuilder regex = new StringBuilder();
+
+		for (String pattern : patterns)
+		{
+			if (pattern == null)
+			{
+				continue;
+			}
+
+			pattern = pattern.trim();
+			if (pattern.isEmpty())
+			{
+				continue;
+			}
+
+			regex.append(regex.length() == 0 ? "(?:" : "|(?:");
+			appendRegex(regex, pattern);
+			regex.append(')');
+		}
+
+		if (regex.length() == 0)
+		{
+			return NONE;
+		}
+
+		return new WildcardMatcher(Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE));
+	}
+
+	/**
+	 * Test if the text matches any of the compiled patterns
+	 */
+	public boolean matches(String text)
+	{
+		return pattern != null && text != null && pattern.matcher(text).matches();
+	}
 
 	public static boolean matches(String pattern, String text)
+	{
+		final StringBuilder regex = new StringBuilder();
+		appendRegex(regex, pattern);
+		return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE).matcher(text).matches();
+	}
+
+	private static void appendRegex(StringBuilder regex, String pattern)
 	{
 		final Matcher matcher = WILDCARD_PATTERN.matcher(pattern);
-		final StringBuffer buffer = new StringBuffer();
 
-		buffer.append("(?i)");
 		while (matcher.find())
 		{
 			if (matcher.group(1) != null)
 			{
-				matcher.appendReplacement(buffer, ".*");
+				regex.append(".*");
 			}
 			else
 			{
-				matcher.appendReplacement(buffer, "\\\\Q" + matcher.group(0) + "\\\\E");
+				regex.append(Pattern.quote(matcher.group(0)));
 			}
 		}
-
-		matcher.appendTail(buffer);
-		final String replaced = buffer.toString();
-
-		return text.matches(replaced);
 	}
 }
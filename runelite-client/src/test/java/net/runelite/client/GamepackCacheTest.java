@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.After;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GamepackCacheTest
+{
+	private static final String NAME = "gamepack_1234.jar";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final MockWebServer server = new MockWebServer();
+	private GamepackCache cache;
+	private byte[] gamepack;
+
+	@Before
+	public void before() throws IOException
+	{
+		server.start();
+		cache = new GamepackCache(folder.getRoot(), new OkHttpClient());
+
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (JarOutputStream out = new JarOutputStream(bout))
+		{
+			out.putNextEntry(new JarEntry("client.class"));
+			out.write(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+			out.closeEntry();
+		}
+		gamepack = bout.toByteArray();
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		server.shutdown();
+	}
+
+	@Test
+	public void testRevalidate() throws Exception
+	{
+		server.enqueue(new MockResponse().setHeader("ETag", "\"abc\"").setBody(new Buffer().write(gamepack)));
+		server.enqueue(new MockResponse().setResponseCode(304));
+
+		File first = cache.get(server.url("/" + NAME), NAME);
+		assertArrayEquals(gamepack, Files.readAllBytes(first.toPath()));
+		assertNull(server.takeRequest().getHeader("If-None-Match"));
+
+		File second = cache.get(server.url("/" + NAME), NAME);
+		assertEquals(first, second);
+		assertArrayEquals(gamepack, Files.readAllBytes(second.toPath()));
+
+		RecordedRequest request = server.takeRequest();
+		assertEquals("\"abc\"", request.getHeader("If-None-Match"));
+	}
+
+	@Test
+	public void testCorruptCacheIsRefetched() throws Exception
+	{
+		server.enqueue(new MockResponse().setHeader("ETag", "\"abc\"").setBody(new Buffer().write(gamepack)));
+		server.enqueue(new MockResponse().setHeader("ETag", "\"abc\"").setBody(new Buffer().write(gamepack)));
+
+		File jar = cache.get(server.url("/" + NAME), NAME);
+
+		try (RandomAccessFile file = new RandomAccessFile(jar, "rw"))
+		{
+			file.seek(0);
+			file.write(0);
+		}
+
+		cache.get(server.url("/" + NAME), NAME);
+		server.takeRequest();
+
+		// the corrupt copy must not be revalidated
+		assertNull(server.takeRequest().getHeader("If-None-Match"));
+		assertArrayEquals(gamepack, Files.readAllBytes(jar.toPath()));
+	}
+
+	@Test
+	public void testUsesCacheWhenOffline() throws Exception
+	{
+		server.enqueue(new MockResponse().setBody(new Buffer().write(gamepack)));
+		File jar = cache.get(server.url("/" + NAME), NAME);
+		server.shutdown();
+
+		File offline = cache.get(server.url("/" + NAME), NAME);
+		assertEquals(jar, offline);
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsInvalidJar() throws Exception
+	{
+		server.enqueue(new MockResponse().setBody("not a jar"));
+		cache.get(server.url("/" + NAME), NAME);
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientThreadTest
+{
+	private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Mock
+	@Bind
+	Client client;
+
+	@Inject
+	ClientThread clientThread;
+
+	private long now;
+	private final List<String> ran = new ArrayList<>();
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+		clientThread.clock = () -> now;
+	}
+
+	@Test
+	public void testBudgetDefersInvokes()
+	{
+		for (int i = 0; i < 10; ++i)
+		{
+			clientThread.invokeLater(work("invoke" + i, true));
+		}
+
+		// each invoke takes 1ms of the 4ms budget
+		loop();
+		assertEquals(Arrays.asList("invoke0", "invoke1", "invoke2", "invoke3"), ran);
+
+		ran.clear();
+		loop();
+		assertEquals(Arrays.asList("invoke4", "invoke5", "invoke6", "invoke7"), ran);
+
+		ran.clear();
+		loop();
+		assertEquals(Arrays.asList("invoke8", "invoke9"), ran);
+	}
+
+	@Test
+	public void testSlowInvokeStillRuns()
+	{
+		clientThread.invokeLater(() ->
+		{
+			now += 10 * MILLISECOND;
+			ran.add("slow");
+			return true;
+		});
+		clientThread.invokeLater(work("next", true));
+
+		loop();
+		assertEquals(Arrays.asList("slow"), ran);
+
+		loop();
+		assertEquals(Arrays.asList("slow", "next"), ran);
+	}
+
+	@Test
+	public void testRetryBackoff()
+	{
+		List<Integer> loops = new ArrayList<>();
+		int[] loop = new int[1];
+		clientThread.invokeLater(() ->
+		{
+			loops.add(loop[0]);
+			return false;
+		});
+
+		for (loop[0] = 1; loop[0] <= 48; ++loop[0])
+		{
+			loop();
+		}
+
+		// the delay doubles up to the maximum of 16 loops
+		assertEquals(Arrays.asList(1, 2, 4, 8, 16, 32, 48), loops);
+	}
+
+	@Test
+	public void testRetriesRunBeforeNewInvokes()
+	{
+		boolean[] retried = new boolean[1];
+		clientThread.invokeLater(() ->
+		{
+			if (retried[0])
+			{
+				ran.add("retry");
+				return true;
+			}
+			retried[0] = true;
+			return false;
+		});
+		loop();
+
+		clientThread.invokeLater(work("invoke", true));
+		loop();
+		assertEquals(Arrays.asList("retry", "invoke"), ran);
+	}
+
+	@Test
+	public void testRetriesNotStarved()
+	{
+		int[] attempts = new int[1];
+		clientThread.invokeLater(() -> ++attempts[0] > 1);
+		loop();
+
+		// enough new invokes to use the whole budget of many loops
+		for (int i = 0; i < 100; ++i)
+		{
+			clientThread.invokeLater(work("invoke" + i, true));
+		}
+
+		loop();
+		assertEquals(2, attempts[0]);
+	}
+
+	@Test
+	public void testNewInvokesNotStarved()
+	{
+		for (int i = 0; i < 20; ++i)
+		{
+			String name = "retry" + i;
+			boolean[] first = {true};
+			clientThread.invokeLater(() ->
+			{
+				if (first[0])
+				{
+					first[0] = false;
+					return false;
+				}
+				now += MILLISECOND;
+				ran.add(name);
+				return false;
+			});
+		}
+		loop();
+
+		clientThread.invokeLater(work("invoke", true));
+		loop();
+
+		// the due retries use only their share of the budget, and the budget
+		// left after the new invokes
+		assertEquals(Arrays.asList("retry0", "retry1", "invoke", "retry2"), ran);
+
+		// the rest of the due retries carry over to the next loop
+		ran.clear();
+		loop();
+		assertEquals(Arrays.asList("retry3", "retry4", "retry5", "retry6"), ran);
+	}
+
+	@Test
+	public void testMetrics()
+	{
+		for (int i = 0; i < 6; ++i)
+		{
+			clientThread.invokeLater(work("invoke" + i, i != 0));
+		}
+		assertEquals(6, clientThread.getQueuedCount());
+
+		// four fit in the budget, and the first is retried
+		loop();
+		assertEquals(2, clientThread.getQueuedCount());
+		assertEquals(1, clientThread.getRetryingCount());
+		assertEquals(4 * MILLISECOND, clientThread.getLastLoopTime());
+		assertEquals(MILLISECOND, clientThread.getSlowestInvokeTime());
+		assertEquals(1, clientThread.getDeferredLoops());
+
+		// the first is retried again, and the rest fit in the budget
+		loop();
+		assertEquals(0, clientThread.getQueuedCount());
+		assertEquals(1, clientThread.getRetryingCount());
+		assertEquals(1, clientThread.getDeferredLoops());
+	}
+
+	private BooleanSupplier work(String name, boolean done)
+	{
+		return () ->
+		{
+			now += MILLISECOND;
+			ran.add(name);
+			return done;
+		};
+	}
+
+	private void loop()
+	{
+		when(client.isClientThread()).thenReturn(true);
+		clientThread.invoke();
+		when(client.isClientThread()).thenReturn(false);
+	}
+}
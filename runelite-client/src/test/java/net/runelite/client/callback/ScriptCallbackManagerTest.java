@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.runelite.api.events.ScriptCallbackEvent;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScriptCallbackManagerTest
+{
+	private ScriptCallbackManager scriptCallbackManager;
+	private final List<String> ran = new ArrayList<>();
+
+	@Before
+	public void before()
+	{
+		scriptCallbackManager = new ScriptCallbackManager();
+	}
+
+	@Test
+	public void testDispatchByName()
+	{
+		Object owner = new Object();
+		scriptCallbackManager.register(owner, ev -> ran.add("a:" + ev.getEventName()), "a");
+		scriptCallbackManager.register(owner, ev -> ran.add("bc:" + ev.getEventName()), "b", "c");
+
+		dispatch("a");
+		dispatch("b");
+		dispatch("c");
+		dispatch("d");
+
+		assertEquals(Arrays.asList("a:a", "bc:b", "bc:c"), ran);
+	}
+
+	@Test
+	public void testUnregister()
+	{
+		Object first = new Object();
+		Object second = new Object();
+		scriptCallbackManager.register(first, ev -> ran.add("first"), "event");
+		scriptCallbackManager.register(second, ev -> ran.add("second"), "event");
+
+		scriptCallbackManager.unregister(first);
+		dispatch("event");
+
+		assertEquals(Collections.singletonList("second"), ran);
+	}
+
+	@Test
+	public void testExceptionDoesNotStopDispatch()
+	{
+		Object owner = new Object();
+		scriptCallbackManager.register(owner, ev ->
+		{
+			throw new IllegalStateException();
+		}, "event");
+		scriptCallbackManager.register(owner, ev -> ran.add("after"), "event");
+
+		dispatch("event");
+
+		assertEquals(Collections.singletonList("after"), ran);
+	}
+
+	private void dispatch(String eventName)
+	{
+		ScriptCallbackEvent event = new ScriptCallbackEvent();
+		event.setEventName(eventName);
+		scriptCallbackManager.dispatch(event);
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import java.util.List;
+import net.runelite.client.callback.ScriptProfiler.ScriptStats;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScriptProfilerTest
+{
+	private ScriptProfiler scriptProfiler;
+
+	@Before
+	public void before()
+	{
+		scriptProfiler = new ScriptProfiler();
+		scriptProfiler.setEnabled(true);
+	}
+
+	@Test
+	public void testStats()
+	{
+		scriptProfiler.record(1, 10, 100);
+		scriptProfiler.record(1, 20, 300);
+		scriptProfiler.record(2, 5, 50);
+
+		List<ScriptStats> stats = scriptProfiler.getStats();
+		assertEquals(2, stats.size());
+		assertEquals(new ScriptStats(1, 2, 30, 400, 300), stats.get(0));
+		assertEquals(new ScriptStats(2, 1, 5, 50, 50), stats.get(1));
+	}
+
+	@Test
+	public void testWrapAround()
+	{
+		for (int i = 0; i < ScriptProfiler.CAPACITY; ++i)
+		{
+			scriptProfiler.record(1, 1, 1);
+		}
+
+		// overwrites the oldest runs of script 1
+		for (int i = 0; i < 10; ++i)
+		{
+			scriptProfiler.record(2, 2, 1000);
+		}
+
+		List<ScriptStats> stats = scriptProfiler.getStats();
+		assertEquals(2, stats.size());
+		assertEquals(new ScriptStats(2, 10, 20, 10000, 1000), stats.get(0));
+		assertEquals(new ScriptStats(1, ScriptProfiler.CAPACITY - 10, ScriptProfiler.CAPACITY - 10,
+			ScriptProfiler.CAPACITY - 10, 1), stats.get(1));
+	}
+
+	@Test
+	public void testDisabled()
+	{
+		scriptProfiler.record(1, 1, 1);
+		scriptProfiler.setEnabled(false);
+		scriptProfiler.record(2, 1, 1);
+
+		// enabling again discards the previous runs
+		scriptProfiler.setEnabled(true);
+		assertTrue(scriptProfiler.getStats().isEmpty());
+	}
+}
@@ -34,6 +34,8 @@ import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import net.runelite.client.account.AccountSession;
+import net.runelite.client.task.DiskExecutor;
+import net.runelite.client.task.NetworkExecutor;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -50,8 +52,14 @@ public class ConfigManagerTest
 
 	@Mock
 	@Bind
+	@NetworkExecutor
 	ScheduledExecutorService executor;
 
+	@Mock
+	@Bind
+	@DiskExecutor
+	ScheduledExecutorService diskExecutor;
+
 	@Mock
 	@Bind
 	RuneLiteConfig runeliteConfig;
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ItemIconCacheTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ItemIconCache cache;
+
+	@Before
+	public void before()
+	{
+		cache = new ItemIconCache(folder.getRoot());
+	}
+
+	@Test
+	public void testRoundTrip()
+	{
+		BufferedImage icon = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		icon.setRGB(4, 5, 0xFF123456);
+		icon.setRGB(30, 20, 0x80ABCDEF);
+		cache.write(170, 4151, 1, false, 1, icon);
+
+		BufferedImage read = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		assertTrue(cache.read(170, 4151, 1, false, 1, read));
+		assertEquals(0xFF123456, read.getRGB(4, 5));
+		assertEquals(0x80ABCDEF, read.getRGB(30, 20));
+		assertEquals(0, read.getRGB(0, 0));
+
+		assertFalse(cache.read(170, 4151, 2, false, 1, read));
+		assertFalse(cache.read(170, 4151, 1, true, 1, read));
+	}
+
+	@Test
+	public void testOldVersionsRemoved()
+	{
+		BufferedImage icon = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		cache.write(170, 995, 1000, true, 1, icon);
+		cache.write(171, 995, 1000, true, 1, icon);
+
+		BufferedImage read = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		assertFalse(cache.read(170, 995, 1000, true, 1, read));
+		assertTrue(cache.read(171, 995, 1000, true, 1, read));
+		assertFalse(new File(folder.getRoot(), "170").exists());
+	}
+
+	@Test
+	public void testQuantityBuckets()
+	{
+		BufferedImage icon = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		cache.write(170, 995, 150_000, true, 1, icon);
+		cache.write(170, 995, 12_000_000, true, 1, icon);
+
+		BufferedImage read = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		assertTrue(cache.read(170, 995, 150_999, true, 1, read));
+		assertFalse(cache.read(170, 995, 151_000, true, 1, read));
+		assertTrue(cache.read(170, 995, 12_345_678, true, 1, read));
+
+		// small stacks are drawn exactly
+		cache.write(170, 995, 99_999, true, 1, icon);
+		assertFalse(cache.read(170, 995, 99_998, true, 1, read));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedTrimmed()
+	{
+		cache = new ItemIconCache(folder.getRoot(), 100);
+
+		BufferedImage icon = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		for (int itemId = 0; itemId < 256; ++itemId)
+		{
+			cache.write(170, itemId, 1, false, 1, icon);
+		}
+
+		File dir = new File(folder.getRoot(), "170");
+		for (int itemId = 0; itemId < 256; ++itemId)
+		{
+			assertTrue(new File(dir, itemId + "-1-0-1.png").setLastModified(1_000_000L + itemId * 1000L));
+		}
+
+		// reading an icon marks it as recently used
+		BufferedImage read = new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		assertTrue(cache.read(170, 0, 1, false, 1, read));
+
+		// the next write checks the count and trims to 75 icons before writing
+		cache.write(170, 999, 1, false, 1, icon);
+
+		assertEquals(76, dir.listFiles().length);
+		assertTrue(cache.read(170, 0, 1, false, 1, read));
+		assertFalse(cache.read(170, 1, 1, false, 1, read));
+		assertFalse(cache.read(170, 181, 1, false, 1, read));
+		assertTrue(cache.read(170, 182, 1, false, 1, read));
+		assertTrue(cache.read(170, 999, 1, false, 1, read));
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.Arrays;
+import net.runelite.http.api.item.Item;
+import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.PriceDeltaResult;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ItemPriceStoreTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File file;
+	private ItemPriceStore store;
+
+	@Before
+	public void before()
+	{
+		file = new File(folder.getRoot(), "prices.dat");
+		store = new ItemPriceStore(file);
+	}
+
+	@Test
+	public void testMerge()
+	{
+		store.update(delta(1000, price(4151, 1_500_000, 10), price(995, 1, 10), price(11802, 20_000_000, 10)));
+		store.update(delta(2000, price(4151, 1_600_000, 20), price(2, 200, 20)));
+
+		assertEquals(4, store.size());
+		assertEquals(Instant.ofEpochMilli(2000), store.getSyncTime());
+		assertEquals(1_600_000, store.get(4151).getPrice());
+		assertEquals(Instant.ofEpochMilli(20), store.get(4151).getTime());
+		assertEquals(1, store.get(995).getPrice());
+		assertEquals(200, store.get(2).getPrice());
+		assertEquals(20_000_000, store.get(11802).getPrice());
+		assertEquals(11802, store.get(11802).getItem().getId());
+		assertNull(store.get(1));
+	}
+
+	@Test
+	public void testSaveLoad()
+	{
+		store.update(delta(1000, price(4151, 1_500_000, 10), price(995, 1, 10)));
+		store.save();
+
+		ItemPriceStore loaded = new ItemPriceStore(file);
+		loaded.load();
+
+		assertEquals(2, loaded.size());
+		assertEquals(Instant.ofEpochMilli(1000), loaded.getSyncTime());
+		assertEquals(1_500_000, loaded.get(4151).getPrice());
+		assertEquals(1, loaded.get(995).getPrice());
+	}
+
+	@Test
+	public void testNeverSynced()
+	{
+		store.load();
+		assertNull(store.getSyncTime());
+		assertEquals(0, store.size());
+	}
+
+	private static PriceDeltaResult delta(long time, ItemPrice... prices)
+	{
+		PriceDeltaResult delta = new PriceDeltaResult();
+		delta.setTime(Instant.ofEpochMilli(time));
+		delta.setPrices(Arrays.asList(prices));
+		return delta;
+	}
+
+	private static ItemPrice price(int itemId, int price, long time)
+	{
+		Item item = new Item();
+		item.setId(itemId);
+
+		ItemPrice itemPrice = new ItemPrice();
+		itemPrice.setItem(item);
+		itemPrice.setPrice(price);
+		itemPrice.setTime(Instant.ofEpochMilli(time));
+		return itemPrice;
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.Collection;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Point;
+import net.runelite.api.Tile;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.queries.GameObjectQuery;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SceneIndexManagerTest
+{
+	private SceneIndexManager sceneIndex;
+
+	@Before
+	public void before()
+	{
+		sceneIndex = new SceneIndexManager();
+	}
+
+	@Test
+	public void testSpawn()
+	{
+		GameObject object = spawn(1, 0, 20, 30);
+
+		assertEquals(1, sceneIndex.getTileObjects(GameObject.class, 0).size());
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0, 1).contains(object));
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0, 2).isEmpty());
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0, 18, 28, 22, 32).contains(object));
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0, 21, 28, 40, 40).isEmpty());
+	}
+
+	@Test
+	public void testDespawn()
+	{
+		GameObject object = spawn(1, 0, 20, 30);
+
+		GameObjectDespawned despawned = new GameObjectDespawned();
+		despawned.setTile(tile(0, 20, 30));
+		despawned.setGameObject(object);
+		sceneIndex.onGameObjectDespawned(despawned);
+
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0).isEmpty());
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0, 1).isEmpty());
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0, 0, 0, 103, 103).isEmpty());
+	}
+
+	@Test
+	public void testMultiTileDespawn()
+	{
+		GameObject object = mock(GameObject.class);
+		when(object.getId()).thenReturn(1);
+		when(object.getX()).thenReturn(21 << 7);
+		when(object.getY()).thenReturn(30 << 7);
+
+		for (int x = 20; x < 23; ++x)
+		{
+			GameObjectSpawned spawned = new GameObjectSpawned();
+			spawned.setTile(tile(0, x, 30));
+			spawned.setGameObject(object);
+			sceneIndex.onGameObjectSpawned(spawned);
+		}
+
+		for (int x = 20; x < 22; ++x)
+		{
+			GameObjectDespawned despawned = new GameObjectDespawned();
+			despawned.setTile(tile(0, x, 30));
+			despawned.setGameObject(object);
+			sceneIndex.onGameObjectDespawned(despawned);
+		}
+
+		// still on its last tile
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0, 1).contains(object));
+
+		GameObjectDespawned despawned = new GameObjectDespawned();
+		despawned.setTile(tile(0, 22, 30));
+		despawned.setGameObject(object);
+		sceneIndex.onGameObjectDespawned(despawned);
+
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0, 1).isEmpty());
+	}
+
+	@Test
+	public void testPlaneChange()
+	{
+		GameObject lower = spawn(1, 0, 20, 30);
+		GameObject upper = spawn(1, 1, 20, 30);
+
+		assertArrayEquals(new Object[]{lower}, sceneIndex.getTileObjects(GameObject.class, 0, 1).toArray());
+		assertArrayEquals(new Object[]{upper}, sceneIndex.getTileObjects(GameObject.class, 1, 1).toArray());
+		assertArrayEquals(new Object[]{upper}, sceneIndex.getTileObjects(GameObject.class, 1, 0, 0, 103, 103).toArray());
+
+		// objects are not despawned when the scene is reloaded
+		GameStateChanged loading = new GameStateChanged();
+		loading.setGameState(GameState.LOADING);
+		sceneIndex.onGameStateChanged(loading);
+
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 0).isEmpty());
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 1).isEmpty());
+		assertTrue(sceneIndex.getTileObjects(GameObject.class, 1, 0, 0, 103, 103).isEmpty());
+	}
+
+	@Test
+	public void testQueryWithinDistance()
+	{
+		GameObject near = spawn(1, 0, 20, 30);
+		spawn(1, 0, 60, 60);
+
+		Client client = mock(Client.class);
+		when(client.getPlane()).thenReturn(0);
+
+		GameObject[] result = new GameObjectQuery()
+			.isWithinDistance(new LocalPoint(22 << 7, 30 << 7), 3 << 7)
+			.result(client, sceneIndex);
+		assertArrayEquals(new GameObject[]{near}, result);
+	}
+
+	@Test
+	public void testNpcs()
+	{
+		NPC npc = mock(NPC.class);
+		when(npc.getId()).thenReturn(10);
+		sceneIndex.onNpcSpawned(new NpcSpawned(npc));
+
+		Collection<NPC> npcs = sceneIndex.getNpcs(10);
+		assertTrue(npcs.contains(npc));
+
+		when(npc.getId()).thenReturn(11);
+		sceneIndex.onGameTick(new GameTick());
+		assertTrue(sceneIndex.getNpcs(10).isEmpty());
+		assertTrue(sceneIndex.getNpcs(11).contains(npc));
+
+		sceneIndex.onNpcDespawned(new NpcDespawned(npc));
+		assertTrue(sceneIndex.getNpcs(11).isEmpty());
+	}
+
+	@Test
+	public void testNpcChanged()
+	{
+		NPC npc = mock(NPC.class);
+		when(npc.getId()).thenReturn(10);
+		sceneIndex.onNpcSpawned(new NpcSpawned(npc));
+
+		// the event is posted before the definition changes
+		sceneIndex.onNpcChanged(new NpcChanged(npc));
+		when(npc.getId()).thenReturn(11);
+
+		assertTrue(sceneIndex.getNpcs(10).isEmpty());
+		assertTrue(sceneIndex.getNpcs(11).contains(npc));
+	}
+
+	@Test
+	public void testNpcTransformedByVarbit()
+	{
+		NPC npc = mock(NPC.class);
+		when(npc.getId()).thenReturn(10);
+		sceneIndex.onNpcSpawned(new NpcSpawned(npc));
+
+		when(npc.getId()).thenReturn(11);
+		sceneIndex.onVarbitChanged(new VarbitChanged());
+
+		assertTrue(sceneIndex.getNpcs(11).contains(npc));
+	}
+
+	private GameObject spawn(int id, int plane, int x, int y)
+	{
+		GameObject object = mock(GameObject.class);
+		when(object.getId()).thenReturn(id);
+		when(object.getX()).thenReturn((x << 7) + 64);
+		when(object.getY()).thenReturn((y << 7) + 64);
+		when(object.getLocalLocation()).thenReturn(new LocalPoint((x << 7) + 64, (y << 7) + 64));
+
+		GameObjectSpawned spawned = new GameObjectSpawned();
+		spawned.setTile(tile(plane, x, y));
+		spawned.setGameObject(object);
+		sceneIndex.onGameObjectSpawned(spawned);
+		return object;
+	}
+
+	private static Tile tile(int plane, int x, int y)
+	{
+		Tile tile = mock(Tile.class);
+		when(tile.getPlane()).thenReturn(plane);
+		when(tile.getRegionLocation()).thenReturn(new Point(x, y));
+		return tile;
+	}
+}
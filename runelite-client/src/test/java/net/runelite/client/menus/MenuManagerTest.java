@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.menus;
+
+import com.google.common.eventbus.EventBus;
+import net.runelite.api.Client;
+import net.runelite.api.MenuAction;
+import net.runelite.api.MenuEntry;
+import net.runelite.api.events.MenuEntryAdded;
+import net.runelite.api.widgets.WidgetInfo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MenuManagerTest
+{
+	@Mock
+	private Client client;
+
+	@Mock
+	private EventBus eventBus;
+
+	private MenuManager menuManager;
+
+	private String[] options;
+	private String[] targets;
+
+	@Before
+	public void before()
+	{
+		menuManager = new MenuManager(() -> client, eventBus);
+
+		options = new String[500];
+		targets = new String[500];
+		options[0] = "Walk here";
+		targets[0] = "";
+		options[1] = "Attack";
+		targets[1] = "<col=ffff00>Goblin<col=ff00>  (level-2)";
+		options[2] = "<col=ff9040>Talk-to</col>";
+		targets[2] = "<col=ffff00>Hans";
+
+		when(client.getMenuOptions()).thenReturn(options);
+		when(client.getMenuTargets()).thenReturn(targets);
+		when(client.getMenuOptionCount()).thenReturn(3);
+	}
+
+	@Test
+	public void testMenuKeys()
+	{
+		assertEquals("walk here", menuManager.getMenuOptionKey(0));
+		assertEquals("attack", menuManager.getMenuOptionKey(1));
+		assertEquals("talk-to", menuManager.getMenuOptionKey(2));
+		assertEquals("goblin  (level-2)", menuManager.getMenuTargetKey(1));
+		assertEquals("hans", menuManager.getMenuTargetKey(2));
+	}
+
+	@Test
+	public void testMenuKeysCached()
+	{
+		String key = menuManager.getMenuOptionKey(2);
+		assertSame(key, menuManager.getMenuOptionKey(2));
+
+		// the client writes a new string to the index when the entry changes
+		options[2] = "Trade";
+		assertEquals("trade", menuManager.getMenuOptionKey(2));
+	}
+
+	@Test
+	public void testSwapKeepsKeys()
+	{
+		String attack = menuManager.getMenuOptionKey(1);
+		String talk = menuManager.getMenuOptionKey(2);
+		String goblin = menuManager.getMenuTargetKey(1);
+
+		menuManager.swapMenuEntries(1, 2);
+		verify(client).swapMenuEntries(1, 2);
+
+		// as the client would
+		String option = options[1];
+		options[1] = options[2];
+		options[2] = option;
+		String target = targets[1];
+		targets[1] = targets[2];
+		targets[2] = target;
+
+		assertSame(talk, menuManager.getMenuOptionKey(1));
+		assertSame(attack, menuManager.getMenuOptionKey(2));
+		assertSame(goblin, menuManager.getMenuTargetKey(2));
+		assertEquals("hans", menuManager.getMenuTargetKey(1));
+	}
+
+	@Test
+	public void testManagedMenuInserted()
+	{
+		WidgetMenuOption menuOption = new WidgetMenuOption("Configure", "Inventory", WidgetInfo.FIXED_VIEWPORT_INVENTORY_TAB);
+		menuManager.addManagedCustomMenu(menuOption);
+
+		int widgetId = WidgetInfo.FIXED_VIEWPORT_INVENTORY_TAB.getId();
+		menuManager.onMenuEntryAdded(new MenuEntryAdded("Inventory", "", 0, 0, -1, widgetId));
+
+		ArgumentCaptor<MenuEntry> captor = ArgumentCaptor.forClass(MenuEntry.class);
+		verify(client).insertMenuEntry(eq(3), captor.capture());
+
+		MenuEntry entry = captor.getValue();
+		assertEquals("Configure", entry.getOption());
+		assertEquals(menuOption.getMenuTarget(), entry.getTarget());
+		assertEquals(widgetId, entry.getParam1());
+		assertEquals(MenuAction.RUNELITE.getId(), entry.getType());
+	}
+
+	@Test
+	public void testManagedMenuNotDuplicated()
+	{
+		WidgetMenuOption menuOption = new WidgetMenuOption("Configure", "Inventory", WidgetInfo.FIXED_VIEWPORT_INVENTORY_TAB);
+		menuManager.addManagedCustomMenu(menuOption);
+
+		options[3] = menuOption.getMenuOption();
+		targets[3] = menuOption.getMenuTarget();
+		when(client.getMenuOptionCount()).thenReturn(4);
+
+		int widgetId = WidgetInfo.FIXED_VIEWPORT_INVENTORY_TAB.getId();
+		menuManager.onMenuEntryAdded(new MenuEntryAdded("Inventory", "", 0, 0, -1, widgetId));
+
+		verify(client, never()).insertMenuEntry(anyInt(), any(MenuEntry.class));
+	}
+}
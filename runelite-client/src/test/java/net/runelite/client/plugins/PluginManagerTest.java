@@ -123,6 +123,17 @@ public class PluginManagerTest
 		assertEquals(expected, plugins.size());
 	}
 
+	@Test
+	public void testPluginIndex() throws Exception
+	{
+		PluginManager pluginManager = new PluginManager();
+		List<Class<?>> indexed = pluginManager.readPluginIndex(getClass().getClassLoader());
+
+		// a plugin missing from plugins.txt would silently not load
+		assertEquals(pluginClasses, new HashSet<>(indexed));
+		assertEquals(pluginClasses.size(), indexed.size());
+	}
+
 	@Test
 	public void dumpGraph() throws Exception
 	{
@@ -42,6 +42,8 @@ import static net.runelite.api.widgets.WidgetInfo.LEVEL_UP_LEVEL;
 import static net.runelite.api.widgets.WidgetInfo.PACK;
 import net.runelite.client.Notifier;
 import net.runelite.client.config.RuneLiteConfig;
+import net.runelite.client.task.ComputeExecutor;
+import net.runelite.client.task.DiskExecutor;
 import net.runelite.client.ui.ClientUI;
 import net.runelite.client.ui.DrawManager;
 import static org.junit.Assert.assertEquals;
@@ -91,7 +93,13 @@ public class ScreenshotPluginTest
 
 	@Mock
 	@Bind
-	ScheduledExecutorService service;
+	@ComputeExecutor
+	ScheduledExecutorService computeService;
+
+	@Mock
+	@Bind
+	@DiskExecutor
+	ScheduledExecutorService diskService;
 
 	@Before
 	public void before()
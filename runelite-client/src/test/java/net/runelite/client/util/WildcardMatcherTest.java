@@ -27,6 +27,8 @@ package net.runelite.client.util;
 import static junit.framework.TestCase.assertTrue;
 import static net.runelite.client.util.WildcardMatcher.matches;
 import static org.junit.Assert.assertFalse;
+import java.util.Arrays;
+import java.util.Collections;
 import org.junit.Test;
 
 public class WildcardMatcherTest
@@ -40,4 +42,24 @@ public class WildcardMatcherTest
 		assertTrue(matches("rune*", "Runeite Ore"));
 		assertTrue(matches("Abyssal whip", "Abyssal whip"));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testCompiled()
+	{
+		WildcardMatcher matcher = WildcardMatcher.compile(Arrays.asList("rune*", " Abyssal whip ", "", "*(p++)"));
+		assertTrue(matcher.matches("Rune pouch"));
+		assertTrue(matcher.matches("abyssal whip"));
+		assertTrue(matcher.matches("Dragon dagger(p++)"));
+		assertFalse(matcher.matches("Dragon dagger(p+)"));
+		assertFalse(matcher.matches("Adamant dagger"));
+		assertFalse(matcher.matches(""));
+	}
+
+	@Test
+	public void testCompiledEmpty()
+	{
+		WildcardMatcher matcher = WildcardMatcher.compile(Collections.emptyList());
+		assertFalse(matcher.matches("Rune pouch"));
+		assertFalse(matcher.matches(""));
+	}
+}
@@ -30,6 +30,7 @@ import net.runelite.api.MainBufferProvider;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
+import net.runelite.api.events.ScriptCallbackEvent;
 import org.slf4j.Logger;
 
 /**
@@ -108,4 +109,14 @@ public class Hooks
 	{
 		throw new RuntimeException();
 	}
+
+	public static void scriptCallback(ScriptCallbackEvent event)
+	{
+		throw new RuntimeException();
+	}
+
+	public static void scriptExecuted(int scriptId, int instructions, long nanos)
+	{
+		throw new RuntimeException();
+	}
 }
@@ -25,9 +25,12 @@
 package net.runelite.mixins;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
+import net.runelite.api.Actor;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.ClanMember;
 import net.runelite.api.Friend;
@@ -111,6 +114,12 @@ public abstract class RSClientMixin implements RSClient
 	@Shadow("clientInstance")
 	private static RSClient client;
 
+	@Shadow("widgetIndexStale")
+	private static boolean widgetIndexStale;
+
+	@Shadow("widgetLayoutVersion")
+	private static int widgetLayoutVersion;
+
 	@Inject
 	private static int tickCount;
 
@@ -126,6 +135,17 @@ public abstract class RSClientMixin implements RSClient
 	@Inject
 	private static RSPlayer[] oldPlayers = new RSPlayer[2048];
 
+	/**
+	 * Immutable snapshots of the actor lists. A stale snapshot is replaced
+	 * rather than refilled, so lists handed out earlier, possibly to other
+	 * threads, never change underneath their holders.
+	 */
+	@Inject
+	private static List<Player> players;
+
+	@Inject
+	private static List<NPC> npcs;
+
 	@Inject
 	private static int itemPressedDurationBuffer;
 
@@ -225,14 +245,22 @@ public abstract class RSClientMixin implements RSClient
 		int validPlayerIndexes = getPlayerIndexesCount();
 		int[] playerIndexes = getPlayerIndices();
 		Player[] cachedPlayers = getCachedPlayers();
-		List<Player> players = new ArrayList<Player>(validPlayerIndexes);
 
+		List<Player> snapshot = players;
+		if (snapshot != null && !isActorListStale(snapshot, validPlayerIndexes, playerIndexes, cachedPlayers))
+		{
+			return snapshot;
+		}
+
+		List<Player> list = new ArrayList<Player>(validPlayerIndexes);
 		for (int i = 0; i < validPlayerIndexes; ++i)
 		{
-			players.add(cachedPlayers[playerIndexes[i]]);
+			list.add(cachedPlayers[playerIndexes[i]]);
 		}
 
-		return players;
+		snapshot = Collections.unmodifiableList(list);
+		players = snapshot;
+		return snapshot;
 	}
 
 	@Inject
@@ -242,14 +270,82 @@ public abstract class RSClientMixin implements RSClient
 		int validNpcIndexes = getNpcIndexesCount();
 		int[] npcIndexes = getNpcIndices();
 		NPC[] cachedNpcs = getCachedNPCs();
-		List<NPC> npcs = new ArrayList<NPC>(validNpcIndexes);
 
+		List<NPC> snapshot = npcs;
+		if (snapshot != null && !isActorListStale(snapshot, validNpcIndexes, npcIndexes, cachedNpcs))
+		{
+			return snapshot;
+		}
+
+		List<NPC> list = new ArrayList<NPC>(validNpcIndexes);
 		for (int i = 0; i < validNpcIndexes; ++i)
 		{
-			npcs.add(cachedNpcs[npcIndexes[i]]);
+			list.add(cachedNpcs[npcIndexes[i]]);
 		}
 
-		return npcs;
+		snapshot = Collections.unmodifiableList(list);
+		npcs = snapshot;
+		return snapshot;
+	}
+
+	/**
+	 * Checks if a list built from the actor indices no longer matches them.
+	 * This only compares references, so unchanged lists are reused without
+	 * allocating.
+	 */
+	@Inject
+	private static boolean isActorListStale(List<? extends Actor> actors, int count, int[] indexes, Actor[] cachedActors)
+	{
+		if (actors.size() != count)
+		{
+			return true;
+		}
+
+		for (int i = 0; i < count; ++i)
+		{
+			if (actors.get(i) != cachedActors[indexes[i]])
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Inject
+	@Override
+	public void forEachPlayer(Consumer<Player> consumer)
+	{
+		int validPlayerIndexes = getPlayerIndexesCount();
+		int[] playerIndexes = getPlayerIndices();
+		Player[] cachedPlayers = getCachedPlayers();
+
+		for (int i = 0; i < validPlayerIndexes; ++i)
+		{
+			Player player = cachedPlayers[playerIndexes[i]];
+			if (player != null)
+			{
+				consumer.accept(player);
+			}
+		}
+	}
+
+	@Inject
+	@Override
+	public void forEachNpc(Consumer<NPC> consumer)
+	{
+		int validNpcIndexes = getNpcIndexesCount();
+		int[] npcIndexes = getNpcIndices();
+		NPC[] cachedNpcs = getCachedNPCs();
+
+		for (int i = 0; i < validNpcIndexes; ++i)
+		{
+			NPC npc = cachedNpcs[npcIndexes[i]];
+			if (npc != null)
+			{
+				consumer.accept(npc);
+			}
+		}
 	}
 
 	@Inject
@@ -488,6 +584,98 @@ public abstract class RSClientMixin implements RSClient
 		oldMenuEntryCount = count;
 	}
 
+	@Inject
+	@Override
+	public void swapMenuEntries(int first, int second)
+	{
+		String[] menuOptions = getMenuOptions();
+		String[] menuTargets = getMenuTargets();
+		int[] menuIdentifiers = getMenuIdentifiers();
+		int[] menuTypes = getMenuTypes();
+		int[] params0 = getMenuActionParams0();
+		int[] params1 = getMenuActionParams1();
+
+		String option = menuOptions[first];
+		menuOptions[first] = menuOptions[second];
+		menuOptions[second] = option;
+
+		String target = menuTargets[first];
+		menuTargets[first] = menuTargets[second];
+		menuTargets[second] = target;
+
+		int identifier = menuIdentifiers[first];
+		menuIdentifiers[first] = menuIdentifiers[second];
+		menuIdentifiers[second] = identifier;
+
+		int type = menuTypes[first];
+		menuTypes[first] = menuTypes[second];
+		menuTypes[second] = type;
+
+		int param0 = params0[first];
+		params0[first] = params0[second];
+		params0[second] = param0;
+
+		int param1 = params1[first];
+		params1[first] = params1[second];
+		params1[second] = param1;
+	}
+
+	@Inject
+	@Override
+	public boolean insertMenuEntry(int index, MenuEntry entry)
+	{
+		int count = getMenuOptionCount();
+		String[] menuOptions = getMenuOptions();
+		String[] menuTargets = getMenuTargets();
+		int[] menuIdentifiers = getMenuIdentifiers();
+		int[] menuTypes = getMenuTypes();
+		int[] params0 = getMenuActionParams0();
+		int[] params1 = getMenuActionParams1();
+
+		if (count >= menuOptions.length)
+		{
+			return false;
+		}
+
+		int moved = count - index;
+		System.arraycopy(menuOptions, index, menuOptions, index + 1, moved);
+		System.arraycopy(menuTargets, index, menuTargets, index + 1, moved);
+		System.arraycopy(menuIdentifiers, index, menuIdentifiers, index + 1, moved);
+		System.arraycopy(menuTypes, index, menuTypes, index + 1, moved);
+		System.arraycopy(params0, index, params0, index + 1, moved);
+		System.arraycopy(params1, index, params1, index + 1, moved);
+
+		menuOptions[index] = entry.getOption();
+		menuTargets[index] = entry.getTarget();
+		menuIdentifiers[index] = entry.getIdentifier();
+		menuTypes[index] = entry.getType();
+		params0[index] = entry.getParam0();
+		params1[index] = entry.getParam1();
+
+		// update the old count first so the field hook does not see this as an added entry
+		oldMenuEntryCount = count + 1;
+		setMenuOptionCount(count + 1);
+		return true;
+	}
+
+	@Inject
+	@Override
+	public void removeMenuEntry(int index)
+	{
+		int count = getMenuOptionCount();
+		int moved = count - index - 1;
+
+		System.arraycopy(getMenuOptions(), index + 1, getMenuOptions(), index, moved);
+		System.arraycopy(getMenuTargets(), index + 1, getMenuTargets(), index, moved);
+		System.arraycopy(getMenuIdentifiers(), index + 1, getMenuIdentifiers(), index, moved);
+		System.arraycopy(getMenuTypes(), index + 1, getMenuTypes(), index, moved);
+		System.arraycopy(getMenuActionParams0(), index + 1, getMenuActionParams0(), index, moved);
+		System.arraycopy(getMenuActionParams1(), index + 1, getMenuActionParams1(), index, moved);
+
+		oldMenuEntryCount = count - 1;
+		setMenuOptionCount(count - 1);
+	}
+
 	@FieldHook("menuOptionCount")
 	@Inject
 	public static void onMenuOptionsChanged(int idx)
@@ -673,6 +861,8 @@ public abstract class RSClientMixin implements RSClient
 		MenuEntry[] entries = client.getMenuEntries();
 		rs$closeWidget(widget, b);
 		client.setMenuEntries(entries);
+		widgetIndexStale = true;
+		++widgetLayoutVersion;
 	}
 
 	@Copy("runWidgetOnLoadListener")
@@ -685,6 +875,8 @@ public abstract class RSClientMixin implements RSClient
 	public static void rl$runWidgetOnLoadListener(int groupId)
 	{
 		rs$runWidgetOnLoadListener(groupId);
+		widgetIndexStale = true;
+		++widgetLayoutVersion;
 
 		RSWidget[][] widgets = client.getWidgets();
 		boolean loaded = widgets != null && widgets[groupId] != null;
@@ -781,12 +973,24 @@ public abstract class RSClientMixin implements RSClient
 	@Inject
 	public static void gameStateChanged(int idx)
 	{
+		widgetIndexStale = true;
+		++widgetLayoutVersion;
+
 		GameStateChanged gameStateChange = new GameStateChanged();
 		gameStateChange.setGameState(client.getGameState());
 		eventBus.post(gameStateChange);
 	}
 
 
+	@FieldHook("widgetRoot")
+	@Inject
+	public static void widgetRootChanged(int idx)
+	{
+		// switching between fixed and resizable mode swaps the root interface
+		widgetIndexStale = true;
+		++widgetLayoutVersion;
+	}
+
 	@FieldHook("cachedNPCs")
 	@Inject
 	public static void cachedNPCsChanged(int idx)
@@ -27,7 +27,6 @@ package net.runelite.mixins;
 import java.awt.Polygon;
 import java.awt.geom.Area;
 import net.runelite.api.Model;
-import net.runelite.api.Perspective;
 import net.runelite.api.mixins.Inject;
 import net.runelite.api.mixins.Mixin;
 import net.runelite.api.mixins.Shadow;
@@ -86,7 +85,14 @@ public abstract class RSDecorativeObjectMixin implements RSDecorativeObject
 	@Override
 	public Area getClickbox()
 	{
-		return Perspective.getClickbox(client, getModel(), getOrientation(), getX(), getY());
+		RSModel model = getModel();
+
+		if (model == null)
+		{
+			return null;
+		}
+
+		return model.getClickbox(getX(), getY(), getOrientation());
 	}
 
 	@Inject
@@ -26,7 +26,6 @@ package net.runelite.mixins;
 
 import java.awt.Polygon;
 import java.awt.geom.Area;
-import net.runelite.api.Perspective;
 import net.runelite.api.Point;
 import net.runelite.api.coords.Angle;
 import net.runelite.api.mixins.Inject;
@@ -80,7 +79,14 @@ public abstract class RSGameObjectMixin implements RSGameObject
 	@Override
 	public Area getClickbox()
 	{
-		return Perspective.getClickbox(client, getModel(), getRsOrientation(), getX(), getY());
+		RSModel model = getModel();
+
+		if (model == null)
+		{
+			return null;
+		}
+
+		return model.getClickbox(getX(), getY(), getRsOrientation());
 	}
 
 	@Inject
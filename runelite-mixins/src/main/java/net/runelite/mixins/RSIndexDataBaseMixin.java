@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import net.runelite.api.mixins.Copy;
+import net.runelite.api.mixins.Inject;
 import net.runelite.api.mixins.Mixin;
 import net.runelite.api.mixins.Replace;
 import net.runelite.api.overlay.OverlayIndex;
@@ -43,6 +44,18 @@ import net.runelite.rs.api.RSIndexDataBase;
 @Mixin(RSIndexDataBase.class)
 public abstract class RSIndexDataBaseMixin implements RSIndexDataBase
 {
+	@Inject
+	@Override
+	public int getArchiveCrc(int archiveId)
+	{
+		int[] crcs = getArchiveCrcs();
+		if (crcs == null || archiveId < 0 || archiveId >= crcs.length)
+		{
+			return 0;
+		}
+		return crcs[archiveId];
+	}
+
 	@Copy("getConfigData")
 	abstract byte[] rs$getConfigData(int archiveId, int fileId);
 
@@ -25,14 +25,14 @@
 package net.runelite.mixins;
 
 import java.awt.Polygon;
+import java.awt.geom.Area;
 import java.util.ArrayList;
 import java.util.List;
 import net.runelite.api.Perspective;
-import net.runelite.api.Point;
 import net.runelite.api.mixins.Inject;
 import net.runelite.api.mixins.Mixin;
 import net.runelite.api.mixins.Shadow;
-import net.runelite.api.model.Jarvis;
+import net.runelite.api.model.MonotoneChain;
 import net.runelite.api.model.Triangle;
 import net.runelite.api.model.Vertex;
 import net.runelite.rs.api.RSClient;
@@ -232,48 +232,100 @@ public abstract class RSModelMixin implements RSModel
 		}
 	}
 
+	@Inject
+	private int hullCycle;
+
+	@Inject
+	private long hullKey;
+
+	@Inject
+	private long hullShape;
+
+	@Inject
+	private Polygon hull;
+
+	@Inject
+	private int clickboxCycle;
+
+	@Inject
+	private long clickboxKey;
+
+	@Inject
+	private long clickboxShape;
+
+	@Inject
+	private Area clickbox;
+
+	/**
+	 * Hulls and clickboxes are cached for the rest of the game cycle, as
+	 * several overlays commonly ask for the same one each frame. The key
+	 * packs the exact position and orientation, 20 bits each, which holds
+	 * any local coordinate and orientation without collisions.
+	 */
+	@Inject
+	private static long getGeometryKey(int localX, int localY, int orientation)
+	{
+		return (localX & 0xFFFFFL) << 40 | (localY & 0xFFFFFL) << 20 | (orientation & 0xFFFFFL);
+	}
+
+	/**
+	 * Shared models are reused for different objects, so the cached geometry
+	 * is also keyed on the model size.
+	 */
+	@Inject
+	private long getGeometryShape()
+	{
+		return (long) getVerticesCount() << 32 | (getTrianglesCount() & 0xFFFFFFFFL);
+	}
+
 	@Override
 	@Inject
 	public Polygon getConvexHull(int localX, int localY, int orientation)
 	{
-		List<Vertex> vertices = getVertices();
-
-		// rotate vertices
-		for (int i = 0; i < vertices.size(); ++i)
+		int cycle = client.getGameCycle();
+		long key = getGeometryKey(localX, localY, orientation);
+		long shape = getGeometryShape();
+		if (cycle != hullCycle || key != hullKey || shape != hullShape)
 		{
-			Vertex v = vertices.get(i);
-			vertices.set(i, v.rotate(orientation));
+			hull = computeConvexHull(localX, localY, orientation);
+			hullCycle = cycle;
+			hullKey = key;
+			hullShape = shape;
 		}
 
-		List<Point> points = new ArrayList<Point>();
+		// the cached hull is shared, so callers get their own copy
+		return hull == null ? null : new Polygon(hull.xpoints, hull.ypoints, hull.npoints);
+	}
 
-		for (Vertex v : vertices)
-		{
-			// Compute canvas location of vertex
-			Point p = Perspective.worldToCanvas(client,
-				localX - v.getX(),
-				localY - v.getZ(),
-				-v.getY());
-			if (p != null)
-			{
-				points.add(p);
-			}
-		}
+	@Inject
+	private Polygon computeConvexHull(int localX, int localY, int orientation)
+	{
+		int count = getVerticesCount();
+		int[] canvasX = new int[count];
+		int[] canvasY = new int[count];
 
-		// Run Jarvis march algorithm
-		points = Jarvis.convexHull(points);
-		if (points == null)
-		{
-			return null;
-		}
+		Perspective.modelToCanvas(client, count, localX, localY, orientation,
+			getVerticesX(), getVerticesY(), getVerticesZ(),
+			canvasX, canvasY);
 
-		// Convert to a polygon
-		Polygon p = new Polygon();
-		for (Point point : points)
+		return MonotoneChain.convexHull(canvasX, canvasY, count);
+	}
+
+	@Override
+	@Inject
+	public Area getClickbox(int localX, int localY, int orientation)
+	{
+		int cycle = client.getGameCycle();
+		long key = getGeometryKey(localX, localY, orientation);
+		long shape = getGeometryShape();
+		if (cycle != clickboxCycle || key != clickboxKey || shape != clickboxShape)
 		{
-			p.addPoint(point.getX(), point.getY());
+			clickbox = Perspective.getClickbox(client, this, orientation, localX, localY);
+			clickboxCycle = cycle;
+			clickboxKey = key;
+			clickboxShape = shape;
 		}
 
-		return p;
+		return clickbox == null ? null : (Area) clickbox.clone();
 	}
 }
@@ -24,6 +24,7 @@
  */
 package net.runelite.mixins;
 
+import net.runelite.api.events.NpcChanged;
 import net.runelite.api.events.NpcDespawned;
 import net.runelite.api.mixins.Copy;
 import net.runelite.api.mixins.FieldHook;
@@ -104,6 +105,10 @@ public abstract class RSNPCMixin implements RSNPC
 		{
 			eventBus.post(new NpcDespawned(this));
 		}
+		else if (getComposition() != null && getComposition() != composition)
+		{
+			eventBus.post(new NpcChanged(this));
+		}
 	}
 
 	@Copy("getModel")
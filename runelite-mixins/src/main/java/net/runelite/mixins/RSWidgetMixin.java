@@ -27,7 +27,9 @@ package net.runelite.mixins;
 import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import net.runelite.api.Node;
 import net.runelite.api.Point;
 import net.runelite.api.WidgetNode;
@@ -43,7 +45,6 @@ import net.runelite.api.widgets.WidgetItem;
 import static net.runelite.client.callback.Hooks.eventBus;
 import net.runelite.rs.api.RSClient;
 import net.runelite.rs.api.RSHashTable;
-import net.runelite.rs.api.RSNode;
 import net.runelite.rs.api.RSWidget;
 
 @Mixin(RSWidget.class)
@@ -54,6 +55,63 @@ public abstract class RSWidgetMixin implements RSWidget
 	@Shadow("clientInstance")
 	private static RSClient client;
 
+	/**
+	 * Parent widget id of each interface group in the component table
+	 */
+	@Inject
+	private static Map<Integer, Integer> widgetGroupParents = new HashMap<Integer, Integer>();
+
+	/**
+	 * Interface group nested in each widget of the component table
+	 */
+	@Inject
+	private static Map<Integer, Integer> widgetNestedGroups = new HashMap<Integer, Integer>();
+
+	/**
+	 * Set when the component table or the root interface may have changed.
+	 * Whoever sets it also bumps the layout version.
+	 */
+	@Inject
+	private static boolean widgetIndexStale = true;
+
+	/**
+	 * Bumped whenever a widget moves, or widget visibility, the component
+	 * table or the root interface changes, which invalidates the memoised
+	 * hidden states and canvas locations
+	 */
+	@Inject
+	private static int widgetLayoutVersion = 1;
+
+	@Inject
+	private int cachedHiddenVersion;
+
+	@Inject
+	private boolean cachedHidden;
+
+	@Inject
+	private int cachedCanvasLocationVersion;
+
+	@Inject
+	private Point cachedCanvasLocation;
+
+	/**
+	 * Position fields as of the last layout version bump by this widget
+	 */
+	@Inject
+	private int layoutRelativeX;
+
+	@Inject
+	private int layoutRelativeY;
+
+	@Inject
+	private int layoutScrollX;
+
+	@Inject
+	private int layoutScrollY;
+
+	@Inject
+	private int layoutBoundsIndex;
+
 	@Inject
 	@Override
 	public Widget getParent()
@@ -77,28 +135,56 @@ public abstract class RSWidgetMixin implements RSWidget
 			return parentId;
 		}
 
-		int groupId = TO_GROUP(getId());
+		Integer groupParentId = lookupWidgetIndex(widgetGroupParents, TO_GROUP(getId()));
+		return groupParentId != null ? groupParentId : -1;
+	}
+
+	/**
+	 * Looks up a key in the widget index, rebuilding it first if the component
+	 * table has changed. Misses are answered from the index too, as root
+	 * interface widgets are never in it, so they stay cached until the index
+	 * is next marked stale.
+	 */
+	@Inject
+	private static Integer lookupWidgetIndex(Map<Integer, Integer> index, int key)
+	{
+		if (widgetIndexStale)
+		{
+			rebuildWidgetIndex();
+		}
+
+		return index.get(key);
+	}
+
+	@Inject
+	private static void rebuildWidgetIndex()
+	{
+		Map<Integer, Integer> groupParents = new HashMap<Integer, Integer>();
+		Map<Integer, Integer> nestedGroups = new HashMap<Integer, Integer>();
+
 		RSHashTable componentTable = client.getComponentTable();
-		RSNode[] buckets = componentTable.getBuckets();
-		for (int i = 0; i < buckets.length; ++i)
+		for (Node node : componentTable.getNodes())
 		{
-			Node node = buckets[i];
+			WidgetNode wn = (WidgetNode) node;
+			int parentId = (int) wn.getHash();
 
-			// It looks like the first node in the bucket is always
-			// a sentinel
-			Node cur = node.getNext();
-			while (cur != node)
+			groupParents.put(wn.getId(), parentId);
+			if (!nestedGroups.containsKey(parentId))
 			{
-				WidgetNode wn = (WidgetNode) cur;
-
-				if (groupId == wn.getId())
-				{
-					return (int) wn.getHash();
-				}
-				cur = cur.getNext();
+				nestedGroups.put(parentId, wn.getId());
 			}
 		}
-		return -1;
+
+		widgetIndexStale = false;
+
+		if (!groupParents.equals(widgetGroupParents) || !nestedGroups.equals(widgetNestedGroups))
+		{
+			widgetGroupParents.clear();
+			widgetGroupParents.putAll(groupParents);
+			widgetNestedGroups.clear();
+			widgetNestedGroups.putAll(nestedGroups);
+			++widgetLayoutVersion;
+		}
 	}
 
 	@Inject
@@ -125,6 +211,19 @@ public abstract class RSWidgetMixin implements RSWidget
 	@Inject
 	@Override
 	public boolean isHidden()
+	{
+		if (cachedHiddenVersion == widgetLayoutVersion)
+		{
+			return cachedHidden;
+		}
+
+		cachedHidden = computeHidden();
+		cachedHiddenVersion = widgetLayoutVersion;
+		return cachedHidden;
+	}
+
+	@Inject
+	private boolean computeHidden()
 	{
 		Widget parent = getParent();
 
@@ -149,6 +248,19 @@ public abstract class RSWidgetMixin implements RSWidget
 	@Inject
 	@Override
 	public Point getCanvasLocation()
+	{
+		if (cachedCanvasLocationVersion == widgetLayoutVersion)
+		{
+			return cachedCanvasLocation;
+		}
+
+		cachedCanvasLocation = computeCanvasLocation();
+		cachedCanvasLocationVersion = widgetLayoutVersion;
+		return cachedCanvasLocation;
+	}
+
+	@Inject
+	private Point computeCanvasLocation()
 	{
 		int x = 0;
 		int y = 0;
@@ -311,23 +423,9 @@ public abstract class RSWidgetMixin implements RSWidget
 	@Override
 	public Widget[] getNestedChildren()
 	{
-		RSHashTable componentTable = client.getComponentTable();
-		int group = -1;
-
-		// XXX can actually use hashtable lookup instead of table
-		// iteration here...
-		for (Node node : componentTable.getNodes())
-		{
-			WidgetNode wn = (WidgetNode) node;
-
-			if (wn.getHash() == getId())
-			{
-				group = wn.getId();
-				break;
-			}
-		}
+		Integer group = lookupWidgetIndex(widgetNestedGroups, getId());
 
-		if (group == -1)
+		if (group == null)
 		{
 			return new Widget[0];
 		}
@@ -389,10 +487,93 @@ public abstract class RSWidgetMixin implements RSWidget
 		}
 	}
 
+	/*
+	 * The client writes the widget positions for every widget it draws, every
+	 * frame, so the layout version is only bumped when a value actually changes
+	 */
+	@FieldHook(value = "widgetPositionX", before = true)
+	@Inject
+	public static void onWidgetPositionXChanged(int x, int idx)
+	{
+		if (client.getWidgetPositionsX()[idx] != x)
+		{
+			++widgetLayoutVersion;
+		}
+	}
+
+	@FieldHook(value = "widgetPositionY", before = true)
+	@Inject
+	public static void onWidgetPositionYChanged(int y, int idx)
+	{
+		if (client.getWidgetPositionsY()[idx] != y)
+		{
+			++widgetLayoutVersion;
+		}
+	}
+
+	@FieldHook("relativeX")
+	@Inject
+	public void onRelativeXChanged(int idx)
+	{
+		checkLayoutChanged();
+	}
+
+	@FieldHook("relativeY")
+	@Inject
+	public void onRelativeYChanged(int idx)
+	{
+		checkLayoutChanged();
+	}
+
+	@FieldHook("scrollX")
+	@Inject
+	public void onScrollXChanged(int idx)
+	{
+		checkLayoutChanged();
+	}
+
+	@FieldHook("scrollY")
+	@Inject
+	public void onScrollYChanged(int idx)
+	{
+		checkLayoutChanged();
+	}
+
+	@FieldHook("boundsIndex")
+	@Inject
+	public void onBoundsIndexChanged(int idx)
+	{
+		checkLayoutChanged();
+	}
+
+	@Inject
+	private void checkLayoutChanged()
+	{
+		int relativeX = getRelativeX();
+		int relativeY = getRelativeY();
+		int scrollX = getScrollX();
+		int scrollY = getScrollY();
+		int boundsIndex = getBoundsIndex();
+
+		if (relativeX != layoutRelativeX || relativeY != layoutRelativeY
+			|| scrollX != layoutScrollX || scrollY != layoutScrollY
+			|| boundsIndex != layoutBoundsIndex)
+		{
+			layoutRelativeX = relativeX;
+			layoutRelativeY = relativeY;
+			layoutScrollX = scrollX;
+			layoutScrollY = scrollY;
+			layoutBoundsIndex = boundsIndex;
+			++widgetLayoutVersion;
+		}
+	}
+
 	@FieldHook("isHidden")
 	@Inject
 	public void onHiddenChanged(int idx)
 	{
+		++widgetLayoutVersion;
+
 		int id = getId();
 
 		if (id == -1)
@@ -24,8 +24,6 @@
  */
 package net.runelite.mixins;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import net.runelite.api.Client;
 import net.runelite.api.events.ScriptCallbackEvent;
 import net.runelite.api.mixins.Copy;
@@ -54,10 +52,16 @@ public abstract class ScriptVMMixin implements RSClient
 	@Inject
 	private static int currentScriptPC;
 
+	// Number of instructions executed by the vm, for the script profiler
+	@Inject
+	private static int scriptInstructionCount;
+
 	// Call is injected into runScript by the ScriptVM raw injector
 	@Inject
 	static boolean vmExecuteOpcode(int opcode)
 	{
+		++scriptInstructionCount;
+
 		if (opcode == RUNELITE_EXECUTE)
 		{
 			assert currentScript.getInstructions()[currentScriptPC] == RUNELITE_EXECUTE;
@@ -71,12 +75,18 @@ public abstract class ScriptVMMixin implements RSClient
 				int intStackSize = client.getIntStackSize();
 
 				String fmt = client.getStringStack()[--stringStackSize];
-				StringBuffer out = new StringBuffer();
-				Matcher m = Pattern.compile("%(.)").matcher(fmt);
-				for (; m.find(); )
+				StringBuilder out = new StringBuilder();
+				for (int i = 0; i < fmt.length(); ++i)
 				{
-					m.appendReplacement(out, "");
-					switch (m.group(1).charAt(0))
+					char c = fmt.charAt(i);
+					if (c != '%' || i + 1 >= fmt.length() || fmt.charAt(i + 1) == '\n' || fmt.charAt(i + 1) == '\r')
+					{
+						out.append(c);
+						continue;
+					}
+
+					char spec = fmt.charAt(++i);
+					switch (spec)
 					{
 						case 'i':
 						case 'd':
@@ -86,10 +96,9 @@ public abstract class ScriptVMMixin implements RSClient
 							out.append(client.getStringStack()[--stringStackSize]);
 							break;
 						default:
-							out.append(m.group(0)).append("=unknown");
+							out.append('%').append(spec).append("=unknown");
 					}
 				}
-				m.appendTail(out);
 
 				Hooks.log.debug(out.toString());
 
@@ -101,7 +110,7 @@ public abstract class ScriptVMMixin implements RSClient
 			ScriptCallbackEvent event = new ScriptCallbackEvent();
 			event.setScript(currentScript);
 			event.setEventName(stringOp);
-			Hooks.eventBus.post(event);
+			Hooks.scriptCallback(event);
 			return true;
 		}
 		return false;
@@ -116,6 +125,8 @@ public abstract class ScriptVMMixin implements RSClient
 	@Replace("runScript")
 	static void rl$runScript(RSScriptEvent event, int maxExecutionTime)
 	{
+		int instructions = scriptInstructionCount;
+		long start = System.nanoTime();
 		try
 		{
 			rs$runScript(event, maxExecutionTime);
@@ -123,6 +134,11 @@ public abstract class ScriptVMMixin implements RSClient
 		finally
 		{
 			currentScript = null;
+
+			// scripts called from this one are included in its instructions and time
+			Object[] args = event.getArguments();
+			int scriptId = args != null && args.length > 0 && args[0] instanceof Integer ? (Integer) args[0] : -1;
+			Hooks.scriptExecuted(scriptId, scriptInstructionCount - instructions, System.nanoTime() - start);
 		}
 	}
 
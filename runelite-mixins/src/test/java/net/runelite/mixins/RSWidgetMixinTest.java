@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.mixins;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.api.Node;
+import net.runelite.api.Point;
+import net.runelite.api.WidgetNode;
+import net.runelite.rs.api.RSClient;
+import net.runelite.rs.api.RSHashTable;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RSWidgetMixinTest
+{
+	private static final int ROOT_GROUP = 161;
+	private static final int NESTED_GROUP = 149;
+	private static final int CONTAINER = ROOT_GROUP << 16 | 5;
+
+	@Mock
+	private RSClient client;
+
+	@Mock
+	private RSHashTable componentTable;
+
+	private final List<Node> nodes = new ArrayList<Node>();
+	private final int[] positionsX = new int[8];
+	private final int[] positionsY = new int[8];
+
+	@Before
+	public void before() throws Exception
+	{
+		setStatic("client", client);
+		setStatic("widgetIndexStale", true);
+		setStatic("widgetIndexCycle", -1);
+
+		when(client.getComponentTable()).thenReturn(componentTable);
+		when(componentTable.getNodes()).thenReturn(nodes);
+		when(client.getWidgetRoot()).thenReturn(ROOT_GROUP);
+		when(client.getWidgetPositionsX()).thenReturn(positionsX);
+		when(client.getWidgetPositionsY()).thenReturn(positionsY);
+	}
+
+	@Test
+	public void testParentIdFromIndex()
+	{
+		nodes.add(widgetNode(NESTED_GROUP, CONTAINER));
+
+		RSWidgetMixin widget = widget(NESTED_GROUP << 16 | 2);
+		assertEquals(CONTAINER, widget.getParentId());
+		assertEquals(CONTAINER, widget.getParentId());
+
+		// the second lookup is a hit
+		verify(componentTable, times(1)).getNodes();
+	}
+
+	@Test
+	public void testIndexMissRebuildsOncePerCycle()
+	{
+		RSWidgetMixin widget = widget(NESTED_GROUP << 16 | 2);
+		assertEquals(-1, widget.getParentId());
+
+		// opened without the index being marked stale
+		nodes.add(widgetNode(NESTED_GROUP, CONTAINER));
+		assertEquals(-1, widget.getParentId());
+		verify(componentTable, times(1)).getNodes();
+
+		when(client.getGameCycle()).thenReturn(1);
+		assertEquals(CONTAINER, widget.getParentId());
+		verify(componentTable, times(2)).getNodes();
+	}
+
+	@Test
+	public void testIndexRebuiltWhenStale() throws Exception
+	{
+		RSWidgetMixin widget = widget(NESTED_GROUP << 16 | 2);
+		assertEquals(-1, widget.getParentId());
+
+		nodes.add(widgetNode(NESTED_GROUP, CONTAINER));
+		setStatic("widgetIndexStale", true);
+		assertEquals(CONTAINER, widget.getParentId());
+	}
+
+	@Test
+	public void testHiddenMemoised()
+	{
+		RSWidgetMixin widget = widget(ROOT_GROUP << 16 | 1);
+		doReturn(true).when(widget).isSelfHidden();
+
+		assertTrue(widget.isHidden());
+		assertTrue(widget.isHidden());
+		verify(widget, times(1)).isSelfHidden();
+
+		// the client writing the same position again is not a change
+		RSWidgetMixin.onWidgetPositionXChanged(positionsX[3], 3);
+		assertTrue(widget.isHidden());
+		verify(widget, times(1)).isSelfHidden();
+
+		RSWidgetMixin.onWidgetPositionXChanged(positionsX[3] + 10, 3);
+		assertTrue(widget.isHidden());
+		verify(widget, times(2)).isSelfHidden();
+	}
+
+	@Test
+	public void testCanvasLocationMemoised()
+	{
+		RSWidgetMixin widget = widget(ROOT_GROUP << 16 | 1);
+		doReturn(2).when(widget).getBoundsIndex();
+		positionsX[2] = 100;
+		positionsY[2] = 50;
+		widget.onBoundsIndexChanged(-1);
+
+		Point location = widget.getCanvasLocation();
+		assertEquals(new Point(100, 50), location);
+
+		// laying out the widget again at the same position
+		widget.onBoundsIndexChanged(-1);
+		widget.onRelativeXChanged(-1);
+		assertSame(location, widget.getCanvasLocation());
+
+		RSWidgetMixin.onWidgetPositionYChanged(60, 2);
+		positionsY[2] = 60;
+		assertEquals(new Point(100, 60), widget.getCanvasLocation());
+
+		doReturn(1).when(widget).getType();
+		doReturn(7).when(widget).getRelativeX();
+		widget.onRelativeXChanged(-1);
+		assertEquals(new Point(107, 60), widget.getCanvasLocation());
+	}
+
+	private static RSWidgetMixin widget(int id)
+	{
+		RSWidgetMixin widget = mock(RSWidgetMixin.class, CALLS_REAL_METHODS);
+		doReturn(id).when(widget).getId();
+		doReturn(-1).when(widget).getRSParentId();
+		doReturn(-1).when(widget).getBoundsIndex();
+		doReturn(0).when(widget).getType();
+		doReturn(0).when(widget).getRelativeX();
+		doReturn(0).when(widget).getRelativeY();
+		doReturn(0).when(widget).getScrollX();
+		doReturn(0).when(widget).getScrollY();
+		return widget;
+	}
+
+	private static WidgetNode widgetNode(int groupId, int parentId)
+	{
+		WidgetNode node = mock(WidgetNode.class);
+		when(node.getId()).thenReturn(groupId);
+		when(node.getHash()).thenReturn((long) parentId);
+		return node;
+	}
+
+	private static void setStatic(String name, Object value) throws Exception
+	{
+		Field field = RSWidgetMixin.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(null, value);
+	}
+}
@@ -24,13 +24,30 @@
  */
 package net.runelite.script;
 
+import com.google.common.base.Strings;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.io.Files;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.ScriptDefinition;
 import net.runelite.cache.definitions.savers.ScriptSaver;
+import net.runelite.cache.script.Instruction;
 import net.runelite.cache.script.assembler.Assembler;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -46,12 +63,29 @@ import org.apache.maven.plugins.annotations.Parameter;
 )
 public class AssembleMojo extends AbstractMojo
 {
+	/**
+	 * Cache entry holding the plugin version and instruction table hash the
+	 * cached scripts were assembled with. Script entries are keyed by file name,
+	 * which always ends in .rs2asm.
+	 */
+	private static final String CACHE_VERSION = "@version";
+
 	@Parameter(required = true)
 	private File scriptDirectory;
 
 	@Parameter(required = true)
 	private File outputDirectory;
 
+	/**
+	 * Records the source hash and script id of each assembled script, so
+	 * scripts which have not changed since the last build are not assembled again
+	 */
+	@Parameter(defaultValue = "${project.build.directory}/assemble-cache.properties")
+	private File cacheFile;
+
+	@Parameter(defaultValue = "${plugin.version}", readonly = true)
+	private String pluginVersion;
+
 	private final Log log = getLog();
 
 	@Override
@@ -60,45 +94,177 @@ public class AssembleMojo extends AbstractMojo
 		RuneLiteInstructions instructions = new RuneLiteInstructions();
 		instructions.init();
 
+		// The assembler only reads the instruction table, so it is shared by all of the threads
 		Assembler assembler = new Assembler(instructions);
-		ScriptSaver saver = new ScriptSaver();
 
-		int count = 0;
 		File scriptOut = new File(outputDirectory, Integer.toString(IndexType.CLIENTSCRIPT.getNumber()));
 		scriptOut.mkdirs();
 
-		for (File scriptFile : scriptDirectory.listFiles((dir, name) -> name.endsWith(".rs2asm")))
-		{
-			log.debug("Assembling " + scriptFile);
+		// scripts assembled by a different version of the plugin or with a
+		// different instruction table are all assembled again
+		String cacheVersion = pluginVersion + ":" + hashInstructions(instructions);
 
-			try (FileInputStream fin = new FileInputStream(scriptFile))
-			{
-				ScriptDefinition script = assembler.assemble(fin);
-				byte[] packedScript = saver.save(script);
+		Properties cache = loadCache(cacheVersion);
+		Properties newCache = new Properties();
+		newCache.setProperty(CACHE_VERSION, cacheVersion);
 
-				File targetFile = new File(scriptOut, Integer.toString(script.getId()));
-				Files.write(packedScript, targetFile);
+		File[] scriptFiles = scriptDirectory.listFiles((dir, name) -> name.endsWith(".rs2asm"));
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		int count = 0, unchanged = 0;
 
-				// Copy hash file
+		try
+		{
+			List<Future<Boolean>> futures = new ArrayList<>(scriptFiles.length);
+			for (File scriptFile : scriptFiles)
+			{
+				futures.add(executor.submit(() -> assemble(assembler, scriptFile, scriptOut, cache, newCache)));
+			}
 
-				File hashFile = new File(scriptDirectory, Files.getNameWithoutExtension(scriptFile.getName()) + ".hash");
-				if (hashFile.exists())
+			for (int i = 0; i < scriptFiles.length; ++i)
+			{
+				try
+				{
+					if (futures.get(i).get())
+					{
+						++count;
+					}
+					else
+					{
+						++unchanged;
+					}
+				}
+				catch (ExecutionException ex)
 				{
-					Files.copy(hashFile, new File(scriptOut, Integer.toString(script.getId()) + ".hash"));
+					Throwable cause = ex.getCause();
+					if (cause instanceof MojoExecutionException)
+					{
+						throw (MojoExecutionException) cause;
+					}
+					throw new MojoFailureException("unable to assemble " + scriptFiles[i], cause);
 				}
-				else if (script.getId() < 10000) // Scripts >=10000 are RuneLite scripts, so they shouldn't have a .hash
+				catch (InterruptedException ex)
 				{
-					throw new MojoExecutionException("Unable to find hash file for " + scriptFile);
+					throw new MojoExecutionException("interrupted assembling scripts", ex);
 				}
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		saveCache(newCache);
+
+		log.info("Assembled " + count + " scripts, " + unchanged + " unchanged");
+	}
+
+	/**
+	 * Assemble a script, unless it is unchanged since it was last assembled
+	 *
+	 * @return true if the script was assembled
+	 */
+	private boolean assemble(Assembler assembler, File scriptFile, File scriptOut, Properties cache, Properties newCache)
+		throws IOException, MojoExecutionException
+	{
+		byte[] source = Files.toByteArray(scriptFile);
+		String hash = Hashing.sha256().hashBytes(source).toString();
+
+		// cache entries are id:hash
+		String cached = cache.getProperty(scriptFile.getName());
+		int idx = cached != null ? cached.indexOf(':') : -1;
+		if (idx != -1)
+		{
+			int id = Integer.parseInt(cached.substring(0, idx));
+
+			if (hash.equals(cached.substring(idx + 1)) && new File(scriptOut, Integer.toString(id)).exists())
+			{
+				log.debug("Skipping unchanged " + scriptFile);
+				copyHash(scriptFile, scriptOut, id);
+				newCache.setProperty(scriptFile.getName(), cached);
+				return false;
+			}
+		}
+
+		log.debug("Assembling " + scriptFile);
+
+		ScriptDefinition script = assembler.assemble(new ByteArrayInputStream(source));
+		byte[] packedScript = new ScriptSaver().save(script);
+
+		File targetFile = new File(scriptOut, Integer.toString(script.getId()));
+		Files.write(packedScript, targetFile);
 
-				++count;
+		copyHash(scriptFile, scriptOut, script.getId());
+
+		newCache.setProperty(scriptFile.getName(), script.getId() + ":" + hash);
+		return true;
+	}
+
+	private void copyHash(File scriptFile, File scriptOut, int id) throws IOException, MojoExecutionException
+	{
+		File hashFile = new File(scriptDirectory, Files.getNameWithoutExtension(scriptFile.getName()) + ".hash");
+		if (hashFile.exists())
+		{
+			Files.copy(hashFile, new File(scriptOut, Integer.toString(id) + ".hash"));
+		}
+		else if (id < 10000) // Scripts >=10000 are RuneLite scripts, so they shouldn't have a .hash
+		{
+			throw new MojoExecutionException("Unable to find hash file for " + scriptFile);
+		}
+	}
+
+	private static String hashInstructions(RuneLiteInstructions instructions)
+	{
+		List<Instruction> list = new ArrayList<>(instructions.getInstructions());
+		list.sort(Comparator.comparingInt(Instruction::getOpcode));
+
+		Hasher hasher = Hashing.sha256().newHasher();
+		for (Instruction i : list)
+		{
+			hasher.putInt(i.getOpcode())
+				.putString(Strings.nullToEmpty(i.getName()), StandardCharsets.UTF_8)
+				.putInt(i.getIntStackPops())
+				.putInt(i.getIntStackPushes())
+				.putInt(i.getStringStackPops())
+				.putInt(i.getStringStackPushes());
+		}
+		return hasher.hash().toString();
+	}
+
+	private Properties loadCache(String cacheVersion)
+	{
+		Properties cache = new Properties();
+		if (cacheFile.exists())
+		{
+			try (InputStream in = new FileInputStream(cacheFile))
+			{
+				cache.load(in);
 			}
-			catch (IOException ex)
+			catch (IOException | IllegalArgumentException ex)
+			{
+				log.warn("Unable to read assemble cache, assembling all scripts", ex);
+				cache.clear();
+			}
+
+			if (!cacheVersion.equals(cache.getProperty(CACHE_VERSION)))
 			{
-				throw new MojoFailureException("unable to open file", ex);
+				log.info("Assembler version or instructions changed, assembling all scripts");
+				cache.clear();
 			}
 		}
+		return cache;
+	}
+
+	private void saveCache(Properties cache) throws MojoFailureException
+	{
+		cacheFile.getParentFile().mkdirs();
 
-		log.info("Assembled " + count + " scripts");
+		try (OutputStream out = new FileOutputStream(cacheFile))
+		{
+			cache.store(out, null);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoFailureException("unable to write assemble cache", ex);
+		}
 	}
 }
@@ -24,10 +24,12 @@
  */
 package net.runelite.script;
 
+import com.google.common.io.Files;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import static java.lang.Integer.parseInt;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -51,7 +53,8 @@ public class IndexMojo extends AbstractMojo
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException
 	{
-		try (DataOutputStream fout = new DataOutputStream(new FileOutputStream(indexFile)))
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (DataOutputStream fout = new DataOutputStream(bout))
 		{
 			for (File indexFolder : archiveOverlayDirectory.listFiles())
 			{
@@ -81,6 +84,24 @@ public class IndexMojo extends AbstractMojo
 		{
 			throw new MojoExecutionException("error build index file", ex);
 		}
+
+		byte[] index = bout.toByteArray();
+
+		try
+		{
+			// Leave an unchanged index alone so it is not seen as modified
+			if (indexFile.exists() && Arrays.equals(index, Files.toByteArray(indexFile)))
+			{
+				getLog().debug("Index file is up to date");
+				return;
+			}
+
+			Files.write(index, indexFile);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error writing index file", ex);
+		}
 	}
 
 }
@@ -165,9 +165,11 @@ public interface RSClient extends RSGameEngine, Client
 	RSPlayer getLocalPlayer();
 
 	@Import("npcIndexesCount")
+	@Override
 	int getNpcIndexesCount();
 
 	@Import("npcIndices")
+	@Override
 	int[] getNpcIndices();
 
 	@Import("cachedNPCs")
@@ -178,9 +180,11 @@ public interface RSClient extends RSGameEngine, Client
 	RSCollisionData[] getCollisionMaps();
 
 	@Import("playerIndexesCount")
+	@Override
 	int getPlayerIndexesCount();
 
 	@Import("playerIndices")
+	@Override
 	int[] getPlayerIndices();
 
 	@Import("cachedPlayers")
@@ -226,27 +230,34 @@ public interface RSClient extends RSGameEngine, Client
 	int getMouseY();
 
 	@Import("menuOptionCount")
+	@Override
 	int getMenuOptionCount();
 
 	@Import("menuOptionCount")
 	void setMenuOptionCount(int menuOptionCount);
 
 	@Import("menuOptions")
+	@Override
 	String[] getMenuOptions();
 
 	@Import("menuTargets")
+	@Override
 	String[] getMenuTargets();
 
 	@Import("menuIdentifiers")
+	@Override
 	int[] getMenuIdentifiers();
 
 	@Import("menuTypes")
+	@Override
 	int[] getMenuTypes();
 
 	@Import("menuActionParams0")
+	@Override
 	int[] getMenuActionParams0();
 
 	@Import("menuActionParams1")
+	@Override
 	int[] getMenuActionParams1();
 
 	@Import("worldList")
@@ -314,6 +325,10 @@ public interface RSClient extends RSGameEngine, Client
 	@Override
 	RSIndexDataBase getIndexSprites();
 
+	@Import("configsIndex")
+	@Override
+	RSIndexDataBase getIndexConfig();
+
 	@Import("widgetFlags")
 	@Override
 	RSHashTable getWidgetFlags();
@@ -31,4 +31,7 @@ public interface RSIndexDataBase extends IndexDataBase
 {
 	@Import("getConfigData")
 	byte[] getConfigData(int archiveId, int fileId);
+
+	@Import("archiveCrcs")
+	int[] getArchiveCrcs();
 }
@@ -25,33 +25,42 @@
 package net.runelite.rs.api;
 
 import java.awt.Polygon;
+import java.awt.geom.Area;
 import net.runelite.api.Model;
 import net.runelite.mapping.Import;
 
 public interface RSModel extends RSRenderable, Model
 {
 	@Import("verticesCount")
+	@Override
 	int getVerticesCount();
 
 	@Import("verticesX")
+	@Override
 	int[] getVerticesX();
 
 	@Import("verticesY")
+	@Override
 	int[] getVerticesY();
 
 	@Import("verticesZ")
+	@Override
 	int[] getVerticesZ();
 
 	@Import("indicesCount")
+	@Override
 	int getTrianglesCount();
 
 	@Import("indices1")
+	@Override
 	int[] getTrianglesX();
 
 	@Import("indices2")
+	@Override
 	int[] getTrianglesY();
 
 	@Import("indices3")
+	@Override
 	int[] getTrianglesZ();
 
 	@Import("vertexGroups")
@@ -82,11 +91,22 @@ public interface RSModel extends RSRenderable, Model
 								int intervalCount);
 
 	/**
-	 * Compute the convex hull of this model
+	 * Compute the convex hull of this model. The result is cached for the
+	 * game cycle and a copy is returned, so it may be modified.
 	 * @param localX
 	 * @param localY
 	 * @param orientation
 	 * @return
 	 */
 	Polygon getConvexHull(int localX, int localY, int orientation);
+
+	/**
+	 * Compute the clickbox of this model. The result is cached for the
+	 * game cycle and a copy is returned, so it may be modified.
+	 * @param localX
+	 * @param localY
+	 * @param orientation
+	 * @return
+	 */
+	Area getClickbox(int localX, int localY, int orientation);
 }